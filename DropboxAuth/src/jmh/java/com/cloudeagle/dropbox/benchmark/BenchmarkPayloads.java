@@ -0,0 +1,78 @@
+package com.cloudeagle.dropbox.benchmark;
+
+import java.time.Instant;
+
+/**
+ * Synthetic API response bodies shaped like real Dropbox Business API pages
+ */
+final class BenchmarkPayloads {
+    
+    private static final String[] COUNTRIES = {"US", "GB", "DE", "IN", "JP", "BR"};
+    private static final String[] CITIES = {"San Francisco", "London", "Berlin", "Mumbai", "Tokyo", "Sao Paulo"};
+    private static final String[] EVENT_TYPES = {"login_success", "login_fail", "logout"};
+    
+    private BenchmarkPayloads() {}
+    
+    /**
+     * Builds a /team/members/list_v2 response with the given number of members
+     */
+    static String membersPage(int members) {
+        StringBuilder json = new StringBuilder(members * 420 + 64);
+        json.append("{\"members\":[");
+        for (int i = 0; i < members; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"profile\":{")
+                    .append("\"team_member_id\":\"dbmid:").append(id(i)).append("\",")
+                    .append("\"external_id\":\"ext-").append(i).append("\",")
+                    .append("\"account_id\":\"dbid:").append(id(i)).append("\",")
+                    .append("\"email\":\"user").append(i).append("@example.com\",")
+                    .append("\"email_verified\":true,")
+                    .append("\"name\":{\"given_name\":\"User\",\"surname\":\"").append(i)
+                    .append("\",\"familiar_name\":\"User\",\"display_name\":\"User ").append(i)
+                    .append("\",\"abbreviated_name\":\"U").append(i % 10).append("\"},")
+                    .append("\"membership_type\":\"full\",")
+                    .append("\"status\":\"active\",")
+                    .append("\"joined_on\":\"").append(Instant.ofEpochSecond(1_600_000_000L + i * 60L)).append("\"")
+                    .append("},\"role\":{\".tag\":\"member_only\"}}");
+        }
+        json.append("],\"cursor\":\"").append(id(members)).append("\",\"has_more\":true}");
+        return json.toString();
+    }
+    
+    /**
+     * Builds a /team_log/get_events response with the given number of sign-in events
+     */
+    static String eventsPage(int events) {
+        StringBuilder json = new StringBuilder(events * 620 + 64);
+        json.append("{\"events\":[");
+        for (int i = 0; i < events; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            int location = i % COUNTRIES.length;
+            json.append("{\"timestamp\":\"").append(Instant.ofEpochSecond(1_700_000_000L + i)).append("\",")
+                    .append("\"event_category\":\"logins\",")
+                    .append("\"event_type\":\"").append(EVENT_TYPES[i % EVENT_TYPES.length]).append("\",")
+                    .append("\"details\":{\".tag\":\"login_success_details\",\"is_emm_managed\":false,")
+                    .append("\"login_method\":{\".tag\":\"password\"}},")
+                    .append("\"actor\":{\".tag\":\"user\",\"user\":{\".tag\":\"team_member\",")
+                    .append("\"account_id\":\"dbid:").append(id(i % 500)).append("\",")
+                    .append("\"display_name\":\"User ").append(i % 500).append("\",")
+                    .append("\"email\":\"user").append(i % 500).append("@example.com\",")
+                    .append("\"team_member_id\":\"dbmid:").append(id(i % 500)).append("\"}},")
+                    .append("\"origin\":{\"geo_location\":{\"city\":\"").append(CITIES[location])
+                    .append("\",\"region\":\"Region ").append(location)
+                    .append("\",\"country\":\"").append(COUNTRIES[location]).append("\"},")
+                    .append("\"host\":{\"host\":\"203.0.113.").append(i % 250).append("\"}},")
+                    .append("\"involve_non_team_member\":false}");
+        }
+        json.append("],\"cursor\":\"").append(id(events)).append("\",\"has_more\":true}");
+        return json.toString();
+    }
+    
+    private static String id(int i) {
+        return String.format("AAD%08dXpQ2rT", i);
+    }
+}
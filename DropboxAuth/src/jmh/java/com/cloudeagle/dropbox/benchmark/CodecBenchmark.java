@@ -0,0 +1,71 @@
+package com.cloudeagle.dropbox.benchmark;
+
+import com.cloudeagle.dropbox.codec.DropboxCodecs;
+import com.cloudeagle.dropbox.model.MembersListResponse;
+import com.cloudeagle.dropbox.model.TeamEventsResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decode throughput of list_v2 and get_events pages at several page sizes:
+ * a default {@link ObjectMapper} reading the buffered response String (the
+ * previous client path) against the shared {@link DropboxCodecs} reader
+ * decoding the raw bytes. Run with {@code -prof gc} for allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CodecBenchmark {
+    
+    @Param({"100", "1000", "100000"})
+    private int size;
+    
+    private final ObjectMapper defaultMapper = new ObjectMapper();
+    private ObjectReader membersReader;
+    private ObjectReader eventsReader;
+    
+    private byte[] membersBytes;
+    private byte[] eventsBytes;
+    
+    @Setup
+    public void setUp() {
+        membersBytes = BenchmarkPayloads.membersPage(size).getBytes(StandardCharsets.UTF_8);
+        eventsBytes = BenchmarkPayloads.eventsPage(size).getBytes(StandardCharsets.UTF_8);
+        membersReader = DropboxCodecs.reader(MembersListResponse.class);
+        eventsReader = DropboxCodecs.reader(TeamEventsResponse.class);
+    }
+    
+    @Benchmark
+    public MembersListResponse membersDefaultMapper() throws IOException {
+        return defaultMapper.readValue(new String(membersBytes, StandardCharsets.UTF_8), MembersListResponse.class);
+    }
+    
+    @Benchmark
+    public MembersListResponse membersCodecs() throws IOException {
+        return membersReader.readValue(membersBytes);
+    }
+    
+    @Benchmark
+    public TeamEventsResponse eventsDefaultMapper() throws IOException {
+        return defaultMapper.readValue(new String(eventsBytes, StandardCharsets.UTF_8), TeamEventsResponse.class);
+    }
+    
+    @Benchmark
+    public TeamEventsResponse eventsCodecs() throws IOException {
+        return eventsReader.readValue(eventsBytes);
+    }
+}
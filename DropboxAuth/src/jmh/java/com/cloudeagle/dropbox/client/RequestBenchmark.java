@@ -0,0 +1,71 @@
+package com.cloudeagle.dropbox.client;
+
+import com.cloudeagle.dropbox.auth.DropboxAuthenticator;
+import com.cloudeagle.dropbox.model.TeamEventsRequest;
+import com.cloudeagle.dropbox.model.TimeRange;
+import okhttp3.Request;
+import okio.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building a get_events request the way {@code getTeamEvents} does:
+ * request model, JSON body, URL and headers. No network I/O takes place.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+public class RequestBenchmark {
+    
+    private DropboxBusinessApiClient client;
+    private TimeRange timeRange;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        DropboxAuthenticator authenticator = new DropboxAuthenticator("client-id", "client-secret", "http://localhost") {
+            @Override
+            public String getValidAccessToken() {
+                return "sl.benchmark-access-token";
+            }
+        };
+        client = new DropboxBusinessApiClient(authenticator);
+        Instant end = Instant.parse("2024-06-01T00:00:00Z");
+        timeRange = TimeRange.of(end.minus(Duration.ofDays(30)), end);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+    }
+    
+    @Benchmark
+    public Request buildTeamEventsRequest() throws IOException {
+        TeamEventsRequest request = new TeamEventsRequest();
+        request.setLimit(1000);
+        request.setCategory("logins");
+        request.setTime(timeRange);
+        return client.buildRequest("/team_log/get_events", request);
+    }
+    
+    @Benchmark
+    public long buildAndWriteTeamEventsRequest() throws IOException {
+        Request httpRequest = buildTeamEventsRequest();
+        Buffer sink = new Buffer();
+        httpRequest.body().writeTo(sink);
+        return sink.size();
+    }
+}
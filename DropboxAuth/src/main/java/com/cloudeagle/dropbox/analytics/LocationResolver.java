@@ -0,0 +1,19 @@
+package com.cloudeagle.dropbox.analytics;
+
+import com.cloudeagle.dropbox.model.GeoLocation;
+
+/**
+ * Resolves the city, region and country reported by the audit log to coordinates.
+ * The Dropbox API does not report coordinates itself, so impossible-travel
+ * detection by speed needs a gazetteer or GeoIP lookup behind this interface.
+ * Implementations are called once per sign-in and should cache their lookups.
+ */
+@FunctionalInterface
+public interface LocationResolver {
+    
+    /**
+     * @param location Location reported for a sign-in, never null
+     * @return the location's coordinates, or null if it cannot be resolved
+     */
+    GeoPoint resolve(GeoLocation location);
+}
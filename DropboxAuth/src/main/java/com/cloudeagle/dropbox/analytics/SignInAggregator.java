@@ -0,0 +1,291 @@
+package com.cloudeagle.dropbox.analytics;
+
+import com.cloudeagle.dropbox.model.GeoLocation;
+import com.cloudeagle.dropbox.model.TeamEvent;
+import com.cloudeagle.dropbox.model.UserInfo;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Incremental sign-in report fed directly from the event stream, so events
+ * never have to be collected into a list. Keeps:
+ * <ul>
+ *   <li>sign-ins per country, for up to {@code maxCountries} distinct countries,
+ *       with later countries counted together as other</li>
+ *   <li>distinct members per UTC day for the last {@code retainedDays} days, and
+ *       overall, as {@link HyperLogLog} sketches</li>
+ *   <li>the noisiest accounts by email, as a {@link SpaceSavingTopK} sketch</li>
+ * </ul>
+ * Memory is fixed when the aggregator is built: about
+ * {@code (retainedDays + 1) * 2^precision} bytes of sketches plus the top-K
+ * and country counters, independent of how many events flow through.
+ * Not thread-safe.
+ */
+public class SignInAggregator implements Consumer<TeamEvent> {
+    
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    
+    private final int maxCountries;
+    private final StringDictionary countries = new StringDictionary();
+    private final long[] countryCounts;
+    private long otherCountryCount;
+    private long unknownCountryCount;
+    
+    private final HyperLogLog distinctUsers;
+    private final HyperLogLog[] dailyUsers;
+    private final long[] dailyUsersDay;
+    
+    private final SpaceSavingTopK topAccounts;
+    
+    private long eventCount;
+    private long successCount;
+    private long failureCount;
+    
+    private SignInAggregator(Builder builder) {
+        this.maxCountries = builder.maxCountries;
+        this.countryCounts = new long[maxCountries];
+        this.distinctUsers = new HyperLogLog(builder.precision);
+        this.dailyUsers = new HyperLogLog[builder.retainedDays];
+        this.dailyUsersDay = new long[builder.retainedDays];
+        for (int i = 0; i < dailyUsers.length; i++) {
+            dailyUsers[i] = new HyperLogLog(builder.precision);
+            dailyUsersDay[i] = Long.MIN_VALUE;
+        }
+        this.topAccounts = new SpaceSavingTopK(builder.topKCapacity);
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Adds one event. Events outside the "logins" category are ignored.
+     */
+    @Override
+    public void accept(TeamEvent event) {
+        if (event == null || !"logins".equals(event.getEventCategory())) {
+            return;
+        }
+        eventCount++;
+        String eventType = event.getEventType();
+        if ("login_success".equals(eventType)) {
+            successCount++;
+        } else if ("login_fail".equals(eventType) || "sso_error".equals(eventType)) {
+            failureCount++;
+        }
+        
+        GeoLocation location = event.getOrigin() != null ? event.getOrigin().getGeoLocation() : null;
+        countCountry(location != null ? location.getCountry() : null);
+        
+        UserInfo user = event.getActor() != null ? event.getActor().getUser() : null;
+        if (user == null) {
+            return;
+        }
+        String memberId = user.getTeamMemberId() != null ? user.getTeamMemberId() : user.getEmail();
+        if (memberId != null) {
+            long hash = HyperLogLog.hash64(memberId);
+            distinctUsers.addHash(hash);
+            long timestamp = event.getTimestampMillis();
+            if (timestamp != Long.MIN_VALUE) {
+                HyperLogLog day = dayFor(Math.floorDiv(timestamp, MILLIS_PER_DAY));
+                if (day != null) {
+                    day.addHash(hash);
+                }
+            }
+        }
+        topAccounts.add(user.getEmail() != null ? user.getEmail() : memberId);
+    }
+    
+    /**
+     * Gets the number of sign-in events added
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+    
+    public long getSuccessCount() {
+        return successCount;
+    }
+    
+    /**
+     * Gets the number of failed sign-ins and SSO errors
+     */
+    public long getFailureCount() {
+        return failureCount;
+    }
+    
+    /**
+     * Gets sign-ins per country, most first. Countries beyond the tracked limit
+     * are only in {@link #getOtherCountryCount()}.
+     */
+    public Map<String, Long> getCountryCounts() {
+        List<Integer> codes = new ArrayList<>(countries.size());
+        for (int code = 0; code < countries.size(); code++) {
+            codes.add(code);
+        }
+        codes.sort((a, b) -> Long.compare(countryCounts[b], countryCounts[a]));
+        
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int code : codes) {
+            result.put(countries.decode(code), countryCounts[code]);
+        }
+        return Collections.unmodifiableMap(result);
+    }
+    
+    /**
+     * Gets sign-ins from countries first seen after the tracked limit was reached
+     */
+    public long getOtherCountryCount() {
+        return otherCountryCount;
+    }
+    
+    /**
+     * Gets sign-ins without a reported country
+     */
+    public long getUnknownCountryCount() {
+        return unknownCountryCount;
+    }
+    
+    /**
+     * Gets the estimated number of distinct members across all events
+     */
+    public long getDistinctUsers() {
+        return distinctUsers.estimate();
+    }
+    
+    /**
+     * Gets the estimated number of distinct members who signed in on a UTC day
+     * @return the estimate, or 0 if the day is not among the retained days
+     */
+    public long getDistinctUsers(LocalDate day) {
+        if (day == null) {
+            throw new IllegalArgumentException("Day cannot be null");
+        }
+        long epochDay = day.toEpochDay();
+        int slot = (int) Math.floorMod(epochDay, (long) dailyUsers.length);
+        return dailyUsersDay[slot] == epochDay ? dailyUsers[slot].estimate() : 0;
+    }
+    
+    /**
+     * Gets the estimated distinct members for every retained day, oldest first
+     */
+    public SortedMap<LocalDate, Long> getDailyDistinctUsers() {
+        SortedMap<LocalDate, Long> result = new TreeMap<>();
+        for (int i = 0; i < dailyUsers.length; i++) {
+            if (dailyUsersDay[i] != Long.MIN_VALUE) {
+                result.put(LocalDate.ofEpochDay(dailyUsersDay[i]), dailyUsers[i].estimate());
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Gets the accounts with the most sign-in events, by email, most first
+     * @param k Maximum number of accounts to return
+     */
+    public List<SpaceSavingTopK.Entry> getTopAccounts(int k) {
+        return topAccounts.top(k);
+    }
+    
+    private void countCountry(String country) {
+        if (country == null) {
+            unknownCountryCount++;
+            return;
+        }
+        int code = countries.codeOf(country);
+        if (code == StringDictionary.NULL_CODE) {
+            if (countries.size() >= maxCountries) {
+                otherCountryCount++;
+                return;
+            }
+            code = countries.encode(country);
+        }
+        countryCounts[code]++;
+    }
+    
+    /**
+     * Gets the sketch for a day, recycling the slot of a day that has left the
+     * retained window; null for days older than the window
+     */
+    private HyperLogLog dayFor(long epochDay) {
+        int slot = (int) Math.floorMod(epochDay, (long) dailyUsers.length);
+        long current = dailyUsersDay[slot];
+        if (current == epochDay) {
+            return dailyUsers[slot];
+        }
+        if (current != Long.MIN_VALUE && current > epochDay) {
+            return null;
+        }
+        dailyUsers[slot].clear();
+        dailyUsersDay[slot] = epochDay;
+        return dailyUsers[slot];
+    }
+    
+    /**
+     * Builder for {@link SignInAggregator}
+     */
+    public static class Builder {
+        private int precision = HyperLogLog.DEFAULT_PRECISION;
+        private int retainedDays = 31;
+        private int topKCapacity = 1000;
+        private int maxCountries = 256;
+        
+        private Builder() {}
+        
+        /**
+         * HyperLogLog precision; each sketch takes {@code 2^precision} bytes
+         */
+        public Builder precision(int precision) {
+            if (precision < 4 || precision > 18) {
+                throw new IllegalArgumentException("Precision must be between 4 and 18");
+            }
+            this.precision = precision;
+            return this;
+        }
+        
+        /**
+         * Number of most recent UTC days with a distinct member count; defaults to 31
+         */
+        public Builder retainedDays(int retainedDays) {
+            if (retainedDays < 1) {
+                throw new IllegalArgumentException("Retained days must be at least 1");
+            }
+            this.retainedDays = retainedDays;
+            return this;
+        }
+        
+        /**
+         * Number of accounts monitored by the top-K sketch; defaults to 1000
+         */
+        public Builder topKCapacity(int topKCapacity) {
+            if (topKCapacity < 1) {
+                throw new IllegalArgumentException("Top-K capacity must be at least 1");
+            }
+            this.topKCapacity = topKCapacity;
+            return this;
+        }
+        
+        /**
+         * Number of distinct countries counted individually; defaults to 256
+         */
+        public Builder maxCountries(int maxCountries) {
+            if (maxCountries < 1) {
+                throw new IllegalArgumentException("Max countries must be at least 1");
+            }
+            this.maxCountries = maxCountries;
+            return this;
+        }
+        
+        public SignInAggregator build() {
+            return new SignInAggregator(this);
+        }
+    }
+}
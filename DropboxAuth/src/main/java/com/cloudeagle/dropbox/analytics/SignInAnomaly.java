@@ -0,0 +1,57 @@
+package com.cloudeagle.dropbox.analytics;
+
+import com.cloudeagle.dropbox.model.TeamEvent;
+
+import java.time.Instant;
+
+/**
+ * Suspicious sign-in pattern reported by {@link SignInAnomalyDetector}
+ */
+public final class SignInAnomaly {
+    
+    /**
+     * Kind of pattern detected
+     */
+    public enum Type {
+        /** Sign-in too far from the previous one to have travelled in the elapsed time */
+        IMPOSSIBLE_TRAVEL,
+        /** Sign-in from a country the member has not signed in from before */
+        NEW_COUNTRY,
+        /** Many failed sign-ins in a short window */
+        FAILURE_BURST
+    }
+    
+    private final Type type;
+    private final String teamMemberId;
+    private final TeamEvent event;
+    private final String description;
+    
+    public SignInAnomaly(Type type, String teamMemberId, TeamEvent event, String description) {
+        this.type = type;
+        this.teamMemberId = teamMemberId;
+        this.event = event;
+        this.description = description;
+    }
+    
+    public Type getType() { return type; }
+    
+    public String getTeamMemberId() { return teamMemberId; }
+    
+    /**
+     * Gets the event that triggered the anomaly
+     */
+    public TeamEvent getEvent() { return event; }
+    
+    public String getDescription() { return description; }
+    
+    public Instant getTimestamp() {
+        long millis = event.getTimestampMillis();
+        return millis != Long.MIN_VALUE ? Instant.ofEpochMilli(millis) : null;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("SignInAnomaly{type=%s, teamMemberId='%s', timestamp='%s', description='%s'}",
+                type, teamMemberId, event.getTimestamp(), description);
+    }
+}
@@ -0,0 +1,325 @@
+package com.cloudeagle.dropbox.analytics;
+
+import com.cloudeagle.dropbox.model.GeoLocation;
+import com.cloudeagle.dropbox.model.Origin;
+import com.cloudeagle.dropbox.model.TeamEvent;
+import com.cloudeagle.dropbox.model.UserInfo;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Streaming detector for suspicious sign-in patterns in the "logins" audit log.
+ * Events are processed one at a time against compact per-member state (last
+ * successful sign-in's time, country, host and coordinates, the set of countries
+ * seen and a ring of recent failure times), so each event costs O(1) and
+ * history is never re-scanned. Feed it from {@code streamTeamEvents(...).forEach}
+ * or a {@code TeamEventTailer}; anomalies are handed to the sink as they are found.
+ * <ul>
+ *   <li>{@link SignInAnomaly.Type#IMPOSSIBLE_TRAVEL} - with a {@link LocationResolver},
+ *       two successful sign-ins whose distance implies a speed above the limit; without
+ *       one, or when a location cannot be resolved, a change of country within the
+ *       country change window. Sign-ins from the same host as the previous one are
+ *       not checked, since a single address cannot be in two places.</li>
+ *   <li>{@link SignInAnomaly.Type#NEW_COUNTRY} - a successful sign-in from a country
+ *       the member has not signed in from since tracking began. A member's first
+ *       sign-in only establishes the baseline.</li>
+ *   <li>{@link SignInAnomaly.Type#FAILURE_BURST} - the failure threshold reached
+ *       within the failure window, reported once per window.</li>
+ * </ul>
+ * Events should arrive in timestamp order; a late success still updates the
+ * member's countries but is not checked for travel. Not thread-safe.
+ */
+public class SignInAnomalyDetector implements Consumer<TeamEvent> {
+    
+    // Beyond this many countries a member is no longer checked for new ones
+    private static final int MAX_COUNTRIES_PER_MEMBER = 32;
+    // Floor on elapsed time, so sign-ins seconds apart are not judged by geolocation noise
+    private static final long MIN_TRAVEL_MILLIS = Duration.ofMinutes(1).toMillis();
+    private static final int[] NO_COUNTRIES = new int[0];
+    
+    private final Consumer<? super SignInAnomaly> sink;
+    private final LocationResolver locationResolver;
+    private final double maxSpeedKmh;
+    private final double minTravelKm;
+    private final long countryChangeWindowMillis;
+    private final int failureThreshold;
+    private final long failureWindowMillis;
+    
+    private final Map<String, MemberState> members = new HashMap<>();
+    // Country names, so per-member country sets hold ints
+    private final StringDictionary dictionary = new StringDictionary();
+    private long processed;
+    private long anomalies;
+    
+    private SignInAnomalyDetector(Builder builder) {
+        this.sink = builder.sink;
+        this.locationResolver = builder.locationResolver;
+        this.maxSpeedKmh = builder.maxSpeedKmh;
+        this.minTravelKm = builder.minTravelKm;
+        this.countryChangeWindowMillis = builder.countryChangeWindow.toMillis();
+        this.failureThreshold = builder.failureThreshold;
+        this.failureWindowMillis = builder.failureWindow.toMillis();
+    }
+    
+    /**
+     * @param sink Callback receiving each anomaly as it is detected
+     */
+    public static Builder builder(Consumer<? super SignInAnomaly> sink) {
+        return new Builder(sink);
+    }
+    
+    /**
+     * Processes one event. Events outside the "logins" category, without a
+     * timestamp or without an acting team member are ignored.
+     */
+    @Override
+    public void accept(TeamEvent event) {
+        if (event == null || !"logins".equals(event.getEventCategory())) {
+            return;
+        }
+        long timestamp = event.getTimestampMillis();
+        String memberId = memberIdOf(event);
+        if (timestamp == Long.MIN_VALUE || memberId == null) {
+            return;
+        }
+        processed++;
+        
+        String eventType = event.getEventType();
+        if ("login_success".equals(eventType)) {
+            onSuccess(event, memberId, timestamp);
+        } else if ("login_fail".equals(eventType) || "sso_error".equals(eventType)) {
+            onFailure(event, memberId, timestamp);
+        }
+    }
+    
+    /**
+     * Gets the number of sign-in events processed
+     */
+    public long getProcessedCount() {
+        return processed;
+    }
+    
+    /**
+     * Gets the number of anomalies reported
+     */
+    public long getAnomalyCount() {
+        return anomalies;
+    }
+    
+    /**
+     * Gets the number of members with tracked state
+     */
+    public int getTrackedMemberCount() {
+        return members.size();
+    }
+    
+    private void onSuccess(TeamEvent event, String memberId, long timestamp) {
+        Origin origin = event.getOrigin();
+        GeoLocation location = origin != null ? origin.getGeoLocation() : null;
+        int country = dictionary.encode(location != null ? location.getCountry() : null);
+        String host = origin != null && origin.getHost() != null ? origin.getHost().getHost() : null;
+        
+        MemberState state = members.computeIfAbsent(memberId, id -> new MemberState());
+        if (country != StringDictionary.NULL_CODE && !state.hasCountry(country)) {
+            if (state.countryCount > 0) {
+                report(SignInAnomaly.Type.NEW_COUNTRY, memberId, event,
+                        "First sign-in from " + dictionary.decode(country));
+            }
+            state.addCountry(country);
+        }
+        
+        if (timestamp < state.lastSuccessMillis) {
+            return;
+        }
+        
+        GeoPoint point = location != null && locationResolver != null ? locationResolver.resolve(location) : null;
+        if (state.lastSuccessMillis != Long.MIN_VALUE
+                && (host == null || !host.equals(state.lastHost))) {
+            checkTravel(state, event, memberId, timestamp, country, point);
+        }
+        
+        state.lastSuccessMillis = timestamp;
+        state.lastHost = host;
+        if (country != StringDictionary.NULL_CODE) {
+            state.lastCountry = country;
+        }
+        state.lastLatitude = point != null ? point.getLatitude() : Double.NaN;
+        state.lastLongitude = point != null ? point.getLongitude() : Double.NaN;
+    }
+    
+    private void checkTravel(MemberState state, TeamEvent event, String memberId,
+                             long timestamp, int country, GeoPoint point) {
+        long elapsedMillis = timestamp - state.lastSuccessMillis;
+        if (point != null && !Double.isNaN(state.lastLatitude)) {
+            double distanceKm = GeoPoint.distanceKm(state.lastLatitude, state.lastLongitude,
+                    point.getLatitude(), point.getLongitude());
+            double hours = Math.max(elapsedMillis, MIN_TRAVEL_MILLIS) / 3_600_000.0;
+            double speedKmh = distanceKm / hours;
+            if (distanceKm >= minTravelKm && speedKmh > maxSpeedKmh) {
+                report(SignInAnomaly.Type.IMPOSSIBLE_TRAVEL, memberId, event, String.format(
+                        "%.0f km from previous sign-in in %d min (%.0f km/h)",
+                        distanceKm, elapsedMillis / 60_000, speedKmh));
+            }
+            return;
+        }
+        
+        if (country != StringDictionary.NULL_CODE && state.lastCountry != StringDictionary.NULL_CODE
+                && country != state.lastCountry && elapsedMillis < countryChangeWindowMillis) {
+            report(SignInAnomaly.Type.IMPOSSIBLE_TRAVEL, memberId, event, String.format(
+                    "Signed in from %s %d min after %s",
+                    dictionary.decode(country), elapsedMillis / 60_000, dictionary.decode(state.lastCountry)));
+        }
+    }
+    
+    private void onFailure(TeamEvent event, String memberId, long timestamp) {
+        MemberState state = members.computeIfAbsent(memberId, id -> new MemberState());
+        if (state.failures == null) {
+            state.failures = new long[failureThreshold];
+        }
+        
+        // After the write, the next slot holds the oldest of the last failureThreshold failures
+        long[] failures = state.failures;
+        failures[state.nextFailure] = timestamp;
+        state.nextFailure = (state.nextFailure + 1) % failures.length;
+        state.failureCount++;
+        
+        long oldest = failures[state.nextFailure];
+        boolean burst = state.failureCount >= failureThreshold && timestamp - oldest <= failureWindowMillis;
+        if (burst && (state.lastBurstMillis == Long.MIN_VALUE
+                || timestamp - state.lastBurstMillis > failureWindowMillis)) {
+            state.lastBurstMillis = timestamp;
+            report(SignInAnomaly.Type.FAILURE_BURST, memberId, event, String.format(
+                    "%d failed sign-ins within %d min", failureThreshold, failureWindowMillis / 60_000));
+        }
+    }
+    
+    private void report(SignInAnomaly.Type type, String memberId, TeamEvent event, String description) {
+        anomalies++;
+        sink.accept(new SignInAnomaly(type, memberId, event, description));
+    }
+    
+    private static String memberIdOf(TeamEvent event) {
+        UserInfo user = event.getActor() != null ? event.getActor().getUser() : null;
+        if (user == null) {
+            return null;
+        }
+        return user.getTeamMemberId() != null ? user.getTeamMemberId() : user.getEmail();
+    }
+    
+    /**
+     * Everything remembered about one member
+     */
+    private static final class MemberState {
+        private long lastSuccessMillis = Long.MIN_VALUE;
+        private int lastCountry = StringDictionary.NULL_CODE;
+        private String lastHost;
+        private double lastLatitude = Double.NaN;
+        private double lastLongitude = Double.NaN;
+        
+        // Dictionary codes of countries seen; members rarely have more than a few
+        private int[] countries = NO_COUNTRIES;
+        private int countryCount;
+        
+        // Ring of recent failure timestamps, allocated on the first failure
+        private long[] failures;
+        private int nextFailure;
+        private long failureCount;
+        private long lastBurstMillis = Long.MIN_VALUE;
+        
+        boolean hasCountry(int country) {
+            for (int i = 0; i < countryCount; i++) {
+                if (countries[i] == country) {
+                    return true;
+                }
+            }
+            return countryCount >= MAX_COUNTRIES_PER_MEMBER;
+        }
+        
+        void addCountry(int country) {
+            if (countryCount == countries.length) {
+                countries = Arrays.copyOf(countries, Math.max(2, countryCount * 2));
+            }
+            countries[countryCount++] = country;
+        }
+    }
+    
+    /**
+     * Builder for {@link SignInAnomalyDetector}
+     */
+    public static class Builder {
+        private final Consumer<? super SignInAnomaly> sink;
+        private LocationResolver locationResolver;
+        private double maxSpeedKmh = 1000;
+        private double minTravelKm = 500;
+        private Duration countryChangeWindow = Duration.ofHours(2);
+        private int failureThreshold = 5;
+        private Duration failureWindow = Duration.ofMinutes(10);
+        
+        private Builder(Consumer<? super SignInAnomaly> sink) {
+            if (sink == null) {
+                throw new IllegalArgumentException("Sink cannot be null");
+            }
+            this.sink = sink;
+        }
+        
+        /**
+         * Resolver enabling speed-based travel checks; without one only country changes are checked
+         */
+        public Builder locationResolver(LocationResolver locationResolver) {
+            this.locationResolver = locationResolver;
+            return this;
+        }
+        
+        /**
+         * Fastest plausible travel speed, defaults to 1000 km/h
+         * @param maxSpeedKmh Speed above which travel is impossible
+         * @param minTravelKm Distances below this are never flagged, to absorb geolocation error; defaults to 500 km
+         */
+        public Builder maxTravelSpeed(double maxSpeedKmh, double minTravelKm) {
+            if (!(maxSpeedKmh > 0)) {
+                throw new IllegalArgumentException("Max speed must be positive");
+            }
+            if (!(minTravelKm >= 0)) {
+                throw new IllegalArgumentException("Min travel distance cannot be negative");
+            }
+            this.maxSpeedKmh = maxSpeedKmh;
+            this.minTravelKm = minTravelKm;
+            return this;
+        }
+        
+        /**
+         * Country changes within this window are impossible travel when coordinates
+         * are unavailable; defaults to 2 hours
+         */
+        public Builder countryChangeWindow(Duration countryChangeWindow) {
+            if (countryChangeWindow == null || countryChangeWindow.isNegative()) {
+                throw new IllegalArgumentException("Country change window cannot be negative");
+            }
+            this.countryChangeWindow = countryChangeWindow;
+            return this;
+        }
+        
+        /**
+         * Number of failed sign-ins within the window that makes a burst; defaults to 5 in 10 minutes
+         */
+        public Builder failureBurst(int threshold, Duration window) {
+            if (threshold < 1) {
+                throw new IllegalArgumentException("Threshold must be at least 1");
+            }
+            if (window == null || window.isNegative()) {
+                throw new IllegalArgumentException("Window cannot be negative");
+            }
+            this.failureThreshold = threshold;
+            this.failureWindow = window;
+            return this;
+        }
+        
+        public SignInAnomalyDetector build() {
+            return new SignInAnomalyDetector(this);
+        }
+    }
+}
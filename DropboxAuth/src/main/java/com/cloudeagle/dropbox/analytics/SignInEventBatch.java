@@ -0,0 +1,284 @@
+package com.cloudeagle.dropbox.analytics;
+
+import com.cloudeagle.dropbox.model.Actor;
+import com.cloudeagle.dropbox.model.GeoLocation;
+import com.cloudeagle.dropbox.model.HostInfo;
+import com.cloudeagle.dropbox.model.Origin;
+import com.cloudeagle.dropbox.model.TeamEvent;
+import com.cloudeagle.dropbox.model.TeamEventsResponse;
+import com.cloudeagle.dropbox.model.UserInfo;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Columnar, dictionary-encoded batch of sign-in events.
+ * Each event is one row across primitive columns: an epoch-millisecond
+ * timestamp and int codes for category, type, user, email, country, region,
+ * city and IP address. All string columns share one {@link StringDictionary},
+ * so repeated values such as "login_success" or a country name are held once
+ * per batch instead of once per event.
+ * <p>
+ * Only the fields above survive a round trip; event details, display names,
+ * the actor's account ID and the event context are dropped, and timestamps
+ * are kept to the millisecond. Not thread-safe.
+ */
+public class SignInEventBatch {
+    
+    private static final int DEFAULT_CAPACITY = 1024;
+    
+    private final StringDictionary dictionary;
+    
+    private long[] timestamps;
+    private int[] categories;
+    private int[] types;
+    private int[] users;
+    private int[] emails;
+    private int[] countries;
+    private int[] regions;
+    private int[] cities;
+    private int[] ipAddresses;
+    private int size;
+    
+    public SignInEventBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * @param initialCapacity Number of rows to allocate up front
+     */
+    public SignInEventBatch(int initialCapacity) {
+        this(initialCapacity, new StringDictionary());
+    }
+    
+    /**
+     * Creates a batch that encodes into an existing dictionary, so codes are
+     * comparable across batches
+     * @param initialCapacity Number of rows to allocate up front
+     * @param dictionary Dictionary shared with other batches
+     */
+    public SignInEventBatch(int initialCapacity, StringDictionary dictionary) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative");
+        }
+        if (dictionary == null) {
+            throw new IllegalArgumentException("Dictionary cannot be null");
+        }
+        this.dictionary = dictionary;
+        this.timestamps = new long[initialCapacity];
+        this.categories = new int[initialCapacity];
+        this.types = new int[initialCapacity];
+        this.users = new int[initialCapacity];
+        this.emails = new int[initialCapacity];
+        this.countries = new int[initialCapacity];
+        this.regions = new int[initialCapacity];
+        this.cities = new int[initialCapacity];
+        this.ipAddresses = new int[initialCapacity];
+    }
+    
+    /**
+     * Encodes every event of a response page into a new batch
+     */
+    public static SignInEventBatch from(TeamEventsResponse response) {
+        if (response == null) {
+            throw new IllegalArgumentException("Response cannot be null");
+        }
+        List<TeamEvent> events = response.getEvents();
+        SignInEventBatch batch = new SignInEventBatch(events != null ? events.size() : 0);
+        if (events != null) {
+            batch.addAll(events);
+        }
+        return batch;
+    }
+    
+    /**
+     * Appends an event as a new row
+     */
+    public void add(TeamEvent event) {
+        if (event == null) {
+            throw new IllegalArgumentException("Event cannot be null");
+        }
+        if (size == timestamps.length) {
+            grow();
+        }
+        
+        UserInfo user = event.getActor() != null ? event.getActor().getUser() : null;
+        Origin origin = event.getOrigin();
+        GeoLocation location = origin != null ? origin.getGeoLocation() : null;
+        HostInfo host = origin != null ? origin.getHost() : null;
+        
+        long timestamp = event.getTimestampMillis();
+        int row = size++;
+        timestamps[row] = timestamp;
+        categories[row] = dictionary.encode(event.getEventCategory());
+        types[row] = dictionary.encode(event.getEventType());
+        users[row] = dictionary.encode(user != null ? user.getTeamMemberId() : null);
+        emails[row] = dictionary.encode(user != null ? user.getEmail() : null);
+        countries[row] = dictionary.encode(location != null ? location.getCountry() : null);
+        regions[row] = dictionary.encode(location != null ? location.getRegion() : null);
+        cities[row] = dictionary.encode(location != null ? location.getCity() : null);
+        ipAddresses[row] = dictionary.encode(host != null ? host.getHost() : null);
+    }
+    
+    /**
+     * Appends events as new rows, in order
+     */
+    public void addAll(Iterable<? extends TeamEvent> events) {
+        if (events == null) {
+            throw new IllegalArgumentException("Events cannot be null");
+        }
+        for (TeamEvent event : events) {
+            add(event);
+        }
+    }
+    
+    /**
+     * Rebuilds the event for one row
+     */
+    public TeamEvent toTeamEvent(int row) {
+        checkRow(row);
+        
+        TeamEvent event = new TeamEvent();
+        if (timestamps[row] != Long.MIN_VALUE) {
+            event.setTimestamp(Instant.ofEpochMilli(timestamps[row]).toString());
+        }
+        event.setEventCategory(dictionary.decode(categories[row]));
+        event.setEventType(dictionary.decode(types[row]));
+        
+        if (users[row] != StringDictionary.NULL_CODE || emails[row] != StringDictionary.NULL_CODE) {
+            UserInfo user = new UserInfo();
+            user.setTeamMemberId(dictionary.decode(users[row]));
+            user.setEmail(dictionary.decode(emails[row]));
+            Actor actor = new Actor();
+            actor.setUser(user);
+            event.setActor(actor);
+        }
+        
+        boolean hasLocation = countries[row] != StringDictionary.NULL_CODE
+                || regions[row] != StringDictionary.NULL_CODE
+                || cities[row] != StringDictionary.NULL_CODE;
+        if (hasLocation || ipAddresses[row] != StringDictionary.NULL_CODE) {
+            Origin origin = new Origin();
+            if (hasLocation) {
+                GeoLocation location = new GeoLocation();
+                location.setCountry(dictionary.decode(countries[row]));
+                location.setRegion(dictionary.decode(regions[row]));
+                location.setCity(dictionary.decode(cities[row]));
+                origin.setGeoLocation(location);
+            }
+            if (ipAddresses[row] != StringDictionary.NULL_CODE) {
+                HostInfo host = new HostInfo();
+                host.setHost(dictionary.decode(ipAddresses[row]));
+                origin.setHost(host);
+            }
+            event.setOrigin(origin);
+        }
+        return event;
+    }
+    
+    /**
+     * Rebuilds all rows as a response page without cursor
+     */
+    public TeamEventsResponse toResponse() {
+        List<TeamEvent> events = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            events.add(toTeamEvent(row));
+        }
+        TeamEventsResponse response = new TeamEventsResponse();
+        response.setEvents(events);
+        return response;
+    }
+    
+    /**
+     * Releases capacity beyond the current number of rows
+     */
+    public void trimToSize() {
+        resize(size);
+    }
+    
+    /**
+     * Gets the number of rows
+     */
+    public int size() {
+        return size;
+    }
+    
+    public StringDictionary getDictionary() {
+        return dictionary;
+    }
+    
+    /**
+     * Gets a row's timestamp in epoch milliseconds, or {@link Long#MIN_VALUE} if the event had none
+     */
+    public long getTimestamp(int row) {
+        checkRow(row);
+        return timestamps[row];
+    }
+    
+    public int getCategoryCode(int row) {
+        checkRow(row);
+        return categories[row];
+    }
+    
+    public int getTypeCode(int row) {
+        checkRow(row);
+        return types[row];
+    }
+    
+    /**
+     * Gets the dictionary code of the actor's team member ID
+     */
+    public int getUserCode(int row) {
+        checkRow(row);
+        return users[row];
+    }
+    
+    public int getEmailCode(int row) {
+        checkRow(row);
+        return emails[row];
+    }
+    
+    public int getCountryCode(int row) {
+        checkRow(row);
+        return countries[row];
+    }
+    
+    public int getRegionCode(int row) {
+        checkRow(row);
+        return regions[row];
+    }
+    
+    public int getCityCode(int row) {
+        checkRow(row);
+        return cities[row];
+    }
+    
+    public int getIpAddressCode(int row) {
+        checkRow(row);
+        return ipAddresses[row];
+    }
+    
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+        }
+    }
+    
+    private void grow() {
+        resize(Math.max(16, timestamps.length + (timestamps.length >> 1)));
+    }
+    
+    private void resize(int capacity) {
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        types = Arrays.copyOf(types, capacity);
+        users = Arrays.copyOf(users, capacity);
+        emails = Arrays.copyOf(emails, capacity);
+        countries = Arrays.copyOf(countries, capacity);
+        regions = Arrays.copyOf(regions, capacity);
+        cities = Arrays.copyOf(cities, capacity);
+        ipAddresses = Arrays.copyOf(ipAddresses, capacity);
+    }
+}
@@ -0,0 +1,173 @@
+package com.cloudeagle.dropbox.analytics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving sketch of the most frequent strings in a stream.
+ * At most {@code capacity} values are monitored. When a new value arrives and
+ * the sketch is full, it replaces the least counted value and inherits its
+ * count, which is recorded as that value's maximum overestimate. Any value
+ * occurring more than {@code total / capacity} times is guaranteed to be
+ * monitored. Counters sit in an indexed min-heap, so each update is O(log capacity).
+ * Not thread-safe.
+ */
+public class SpaceSavingTopK {
+    
+    private final int capacity;
+    private final String[] values;
+    private final long[] counts;
+    private final long[] errors;
+    private final Map<String, Integer> positions;
+    private int size;
+    private long total;
+    
+    /**
+     * @param capacity Number of monitored values; a few times the number of top values wanted
+     */
+    public SpaceSavingTopK(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        this.values = new String[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.positions = new HashMap<>(capacity * 2);
+    }
+    
+    /**
+     * Counts one occurrence of a value; null is ignored
+     */
+    public void add(String value) {
+        if (value == null) {
+            return;
+        }
+        total++;
+        
+        Integer position = positions.get(value);
+        if (position != null) {
+            counts[position]++;
+            siftDown(position);
+            return;
+        }
+        
+        if (size < capacity) {
+            values[size] = value;
+            counts[size] = 1;
+            errors[size] = 0;
+            positions.put(value, size);
+            siftUp(size++);
+            return;
+        }
+        
+        // Evict the least counted value; the newcomer may have occurred up to that many times unseen
+        positions.remove(values[0]);
+        long evicted = counts[0];
+        values[0] = value;
+        counts[0] = evicted + 1;
+        errors[0] = evicted;
+        positions.put(value, 0);
+        siftDown(0);
+    }
+    
+    /**
+     * Gets the values with the highest estimated counts, highest first
+     * @param k Maximum number of entries to return
+     */
+    public List<Entry> top(int k) {
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new Entry(values[i], counts[i], errors[i]));
+        }
+        entries.sort(Comparator.comparingLong(Entry::getCount).reversed());
+        return Collections.unmodifiableList(entries.subList(0, Math.min(k, entries.size())));
+    }
+    
+    /**
+     * Gets the number of values counted
+     */
+    public long getTotal() {
+        return total;
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (counts[parent] <= counts[index]) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+    
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left + 1 < size && counts[left + 1] < counts[left] ? left + 1 : left;
+            if (counts[index] <= counts[smallest]) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+    
+    private void swap(int a, int b) {
+        String value = values[a];
+        values[a] = values[b];
+        values[b] = value;
+        long count = counts[a];
+        counts[a] = counts[b];
+        counts[b] = count;
+        long error = errors[a];
+        errors[a] = errors[b];
+        errors[b] = error;
+        positions.put(values[a], a);
+        positions.put(values[b], b);
+    }
+    
+    /**
+     * Estimated count of one monitored value
+     */
+    public static final class Entry {
+        private final String value;
+        private final long count;
+        private final long error;
+        
+        Entry(String value, long count, long error) {
+            this.value = value;
+            this.count = count;
+            this.error = error;
+        }
+        
+        public String getValue() { return value; }
+        
+        /**
+         * Gets the estimated count, which never undercounts
+         */
+        public long getCount() { return count; }
+        
+        /**
+         * Gets the maximum overestimate; the true count is at least {@code count - error}
+         */
+        public long getError() { return error; }
+        
+        @Override
+        public String toString() {
+            return String.format("Entry{value='%s', count=%d, error=%d}", value, count, error);
+        }
+    }
+}
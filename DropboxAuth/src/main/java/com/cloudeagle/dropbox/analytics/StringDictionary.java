@@ -0,0 +1,69 @@
+package com.cloudeagle.dropbox.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps repeated strings to dense int codes, so each distinct value is held once.
+ * Codes are assigned in first-seen order starting at 0; null is always
+ * {@link #NULL_CODE}. Not thread-safe.
+ */
+public class StringDictionary {
+    
+    public static final int NULL_CODE = -1;
+    
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    
+    /**
+     * Gets the code for a value, assigning a new code on first use
+     * @return the value's code, or {@link #NULL_CODE} for null
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+    
+    /**
+     * Gets the code for a value without assigning one
+     * @return the value's code, or {@link #NULL_CODE} if the value is null or unknown
+     */
+    public int codeOf(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        return code != null ? code : NULL_CODE;
+    }
+    
+    /**
+     * Gets the value for a code
+     * @return the value, or null for {@link #NULL_CODE}
+     */
+    public String decode(int code) {
+        if (code == NULL_CODE) {
+            return null;
+        }
+        if (code < 0 || code >= values.size()) {
+            throw new IllegalArgumentException("Unknown dictionary code: " + code);
+        }
+        return values.get(code);
+    }
+    
+    /**
+     * Gets the number of distinct values
+     */
+    public int size() {
+        return values.size();
+    }
+}
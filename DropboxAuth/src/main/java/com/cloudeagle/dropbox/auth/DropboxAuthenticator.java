@@ -3,14 +3,25 @@ package com.cloudeagle.dropbox.auth;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.cloudeagle.dropbox.codec.DropboxCodecs;
+import com.cloudeagle.dropbox.http.DropboxHttpTransport;
+import com.cloudeagle.dropbox.http.Idempotency;
+import com.cloudeagle.dropbox.http.RetryInterceptor;
+import com.cloudeagle.dropbox.http.RetryPolicy;
+import com.cloudeagle.dropbox.metrics.DropboxClientListener;
 import okhttp3.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -18,26 +29,81 @@ import java.util.concurrent.TimeUnit;
  */
 public class DropboxAuthenticator {
     private static final Logger logger = LoggerFactory.getLogger(DropboxAuthenticator.class);
+    private static final long EXPIRY_BUFFER_SECONDS = 300; // 5 min buffer
+    // Dropbox access tokens live 4 hours; assume less when a refresh response omits expires_in
+    private static final long DEFAULT_REFRESHED_LIFETIME_SECONDS = 3600;
+    private static final Duration BACKGROUND_RETRY_DELAY = Duration.ofSeconds(30);
+    // Floor on the proactive refresh delay, so short-lived tokens are not refreshed back to back
+    private static final long MIN_REFRESH_DELAY_MILLIS = 1000;
+    
+    public static final String DEFAULT_TOKEN_URL = "https://api.dropboxapi.com/oauth2/token";
     
     private final String clientId;
     private final String clientSecret;
     private final String redirectUri;
+    private final String tokenUrl;
+    private final DropboxHttpTransport transport;
+    private final boolean ownsTransport;
     private final OkHttpClient httpClient;
     private final ObjectMapper objectMapper;
+    private final DropboxClientListener listener;
+    private final TokenStore tokenStore;
+    private final String tokenStoreKey;
+    
+    private final Object refreshLock = new Object();
+    private final ScheduledExecutorService refreshScheduler;
+    private final Duration refreshLeadTime;
     
-    private String accessToken;
-    private String refreshToken;
-    private LocalDateTime tokenExpiry;
+    private volatile TokenState tokenState;
+    
+    // Guarded by refreshLock
+    private CompletableFuture<TokenState> inFlightRefresh;
+    private ScheduledFuture<?> scheduledRefresh;
     
     public DropboxAuthenticator(String clientId, String clientSecret, String redirectUri) {
-        this.clientId = clientId;
-        this.clientSecret = clientSecret;
-        this.redirectUri = redirectUri;
-        this.httpClient = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
+        this(builder(clientId, clientSecret, redirectUri));
+    }
+    
+    /**
+     * Creates an authenticator that sends token requests over a shared transport.
+     * The transport is not closed by this authenticator.
+     */
+    public DropboxAuthenticator(String clientId, String clientSecret, String redirectUri,
+                                DropboxHttpTransport transport) {
+        this(builder(clientId, clientSecret, redirectUri).transport(transport));
+    }
+    
+    private DropboxAuthenticator(Builder builder) {
+        this.clientId = builder.clientId;
+        this.clientSecret = builder.clientSecret;
+        this.redirectUri = builder.redirectUri;
+        this.tokenUrl = builder.tokenUrl;
+        this.ownsTransport = builder.transport == null;
+        this.transport = ownsTransport
+                ? DropboxHttpTransport.builder().readTimeout(Duration.ofSeconds(30)).build()
+                : builder.transport;
+        this.httpClient = transport.client().newBuilder()
+                .addInterceptor(new RetryInterceptor(builder.retryPolicy))
                 .build();
-        this.objectMapper = new ObjectMapper();
+        this.objectMapper = DropboxCodecs.mapper();
+        this.listener = builder.listener;
+        this.refreshLeadTime = builder.refreshLeadTime;
+        this.refreshScheduler = refreshLeadTime != null
+                ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "dropbox-token-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+        this.tokenStore = builder.tokenStore;
+        this.tokenStoreKey = builder.tokenStoreKey;
+        if (tokenStore != null) {
+            loadStoredToken();
+        }
+    }
+    
+    public static Builder builder(String clientId, String clientSecret, String redirectUri) {
+        return new Builder(clientId, clientSecret, redirectUri);
     }
     
     /**
@@ -55,6 +121,10 @@ public class DropboxAuthenticator {
      * Exchanges authorization code for access token
      */
     public void exchangeCodeForToken(String authorizationCode) throws IOException {
+        if (authorizationCode == null || authorizationCode.isEmpty()) {
+            throw new IllegalArgumentException("Authorization code cannot be null or empty");
+        }
+        
         RequestBody requestBody = new FormBody.Builder()
                 .add("client_id", clientId)
                 .add("client_secret", clientSecret)
@@ -63,11 +133,15 @@ public class DropboxAuthenticator {
                 .add("grant_type", "authorization_code")
                 .build();
         
+        // Authorization codes are single-use, so the exchange must never be replayed
         Request request = new Request.Builder()
-                .url("https://api.dropboxapi.com/oauth2/token")
+                .url(tokenUrl)
+                .tag(Idempotency.class, Idempotency.NON_IDEMPOTENT)
                 .post(requestBody)
                 .build();
         
+        long start = System.nanoTime();
+        boolean success = false;
         try (Response response = httpClient.newCall(request).execute()) {
             if (!response.isSuccessful()) {
                 throw new IOException("Failed to exchange code for token: " + response.body().string());
@@ -76,38 +150,120 @@ public class DropboxAuthenticator {
             String responseBody = response.body().string();
             TokenResponse tokenResponse = objectMapper.readValue(responseBody, TokenResponse.class);
             
-            this.accessToken = tokenResponse.accessToken;
-            this.refreshToken = tokenResponse.refreshToken;
-            
-            // Calculate expiry time
-            if (tokenResponse.expiresIn != null) {
-                this.tokenExpiry = LocalDateTime.now().plusSeconds(tokenResponse.expiresIn - 300); // 5 min buffer
+            // No expires_in here means a legacy long-lived token
+            TokenState obtained = TokenState.from(tokenResponse, tokenResponse.refreshToken, null);
+            synchronized (refreshLock) {
+                this.tokenState = obtained;
+                scheduleRefresh(obtained);
             }
+            storeToken(obtained);
+            success = true;
             
             logger.info("Successfully obtained access token");
+        } finally {
+            listener.onTokenRequest("authorization_code", success, System.nanoTime() - start);
         }
     }
     
     /**
-     * Refreshes the access token using refresh token
+     * Refreshes the access token using refresh token.
+     * Refreshes are single-flight: if another thread is already refreshing,
+     * this call waits for that refresh instead of starting a second one.
      */
     public void refreshAccessToken() throws IOException {
-        if (refreshToken == null) {
+        refresh(null);
+    }
+    
+    /**
+     * Gets a valid access token, refreshing if necessary
+     */
+    public String getValidAccessToken() throws IOException {
+        TokenState state = tokenState;
+        if (state == null) {
+            throw new IllegalStateException("No access token available. Please authenticate first.");
+        }
+        
+        // Check if token is expired or will expire soon
+        if (state.isExpired()) {
+            logger.info("Access token expired, refreshing...");
+            state = refresh(state);
+        }
+        
+        return state.accessToken;
+    }
+    
+    /**
+     * Checks whether the authenticator holds tokens, from a code exchange or a token store
+     */
+    public boolean isAuthenticated() {
+        return tokenState != null;
+    }
+    
+    /**
+     * Refreshes the token unless it has already been replaced since {@code observed}
+     * was read. Concurrent callers share a single in-flight refresh.
+     * @param observed Token state the caller found stale, or null to refresh unconditionally
+     * @return the current token state after the refresh
+     */
+    private TokenState refresh(TokenState observed) throws IOException {
+        CompletableFuture<TokenState> refresh;
+        boolean leader = false;
+        
+        synchronized (refreshLock) {
+            if (observed != null && tokenState != observed) {
+                return tokenState;
+            }
+            if (inFlightRefresh == null) {
+                inFlightRefresh = new CompletableFuture<>();
+                leader = true;
+            }
+            refresh = inFlightRefresh;
+        }
+        
+        if (!leader) {
+            return awaitRefresh(refresh);
+        }
+        
+        try {
+            TokenState refreshed = requestRefresh();
+            synchronized (refreshLock) {
+                tokenState = refreshed;
+                inFlightRefresh = null;
+                scheduleRefresh(refreshed);
+            }
+            storeToken(refreshed);
+            refresh.complete(refreshed);
+            return refreshed;
+        } catch (IOException | RuntimeException e) {
+            synchronized (refreshLock) {
+                inFlightRefresh = null;
+            }
+            refresh.completeExceptionally(e);
+            throw e;
+        }
+    }
+    
+    private TokenState requestRefresh() throws IOException {
+        TokenState current = tokenState;
+        if (current == null || current.refreshToken == null) {
             throw new IllegalStateException("No refresh token available");
         }
         
         RequestBody requestBody = new FormBody.Builder()
                 .add("client_id", clientId)
                 .add("client_secret", clientSecret)
-                .add("refresh_token", refreshToken)
+                .add("refresh_token", current.refreshToken)
                 .add("grant_type", "refresh_token")
                 .build();
         
         Request request = new Request.Builder()
-                .url("https://api.dropboxapi.com/oauth2/token")
+                .url(tokenUrl)
+                .tag(Idempotency.class, Idempotency.IDEMPOTENT)
                 .post(requestBody)
                 .build();
         
+        long start = System.nanoTime();
+        boolean success = false;
         try (Response response = httpClient.newCall(request).execute()) {
             if (!response.isSuccessful()) {
                 throw new IOException("Failed to refresh token: " + response.body().string());
@@ -116,32 +272,162 @@ public class DropboxAuthenticator {
             String responseBody = response.body().string();
             TokenResponse tokenResponse = objectMapper.readValue(responseBody, TokenResponse.class);
             
-            this.accessToken = tokenResponse.accessToken;
-            
-            // Update expiry time
-            if (tokenResponse.expiresIn != null) {
-                this.tokenExpiry = LocalDateTime.now().plusSeconds(tokenResponse.expiresIn - 300);
-            }
+            // Dropbox does not rotate refresh tokens, so keep the current one unless a new one is issued
+            String refreshToken = tokenResponse.refreshToken != null ? tokenResponse.refreshToken : current.refreshToken;
+            // Refreshed tokens always expire; never treat a missing expires_in as "never"
+            TokenState refreshed = TokenState.from(tokenResponse, refreshToken, DEFAULT_REFRESHED_LIFETIME_SECONDS);
+            success = true;
             
             logger.info("Successfully refreshed access token");
+            return refreshed;
+        } finally {
+            listener.onTokenRequest("refresh_token", success, System.nanoTime() - start);
+        }
+    }
+    
+    private static TokenState awaitRefresh(CompletableFuture<TokenState> refresh) throws IOException {
+        try {
+            return refresh.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for token refresh");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new IOException(cause.getMessage(), cause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
         }
     }
     
     /**
-     * Gets a valid access token, refreshing if necessary
+     * Resumes with the tokens in the store, if any. A store that cannot be read
+     * leaves the authenticator unauthenticated rather than failing construction.
      */
-    public String getValidAccessToken() throws IOException {
-        if (accessToken == null) {
-            throw new IllegalStateException("No access token available. Please authenticate first.");
+    private void loadStoredToken() {
+        StoredToken stored;
+        try {
+            stored = tokenStore.load(tokenStoreKey);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to load stored token for {}", tokenStoreKey, e);
+            return;
+        }
+        if (stored == null) {
+            return;
         }
         
-        // Check if token is expired or will expire soon
-        if (tokenExpiry != null && LocalDateTime.now().isAfter(tokenExpiry)) {
-            logger.info("Access token expired, refreshing...");
-            refreshAccessToken();
+        TokenState loaded = new TokenState(stored.getAccessToken(), stored.getRefreshToken(), stored.getExpiry());
+        synchronized (refreshLock) {
+            tokenState = loaded;
+            scheduleRefresh(loaded);
+        }
+        logger.info("Loaded stored access token for {}", tokenStoreKey);
+    }
+    
+    /**
+     * Writes new tokens back to the store. Failures are logged, not thrown:
+     * the tokens are already in use, and the next refresh will try again.
+     */
+    private void storeToken(TokenState state) {
+        if (tokenStore == null) {
+            return;
+        }
+        try {
+            tokenStore.save(tokenStoreKey, new StoredToken(state.accessToken, state.refreshToken, state.expiry));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to store token for {}", tokenStoreKey, e);
+        }
+    }
+    
+    /**
+     * Schedules a background refresh ahead of the token's expiry so that
+     * callers of {@link #getValidAccessToken()} never wait on the token endpoint.
+     * A lead time longer than half the remaining lifetime is shortened to it,
+     * so each token is used for at least half its life. Must be called while
+     * holding refreshLock.
+     */
+    private void scheduleRefresh(TokenState state) {
+        if (refreshScheduler == null || refreshScheduler.isShutdown()
+                || state.expiry == null || state.refreshToken == null) {
+            return;
+        }
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+        }
+        
+        long remainingMillis = Duration.between(Instant.now(), state.expiry).toMillis();
+        long leadDelayMillis = remainingMillis - refreshLeadTime.toMillis();
+        long delayMillis = Math.max(MIN_REFRESH_DELAY_MILLIS, Math.max(leadDelayMillis, remainingMillis / 2));
+        scheduledRefresh = refreshScheduler.schedule(this::backgroundRefresh, delayMillis, TimeUnit.MILLISECONDS);
+        logger.debug("Next proactive token refresh in {} s", TimeUnit.MILLISECONDS.toSeconds(delayMillis));
+    }
+    
+    private void backgroundRefresh() {
+        try {
+            refresh(null);
+        } catch (Exception e) {
+            logger.warn("Proactive token refresh failed, retrying in {} s", BACKGROUND_RETRY_DELAY.getSeconds(), e);
+            synchronized (refreshLock) {
+                if (!refreshScheduler.isShutdown()) {
+                    scheduledRefresh = refreshScheduler.schedule(this::backgroundRefresh,
+                            BACKGROUND_RETRY_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Stops proactive refreshes and releases the HTTP transport if this authenticator created it
+     */
+    public void close() {
+        if (refreshScheduler != null) {
+            refreshScheduler.shutdownNow();
+        }
+        if (ownsTransport) {
+            transport.close();
+        }
+    }
+    
+    /**
+     * Immutable snapshot of the current tokens, published through a volatile field
+     */
+    private static final class TokenState {
+        private final String accessToken;
+        private final String refreshToken;
+        private final Instant expiry;
+        
+        private TokenState(String accessToken, String refreshToken, Instant expiry) {
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+            this.expiry = expiry;
+        }
+        
+        /**
+         * @param defaultExpiresIn Lifetime to assume if the response has no expires_in,
+         *                         or null for a token that does not expire
+         */
+        static TokenState from(TokenResponse response, String refreshToken, Long defaultExpiresIn) {
+            Long expiresIn = response.expiresIn != null ? response.expiresIn : defaultExpiresIn;
+            Instant expiry = expiresIn != null
+                    ? Instant.now().plusSeconds(expiresIn - expiryBuffer(expiresIn))
+                    : null;
+            return new TokenState(response.accessToken, refreshToken, expiry);
+        }
+        
+        /**
+         * Refresh 5 minutes early, or a quarter of the lifetime early for tokens
+         * short-lived enough that the fixed buffer would expire them on arrival
+         */
+        private static long expiryBuffer(long expiresIn) {
+            return Math.max(0, Math.min(EXPIRY_BUFFER_SECONDS, expiresIn / 4));
         }
         
-        return accessToken;
+        boolean isExpired() {
+            return expiry != null && Instant.now().isAfter(expiry);
+        }
     }
     
     // Token response model
@@ -161,4 +447,116 @@ public class DropboxAuthenticator {
         @JsonProperty("scope")
         public String scope;
     }
+    
+    /**
+     * Builder for {@link DropboxAuthenticator}
+     */
+    public static class Builder {
+        private final String clientId;
+        private final String clientSecret;
+        private final String redirectUri;
+        private String tokenUrl = DEFAULT_TOKEN_URL;
+        private DropboxHttpTransport transport;
+        private RetryPolicy retryPolicy = RetryPolicy.defaults();
+        private Duration refreshLeadTime;
+        private DropboxClientListener listener = DropboxClientListener.NOOP;
+        private TokenStore tokenStore;
+        private String tokenStoreKey;
+        
+        private Builder(String clientId, String clientSecret, String redirectUri) {
+            if (clientId == null || clientId.isEmpty()) {
+                throw new IllegalArgumentException("Client ID cannot be null or empty");
+            }
+            if (clientSecret == null || clientSecret.isEmpty()) {
+                throw new IllegalArgumentException("Client secret cannot be null or empty");
+            }
+            if (redirectUri == null || redirectUri.isEmpty()) {
+                throw new IllegalArgumentException("Redirect URI cannot be null or empty");
+            }
+            this.clientId = clientId;
+            this.clientSecret = clientSecret;
+            this.redirectUri = redirectUri;
+        }
+        
+        /**
+         * OAuth2 token endpoint; defaults to {@link #DEFAULT_TOKEN_URL}
+         */
+        public Builder tokenUrl(String tokenUrl) {
+            if (tokenUrl == null || tokenUrl.isEmpty()) {
+                throw new IllegalArgumentException("Token URL cannot be null or empty");
+            }
+            this.tokenUrl = tokenUrl;
+            return this;
+        }
+        
+        /**
+         * Shared transport to send token requests over. It is not closed by the authenticator.
+         * If unset, the authenticator creates and owns a default transport.
+         */
+        public Builder transport(DropboxHttpTransport transport) {
+            if (transport == null) {
+                throw new IllegalArgumentException("Transport cannot be null");
+            }
+            this.transport = transport;
+            return this;
+        }
+        
+        /**
+         * Retry policy for token refreshes. Authorization code exchanges are never retried.
+         */
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            if (retryPolicy == null) {
+                throw new IllegalArgumentException("Retry policy cannot be null");
+            }
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+        
+        /**
+         * Enables proactive background refresh. The token is refreshed this long
+         * before its buffered expiry (which is already up to 5 minutes before the
+         * real expiry), so request threads never block on the token endpoint.
+         * A lead time beyond half the token's lifetime is shortened to half of it.
+         */
+        public Builder proactiveRefresh(Duration leadTime) {
+            if (leadTime == null || leadTime.isNegative()) {
+                throw new IllegalArgumentException("Lead time cannot be negative");
+            }
+            this.refreshLeadTime = leadTime;
+            return this;
+        }
+        
+        /**
+         * Listener receiving token exchange and refresh latencies
+         */
+        public Builder listener(DropboxClientListener listener) {
+            if (listener == null) {
+                throw new IllegalArgumentException("Listener cannot be null");
+            }
+            this.listener = listener;
+            return this;
+        }
+        
+        /**
+         * Persists tokens across restarts. Tokens saved under the key are loaded
+         * when the authenticator is built, and new tokens are saved after every
+         * code exchange and refresh.
+         * @param key Identifies this authenticator's tokens in a store shared with others
+         */
+        public Builder tokenStore(TokenStore tokenStore, String key) {
+            if (tokenStore == null) {
+                throw new IllegalArgumentException("Token store cannot be null");
+            }
+            if (key == null || key.isEmpty()) {
+                throw new IllegalArgumentException("Token store key cannot be null or empty");
+            }
+            this.tokenStore = tokenStore;
+            this.tokenStoreKey = key;
+            return this;
+        }
+        
+        public DropboxAuthenticator build() {
+            return new DropboxAuthenticator(this);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,178 @@
+package com.cloudeagle.dropbox.auth;
+
+import com.cloudeagle.dropbox.codec.DropboxCodecs;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * {@link TokenStore} keeping one AES-GCM encrypted file per key in a directory.
+ * File names are a SHA-256 of the key, so keys never appear on disk, and the
+ * key is bound into each file as associated data, so a file copied to another
+ * key's name fails to decrypt. Files are replaced atomically and, on POSIX
+ * file systems, readable only by the owner.
+ */
+public class EncryptedFileTokenStore implements TokenStore {
+    
+    private static final byte FORMAT_VERSION = 1;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final String SUFFIX = ".token";
+    
+    private static final ObjectReader READER = DropboxCodecs.reader(TokenFile.class);
+    private static final ObjectWriter WRITER = DropboxCodecs.writer(TokenFile.class);
+    
+    private final Path directory;
+    private final SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+    private final boolean posix;
+    
+    /**
+     * @param directory Directory for the token files; created if missing
+     * @param key AES key of 16, 24 or 32 bytes. Keep it outside the directory,
+     *            for example in a secret manager or environment variable.
+     */
+    public EncryptedFileTokenStore(Path directory, byte[] key) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory cannot be null");
+        }
+        if (key == null || (key.length != 16 && key.length != 24 && key.length != 32)) {
+            throw new IllegalArgumentException("Key must be 16, 24 or 32 bytes");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.key = new SecretKeySpec(key.clone(), "AES");
+        this.posix = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+    }
+    
+    /**
+     * Generates a random 256-bit key
+     */
+    public static byte[] generateKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+    
+    @Override
+    public StoredToken load(String storeKey) throws IOException {
+        byte[] file;
+        try {
+            file = Files.readAllBytes(pathFor(storeKey));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (file.length < 1 + IV_LENGTH || file[0] != FORMAT_VERSION) {
+            throw new IOException("Failed to load token for " + storeKey + ": unrecognized file format");
+        }
+        
+        byte[] plaintext;
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, file, 1, IV_LENGTH));
+            cipher.updateAAD(storeKey.getBytes(StandardCharsets.UTF_8));
+            plaintext = cipher.doFinal(file, 1 + IV_LENGTH, file.length - 1 - IV_LENGTH);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Failed to decrypt token for " + storeKey, e);
+        }
+        
+        TokenFile token = READER.readValue(plaintext);
+        return new StoredToken(token.accessToken, token.refreshToken,
+                token.expiresAt != null ? Instant.ofEpochMilli(token.expiresAt) : null);
+    }
+    
+    @Override
+    public void save(String storeKey, StoredToken token) throws IOException {
+        if (token == null) {
+            throw new IllegalArgumentException("Token cannot be null");
+        }
+        Path path = pathFor(storeKey);
+        
+        TokenFile file = new TokenFile();
+        file.accessToken = token.getAccessToken();
+        file.refreshToken = token.getRefreshToken();
+        file.expiresAt = token.getExpiry() != null ? token.getExpiry().toEpochMilli() : null;
+        byte[] plaintext = WRITER.writeValueAsBytes(file);
+        
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        byte[] ciphertext;
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(storeKey.getBytes(StandardCharsets.UTF_8));
+            ciphertext = cipher.doFinal(plaintext);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Failed to encrypt token for " + storeKey, e);
+        }
+        
+        ByteBuffer contents = ByteBuffer.allocate(1 + IV_LENGTH + ciphertext.length)
+                .put(FORMAT_VERSION)
+                .put(iv)
+                .put(ciphertext);
+        
+        // Write a private temp file and rename it over the old one, so readers never see a partial file
+        Path temp = posix
+                ? Files.createTempFile(directory, "tmp", SUFFIX,
+                        PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")))
+                : Files.createTempFile(directory, "tmp", SUFFIX);
+        try {
+            Files.write(temp, contents.array());
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    @Override
+    public void delete(String storeKey) throws IOException {
+        Files.deleteIfExists(pathFor(storeKey));
+    }
+    
+    private Path pathFor(String storeKey) {
+        if (storeKey == null || storeKey.isEmpty()) {
+            throw new IllegalArgumentException("Key cannot be null or empty");
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(storeKey.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(digest) + SUFFIX);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    // Plaintext file model
+    private static class TokenFile {
+        @JsonProperty("access_token")
+        public String accessToken;
+        
+        @JsonProperty("refresh_token")
+        public String refreshToken;
+        
+        @JsonProperty("expires_at")
+        public Long expiresAt;
+    }
+}
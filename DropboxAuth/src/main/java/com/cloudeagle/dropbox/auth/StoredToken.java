@@ -0,0 +1,43 @@
+package com.cloudeagle.dropbox.auth;
+
+import java.time.Instant;
+
+/**
+ * Tokens held by a {@link DropboxAuthenticator}, as written to a {@link TokenStore}
+ */
+public final class StoredToken {
+    private final String accessToken;
+    private final String refreshToken;
+    private final Instant expiry;
+    
+    /**
+     * @param expiry When the authenticator stops using the access token, or null if it never expires
+     */
+    public StoredToken(String accessToken, String refreshToken, Instant expiry) {
+        if (accessToken == null) {
+            throw new IllegalArgumentException("Access token cannot be null");
+        }
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+        this.expiry = expiry;
+    }
+    
+    public String getAccessToken() { return accessToken; }
+    
+    /**
+     * Gets the refresh token, or null for a short-lived token without one
+     */
+    public String getRefreshToken() { return refreshToken; }
+    
+    /**
+     * Gets when the authenticator stops using the access token. This is a few
+     * minutes before Dropbox expires it; null if it never expires.
+     */
+    public Instant getExpiry() { return expiry; }
+    
+    @Override
+    public String toString() {
+        // Never print the tokens themselves
+        return String.format("StoredToken{hasRefreshToken=%s, expiry=%s}", refreshToken != null, expiry);
+    }
+}
@@ -0,0 +1,28 @@
+package com.cloudeagle.dropbox.auth;
+
+import java.io.IOException;
+
+/**
+ * Persists OAuth tokens across restarts, so an authenticator can resume with
+ * the tokens it last held instead of exchanging a code or refreshing on startup.
+ * Implementations must be thread-safe; one store is usually shared by many
+ * authenticators, each with its own key.
+ */
+public interface TokenStore {
+    
+    /**
+     * Loads the tokens saved under a key
+     * @return the tokens, or null if none are stored
+     */
+    StoredToken load(String key) throws IOException;
+    
+    /**
+     * Saves tokens under a key, replacing any saved before
+     */
+    void save(String key, StoredToken token) throws IOException;
+    
+    /**
+     * Deletes the tokens saved under a key, if any
+     */
+    void delete(String key) throws IOException;
+}
@@ -0,0 +1,123 @@
+package com.cloudeagle.dropbox.autoconfigure;
+
+import com.cloudeagle.dropbox.auth.DropboxAuthenticator;
+import com.cloudeagle.dropbox.auth.EncryptedFileTokenStore;
+import com.cloudeagle.dropbox.auth.TokenStore;
+import com.cloudeagle.dropbox.cache.TtlCache;
+import com.cloudeagle.dropbox.client.DropboxBusinessApiClient;
+import com.cloudeagle.dropbox.http.DropboxHttpTransport;
+import com.cloudeagle.dropbox.metrics.DropboxClientListener;
+import com.cloudeagle.dropbox.metrics.MicrometerClientListener;
+import com.cloudeagle.dropbox.model.TeamInfo;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Wires the Dropbox client from {@link DropboxProperties}: one shared transport,
+ * an authenticator for the configured app, and a {@link DropboxBusinessApiClient}.
+ * Every bean backs off when the application defines its own. The authenticator
+ * and client are only created once {@code dropbox.client.id} and
+ * {@code dropbox.client.secret} are set.
+ * <p>
+ * Beans are declared without classpath scanning or proxies, so Spring AOT can
+ * pre-compute the context and the application can be built as a native image.
+ */
+@AutoConfiguration(afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@EnableConfigurationProperties(DropboxProperties.class)
+@ImportRuntimeHints(DropboxRuntimeHints.class)
+public class DropboxAutoConfiguration {
+    
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public DropboxHttpTransport dropboxHttpTransport(DropboxProperties properties) {
+        DropboxProperties.Transport transport = properties.getTransport();
+        return DropboxHttpTransport.builder()
+                .maxIdleConnections(transport.getMaxIdleConnections())
+                .maxRequests(transport.getMaxRequests())
+                .maxRequestsPerHost(transport.getMaxRequestsPerHost())
+                .preferHttp2(transport.isPreferHttp2())
+                .connectTimeout(transport.getConnectTimeout())
+                .readTimeout(transport.getReadTimeout())
+                .build();
+    }
+    
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "dropbox.token-store", name = "directory")
+    public TokenStore dropboxTokenStore(DropboxProperties properties) throws IOException {
+        DropboxProperties.TokenStore tokenStore = properties.getTokenStore();
+        if (tokenStore.getKey() == null) {
+            throw new IllegalStateException("dropbox.token-store.key must be set when dropbox.token-store.directory is");
+        }
+        return new EncryptedFileTokenStore(tokenStore.getDirectory(), Base64.getDecoder().decode(tokenStore.getKey()));
+    }
+    
+    @Bean
+    @ConditionalOnMissingBean(name = "dropboxTeamInfoCache")
+    @ConditionalOnProperty(prefix = "dropbox.team-info-cache", name = "ttl")
+    public TtlCache<String, TeamInfo> dropboxTeamInfoCache(DropboxProperties properties) {
+        DropboxProperties.TeamInfoCache cache = properties.getTeamInfoCache();
+        return new TtlCache<>(cache.getTtl(), cache.getStaleWhileRevalidate());
+    }
+    
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "dropbox.client", name = {"id", "secret"})
+    public DropboxAuthenticator dropboxAuthenticator(DropboxProperties properties, DropboxHttpTransport transport,
+                                                     ObjectProvider<TokenStore> tokenStore,
+                                                     ObjectProvider<DropboxClientListener> listener) {
+        DropboxAuthenticator.Builder builder = DropboxAuthenticator.builder(properties.getClient().getId(),
+                        properties.getClient().getSecret(), properties.getRedirect().getUri())
+                .tokenUrl(properties.getTokenUrl())
+                .transport(transport)
+                .listener(listener.getIfAvailable(() -> DropboxClientListener.NOOP));
+        if (properties.getProactiveRefresh() != null) {
+            builder.proactiveRefresh(properties.getProactiveRefresh());
+        }
+        tokenStore.ifAvailable(store -> builder.tokenStore(store, properties.getTokenStore().getName()));
+        return builder.build();
+    }
+    
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(DropboxAuthenticator.class)
+    public DropboxBusinessApiClient dropboxBusinessApiClient(DropboxProperties properties,
+                                                             DropboxAuthenticator authenticator,
+                                                             DropboxHttpTransport transport,
+                                                             ObjectProvider<TtlCache<String, TeamInfo>> teamInfoCache,
+                                                             ObjectProvider<DropboxClientListener> listener) {
+        DropboxBusinessApiClient.Builder builder = DropboxBusinessApiClient.builder(authenticator)
+                .baseUrl(properties.getBaseUrl())
+                .transport(transport)
+                .listener(listener.getIfAvailable(() -> DropboxClientListener.NOOP));
+        teamInfoCache.ifAvailable(cache -> builder.teamInfoCache(cache, properties.getClient().getId()));
+        return builder.build();
+    }
+    
+    /**
+     * Publishes client metrics to the application's Micrometer registry, when there is one
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class MicrometerListenerConfiguration {
+        
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnBean(MeterRegistry.class)
+        public DropboxClientListener dropboxClientListener(MeterRegistry registry) {
+            return new MicrometerClientListener(registry);
+        }
+    }
+}
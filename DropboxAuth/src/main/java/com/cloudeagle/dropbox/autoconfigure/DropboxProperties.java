@@ -0,0 +1,152 @@
+package com.cloudeagle.dropbox.autoconfigure;
+
+import com.cloudeagle.dropbox.auth.DropboxAuthenticator;
+import com.cloudeagle.dropbox.client.DropboxBusinessApiClient;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings under {@code dropbox.*}, bound by {@link DropboxAutoConfiguration}.
+ * The app credentials keep the existing keys {@code dropbox.client.id},
+ * {@code dropbox.client.secret} and {@code dropbox.redirect.uri}.
+ */
+@ConfigurationProperties(prefix = "dropbox")
+public class DropboxProperties {
+    
+    private final Client client = new Client();
+    private final Redirect redirect = new Redirect();
+    private final Transport transport = new Transport();
+    private final TeamInfoCache teamInfoCache = new TeamInfoCache();
+    private final TokenStore tokenStore = new TokenStore();
+    
+    /**
+     * API base URL
+     */
+    private String baseUrl = DropboxBusinessApiClient.DEFAULT_BASE_URL;
+    
+    /**
+     * OAuth2 token endpoint
+     */
+    private String tokenUrl = DropboxAuthenticator.DEFAULT_TOKEN_URL;
+    
+    /**
+     * How long before expiry to refresh the access token in the background; unset disables proactive refresh
+     */
+    private Duration proactiveRefresh;
+    
+    public Client getClient() { return client; }
+    public Redirect getRedirect() { return redirect; }
+    public Transport getTransport() { return transport; }
+    public TeamInfoCache getTeamInfoCache() { return teamInfoCache; }
+    public TokenStore getTokenStore() { return tokenStore; }
+    
+    public String getBaseUrl() { return baseUrl; }
+    public void setBaseUrl(String baseUrl) { this.baseUrl = baseUrl; }
+    
+    public String getTokenUrl() { return tokenUrl; }
+    public void setTokenUrl(String tokenUrl) { this.tokenUrl = tokenUrl; }
+    
+    public Duration getProactiveRefresh() { return proactiveRefresh; }
+    public void setProactiveRefresh(Duration proactiveRefresh) { this.proactiveRefresh = proactiveRefresh; }
+    
+    public static class Client {
+        /**
+         * App key
+         */
+        private String id;
+        
+        /**
+         * App secret
+         */
+        private String secret;
+        
+        public String getId() { return id; }
+        public void setId(String id) { this.id = id; }
+        
+        public String getSecret() { return secret; }
+        public void setSecret(String secret) { this.secret = secret; }
+    }
+    
+    public static class Redirect {
+        /**
+         * OAuth2 redirect URI registered with the app
+         */
+        private String uri;
+        
+        public String getUri() { return uri; }
+        public void setUri(String uri) { this.uri = uri; }
+    }
+    
+    public static class Transport {
+        private int maxIdleConnections = 32;
+        private int maxRequests = 256;
+        private int maxRequestsPerHost = 64;
+        private boolean preferHttp2 = true;
+        private Duration connectTimeout = Duration.ofSeconds(30);
+        private Duration readTimeout = Duration.ofSeconds(60);
+        
+        public int getMaxIdleConnections() { return maxIdleConnections; }
+        public void setMaxIdleConnections(int maxIdleConnections) { this.maxIdleConnections = maxIdleConnections; }
+        
+        public int getMaxRequests() { return maxRequests; }
+        public void setMaxRequests(int maxRequests) { this.maxRequests = maxRequests; }
+        
+        public int getMaxRequestsPerHost() { return maxRequestsPerHost; }
+        public void setMaxRequestsPerHost(int maxRequestsPerHost) { this.maxRequestsPerHost = maxRequestsPerHost; }
+        
+        public boolean isPreferHttp2() { return preferHttp2; }
+        public void setPreferHttp2(boolean preferHttp2) { this.preferHttp2 = preferHttp2; }
+        
+        public Duration getConnectTimeout() { return connectTimeout; }
+        public void setConnectTimeout(Duration connectTimeout) { this.connectTimeout = connectTimeout; }
+        
+        public Duration getReadTimeout() { return readTimeout; }
+        public void setReadTimeout(Duration readTimeout) { this.readTimeout = readTimeout; }
+    }
+    
+    public static class TeamInfoCache {
+        /**
+         * How long team information is served from cache; unset disables the cache
+         */
+        private Duration ttl;
+        
+        /**
+         * How long past the TTL a stale entry may be served while it is reloaded
+         */
+        private Duration staleWhileRevalidate = Duration.ZERO;
+        
+        public Duration getTtl() { return ttl; }
+        public void setTtl(Duration ttl) { this.ttl = ttl; }
+        
+        public Duration getStaleWhileRevalidate() { return staleWhileRevalidate; }
+        public void setStaleWhileRevalidate(Duration staleWhileRevalidate) { this.staleWhileRevalidate = staleWhileRevalidate; }
+    }
+    
+    public static class TokenStore {
+        /**
+         * Directory for encrypted token files; unset disables the token store
+         */
+        private Path directory;
+        
+        /**
+         * Base64 AES key of 16, 24 or 32 bytes
+         */
+        private String key;
+        
+        /**
+         * Key of this application's tokens within the store
+         */
+        private String name = "default";
+        
+        public Path getDirectory() { return directory; }
+        public void setDirectory(Path directory) { this.directory = directory; }
+        
+        public String getKey() { return key; }
+        public void setKey(String key) { this.key = key; }
+        
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+    }
+}
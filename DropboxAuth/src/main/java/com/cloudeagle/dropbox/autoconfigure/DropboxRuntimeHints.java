@@ -0,0 +1,90 @@
+package com.cloudeagle.dropbox.autoconfigure;
+
+import com.cloudeagle.dropbox.model.Actor;
+import com.cloudeagle.dropbox.model.FailureDetails;
+import com.cloudeagle.dropbox.model.GeoLocation;
+import com.cloudeagle.dropbox.model.HostInfo;
+import com.cloudeagle.dropbox.model.LoginFailDetails;
+import com.cloudeagle.dropbox.model.LoginMethod;
+import com.cloudeagle.dropbox.model.LoginSuccessDetails;
+import com.cloudeagle.dropbox.model.LogoutDetails;
+import com.cloudeagle.dropbox.model.MemberInfoItem;
+import com.cloudeagle.dropbox.model.MembersGetInfoRequest;
+import com.cloudeagle.dropbox.model.MembersGetInfoResponse;
+import com.cloudeagle.dropbox.model.MembersListContinueRequest;
+import com.cloudeagle.dropbox.model.MembersListRequest;
+import com.cloudeagle.dropbox.model.MembersListResponse;
+import com.cloudeagle.dropbox.model.NameInfo;
+import com.cloudeagle.dropbox.model.Origin;
+import com.cloudeagle.dropbox.model.SharingPolicies;
+import com.cloudeagle.dropbox.model.SsoErrorDetails;
+import com.cloudeagle.dropbox.model.TeamEvent;
+import com.cloudeagle.dropbox.model.TeamEventsContinueRequest;
+import com.cloudeagle.dropbox.model.TeamEventsRequest;
+import com.cloudeagle.dropbox.model.TeamEventsResponse;
+import com.cloudeagle.dropbox.model.TeamInfo;
+import com.cloudeagle.dropbox.model.TeamMember;
+import com.cloudeagle.dropbox.model.TeamMemberProfile;
+import com.cloudeagle.dropbox.model.TeamPolicies;
+import com.cloudeagle.dropbox.model.TimeRange;
+import com.cloudeagle.dropbox.model.UserInfo;
+import com.cloudeagle.dropbox.model.UserSelector;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * Reflection hints for a native image: Jackson binds the API models and the
+ * private token payloads reflectively, and native-image keeps only what it
+ * is told about.
+ */
+class DropboxRuntimeHints implements RuntimeHintsRegistrar {
+    
+    private static final List<Class<?>> MODEL_TYPES = List.of(
+            Actor.class,
+            FailureDetails.class,
+            GeoLocation.class,
+            HostInfo.class,
+            LoginFailDetails.class,
+            LoginMethod.class,
+            LoginSuccessDetails.class,
+            LogoutDetails.class,
+            MemberInfoItem.class,
+            MembersGetInfoRequest.class,
+            MembersGetInfoResponse.class,
+            MembersListContinueRequest.class,
+            MembersListRequest.class,
+            MembersListResponse.class,
+            NameInfo.class,
+            Origin.class,
+            SharingPolicies.class,
+            SsoErrorDetails.class,
+            TeamEvent.class,
+            TeamEventsContinueRequest.class,
+            TeamEventsRequest.class,
+            TeamEventsResponse.class,
+            TeamInfo.class,
+            TeamMember.class,
+            TeamMemberProfile.class,
+            TeamPolicies.class,
+            TimeRange.class,
+            UserInfo.class,
+            UserSelector.class);
+    
+    // Private nested classes, only reachable by name
+    private static final List<String> PRIVATE_TYPES = List.of(
+            "com.cloudeagle.dropbox.auth.DropboxAuthenticator$TokenResponse",
+            "com.cloudeagle.dropbox.auth.EncryptedFileTokenStore$TokenFile");
+    
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+        bindingHints.registerReflectionHints(hints.reflection(), MODEL_TYPES.toArray(new Class<?>[0]));
+        for (String typeName : PRIVATE_TYPES) {
+            bindingHints.registerReflectionHints(hints.reflection(), ClassUtils.resolveClassName(typeName, classLoader));
+        }
+    }
+}
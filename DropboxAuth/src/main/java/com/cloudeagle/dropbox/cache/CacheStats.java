@@ -0,0 +1,52 @@
+package com.cloudeagle.dropbox.cache;
+
+/**
+ * Point-in-time snapshot of cache counters
+ */
+public final class CacheStats {
+    private final long hits;
+    private final long staleHits;
+    private final long misses;
+    private final long loadFailures;
+    
+    public CacheStats(long hits, long staleHits, long misses, long loadFailures) {
+        this.hits = hits;
+        this.staleHits = staleHits;
+        this.misses = misses;
+        this.loadFailures = loadFailures;
+    }
+    
+    /**
+     * Requests served from a fresh entry
+     */
+    public long getHits() { return hits; }
+    
+    /**
+     * Requests served from a stale entry while it was revalidated in the background
+     */
+    public long getStaleHits() { return staleHits; }
+    
+    /**
+     * Requests that had to wait for a load
+     */
+    public long getMisses() { return misses; }
+    
+    /**
+     * Loads that failed, in the foreground or the background
+     */
+    public long getLoadFailures() { return loadFailures; }
+    
+    /**
+     * Fraction of requests served without waiting for a load
+     */
+    public double getHitRate() {
+        long total = hits + staleHits + misses;
+        return total == 0 ? 0.0 : (double) (hits + staleHits) / total;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("CacheStats{hits=%d, staleHits=%d, misses=%d, loadFailures=%d}",
+                hits, staleHits, misses, loadFailures);
+    }
+}
@@ -0,0 +1,261 @@
+package com.cloudeagle.dropbox.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache with a time-to-live and stale-while-revalidate.
+ * <ul>
+ *   <li>Entries younger than the TTL are served directly.</li>
+ *   <li>Entries past the TTL but inside the stale window are served as-is
+ *       while a single background load replaces them.</li>
+ *   <li>Older or missing entries are loaded in the caller's path; concurrent
+ *       callers for the same key share one load.</li>
+ * </ul>
+ */
+public class TtlCache<K, V> {
+    private static final Logger logger = LoggerFactory.getLogger(TtlCache.class);
+    
+    private static final ExecutorService DEFAULT_REFRESH_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "dropbox-cache-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    /**
+     * Loads a value synchronously
+     */
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load() throws IOException;
+    }
+    
+    private final long ttlNanos;
+    private final long staleNanos;
+    private final Executor refreshExecutor;
+    
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loads = new ConcurrentHashMap<>();
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    
+    /**
+     * Creates a cache that revalidates on a shared daemon thread pool
+     * @param ttl How long an entry is served without revalidation
+     * @param staleWhileRevalidate How long past the TTL a stale entry may still be served
+     */
+    public TtlCache(Duration ttl, Duration staleWhileRevalidate) {
+        this(ttl, staleWhileRevalidate, DEFAULT_REFRESH_EXECUTOR);
+    }
+    
+    /**
+     * @param ttl How long an entry is served without revalidation
+     * @param staleWhileRevalidate How long past the TTL a stale entry may still be served
+     * @param refreshExecutor Executor running background revalidation of synchronous loaders
+     */
+    public TtlCache(Duration ttl, Duration staleWhileRevalidate, Executor refreshExecutor) {
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("TTL must be positive");
+        }
+        if (staleWhileRevalidate == null || staleWhileRevalidate.isNegative()) {
+            throw new IllegalArgumentException("Stale-while-revalidate window cannot be negative");
+        }
+        if (refreshExecutor == null) {
+            throw new IllegalArgumentException("Refresh executor cannot be null");
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.staleNanos = staleWhileRevalidate.toNanos();
+        this.refreshExecutor = refreshExecutor;
+    }
+    
+    /**
+     * Gets a value, loading it on the calling thread when no usable entry exists
+     * @param key Cache key
+     * @param loader Loader used on a miss or for background revalidation
+     * @return cached or freshly loaded value
+     * @throws IOException if a foreground load fails
+     */
+    public V get(K key, Loader<V> loader) throws IOException {
+        V cached = lookup(key, () -> CompletableFuture.supplyAsync(() -> loadUnchecked(loader), refreshExecutor));
+        if (cached != null) {
+            return cached;
+        }
+        return await(load(key, () -> {
+            try {
+                return CompletableFuture.completedFuture(loader.load());
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }));
+    }
+    
+    /**
+     * Gets a value without blocking; misses and revalidation use the asynchronous loader
+     * @param key Cache key
+     * @param loader Asynchronous loader used on a miss or for background revalidation
+     * @return future completed with the cached or freshly loaded value. Cancelling
+     *         it detaches only this caller; a shared load keeps running and still
+     *         fills the cache.
+     */
+    public CompletableFuture<V> getAsync(K key, Supplier<CompletableFuture<V>> loader) {
+        V cached = lookup(key, loader);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return load(key, loader);
+    }
+    
+    /**
+     * Removes a single entry so the next read loads it again
+     */
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+    
+    /**
+     * Removes every entry
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+    
+    /**
+     * Drops entries that are too old to be served even as stale
+     */
+    public void cleanUp() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> now - entry.loadedAtNanos > ttlNanos + staleNanos);
+    }
+    
+    /**
+     * Gets the number of entries currently held
+     */
+    public int size() {
+        return entries.size();
+    }
+    
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), staleHits.sum(), misses.sum(), loadFailures.sum());
+    }
+    
+    /**
+     * Returns a usable cached value, triggering revalidation if it is stale,
+     * or null when the caller has to load
+     */
+    private V lookup(K key, Supplier<CompletableFuture<V>> refresher) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            long age = System.nanoTime() - entry.loadedAtNanos;
+            if (age <= ttlNanos) {
+                hits.increment();
+                return entry.value;
+            }
+            if (age <= ttlNanos + staleNanos) {
+                staleHits.increment();
+                load(key, refresher);
+                return entry.value;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+    
+    /**
+     * Starts a load for the key unless one is already in flight.
+     * Each caller gets its own copy of the shared load, so one caller
+     * cancelling its future does not cancel the load for the others.
+     */
+    private CompletableFuture<V> load(K key, Supplier<CompletableFuture<V>> source) {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = loads.putIfAbsent(key, promise);
+        if (existing != null) {
+            return existing.copy();
+        }
+        
+        // Any failure to start the load must still complete and remove the promise,
+        // or every later caller for the key would wait on it forever
+        CompletableFuture<V> result;
+        try {
+            result = source.get();
+            if (result == null) {
+                result = CompletableFuture.failedFuture(new NullPointerException("Loader returned no future"));
+            }
+        } catch (Throwable e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        
+        result.whenComplete((value, error) -> {
+            if (error == null) {
+                entries.put(key, new Entry<>(value, System.nanoTime()));
+            } else {
+                loadFailures.increment();
+                logger.debug("Cache load failed for key {}", key, error);
+            }
+            loads.remove(key, promise);
+            if (error == null) {
+                promise.complete(value);
+            } else {
+                promise.completeExceptionally(error);
+            }
+        });
+        return promise.copy();
+    }
+    
+    private static <V> V loadUnchecked(Loader<V> loader) {
+        try {
+            return loader.load();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static <V> V await(CompletableFuture<V> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for cache load");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+    
+    private static final class Entry<V> {
+        private final V value;
+        private final long loadedAtNanos;
+        
+        Entry(V value, long loadedAtNanos) {
+            this.value = value;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.cloudeagle.dropbox.client;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream that counts the bytes read through it
+ */
+final class CountingInputStream extends FilterInputStream {
+    
+    private long count;
+    
+    CountingInputStream(InputStream in) {
+        super(in);
+    }
+    
+    /**
+     * Gets the number of bytes read so far
+     */
+    long getCount() {
+        return count;
+    }
+    
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            count++;
+        }
+        return b;
+    }
+    
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            count += read;
+        }
+        return read;
+    }
+    
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count += skipped;
+        return skipped;
+    }
+    
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
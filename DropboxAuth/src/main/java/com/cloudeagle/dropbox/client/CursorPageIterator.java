@@ -0,0 +1,111 @@
+package com.cloudeagle.dropbox.client;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Iterator that walks a cursor-paginated Dropbox listing one page at a time.
+ * Only the page currently being consumed is held in memory; the next page is
+ * requested when the current one is exhausted.
+ */
+final class CursorPageIterator<P, T> implements Iterator<T> {
+    
+    /**
+     * Fetches a page; a null cursor requests the first page
+     */
+    @FunctionalInterface
+    interface PageFetcher<P> {
+        P fetch(String cursor) throws IOException;
+    }
+    
+    /**
+     * Notified once when the last page has been consumed
+     */
+    @FunctionalInterface
+    interface CompletionListener {
+        void onComplete(int pages, long items);
+    }
+    
+    private final PageFetcher<P> fetcher;
+    private final Function<P, List<T>> itemsOf;
+    private final Function<P, String> cursorOf;
+    private final Predicate<P> hasMoreOf;
+    private final CompletionListener completionListener;
+    
+    private Iterator<T> current = Collections.emptyIterator();
+    private String cursor;
+    private boolean started;
+    private boolean hasMore = true;
+    private int pages;
+    private long items;
+    private boolean completed;
+    
+    CursorPageIterator(PageFetcher<P> fetcher,
+                       Function<P, List<T>> itemsOf,
+                       Function<P, String> cursorOf,
+                       Predicate<P> hasMoreOf) {
+        this(fetcher, itemsOf, cursorOf, hasMoreOf, null);
+    }
+    
+    CursorPageIterator(PageFetcher<P> fetcher,
+                       Function<P, List<T>> itemsOf,
+                       Function<P, String> cursorOf,
+                       Predicate<P> hasMoreOf,
+                       CompletionListener completionListener) {
+        this.fetcher = fetcher;
+        this.itemsOf = itemsOf;
+        this.cursorOf = cursorOf;
+        this.hasMoreOf = hasMoreOf;
+        this.completionListener = completionListener;
+    }
+    
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (started && (!hasMore || cursor == null)) {
+                complete();
+                return false;
+            }
+            fetchNextPage();
+        }
+        return true;
+    }
+    
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        items++;
+        return current.next();
+    }
+    
+    private void fetchNextPage() {
+        P page;
+        try {
+            page = fetcher.fetch(started ? cursor : null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        started = true;
+        pages++;
+        
+        List<T> pageItems = itemsOf.apply(page);
+        current = pageItems != null ? pageItems.iterator() : Collections.emptyIterator();
+        cursor = cursorOf.apply(page);
+        hasMore = hasMoreOf.test(page);
+    }
+    
+    private void complete() {
+        if (!completed && completionListener != null) {
+            completed = true;
+            completionListener.onComplete(pages, items);
+        }
+    }
+}
@@ -1,36 +1,122 @@
 package com.cloudeagle.dropbox.client;
 
 import com.cloudeagle.dropbox.auth.DropboxAuthenticator;
+import com.cloudeagle.dropbox.cache.TtlCache;
+import com.cloudeagle.dropbox.codec.DropboxCodecs;
+import com.cloudeagle.dropbox.http.AdaptiveConcurrencyLimiter;
+import com.cloudeagle.dropbox.http.ConcurrencyLimitInterceptor;
+import com.cloudeagle.dropbox.http.DropboxHttpTransport;
+import com.cloudeagle.dropbox.http.HedgingPolicy;
+import com.cloudeagle.dropbox.http.Idempotency;
+import com.cloudeagle.dropbox.http.RetryAfter;
+import com.cloudeagle.dropbox.http.RetryInterceptor;
+import com.cloudeagle.dropbox.http.RetryPolicy;
+import com.cloudeagle.dropbox.metrics.DropboxClientListener;
 import com.cloudeagle.dropbox.model.*;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
 import okhttp3.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Main client for Dropbox Business API operations
  */
 public class DropboxBusinessApiClient {
     private static final Logger logger = LoggerFactory.getLogger(DropboxBusinessApiClient.class);
-    private static final String BASE_URL = "https://api.dropboxapi.com/2";
+    public static final String DEFAULT_BASE_URL = "https://api.dropboxapi.com/2";
+    private static final MediaType JSON = MediaType.get("application/json");
+    private static final byte[] EMPTY_JSON_OBJECT = {'{', '}'};
     
     private final DropboxAuthenticator authenticator;
+    private final String baseUrl;
+    private final DropboxHttpTransport transport;
+    private final boolean ownsTransport;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final HedgingPolicy hedgingPolicy;
+    private final TtlCache<String, TeamInfo> teamInfoCache;
+    private final String cacheKey;
+    private final DropboxClientListener listener;
+    private final RetryPolicy retryPolicy;
     private final OkHttpClient httpClient;
-    private final ObjectMapper objectMapper;
+    private final OkHttpClient asyncHttpClient;
+    private final MemberInfoBatcher memberInfoBatcher;
     
     public DropboxBusinessApiClient(DropboxAuthenticator authenticator) {
-        if (authenticator == null) {
+        this(builder(authenticator));
+    }
+    
+    /**
+     * Creates a client that sends API requests over a shared transport.
+     * The transport is not closed by {@link #close()}.
+     */
+    public DropboxBusinessApiClient(DropboxAuthenticator authenticator, DropboxHttpTransport transport) {
+        this(builder(authenticator).transport(transport));
+    }
+    
+    private DropboxBusinessApiClient(Builder builder) {
+        if (builder.authenticator == null) {
             throw new IllegalArgumentException("Authenticator cannot be null");
         }
-        this.authenticator = authenticator;
-        this.httpClient = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(60, TimeUnit.SECONDS)
-                .build();
-        this.objectMapper = new ObjectMapper();
+        this.authenticator = builder.authenticator;
+        this.baseUrl = builder.baseUrl;
+        this.ownsTransport = builder.transport == null;
+        this.transport = ownsTransport ? DropboxHttpTransport.createDefault() : builder.transport;
+        this.concurrencyLimiter = builder.concurrencyLimiter;
+        this.hedgingPolicy = builder.hedgingPolicy;
+        this.teamInfoCache = builder.teamInfoCache;
+        this.cacheKey = builder.cacheKey;
+        this.listener = builder.listener;
+        
+        this.retryPolicy = builder.retryPolicy;
+        
+        // Enqueued calls are retried by AsyncExchange, which schedules the backoff instead of sleeping
+        OkHttpClient.Builder httpClientBuilder = transport.client().newBuilder();
+        if (concurrencyLimiter != null) {
+            httpClientBuilder.addInterceptor(new ConcurrencyLimitInterceptor(concurrencyLimiter));
+        }
+        if (listener != DropboxClientListener.NOOP) {
+            httpClientBuilder.addInterceptor(new MetricsInterceptor(listener));
+        }
+        this.asyncHttpClient = httpClientBuilder.build();
+        
+        // Retries wrap the limiter so that every attempt waits for its own slot
+        httpClientBuilder.interceptors().add(0, new RetryInterceptor(retryPolicy));
+        this.httpClient = httpClientBuilder.build();
+        this.memberInfoBatcher = new MemberInfoBatcher(selectors -> postAsync("/team/members/get_info_v2",
+                new MembersGetInfoRequest(selectors), MembersGetInfoResponse.class,
+                "get members info", "Members info", null), builder.memberInfoBatchWindow);
+    }
+    
+    public static Builder builder(DropboxAuthenticator authenticator) {
+        return new Builder(authenticator);
+    }
+    
+    /**
+     * Gets the adaptive limiter gating this client's requests
+     * @return the concurrency limiter, or null if limiting is disabled
+     */
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
     }
     
     /**
@@ -39,35 +125,55 @@ public class DropboxBusinessApiClient {
      * @throws IOException if the API request fails
      */
     public TeamInfo getTeamInfo() throws IOException {
-        String url = BASE_URL + "/team/get_info";
-        
-        RequestBody requestBody = RequestBody.create(
-            MediaType.parse("application/json"), "{}"
-        );
-        
-        Request request = new Request.Builder()
-                .url(url)
-                .post(requestBody)
-                .addHeader("Authorization", "Bearer " + authenticator.getValidAccessToken())
-                .addHeader("Content-Type", "application/json")
-                .build();
-        
-        try (Response response = httpClient.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                String errorBody = response.body() != null ? response.body().string() : "No error body";
-                throw new IOException("Failed to get team info: " + response.code() + " " + errorBody);
-            }
-            
-            ResponseBody responseBody = response.body();
-            if (responseBody == null) {
-                throw new IOException("Empty response body");
-            }
-            
-            String responseBodyString = responseBody.string();
-            logger.debug("Team info response: {}", responseBodyString);
-            
-            return objectMapper.readValue(responseBodyString, TeamInfo.class);
+        if (teamInfoCache != null) {
+            return teamInfoCache.get(cacheKey, this::fetchTeamInfo);
         }
+        return fetchTeamInfo();
+    }
+    
+    private TeamInfo fetchTeamInfo() throws IOException {
+        if (hedgingPolicy != null) {
+            return await(fetchTeamInfoAsync(null));
+        }
+        return post("/team/get_info", null, TeamInfo.class, "get team info", "Team info");
+    }
+    
+    /**
+     * Gets team information without blocking the calling thread
+     * @return CompletableFuture completed with the team details; cancelling it cancels the
+     *         request, unless a team info cache is configured, in which case the shared load
+     *         completes and fills the cache
+     */
+    public CompletableFuture<TeamInfo> getTeamInfoAsync() {
+        return getTeamInfoAsync(null);
+    }
+    
+    /**
+     * Gets team information without blocking the calling thread
+     * @param decodeExecutor Executor to deserialize the response on, or null for the dispatcher thread
+     * @return CompletableFuture completed with the team details; cancelling it cancels the
+     *         request, unless a team info cache is configured (see {@link #getTeamInfoAsync()})
+     */
+    public CompletableFuture<TeamInfo> getTeamInfoAsync(Executor decodeExecutor) {
+        if (teamInfoCache != null) {
+            return teamInfoCache.getAsync(cacheKey, () -> fetchTeamInfoAsync(decodeExecutor));
+        }
+        return fetchTeamInfoAsync(decodeExecutor);
+    }
+    
+    /**
+     * Drops the cached team information so the next read goes to the API
+     */
+    public void invalidateTeamInfo() {
+        if (teamInfoCache != null) {
+            teamInfoCache.invalidate(cacheKey);
+        }
+    }
+    
+    private CompletableFuture<TeamInfo> fetchTeamInfoAsync(Executor decodeExecutor) {
+        Supplier<CompletableFuture<TeamInfo>> attempt = () ->
+                postAsync("/team/get_info", null, TeamInfo.class, "get team info", "Team info", decodeExecutor);
+        return hedgingPolicy != null ? hedged(attempt) : attempt.get();
     }
     
     /**
@@ -82,40 +188,174 @@ public class DropboxBusinessApiClient {
             throw new IllegalArgumentException("Limit must be between 1 and 1000");
         }
         
-        String url = BASE_URL + "/team/members/list_v2";
+        MembersListRequest request = new MembersListRequest();
+        request.setLimit(limit);
+        request.setIncludeRemoved(includeRemoved);
+        
+        return post("/team/members/list_v2", request, MembersListResponse.class, "get team members", "Team members");
+    }
+    
+    /**
+     * Gets a page of team members without blocking the calling thread
+     * @param limit Maximum number of members to retrieve (max 1000)
+     * @param includeRemoved Whether to include removed members
+     * @return CompletableFuture completed with the members page; cancelling it cancels the request
+     */
+    public CompletableFuture<MembersListResponse> getTeamMembersAsync(int limit, boolean includeRemoved) {
+        return getTeamMembersAsync(limit, includeRemoved, null);
+    }
+    
+    /**
+     * Gets a page of team members without blocking the calling thread
+     * @param limit Maximum number of members to retrieve (max 1000)
+     * @param includeRemoved Whether to include removed members
+     * @param decodeExecutor Executor to deserialize the response on, or null for the dispatcher thread
+     * @return CompletableFuture completed with the members page; cancelling it cancels the request
+     */
+    public CompletableFuture<MembersListResponse> getTeamMembersAsync(int limit, boolean includeRemoved,
+                                                                      Executor decodeExecutor) {
+        if (limit <= 0 || limit > 1000) {
+            throw new IllegalArgumentException("Limit must be between 1 and 1000");
+        }
         
         MembersListRequest request = new MembersListRequest();
         request.setLimit(limit);
         request.setIncludeRemoved(includeRemoved);
         
-        String requestJson = objectMapper.writeValueAsString(request);
-        RequestBody requestBody = RequestBody.create(
-            MediaType.parse("application/json"), requestJson
-        );
+        return postAsync("/team/members/list_v2", request, MembersListResponse.class,
+                "get team members", "Team members", decodeExecutor);
+    }
+    
+    /**
+     * Gets the next page of team members
+     * @param cursor Cursor returned by a previous members listing call
+     * @return MembersListResponse containing the next page of team members
+     * @throws IOException if the API request fails
+     */
+    public MembersListResponse getTeamMembersContinue(String cursor) throws IOException {
+        if (cursor == null || cursor.isEmpty()) {
+            throw new IllegalArgumentException("Cursor cannot be null or empty");
+        }
         
-        Request httpRequest = new Request.Builder()
-                .url(url)
-                .post(requestBody)
-                .addHeader("Authorization", "Bearer " + authenticator.getValidAccessToken())
-                .addHeader("Content-Type", "application/json")
-                .build();
+        return post("/team/members/list/continue_v2", new MembersListContinueRequest(cursor),
+                MembersListResponse.class, "continue team members", "Team members");
+    }
+    
+    /**
+     * Gets details of specific team members
+     * @param members Selectors identifying the members to look up
+     * @return MembersGetInfoResponse with one item per selector, in request order
+     * @throws IOException if the API request fails
+     */
+    public MembersGetInfoResponse getMembersInfo(List<UserSelector> members) throws IOException {
+        if (members == null || members.isEmpty()) {
+            throw new IllegalArgumentException("Members cannot be null or empty");
+        }
         
-        try (Response response = httpClient.newCall(httpRequest).execute()) {
-            if (!response.isSuccessful()) {
-                String errorBody = response.body() != null ? response.body().string() : "No error body";
-                throw new IOException("Failed to get team members: " + response.code() + " " + errorBody);
-            }
-            
-            ResponseBody responseBody = response.body();
-            if (responseBody == null) {
-                throw new IOException("Empty response body");
-            }
-            
-            String responseBodyString = responseBody.string();
-            logger.debug("Team members response: {}", responseBodyString);
-            
-            return objectMapper.readValue(responseBodyString, MembersListResponse.class);
+        return post("/team/members/get_info_v2", new MembersGetInfoRequest(members),
+                MembersGetInfoResponse.class, "get members info", "Members info");
+    }
+    
+    /**
+     * Gets one team member's profile. Concurrent lookups made within the batching
+     * window are sent together as a single {@code members/get_info_v2} call, and
+     * repeated IDs within a batch are requested once.
+     * @param teamMemberId Team member ID to look up
+     * @return the member's profile, or null if the ID was not found
+     * @throws IOException if the batch call fails
+     */
+    public TeamMemberProfile getMemberInfo(String teamMemberId) throws IOException {
+        return await(getMemberInfoAsync(teamMemberId));
+    }
+    
+    /**
+     * Gets one team member's profile without blocking the calling thread.
+     * Lookups are batched as in {@link #getMemberInfo(String)}.
+     * @param teamMemberId Team member ID to look up
+     * @return CompletableFuture completed with the member's profile, or with null if the ID was not found
+     */
+    public CompletableFuture<TeamMemberProfile> getMemberInfoAsync(String teamMemberId) {
+        if (teamMemberId == null || teamMemberId.isEmpty()) {
+            throw new IllegalArgumentException("Team member ID cannot be null or empty");
+        }
+        
+        return memberInfoBatcher.load(teamMemberId);
+    }
+    
+    /**
+     * Streams all team members, following the listing cursor lazily.
+     * Pages are requested only as the stream is consumed, and at most one page
+     * is held in memory at a time. API failures surface as UncheckedIOException.
+     * @param pageSize Number of members to request per page (max 1000)
+     * @param includeRemoved Whether to include removed members
+     * @return sequential Stream over every team member
+     */
+    public Stream<TeamMember> streamTeamMembers(int pageSize, boolean includeRemoved) {
+        Iterator<TeamMember> iterator = iterateTeamMembers(pageSize, includeRemoved);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                false);
+    }
+    
+    /**
+     * Iterates over all team members, following the listing cursor lazily
+     * @param pageSize Number of members to request per page (max 1000)
+     * @param includeRemoved Whether to include removed members
+     * @return Iterator over every team member
+     */
+    public Iterator<TeamMember> iterateTeamMembers(int pageSize, boolean includeRemoved) {
+        if (pageSize <= 0 || pageSize > 1000) {
+            throw new IllegalArgumentException("Page size must be between 1 and 1000");
+        }
+        
+        return new CursorPageIterator<>(
+                cursor -> cursor == null
+                        ? getTeamMembers(pageSize, includeRemoved)
+                        : getTeamMembersContinue(cursor),
+                MembersListResponse::getMembers,
+                MembersListResponse::getCursor,
+                MembersListResponse::isHasMore,
+                paginationListener("/team/members/list_v2"));
+    }
+    
+    /**
+     * Gets a page of team members, decoding the response incrementally and
+     * handing each member to the consumer as soon as it has been read
+     * @param limit Maximum number of members to retrieve (max 1000)
+     * @param includeRemoved Whether to include removed members
+     * @param consumer Callback receiving each team member in order
+     * @return PageCursor for requesting the next page
+     * @throws IOException if the API request fails
+     */
+    public PageCursor getTeamMembers(int limit, boolean includeRemoved,
+                                     Consumer<? super TeamMember> consumer) throws IOException {
+        if (limit <= 0 || limit > 1000) {
+            throw new IllegalArgumentException("Limit must be between 1 and 1000");
+        }
+        
+        MembersListRequest request = new MembersListRequest();
+        request.setLimit(limit);
+        request.setIncludeRemoved(includeRemoved);
+        
+        return postStreaming("/team/members/list_v2", request, "members",
+                TeamMember.class, consumer, "get team members");
+    }
+    
+    /**
+     * Gets the next page of team members, decoding the response incrementally
+     * @param cursor Cursor returned by a previous members listing call
+     * @param consumer Callback receiving each team member in order
+     * @return PageCursor for requesting the next page
+     * @throws IOException if the API request fails
+     */
+    public PageCursor getTeamMembersContinue(String cursor,
+                                             Consumer<? super TeamMember> consumer) throws IOException {
+        if (cursor == null || cursor.isEmpty()) {
+            throw new IllegalArgumentException("Cursor cannot be null or empty");
         }
+        
+        return postStreaming("/team/members/list/continue_v2", new MembersListContinueRequest(cursor),
+                "members", TeamMember.class, consumer, "continue team members");
     }
     
     /**
@@ -131,41 +371,155 @@ public class DropboxBusinessApiClient {
             throw new IllegalArgumentException("Limit must be greater than 0");
         }
         
-        String url = BASE_URL + "/team_log/get_events";
+        TeamEventsRequest request = new TeamEventsRequest();
+        request.setLimit(limit);
+        request.setCategory(category);
+        request.setTime(timeRange);
+        
+        return post("/team_log/get_events", request, TeamEventsResponse.class, "get team events", "Team events");
+    }
+    
+    /**
+     * Gets the next page of team events
+     * @param cursor Cursor returned by a previous events call
+     * @return TeamEventsResponse containing the next page of team events
+     * @throws IOException if the API request fails
+     */
+    public TeamEventsResponse getTeamEventsContinue(String cursor) throws IOException {
+        if (cursor == null || cursor.isEmpty()) {
+            throw new IllegalArgumentException("Cursor cannot be null or empty");
+        }
+        
+        return post("/team_log/get_events/continue", new TeamEventsContinueRequest(cursor),
+                TeamEventsResponse.class, "continue team events", "Team events");
+    }
+    
+    /**
+     * Streams all team events in a time range, following the events cursor lazily.
+     * At most one page is held in memory at a time. API failures surface as
+     * UncheckedIOException.
+     * @param pageSize Number of events to request per page
+     * @param category Event category to filter by (e.g., "logins")
+     * @param timeRange Time range for the events
+     * @return sequential Stream over every matching team event
+     */
+    public Stream<TeamEvent> streamTeamEvents(int pageSize, String category, TimeRange timeRange) {
+        Iterator<TeamEvent> iterator = iterateTeamEvents(pageSize, category, timeRange);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                false);
+    }
+    
+    /**
+     * Iterates over all team events in a time range, following the events cursor lazily
+     * @param pageSize Number of events to request per page
+     * @param category Event category to filter by (e.g., "logins")
+     * @param timeRange Time range for the events
+     * @return Iterator over every matching team event
+     */
+    public Iterator<TeamEvent> iterateTeamEvents(int pageSize, String category, TimeRange timeRange) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than 0");
+        }
+        
+        return new CursorPageIterator<>(
+                cursor -> cursor == null
+                        ? getTeamEvents(pageSize, category, timeRange)
+                        : getTeamEventsContinue(cursor),
+                TeamEventsResponse::getEvents,
+                TeamEventsResponse::getCursor,
+                TeamEventsResponse::isHasMore,
+                paginationListener("/team_log/get_events"));
+    }
+    
+    /**
+     * Gets team events without blocking the calling thread
+     * @param limit Maximum number of events to retrieve
+     * @param category Event category to filter by (e.g., "logins")
+     * @param timeRange Time range for the events
+     * @return CompletableFuture completed with the events page; cancelling it cancels the request
+     */
+    public CompletableFuture<TeamEventsResponse> getTeamEventsAsync(int limit, String category, TimeRange timeRange) {
+        return getTeamEventsAsync(limit, category, timeRange, null);
+    }
+    
+    /**
+     * Gets team events without blocking the calling thread
+     * @param limit Maximum number of events to retrieve
+     * @param category Event category to filter by (e.g., "logins")
+     * @param timeRange Time range for the events
+     * @param decodeExecutor Executor to deserialize the response on, or null for the dispatcher thread
+     * @return CompletableFuture completed with the events page; cancelling it cancels the request
+     */
+    public CompletableFuture<TeamEventsResponse> getTeamEventsAsync(int limit, String category, TimeRange timeRange,
+                                                                    Executor decodeExecutor) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be greater than 0");
+        }
         
         TeamEventsRequest request = new TeamEventsRequest();
         request.setLimit(limit);
         request.setCategory(category);
         request.setTime(timeRange);
         
-        String requestJson = objectMapper.writeValueAsString(request);
-        RequestBody requestBody = RequestBody.create(
-            MediaType.parse("application/json"), requestJson
-        );
+        return postAsync("/team_log/get_events", request, TeamEventsResponse.class,
+                "get team events", "Team events", decodeExecutor);
+    }
+    
+    /**
+     * Gets the next page of team events without blocking the calling thread
+     * @param cursor Cursor returned by a previous events call
+     * @return CompletableFuture completed with the next events page; cancelling it cancels the request
+     */
+    public CompletableFuture<TeamEventsResponse> getTeamEventsContinueAsync(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            throw new IllegalArgumentException("Cursor cannot be null or empty");
+        }
         
-        Request httpRequest = new Request.Builder()
-                .url(url)
-                .post(requestBody)
-                .addHeader("Authorization", "Bearer " + authenticator.getValidAccessToken())
-                .addHeader("Content-Type", "application/json")
-                .build();
+        return postAsync("/team_log/get_events/continue", new TeamEventsContinueRequest(cursor),
+                TeamEventsResponse.class, "continue team events", "Team events", null);
+    }
+    
+    /**
+     * Gets team events, decoding the response incrementally and handing each
+     * event to the consumer as soon as it has been read
+     * @param limit Maximum number of events to retrieve
+     * @param category Event category to filter by (e.g., "logins")
+     * @param timeRange Time range for the events
+     * @param consumer Callback receiving each team event in order
+     * @return PageCursor for requesting the next page
+     * @throws IOException if the API request fails
+     */
+    public PageCursor getTeamEvents(int limit, String category, TimeRange timeRange,
+                                    Consumer<? super TeamEvent> consumer) throws IOException {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be greater than 0");
+        }
         
-        try (Response response = httpClient.newCall(httpRequest).execute()) {
-            if (!response.isSuccessful()) {
-                String errorBody = response.body() != null ? response.body().string() : "No error body";
-                throw new IOException("Failed to get team events: " + response.code() + " " + errorBody);
-            }
-            
-            ResponseBody responseBody = response.body();
-            if (responseBody == null) {
-                throw new IOException("Empty response body");
-            }
-            
-            String responseBodyString = responseBody.string();
-            logger.debug("Team events response: {}", responseBodyString);
-            
-            return objectMapper.readValue(responseBodyString, TeamEventsResponse.class);
+        TeamEventsRequest request = new TeamEventsRequest();
+        request.setLimit(limit);
+        request.setCategory(category);
+        request.setTime(timeRange);
+        
+        return postStreaming("/team_log/get_events", request, "events",
+                TeamEvent.class, consumer, "get team events");
+    }
+    
+    /**
+     * Gets the next page of team events, decoding the response incrementally
+     * @param cursor Cursor returned by a previous events call
+     * @param consumer Callback receiving each team event in order
+     * @return PageCursor for requesting the next page
+     * @throws IOException if the API request fails
+     */
+    public PageCursor getTeamEventsContinue(String cursor,
+                                            Consumer<? super TeamEvent> consumer) throws IOException {
+        if (cursor == null || cursor.isEmpty()) {
+            throw new IllegalArgumentException("Cursor cannot be null or empty");
         }
+        
+        return postStreaming("/team_log/get_events/continue", new TeamEventsContinueRequest(cursor),
+                "events", TeamEvent.class, consumer, "continue team events");
     }
     
     /**
@@ -180,12 +534,472 @@ public class DropboxBusinessApiClient {
     }
     
     /**
-     * Closes the HTTP client and releases resources
+     * Gets sign-in events without blocking the calling thread
+     * @param limit Maximum number of events to retrieve
+     * @param timeRange Time range for the events
+     * @return CompletableFuture completed with the sign-in events; cancelling it cancels the request
+     */
+    public CompletableFuture<TeamEventsResponse> getSignInEventsAsync(int limit, TimeRange timeRange) {
+        return getTeamEventsAsync(limit, "logins", timeRange);
+    }
+    
+    private CursorPageIterator.CompletionListener paginationListener(String endpoint) {
+        if (listener == DropboxClientListener.NOOP) {
+            return null;
+        }
+        return (pages, items) -> listener.onPaginationComplete(endpoint, pages, items);
+    }
+    
+    /**
+     * Posts a JSON payload to an RPC endpoint and deserializes the response
+     * @param endpoint Endpoint path relative to the API base URL
+     * @param payload Request model to serialize, or null for an empty object
+     * @param responseType Type to deserialize the response into
+     * @param action Description of the call used in error messages
+     * @param logLabel Label used when logging the response body
+     */
+    private <T> T post(String endpoint, Object payload, Class<T> responseType,
+                       String action, String logLabel) throws IOException {
+        Request httpRequest = buildRequest(endpoint, payload);
+        
+        try (Response response = httpClient.newCall(httpRequest).execute()) {
+            return readResponse(response, endpoint, responseType, action, logLabel);
+        }
+    }
+    
+    /**
+     * Asynchronous counterpart of {@link #post}. Each attempt waits for a limiter
+     * slot without blocking and is then enqueued on the transport's dispatcher;
+     * retries are scheduled after the policy's backoff instead of sleeping on a
+     * dispatcher thread. Cancelling the returned future gives up the slot, the
+     * pending retry or the call in flight.
+     * @param decodeExecutor Executor to deserialize on, or null to deserialize
+     *                       on the dispatcher thread that received the response
+     */
+    private <T> CompletableFuture<T> postAsync(String endpoint, Object payload, Class<T> responseType,
+                                               String action, String logLabel, Executor decodeExecutor) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        
+        Request httpRequest;
+        try {
+            httpRequest = buildRequest(endpoint, payload);
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        
+        new AsyncExchange<>(httpRequest, future, endpoint, responseType, action, logLabel, decodeExecutor).attempt();
+        return future;
+    }
+    
+    /**
+     * One asynchronous request and its retries. Attempts run one after another,
+     * each handed off through the limiter, the dispatcher or the retry delay.
+     */
+    private final class AsyncExchange<T> {
+        private final Request httpRequest;
+        private final CompletableFuture<T> future;
+        private final String endpoint;
+        private final Class<T> responseType;
+        private final String action;
+        private final String logLabel;
+        private final Executor decodeExecutor;
+        private int attempt;
+        
+        AsyncExchange(Request httpRequest, CompletableFuture<T> future, String endpoint, Class<T> responseType,
+                      String action, String logLabel, Executor decodeExecutor) {
+            this.httpRequest = httpRequest;
+            this.future = future;
+            this.endpoint = endpoint;
+            this.responseType = responseType;
+            this.action = action;
+            this.logLabel = logLabel;
+            this.decodeExecutor = decodeExecutor;
+        }
+        
+        void attempt() {
+            if (future.isDone()) {
+                return;
+            }
+            attempt++;
+            
+            if (concurrencyLimiter == null) {
+                send(httpRequest, null);
+                return;
+            }
+            
+            CompletableFuture<AdaptiveConcurrencyLimiter.Permit> slot = concurrencyLimiter.acquireAsync();
+            future.whenComplete((result, error) -> {
+                if (future.isCancelled()) {
+                    slot.cancel(false);
+                }
+            });
+            slot.thenAccept(permit -> send(
+                    httpRequest.newBuilder().tag(AdaptiveConcurrencyLimiter.Permit.class, permit).build(), permit));
+        }
+        
+        /**
+         * @param permit Limiter slot held for the request, or null if limiting is disabled.
+         *               The limit interceptor reports the outcome; this only releases
+         *               the slot if the call never reached it.
+         */
+        private void send(Request request, AdaptiveConcurrencyLimiter.Permit permit) {
+            if (future.isDone()) {
+                if (permit != null) {
+                    permit.onIgnored();
+                }
+                return;
+            }
+            
+            Call call = asyncHttpClient.newCall(request);
+            future.whenComplete((result, error) -> {
+                if (future.isCancelled()) {
+                    call.cancel();
+                }
+            });
+            
+            call.enqueue(new Callback() {
+                @Override
+                public void onFailure(Call failedCall, IOException e) {
+                    if (permit != null) {
+                        permit.onIgnored();
+                    }
+                    if (canRetry() && !failedCall.isCanceled() && RetryPolicy.isRetryableFailure(e)) {
+                        logger.debug("Retrying {} after {} (attempt {} of {})",
+                                endpoint, e.toString(), attempt, retryPolicy.getMaxAttempts());
+                        scheduleRetry(null);
+                        return;
+                    }
+                    future.completeExceptionally(e);
+                }
+                
+                @Override
+                public void onResponse(Call completedCall, Response response) {
+                    if (canRetry() && retryPolicy.isRetryableStatus(response.code())) {
+                        Duration retryAfter = RetryAfter.of(response);
+                        response.close();
+                        logger.debug("Retrying {} after status {} (attempt {} of {})",
+                                endpoint, response.code(), attempt, retryPolicy.getMaxAttempts());
+                        scheduleRetry(retryAfter);
+                        return;
+                    }
+                    if (decodeExecutor == null) {
+                        complete(response);
+                        return;
+                    }
+                    try {
+                        decodeExecutor.execute(() -> complete(response));
+                    } catch (RuntimeException e) {
+                        response.close();
+                        future.completeExceptionally(e);
+                    }
+                }
+                
+                private void complete(Response response) {
+                    try (response) {
+                        future.complete(readResponse(response, endpoint, responseType, action, logLabel));
+                    } catch (IOException | RuntimeException e) {
+                        future.completeExceptionally(e);
+                    }
+                }
+            });
+        }
+        
+        private boolean canRetry() {
+            return attempt < retryPolicy.getMaxAttempts() && Idempotency.isIdempotent(httpRequest);
+        }
+        
+        private void scheduleRetry(Duration retryAfter) {
+            Duration delay = retryPolicy.delayFor(attempt - 1, retryAfter);
+            CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS).execute(this::attempt);
+        }
+    }
+    
+    /**
+     * Runs a read with hedging: if the first attempt has not completed after the
+     * policy's latency percentile, a second attempt is sent and the first
+     * successful result wins. The losing attempt is cancelled.
+     * Latency is recorded from the first attempt's start, so a slow first attempt
+     * that loses to its hedge still counts at least the hedge delay.
+     */
+    private <T> CompletableFuture<T> hedged(Supplier<CompletableFuture<T>> attempt) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        List<CompletableFuture<T>> attempts = new CopyOnWriteArrayList<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        long start = System.nanoTime();
+        
+        launchAttempt(attempt, result, attempts, pending, start);
+        
+        Duration delay = hedgingPolicy.hedgeDelay();
+        CompletableFuture.runAsync(() -> {
+            if (!result.isDone()) {
+                pending.incrementAndGet();
+                logger.debug("Sending hedged request after {} ms", delay.toMillis());
+                launchAttempt(attempt, result, attempts, pending, start);
+            }
+        }, CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS));
+        
+        result.whenComplete((value, error) -> attempts.forEach(a -> a.cancel(true)));
+        return result;
+    }
+    
+    private <T> void launchAttempt(Supplier<CompletableFuture<T>> attempt, CompletableFuture<T> result,
+                                   List<CompletableFuture<T>> attempts, AtomicInteger pending, long start) {
+        CompletableFuture<T> future = attempt.get();
+        attempts.add(future);
+        if (result.isDone()) {
+            future.cancel(true);
+        }
+        
+        future.whenComplete((value, error) -> {
+            if (error == null) {
+                if (!result.isDone()) {
+                    hedgingPolicy.recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                }
+                result.complete(value);
+            } else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        });
+    }
+    
+    /**
+     * Waits for an asynchronous call, rethrowing its failure as an IOException
+     */
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for response");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+    
+    private <T> T readResponse(Response response, String endpoint, Class<T> responseType,
+                               String action, String logLabel) throws IOException {
+        ResponseBody responseBody = successfulBody(response, action);
+        
+        ObjectReader reader = DropboxCodecs.reader(responseType);
+        long start = System.nanoTime();
+        if (logger.isDebugEnabled()) {
+            byte[] bytes = responseBody.bytes();
+            logger.debug("{} response: {}", logLabel, new String(bytes, StandardCharsets.UTF_8));
+            T value = reader.readValue(bytes);
+            listener.onDecoded(endpoint, bytes.length, System.nanoTime() - start);
+            return value;
+        }
+        
+        // Decode straight from the network source instead of buffering a String copy
+        try (CountingInputStream body = new CountingInputStream(responseBody.byteStream())) {
+            T value = reader.readValue(body);
+            listener.onDecoded(endpoint, body.getCount(), System.nanoTime() - start);
+            return value;
+        }
+    }
+    
+    /**
+     * Posts a JSON payload to a paginated endpoint and decodes the response
+     * straight from the network source, one page element at a time
+     * @param endpoint Endpoint path relative to the API base URL
+     * @param payload Request model to serialize
+     * @param arrayField Name of the field holding the page elements
+     * @param elementType Type of each page element
+     * @param consumer Callback receiving each element in order
+     * @param action Description of the call used in error messages
+     */
+    private <T> PageCursor postStreaming(String endpoint, Object payload, String arrayField,
+                                         Class<T> elementType, Consumer<? super T> consumer,
+                                         String action) throws IOException {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+        
+        Request httpRequest = buildRequest(endpoint, payload);
+        
+        try (Response response = httpClient.newCall(httpRequest).execute()) {
+            ResponseBody responseBody = successfulBody(response, action);
+            
+            ObjectReader reader = DropboxCodecs.reader(elementType);
+            long start = System.nanoTime();
+            CountingInputStream body = new CountingInputStream(responseBody.source().inputStream());
+            try (JsonParser parser = reader.createParser(body)) {
+                PageCursor page = StreamingPageDecoder.decode(parser, arrayField, reader, consumer);
+                // Includes time spent in the consumer, which runs while the page is decoded
+                listener.onDecoded(endpoint, body.getCount(), System.nanoTime() - start);
+                logger.debug("{} streamed page: {}", action, page);
+                return page;
+            }
+        }
+    }
+    
+    // Package-private for the request construction benchmark
+    Request buildRequest(String endpoint, Object payload) throws IOException {
+        byte[] requestJson = payload != null
+                ? DropboxCodecs.writer(payload.getClass()).writeValueAsBytes(payload)
+                : EMPTY_JSON_OBJECT;
+        RequestBody requestBody = RequestBody.create(requestJson, JSON);
+        
+        // Every endpoint used by this client is a read, so all requests may be retried
+        Request.Builder request = new Request.Builder()
+                .url(baseUrl + endpoint)
+                .tag(Idempotency.class, Idempotency.IDEMPOTENT)
+                .post(requestBody)
+                .addHeader("Authorization", "Bearer " + authenticator.getValidAccessToken())
+                .addHeader("Content-Type", "application/json");
+        if (listener != DropboxClientListener.NOOP) {
+            request.tag(MetricsInterceptor.CallTag.class, new MetricsInterceptor.CallTag(endpoint));
+        }
+        return request.build();
+    }
+    
+    private static ResponseBody successfulBody(Response response, String action) throws IOException {
+        if (!response.isSuccessful()) {
+            String errorBody = response.body() != null ? response.body().string() : "No error body";
+            String message = "Failed to " + action + ": " + response.code() + " " + errorBody;
+            if (response.code() == 429) {
+                throw new DropboxRateLimitException(message, RetryAfter.of(response));
+            }
+            throw new IOException(message);
+        }
+        
+        ResponseBody responseBody = response.body();
+        if (responseBody == null) {
+            throw new IOException("Empty response body");
+        }
+        return responseBody;
+    }
+    
+    /**
+     * Closes the HTTP client and releases resources.
+     * A shared transport passed in by the caller is left open.
      */
     public void close() {
-        if (httpClient != null) {
-            httpClient.dispatcher().executorService().shutdown();
-            httpClient.connectionPool().evictAll();
+        if (ownsTransport) {
+            transport.close();
+        }
+    }
+    
+    /**
+     * Builder for {@link DropboxBusinessApiClient}
+     */
+    public static class Builder {
+        private final DropboxAuthenticator authenticator;
+        private String baseUrl = DEFAULT_BASE_URL;
+        private DropboxHttpTransport transport;
+        private AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter();
+        private RetryPolicy retryPolicy = RetryPolicy.defaults();
+        private HedgingPolicy hedgingPolicy;
+        private TtlCache<String, TeamInfo> teamInfoCache;
+        private String cacheKey;
+        private DropboxClientListener listener = DropboxClientListener.NOOP;
+        private Duration memberInfoBatchWindow = Duration.ofMillis(5);
+        
+        private Builder(DropboxAuthenticator authenticator) {
+            this.authenticator = authenticator;
+        }
+        
+        /**
+         * Base URL of the API, without a trailing slash; defaults to {@link #DEFAULT_BASE_URL}.
+         * Point it at a stand-in such as {@code FakeDropboxServer} for offline testing.
+         */
+        public Builder baseUrl(String baseUrl) {
+            if (baseUrl == null || baseUrl.isEmpty()) {
+                throw new IllegalArgumentException("Base URL cannot be null or empty");
+            }
+            this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+            return this;
+        }
+        
+        /**
+         * Shared transport to send requests over. It is not closed by the client.
+         * If unset, the client creates and owns a default transport.
+         */
+        public Builder transport(DropboxHttpTransport transport) {
+            if (transport == null) {
+                throw new IllegalArgumentException("Transport cannot be null");
+            }
+            this.transport = transport;
+            return this;
+        }
+        
+        /**
+         * Adaptive limiter gating in-flight requests, or null to disable limiting.
+         * Clients calling on behalf of the same team may share one limiter.
+         */
+        public Builder concurrencyLimiter(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+            this.concurrencyLimiter = concurrencyLimiter;
+            return this;
+        }
+        
+        /**
+         * Retry policy applied to every request; use {@link RetryPolicy#none()} to disable retries
+         */
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            if (retryPolicy == null) {
+                throw new IllegalArgumentException("Retry policy cannot be null");
+            }
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+        
+        /**
+         * Hedging policy for latency-sensitive reads ({@code getTeamInfo}), or null to disable hedging
+         */
+        public Builder hedging(HedgingPolicy hedgingPolicy) {
+            this.hedgingPolicy = hedgingPolicy;
+            return this;
+        }
+        
+        /**
+         * Caches {@code getTeamInfo} results. A cache may be shared by several
+         * clients, in which case each must use a distinct key (e.g. the team ID).
+         * @param teamInfoCache Cache holding team information, or null to disable caching
+         * @param cacheKey Key identifying this client's team in the cache
+         */
+        public Builder teamInfoCache(TtlCache<String, TeamInfo> teamInfoCache, String cacheKey) {
+            if (teamInfoCache != null && (cacheKey == null || cacheKey.isEmpty())) {
+                throw new IllegalArgumentException("Cache key cannot be null or empty");
+            }
+            this.teamInfoCache = teamInfoCache;
+            this.cacheKey = cacheKey;
+            return this;
+        }
+        
+        /**
+         * Listener receiving per-endpoint latency, status, response size, decode time
+         * and pagination events, such as {@code MicrometerClientListener}
+         */
+        public Builder listener(DropboxClientListener listener) {
+            if (listener == null) {
+                throw new IllegalArgumentException("Listener cannot be null");
+            }
+            this.listener = listener;
+            return this;
+        }
+        
+        /**
+         * How long {@code getMemberInfo} waits to collect more lookups into one batch call; defaults to 5 ms
+         */
+        public Builder memberInfoBatchWindow(Duration memberInfoBatchWindow) {
+            if (memberInfoBatchWindow == null || memberInfoBatchWindow.isNegative()) {
+                throw new IllegalArgumentException("Batch window cannot be negative");
+            }
+            this.memberInfoBatchWindow = memberInfoBatchWindow;
+            return this;
+        }
+        
+        public DropboxBusinessApiClient build() {
+            return new DropboxBusinessApiClient(this);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package com.cloudeagle.dropbox.client;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Thrown when Dropbox rejects a request because of rate limiting (HTTP 429)
+ */
+public class DropboxRateLimitException extends IOException {
+    private static final long serialVersionUID = 1L;
+    
+    private final Duration retryAfter;
+    
+    public DropboxRateLimitException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+    
+    /**
+     * Gets the delay requested by the server before retrying
+     * @return Retry-After delay, or null if the server did not send one
+     */
+    public Duration getRetryAfter() { return retryAfter; }
+}
@@ -0,0 +1,145 @@
+package com.cloudeagle.dropbox.client;
+
+import com.cloudeagle.dropbox.model.MemberInfoItem;
+import com.cloudeagle.dropbox.model.MembersGetInfoResponse;
+import com.cloudeagle.dropbox.model.TeamMemberProfile;
+import com.cloudeagle.dropbox.model.UserSelector;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Coalesces single-member lookups into {@code members/get_info_v2} batch calls.
+ * The first lookup opens a batch that is sent when the batching window elapses
+ * or when it reaches {@link #MAX_BATCH_SIZE} distinct IDs, whichever comes first.
+ * Lookups for an ID already in the open batch share its result.
+ */
+final class MemberInfoBatcher {
+    
+    // Selectors accepted by one members/get_info_v2 call
+    static final int MAX_BATCH_SIZE = 100;
+    
+    private final Function<List<UserSelector>, CompletableFuture<MembersGetInfoResponse>> fetcher;
+    private final long windowNanos;
+    
+    private final Object lock = new Object();
+    // Guarded by lock
+    private Batch open = new Batch();
+    
+    /**
+     * @param fetcher Sends one batch call; must not block
+     * @param window How long a batch stays open for more lookups
+     */
+    MemberInfoBatcher(Function<List<UserSelector>, CompletableFuture<MembersGetInfoResponse>> fetcher,
+                      Duration window) {
+        this.fetcher = fetcher;
+        this.windowNanos = window.toNanos();
+    }
+    
+    /**
+     * Adds a lookup to the open batch
+     * @return future completed with the member's profile, or null if the ID was not found.
+     *         Each caller gets its own future, so cancelling one does not affect others.
+     */
+    CompletableFuture<TeamMemberProfile> load(String teamMemberId) {
+        CompletableFuture<TeamMemberProfile> result;
+        Batch full = null;
+        Batch started = null;
+        
+        synchronized (lock) {
+            result = open.futures.get(teamMemberId);
+            if (result == null) {
+                result = new CompletableFuture<>();
+                open.futures.put(teamMemberId, result);
+                if (open.futures.size() >= MAX_BATCH_SIZE) {
+                    full = open;
+                    open = new Batch();
+                } else if (open.futures.size() == 1) {
+                    started = open;
+                }
+            }
+        }
+        
+        if (full != null) {
+            dispatch(full);
+        } else if (started != null) {
+            Batch batch = started;
+            CompletableFuture.delayedExecutor(windowNanos, TimeUnit.NANOSECONDS).execute(() -> flush(batch));
+        }
+        return result.copy();
+    }
+    
+    /**
+     * Sends the batch if it is still open; a batch that filled up has already been sent
+     */
+    private void flush(Batch batch) {
+        synchronized (lock) {
+            if (open != batch) {
+                return;
+            }
+            open = new Batch();
+        }
+        dispatch(batch);
+    }
+    
+    private void dispatch(Batch batch) {
+        List<String> ids = new ArrayList<>(batch.futures.keySet());
+        List<UserSelector> selectors = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            selectors.add(UserSelector.teamMemberId(id));
+        }
+        
+        CompletableFuture<MembersGetInfoResponse> response;
+        try {
+            response = fetcher.apply(selectors);
+        } catch (RuntimeException e) {
+            batch.fail(e);
+            return;
+        }
+        
+        response.whenComplete((info, error) -> {
+            if (error != null) {
+                batch.fail(error);
+                return;
+            }
+            try {
+                complete(batch, ids, info);
+            } catch (Throwable t) {
+                // Futures already completed keep their result
+                batch.fail(t);
+            }
+        });
+    }
+    
+    private static void complete(Batch batch, List<String> ids, MembersGetInfoResponse info) {
+        // Items come back in selector order
+        List<MemberInfoItem> items = info == null ? null : info.getMembersInfo();
+        for (int i = 0; i < ids.size(); i++) {
+            CompletableFuture<TeamMemberProfile> future = batch.futures.get(ids.get(i));
+            MemberInfoItem item = items == null || i >= items.size() ? null : items.get(i);
+            if (item == null) {
+                future.completeExceptionally(new IOException("Missing member info for " + ids.get(i)));
+            } else {
+                future.complete(item.isNotFound() ? null : item.getProfile());
+            }
+        }
+    }
+    
+    /**
+     * Lookups collected for one batch call, keyed by team member ID in arrival order
+     */
+    private static final class Batch {
+        private final Map<String, CompletableFuture<TeamMemberProfile>> futures = new LinkedHashMap<>();
+        
+        void fail(Throwable error) {
+            futures.values().forEach(future -> future.completeExceptionally(error));
+        }
+    }
+}
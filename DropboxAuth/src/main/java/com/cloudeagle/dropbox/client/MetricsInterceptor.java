@@ -0,0 +1,56 @@
+package com.cloudeagle.dropbox.client;
+
+import com.cloudeagle.dropbox.metrics.DropboxClientListener;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+
+/**
+ * Innermost interceptor reporting every HTTP attempt to a {@link DropboxClientListener}.
+ * It runs inside the retry and concurrency limit interceptors, so latency covers
+ * the exchange with the server only, not time spent queued for a slot or backing off.
+ */
+final class MetricsInterceptor implements Interceptor {
+    
+    private final DropboxClientListener listener;
+    
+    MetricsInterceptor(DropboxClientListener listener) {
+        this.listener = listener;
+    }
+    
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        CallTag tag = request.tag(CallTag.class);
+        if (tag == null) {
+            return chain.proceed(request);
+        }
+        
+        // Retries re-send the same Request, so its tag counts the attempts
+        int attempt = ++tag.attempts;
+        long start = System.nanoTime();
+        try {
+            Response response = chain.proceed(request);
+            listener.onResponse(tag.endpoint, response.code(), System.nanoTime() - start, attempt);
+            return response;
+        } catch (IOException e) {
+            listener.onFailure(tag.endpoint, e, System.nanoTime() - start, attempt);
+            throw e;
+        }
+    }
+    
+    /**
+     * Per-request tag carrying the endpoint and the number of attempts sent so far.
+     * Attempts of one request run sequentially, so the counter needs no synchronization.
+     */
+    static final class CallTag {
+        private final String endpoint;
+        private int attempts;
+        
+        CallTag(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+}
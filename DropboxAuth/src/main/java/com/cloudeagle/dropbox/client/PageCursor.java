@@ -0,0 +1,24 @@
+package com.cloudeagle.dropbox.client;
+
+/**
+ * Pagination state returned by the streaming decode methods, which hand
+ * page elements to a callback instead of collecting them into a response.
+ */
+public final class PageCursor {
+    private final String cursor;
+    private final boolean hasMore;
+    
+    public PageCursor(String cursor, boolean hasMore) {
+        this.cursor = cursor;
+        this.hasMore = hasMore;
+    }
+    
+    public String getCursor() { return cursor; }
+    
+    public boolean isHasMore() { return hasMore; }
+    
+    @Override
+    public String toString() {
+        return String.format("PageCursor{cursor='%s', hasMore=%s}", cursor, hasMore);
+    }
+}
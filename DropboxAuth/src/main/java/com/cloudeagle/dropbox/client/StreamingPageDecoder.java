@@ -0,0 +1,57 @@
+package com.cloudeagle.dropbox.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Decodes a paginated Dropbox response token by token. Elements of the page
+ * array are bound one at a time and handed to a callback, so peak memory
+ * tracks a single element rather than the whole page.
+ */
+final class StreamingPageDecoder {
+    
+    private StreamingPageDecoder() {}
+    
+    /**
+     * Reads a page object from the parser
+     * @param parser Parser positioned before the root object
+     * @param arrayField Name of the field holding the page elements
+     * @param elementReader Reader bound to the element type
+     * @param consumer Callback receiving each element in order
+     * @return PageCursor holding the page's cursor and has_more flag
+     * @throws IOException if the payload cannot be read or is malformed
+     */
+    static <T> PageCursor decode(JsonParser parser, String arrayField,
+                                 ObjectReader elementReader, Consumer<? super T> consumer) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected JSON object at start of response");
+        }
+        
+        String cursor = null;
+        boolean hasMore = false;
+        
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            
+            if (arrayField.equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    T element = elementReader.readValue(parser);
+                    consumer.accept(element);
+                }
+            } else if ("cursor".equals(field)) {
+                cursor = value == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+            } else if ("has_more".equals(field)) {
+                hasMore = parser.getValueAsBoolean();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        
+        return new PageCursor(cursor, hasMore);
+    }
+}
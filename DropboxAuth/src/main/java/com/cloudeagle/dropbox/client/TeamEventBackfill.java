@@ -0,0 +1,297 @@
+package com.cloudeagle.dropbox.client;
+
+import com.cloudeagle.dropbox.model.IsoTimestamps;
+import com.cloudeagle.dropbox.model.TeamEvent;
+import com.cloudeagle.dropbox.model.TeamEventsResponse;
+import com.cloudeagle.dropbox.model.TimeRange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Parallel backfill of team events over a long time range.
+ * The range is split into contiguous sub-windows whose cursor chains are
+ * fetched concurrently, at most {@code parallelism} at a time. Windows are
+ * emitted in chronological order, so the resulting stream is ordered by
+ * timestamp. Each in-flight window buffers only a couple of pages ahead of
+ * the consumer, so memory stays bounded however many events a window holds.
+ */
+public class TeamEventBackfill {
+    private static final Logger logger = LoggerFactory.getLogger(TeamEventBackfill.class);
+    
+    // Pages a window may fetch ahead of the consumer
+    private static final int PAGE_BUFFER = 2;
+    private static final List<TeamEvent> END_OF_WINDOW = Collections.emptyList();
+    
+    private final DropboxBusinessApiClient apiClient;
+    private final Executor executor;
+    private final int parallelism;
+    
+    /**
+     * @param apiClient Client used to fetch each window
+     * @param executor Executor that runs window fetches; it should allow at least
+     *                 {@code parallelism} concurrent tasks
+     * @param parallelism Maximum number of windows fetched concurrently
+     */
+    public TeamEventBackfill(DropboxBusinessApiClient apiClient, Executor executor, int parallelism) {
+        if (apiClient == null) {
+            throw new IllegalArgumentException("API client cannot be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.apiClient = apiClient;
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+    
+    /**
+     * Fetches every event in the time range as a timestamp-ordered stream.
+     * Closing the stream cancels windows that have not been consumed yet and
+     * interrupts their fetches, including the request in flight.
+     * API failures surface as UncheckedIOException when the failed window is reached.
+     * @param category Event category to filter by (e.g., "logins")
+     * @param timeRange Time range with both start and end time set
+     * @param windows Number of sub-windows to split the range into
+     * @param pageSize Number of events to request per page
+     * @return Stream of events ordered by timestamp
+     */
+    public Stream<TeamEvent> backfill(String category, TimeRange timeRange, int windows, int pageSize) {
+        if (windows < 1) {
+            throw new IllegalArgumentException("Windows must be at least 1");
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than 0");
+        }
+        
+        List<TimeRange> slices = split(timeRange, windows);
+        WindowIterator iterator = new WindowIterator(category, slices, pageSize);
+        
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                false).onClose(iterator::cancel);
+    }
+    
+    /**
+     * Splits a time range into contiguous windows of (almost) equal length.
+     * Boundaries are truncated to whole seconds as required by the API.
+     */
+    static List<TimeRange> split(TimeRange timeRange, int windows) {
+        if (timeRange == null || timeRange.getStartTime() == null || timeRange.getEndTime() == null) {
+            throw new IllegalArgumentException("Time range must have both start and end time");
+        }
+        
+        Instant start = Instant.ofEpochMilli(IsoTimestamps.parseEpochMillis(timeRange.getStartTime()))
+                .truncatedTo(ChronoUnit.SECONDS);
+        Instant end = Instant.ofEpochMilli(IsoTimestamps.parseEpochMillis(timeRange.getEndTime()))
+                .truncatedTo(ChronoUnit.SECONDS);
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("Time range end must be after start");
+        }
+        
+        long totalSeconds = Duration.between(start, end).getSeconds();
+        int count = (int) Math.min(windows, totalSeconds);
+        
+        List<TimeRange> slices = new ArrayList<>(count);
+        Instant sliceStart = start;
+        for (int i = 1; i <= count; i++) {
+            Instant sliceEnd = i == count ? end : start.plusSeconds(totalSeconds * i / count);
+            slices.add(TimeRange.of(sliceStart, sliceEnd));
+            sliceStart = sliceEnd;
+        }
+        return slices;
+    }
+    
+    /**
+     * Fetches one window's cursor chain, handing each page to the consumer
+     * through a buffer of {@link #PAGE_BUFFER} pages. The fetch blocks while
+     * the buffer is full, so a window ahead of the consumer holds at most that
+     * many pages. Cancelling the task interrupts it and cancels the request in flight.
+     */
+    private final class WindowFetch implements Runnable {
+        private final String category;
+        private final TimeRange window;
+        private final int pageSize;
+        private final BlockingQueue<List<TeamEvent>> pages = new ArrayBlockingQueue<>(PAGE_BUFFER);
+        private final FutureTask<Void> task = new FutureTask<>(this, null);
+        private volatile Throwable failure;
+        
+        WindowFetch(String category, TimeRange window, int pageSize) {
+            this.category = category;
+            this.window = window;
+            this.pageSize = pageSize;
+        }
+        
+        @Override
+        public void run() {
+            long fetched = 0;
+            try {
+                TeamEventsResponse page = await(apiClient.getTeamEventsAsync(pageSize, category, window));
+                while (true) {
+                    if (page.getEvents() != null && !page.getEvents().isEmpty()) {
+                        pages.put(page.getEvents());
+                        fetched += page.getEvents().size();
+                    }
+                    if (!page.isHasMore() || page.getCursor() == null) {
+                        break;
+                    }
+                    page = await(apiClient.getTeamEventsContinueAsync(page.getCursor()));
+                }
+                logger.debug("Backfilled {} events for window {} - {}",
+                        fetched, window.getStartTime(), window.getEndTime());
+            } catch (InterruptedException e) {
+                // Cancelled, nobody reads this window any more
+                Thread.currentThread().interrupt();
+            } catch (Throwable e) {
+                // Errors too, or the consumer would wait for this window forever
+                failure = e;
+            } finally {
+                try {
+                    pages.put(END_OF_WINDOW);
+                } catch (InterruptedException e) {
+                    // Cancelled, and cancel() has already woken the consumer
+                }
+            }
+        }
+        
+        private TeamEventsResponse await(CompletableFuture<TeamEventsResponse> response) throws InterruptedException {
+            try {
+                return response.get();
+            } catch (InterruptedException e) {
+                response.cancel(true);
+                throw e;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw new UncheckedIOException((IOException) cause);
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new CompletionException(cause);
+            }
+        }
+        
+        void cancel() {
+            task.cancel(true);
+            // Wake a consumer waiting on this window
+            pages.clear();
+            pages.offer(END_OF_WINDOW);
+        }
+    }
+    
+    /**
+     * Emits windows in order, page by page, keeping up to {@code parallelism}
+     * window fetches in flight ahead of the consumer. The windows are contiguous
+     * and each cursor chain is returned in timestamp order, so concatenating
+     * them is an ordered merge.
+     */
+    private final class WindowIterator implements Iterator<TeamEvent> {
+        private final String category;
+        private final List<TimeRange> slices;
+        private final int pageSize;
+        private final Deque<WindowFetch> inFlight = new ConcurrentLinkedDeque<>();
+        
+        private int nextSlice;
+        private Iterator<TeamEvent> current = Collections.emptyIterator();
+        private volatile boolean cancelled;
+        
+        WindowIterator(String category, List<TimeRange> slices, int pageSize) {
+            this.category = category;
+            this.slices = slices;
+            this.pageSize = pageSize;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (cancelled) {
+                    return false;
+                }
+                fill();
+                WindowFetch head = inFlight.peek();
+                if (head == null) {
+                    return false;
+                }
+                List<TeamEvent> page = take(head);
+                if (page != END_OF_WINDOW) {
+                    current = page.iterator();
+                    continue;
+                }
+                inFlight.remove(head);
+                Throwable failure = head.failure;
+                if (failure != null && !cancelled) {
+                    cancel();
+                    if (failure instanceof Error) {
+                        throw (Error) failure;
+                    }
+                    throw failure instanceof RuntimeException
+                            ? (RuntimeException) failure
+                            : new CompletionException(failure);
+                }
+            }
+            return true;
+        }
+        
+        @Override
+        public TeamEvent next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+        
+        private void fill() {
+            while (inFlight.size() < parallelism && nextSlice < slices.size() && !cancelled) {
+                WindowFetch fetch = new WindowFetch(category, slices.get(nextSlice++), pageSize);
+                inFlight.add(fetch);
+                executor.execute(fetch.task);
+            }
+        }
+        
+        private List<TeamEvent> take(WindowFetch fetch) {
+            try {
+                return fetch.pages.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new CancellationException("Backfill interrupted");
+            }
+        }
+        
+        void cancel() {
+            cancelled = true;
+            WindowFetch pending;
+            while ((pending = inFlight.poll()) != null) {
+                pending.cancel();
+            }
+        }
+    }
+}
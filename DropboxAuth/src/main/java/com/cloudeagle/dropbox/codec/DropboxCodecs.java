@@ -0,0 +1,81 @@
+package com.cloudeagle.dropbox.codec;
+
+import com.cloudeagle.dropbox.model.MembersGetInfoResponse;
+import com.cloudeagle.dropbox.model.MembersListResponse;
+import com.cloudeagle.dropbox.model.TeamEvent;
+import com.cloudeagle.dropbox.model.TeamEventsResponse;
+import com.cloudeagle.dropbox.model.TeamInfo;
+import com.cloudeagle.dropbox.model.TeamMember;
+import com.cloudeagle.dropbox.model.TeamMemberProfile;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared JSON codecs for the Dropbox API models.
+ * One {@link ObjectMapper} is configured for the whole library, with the
+ * Blackbird module replacing reflective property access by generated
+ * lambdas. Readers and writers are cached per type; those for the hot
+ * response models are built when the class loads, so the first API call
+ * does not pay for deserializer construction. In a GraalVM native image,
+ * which cannot define classes at run time, Blackbird is left out and
+ * properties are accessed reflectively.
+ */
+public final class DropboxCodecs {
+    
+    private static final ObjectMapper MAPPER = createMapper();
+    
+    private static final ConcurrentHashMap<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+    
+    private static final List<Class<?>> PREWARMED_TYPES = List.of(
+            TeamInfo.class,
+            TeamMember.class,
+            TeamMemberProfile.class,
+            TeamEvent.class,
+            MembersListResponse.class,
+            MembersGetInfoResponse.class,
+            TeamEventsResponse.class);
+    
+    static {
+        for (Class<?> type : PREWARMED_TYPES) {
+            reader(type);
+            writer(type);
+        }
+    }
+    
+    private DropboxCodecs() {}
+    
+    private static ObjectMapper createMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        if (System.getProperty("org.graalvm.nativeimage.imagecode") == null) {
+            mapper.registerModule(new BlackbirdModule());
+        }
+        return mapper;
+    }
+    
+    /**
+     * Gets the shared mapper. It must not be reconfigured.
+     */
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+    
+    /**
+     * Gets the cached reader for a type
+     */
+    public static ObjectReader reader(Class<?> type) {
+        return READERS.computeIfAbsent(type, MAPPER::readerFor);
+    }
+    
+    /**
+     * Gets the cached writer for a type
+     */
+    public static ObjectWriter writer(Class<?> type) {
+        return WRITERS.computeIfAbsent(type, MAPPER::writerFor);
+    }
+}
@@ -0,0 +1,268 @@
+package com.cloudeagle.dropbox.directory;
+
+import com.cloudeagle.dropbox.client.DropboxBusinessApiClient;
+import com.cloudeagle.dropbox.model.MemberInfoItem;
+import com.cloudeagle.dropbox.model.MembersGetInfoResponse;
+import com.cloudeagle.dropbox.model.TeamEvent;
+import com.cloudeagle.dropbox.model.TeamEventsResponse;
+import com.cloudeagle.dropbox.model.TeamMemberProfile;
+import com.cloudeagle.dropbox.model.TimeRange;
+import com.cloudeagle.dropbox.model.UserInfo;
+import com.cloudeagle.dropbox.model.UserSelector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local, indexed copy of a team's member directory.
+ * Profiles are indexed by email, team member ID, account ID and external ID,
+ * so lookups are O(1) and never touch the API. After the initial
+ * {@link #load()}, {@link #sync()} follows the team's "members" audit log
+ * cursor and re-fetches only the members that changed, instead of reloading
+ * the whole directory.
+ * <p>
+ * Reads are lock-free and safe from any thread; {@code load} and {@code sync}
+ * are serialized.
+ */
+public class MemberDirectory {
+    private static final Logger logger = LoggerFactory.getLogger(MemberDirectory.class);
+    
+    private static final int PAGE_SIZE = 1000;
+    private static final int INFO_BATCH_SIZE = 100;
+    private static final String MEMBERS_CATEGORY = "members";
+    // Changes made while the full listing runs must not be missed
+    private static final Duration LOAD_OVERLAP = Duration.ofMinutes(1);
+    
+    private final DropboxBusinessApiClient apiClient;
+    private final boolean includeRemoved;
+    
+    private volatile Index index = new Index();
+    private String eventsCursor;
+    
+    /**
+     * @param apiClient Client used for listing and change tracking
+     * @param includeRemoved Whether removed members are kept in the directory
+     */
+    public MemberDirectory(DropboxBusinessApiClient apiClient, boolean includeRemoved) {
+        if (apiClient == null) {
+            throw new IllegalArgumentException("API client cannot be null");
+        }
+        this.apiClient = apiClient;
+        this.includeRemoved = includeRemoved;
+    }
+    
+    /**
+     * Loads the full member list and positions the change cursor at the load time.
+     * The new index replaces the old one atomically, so readers never see a partial directory.
+     * @throws IOException if an API request fails
+     */
+    public synchronized void load() throws IOException {
+        Instant changesSince = Instant.now().minus(LOAD_OVERLAP);
+        
+        Index loaded = new Index();
+        try {
+            apiClient.streamTeamMembers(PAGE_SIZE, includeRemoved)
+                    .forEach(member -> loaded.upsert(member.getProfile()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        
+        TeamEventsResponse changes = apiClient.getTeamEvents(
+                PAGE_SIZE, MEMBERS_CATEGORY, TimeRange.of(changesSince, null));
+        String cursor = applyChanges(loaded, changes);
+        
+        this.index = loaded;
+        this.eventsCursor = cursor;
+        logger.info("Loaded {} team members into directory", loaded.byTeamMemberId.size());
+    }
+    
+    /**
+     * Applies member changes recorded since the last load or sync
+     * @return number of changed members that were re-fetched
+     * @throws IOException if an API request fails
+     */
+    public synchronized int sync() throws IOException {
+        if (eventsCursor == null) {
+            throw new IllegalStateException("Directory has not been loaded");
+        }
+        
+        // The cursor only advances once the changes have been applied, so a failed sync is retried in full
+        Set<String> changed = new LinkedHashSet<>();
+        String cursor = eventsCursor;
+        TeamEventsResponse page;
+        do {
+            page = apiClient.getTeamEventsContinue(cursor);
+            collectChangedMembers(page, changed);
+            if (page.getCursor() != null) {
+                cursor = page.getCursor();
+            }
+        } while (page.isHasMore() && page.getCursor() != null);
+        
+        refresh(index, changed);
+        eventsCursor = cursor;
+        logger.debug("Directory sync refreshed {} members", changed.size());
+        return changed.size();
+    }
+    
+    /**
+     * Finds a member by email, ignoring case
+     * @return the member's profile, or null if unknown
+     */
+    public TeamMemberProfile findByEmail(String email) {
+        return email != null ? index.byEmail.get(normalizeEmail(email)) : null;
+    }
+    
+    /**
+     * Finds a member by team member ID
+     * @return the member's profile, or null if unknown
+     */
+    public TeamMemberProfile findByTeamMemberId(String teamMemberId) {
+        return teamMemberId != null ? index.byTeamMemberId.get(teamMemberId) : null;
+    }
+    
+    /**
+     * Finds a member by account ID
+     * @return the member's profile, or null if unknown
+     */
+    public TeamMemberProfile findByAccountId(String accountId) {
+        return accountId != null ? index.byAccountId.get(accountId) : null;
+    }
+    
+    /**
+     * Finds a member by external ID
+     * @return the member's profile, or null if unknown
+     */
+    public TeamMemberProfile findByExternalId(String externalId) {
+        return externalId != null ? index.byExternalId.get(externalId) : null;
+    }
+    
+    /**
+     * Gets the number of members in the directory
+     */
+    public int size() {
+        return index.byTeamMemberId.size();
+    }
+    
+    private String applyChanges(Index target, TeamEventsResponse firstPage) throws IOException {
+        Set<String> changed = new LinkedHashSet<>();
+        TeamEventsResponse page = firstPage;
+        String cursor = page.getCursor();
+        collectChangedMembers(page, changed);
+        
+        while (page.isHasMore() && cursor != null) {
+            page = apiClient.getTeamEventsContinue(cursor);
+            collectChangedMembers(page, changed);
+            if (page.getCursor() != null) {
+                cursor = page.getCursor();
+            }
+        }
+        
+        refresh(target, changed);
+        return cursor;
+    }
+    
+    private static void collectChangedMembers(TeamEventsResponse page, Set<String> changed) {
+        if (page.getEvents() == null) {
+            return;
+        }
+        for (TeamEvent event : page.getEvents()) {
+            UserInfo context = event.getContext();
+            if (context != null && context.getTeamMemberId() != null) {
+                changed.add(context.getTeamMemberId());
+            }
+        }
+    }
+    
+    private void refresh(Index target, Set<String> teamMemberIds) throws IOException {
+        List<String> ids = new ArrayList<>(teamMemberIds);
+        for (int from = 0; from < ids.size(); from += INFO_BATCH_SIZE) {
+            List<String> batch = ids.subList(from, Math.min(from + INFO_BATCH_SIZE, ids.size()));
+            List<UserSelector> selectors = new ArrayList<>(batch.size());
+            for (String id : batch) {
+                selectors.add(UserSelector.teamMemberId(id));
+            }
+            
+            MembersGetInfoResponse response = apiClient.getMembersInfo(selectors);
+            if (response.getMembersInfo() == null) {
+                continue;
+            }
+            for (MemberInfoItem item : response.getMembersInfo()) {
+                TeamMemberProfile profile = item.getProfile();
+                if (item.isNotFound() || profile == null) {
+                    target.remove(item.getIdNotFound());
+                } else if (!includeRemoved && "removed".equals(profile.getStatus())) {
+                    target.remove(profile.getTeamMemberId());
+                } else {
+                    target.upsert(profile);
+                }
+            }
+        }
+    }
+    
+    private static String normalizeEmail(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Secondary indexes over one generation of the directory
+     */
+    private static final class Index {
+        private final ConcurrentHashMap<String, TeamMemberProfile> byTeamMemberId = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, TeamMemberProfile> byEmail = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, TeamMemberProfile> byAccountId = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, TeamMemberProfile> byExternalId = new ConcurrentHashMap<>();
+        
+        void upsert(TeamMemberProfile profile) {
+            if (profile == null || profile.getTeamMemberId() == null) {
+                return;
+            }
+            // Index the new keys before dropping the old ones, so a concurrent lookup by an unchanged
+            // key never misses. The removal is value-conditional and only clears keys that moved.
+            if (profile.getEmail() != null) {
+                byEmail.put(normalizeEmail(profile.getEmail()), profile);
+            }
+            if (profile.getAccountId() != null) {
+                byAccountId.put(profile.getAccountId(), profile);
+            }
+            if (profile.getExternalId() != null) {
+                byExternalId.put(profile.getExternalId(), profile);
+            }
+            TeamMemberProfile previous = byTeamMemberId.put(profile.getTeamMemberId(), profile);
+            if (previous != null) {
+                unindexSecondary(previous);
+            }
+        }
+        
+        void remove(String teamMemberId) {
+            if (teamMemberId == null) {
+                return;
+            }
+            TeamMemberProfile previous = byTeamMemberId.remove(teamMemberId);
+            if (previous != null) {
+                unindexSecondary(previous);
+            }
+        }
+        
+        private void unindexSecondary(TeamMemberProfile profile) {
+            if (profile.getEmail() != null) {
+                byEmail.remove(normalizeEmail(profile.getEmail()), profile);
+            }
+            if (profile.getAccountId() != null) {
+                byAccountId.remove(profile.getAccountId(), profile);
+            }
+            if (profile.getExternalId() != null) {
+                byExternalId.remove(profile.getExternalId(), profile);
+            }
+        }
+    }
+}
@@ -1,14 +1,16 @@
 package com.cloudeagle.dropbox.example;
 
+import com.cloudeagle.dropbox.analytics.SignInAnomalyDetector;
 import com.cloudeagle.dropbox.auth.DropboxAuthenticator;
 import com.cloudeagle.dropbox.client.DropboxBusinessApiClient;
+import com.cloudeagle.dropbox.http.DropboxHttpTransport;
 import com.cloudeagle.dropbox.model.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Scanner;
 
 /**
@@ -23,12 +25,13 @@ public class DropboxApiExample {
     private static final String REDIRECT_URI = "http://localhost:8080/callback";
     
     public static void main(String[] args) {
+        DropboxHttpTransport transport = DropboxHttpTransport.createDefault();
         DropboxBusinessApiClient apiClient = null;
         Scanner scanner = null;
         
         try {
             // Initialize authenticator
-            DropboxAuthenticator authenticator = new DropboxAuthenticator(CLIENT_ID, CLIENT_SECRET, REDIRECT_URI);
+            DropboxAuthenticator authenticator = new DropboxAuthenticator(CLIENT_ID, CLIENT_SECRET, REDIRECT_URI, transport);
             
             // Step 1: Get authorization URL
             String authUrl = authenticator.getAuthorizationUrl();
@@ -52,7 +55,7 @@ public class DropboxApiExample {
             System.out.println();
             
             // Initialize API client
-            apiClient = new DropboxBusinessApiClient(authenticator);
+            apiClient = new DropboxBusinessApiClient(authenticator, transport);
             
             // Demonstrate all required APIs
             demonstrateTeamInfo(apiClient);
@@ -70,6 +73,7 @@ public class DropboxApiExample {
             if (apiClient != null) {
                 apiClient.close();
             }
+            transport.close();
         }
     }
     
@@ -170,10 +174,8 @@ public class DropboxApiExample {
             System.out.println("=== SIGN-IN EVENTS ===");
             
             // Get events from last 30 days
-            String endTime = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "Z";
-            String startTime = LocalDateTime.now().minusDays(30).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "Z";
-            
-            TimeRange timeRange = new TimeRange(startTime, endTime);
+            Instant now = Instant.now();
+            TimeRange timeRange = TimeRange.of(now.minus(Duration.ofDays(30)), now);
             TeamEventsResponse eventsResponse = apiClient.getSignInEvents(50, timeRange);
             
             if (eventsResponse.getEvents() == null) {
@@ -240,6 +242,12 @@ public class DropboxApiExample {
                 if (eventsResponse.getEvents().size() > 5) {
                     System.out.println("... and " + (eventsResponse.getEvents().size() - 5) + " more events");
                 }
+                
+                // Check the whole page for impossible travel, new countries and failure bursts
+                SignInAnomalyDetector detector = SignInAnomalyDetector.builder(
+                        anomaly -> System.out.println("Anomaly: " + anomaly)).build();
+                eventsResponse.getEvents().forEach(detector);
+                System.out.println("Anomalies detected: " + detector.getAnomalyCount());
             } else {
                 System.out.println("No sign-in events found in the last 30 days.");
             }
@@ -0,0 +1,352 @@
+package com.cloudeagle.dropbox.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive limit on the number of in-flight Dropbox requests.
+ * Uses additive-increase/multiplicative-decrease: every successful response
+ * grows the limit by roughly one request per round trip, while a throttled
+ * response shrinks it by the backoff ratio and pauses new requests until the
+ * server's Retry-After deadline has passed. The limit shrinks at most once per
+ * round trip: throttles reported for requests that were sent before the last
+ * decrease only extend the pause, and no pause lasts longer than
+ * {@code maxPause}, so a far-off Retry-After cannot stall every caller.
+ * <p>
+ * Waiting callers are served in FIFO order, whether they block in
+ * {@link #acquire()} or wait on {@link #acquireAsync()}.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+    
+    /**
+     * Longest pause a Retry-After imposes by default, matching {@link RetryPolicy}
+     */
+    public static final Duration DEFAULT_MAX_PAUSE = Duration.ofSeconds(60);
+    
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long maxPauseNanos;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    // Guarded by lock
+    private final Deque<CompletableFuture<Permit>> waiters = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private long pausedUntilNanos = System.nanoTime();
+    private long lastDecreaseNanos = System.nanoTime();
+    private boolean wakeupScheduled;
+    
+    /**
+     * Creates a limiter with an initial limit of 20, bounds of 1 to 200, a backoff ratio of 0.5
+     * and a maximum pause of 60 seconds
+     */
+    public AdaptiveConcurrencyLimiter() {
+        this(20, 1, 200, 0.5);
+    }
+    
+    /**
+     * @param initialLimit Starting number of requests allowed in flight
+     * @param minLimit Lower bound the limit never shrinks below
+     * @param maxLimit Upper bound the limit never grows above
+     * @param backoffRatio Factor applied to the limit when a request is throttled (0 to 1)
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+        this(initialLimit, minLimit, maxLimit, backoffRatio, DEFAULT_MAX_PAUSE);
+    }
+    
+    /**
+     * @param initialLimit Starting number of requests allowed in flight
+     * @param minLimit Lower bound the limit never shrinks below
+     * @param maxLimit Upper bound the limit never grows above
+     * @param backoffRatio Factor applied to the limit when a request is throttled (0 to 1)
+     * @param maxPause Longest pause a single Retry-After may impose
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                                      Duration maxPause) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+        }
+        if (initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Initial limit must be between min and max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        if (maxPause == null || maxPause.isNegative()) {
+            throw new IllegalArgumentException("Max pause cannot be null or negative");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.maxPauseNanos = toNanosSaturated(maxPause);
+    }
+    
+    /**
+     * Waits until a request may be sent. The returned permit must be completed
+     * with exactly one of {@link Permit#onSuccess()}, {@link Permit#onThrottled(Duration)}
+     * or {@link Permit#onIgnored()}.
+     * @throws InterruptedIOException if the calling thread is interrupted while waiting
+     */
+    public Permit acquire() throws InterruptedIOException {
+        CompletableFuture<Permit> waiter = acquireAsync();
+        try {
+            return waiter.get();
+        } catch (InterruptedException e) {
+            if (!waiter.cancel(false)) {
+                // Granted while we were being interrupted
+                waiter.join().onIgnored();
+            }
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a request slot");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Request slot wait failed", e.getCause());
+        }
+    }
+    
+    /**
+     * Requests a slot without blocking. The future completes, on the thread that
+     * freed the slot, once a request may be sent; cancelling it gives up the
+     * place in the queue. The permit must be completed as for {@link #acquire()}.
+     */
+    public CompletableFuture<Permit> acquireAsync() {
+        CompletableFuture<Permit> waiter = new CompletableFuture<>();
+        lock.lock();
+        try {
+            waiters.addLast(waiter);
+        } finally {
+            lock.unlock();
+        }
+        waiter.whenComplete((permit, error) -> {
+            if (waiter.isCancelled()) {
+                removeWaiter(waiter);
+            }
+        });
+        grantWaiting();
+        return waiter;
+    }
+    
+    /**
+     * Gets the current concurrency limit
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Gets the number of requests currently in flight
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Gets the number of callers waiting for a slot
+     */
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Gets the remaining pause imposed by the last Retry-After, or zero
+     */
+    public Duration getRemainingPause() {
+        lock.lock();
+        try {
+            long remaining = pausedUntilNanos - System.nanoTime();
+            return remaining > 0 ? Duration.ofNanos(remaining) : Duration.ZERO;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void onSuccess() {
+        lock.lock();
+        try {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+            inFlight--;
+        } finally {
+            lock.unlock();
+        }
+        grantWaiting();
+    }
+    
+    private void onThrottled(Permit permit, Duration retryAfter) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            // Requests sent before the last decrease saw the old limit; one decrease covers them all
+            if (permit.acquiredNanos - lastDecreaseNanos >= 0) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecreaseNanos = now;
+                logger.debug("Request throttled, concurrency limit reduced to {} (retry after {})",
+                        (int) limit, retryAfter);
+            }
+            if (retryAfter != null && !retryAfter.isNegative()) {
+                long until = now + Math.min(toNanosSaturated(retryAfter), maxPauseNanos);
+                if (until - pausedUntilNanos > 0) {
+                    pausedUntilNanos = until;
+                }
+            }
+        } finally {
+            inFlight--;
+            lock.unlock();
+        }
+        grantWaiting();
+    }
+    
+    private void onIgnored() {
+        lock.lock();
+        try {
+            inFlight--;
+        } finally {
+            lock.unlock();
+        }
+        grantWaiting();
+    }
+    
+    private void removeWaiter(CompletableFuture<Permit> waiter) {
+        lock.lock();
+        try {
+            waiters.remove(waiter);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Hands free slots to waiters in order. Waiters are completed outside the
+     * lock, since their continuations may send requests or acquire again.
+     */
+    private void grantWaiting() {
+        while (true) {
+            CompletableFuture<Permit> waiter;
+            Permit permit;
+            lock.lock();
+            try {
+                if (waiters.isEmpty() || inFlight >= (int) limit) {
+                    return;
+                }
+                long pauseNanos = pausedUntilNanos - System.nanoTime();
+                if (pauseNanos > 0) {
+                    scheduleWakeup(pauseNanos);
+                    return;
+                }
+                waiter = waiters.pollFirst();
+                inFlight++;
+                permit = new Permit(System.nanoTime());
+            } finally {
+                lock.unlock();
+            }
+            if (!waiter.complete(permit)) {
+                // Cancelled just before the grant
+                lock.lock();
+                try {
+                    inFlight--;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+    
+    /**
+     * Converts a non-negative duration to nanoseconds, capped at about 146 years
+     * instead of overflowing
+     */
+    private static long toNanosSaturated(Duration duration) {
+        return duration.compareTo(Duration.ofNanos(Long.MAX_VALUE)) >= 0 ? Long.MAX_VALUE : duration.toNanos();
+    }
+    
+    // Called with lock held
+    private void scheduleWakeup(long delayNanos) {
+        if (wakeupScheduled) {
+            return;
+        }
+        wakeupScheduled = true;
+        CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(() -> {
+            lock.lock();
+            try {
+                wakeupScheduled = false;
+            } finally {
+                lock.unlock();
+            }
+            grantWaiting();
+        });
+    }
+    
+    /**
+     * A granted request slot. Completing it more than once has no further effect.
+     */
+    public final class Permit {
+        private final long acquiredNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        private Permit(long acquiredNanos) {
+            this.acquiredNanos = acquiredNanos;
+        }
+        
+        /**
+         * Records a request that completed without being throttled
+         */
+        public void onSuccess() {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimiter.this.onSuccess();
+            }
+        }
+        
+        /**
+         * Records a throttled request, shrinking the limit and pausing new requests
+         * @param retryAfter Delay requested by the server, or null if none was given
+         */
+        public void onThrottled(Duration retryAfter) {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimiter.this.onThrottled(this, retryAfter);
+            }
+        }
+        
+        /**
+         * Releases the slot without adjusting the limit, e.g. after a network failure
+         */
+        public void onIgnored() {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimiter.this.onIgnored();
+            }
+        }
+        
+        /**
+         * Whether the slot has been given back
+         */
+        public boolean isReleased() {
+            return released.get();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.cloudeagle.dropbox.http;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+
+/**
+ * Interceptor that gates every request through an {@link AdaptiveConcurrencyLimiter}
+ * and feeds the response status back into it.
+ * <p>
+ * Waiting for a slot blocks the thread running the chain, which is only
+ * acceptable for synchronous calls. Enqueued calls must not wait on a
+ * dispatcher thread: acquire with {@link AdaptiveConcurrencyLimiter#acquireAsync()}
+ * before enqueueing, and tag the request with the granted permit.
+ * <pre>
+ * request.newBuilder().tag(AdaptiveConcurrencyLimiter.Permit.class, permit)
+ * </pre>
+ * The interceptor then reports the outcome through that permit instead of
+ * acquiring its own.
+ */
+public class ConcurrencyLimitInterceptor implements Interceptor {
+    
+    private final AdaptiveConcurrencyLimiter limiter;
+    
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter) {
+        if (limiter == null) {
+            throw new IllegalArgumentException("Limiter cannot be null");
+        }
+        this.limiter = limiter;
+    }
+    
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        AdaptiveConcurrencyLimiter.Permit permit = request.tag(AdaptiveConcurrencyLimiter.Permit.class);
+        if (permit == null || permit.isReleased()) {
+            // Synchronous call, or a retry after the pre-acquired permit was spent
+            permit = limiter.acquire();
+        }
+        
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException | RuntimeException e) {
+            permit.onIgnored();
+            throw e;
+        }
+        
+        if (RetryAfter.isThrottled(response.code())) {
+            permit.onThrottled(RetryAfter.of(response));
+        } else {
+            permit.onSuccess();
+        }
+        return response;
+    }
+}
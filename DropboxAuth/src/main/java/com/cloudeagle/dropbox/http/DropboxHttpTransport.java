@@ -0,0 +1,179 @@
+package com.cloudeagle.dropbox.http;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared HTTP transport for Dropbox API calls.
+ * Owns a single connection pool and dispatcher so that the authenticator and
+ * any number of API clients reuse the same TLS connections to Dropbox hosts.
+ * Components that need their own interceptors should derive a client with
+ * {@code client().newBuilder()}, which keeps the shared pool and dispatcher.
+ */
+public class DropboxHttpTransport implements AutoCloseable {
+    
+    private final OkHttpClient client;
+    
+    private DropboxHttpTransport(Builder builder) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(builder.maxRequests);
+        dispatcher.setMaxRequestsPerHost(builder.maxRequestsPerHost);
+        
+        List<Protocol> protocols = builder.preferHttp2
+                ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                : List.of(Protocol.HTTP_1_1);
+        
+        this.client = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(builder.maxIdleConnections,
+                        builder.keepAlive.toMillis(), TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                .protocols(protocols)
+                .connectTimeout(builder.connectTimeout)
+                .readTimeout(builder.readTimeout)
+                .writeTimeout(builder.writeTimeout)
+                .callTimeout(builder.callTimeout)
+                .build();
+    }
+    
+    /**
+     * Creates a transport with default settings
+     */
+    public static DropboxHttpTransport createDefault() {
+        return builder().build();
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Gets the underlying HTTP client
+     * @return OkHttpClient backed by the shared pool and dispatcher
+     */
+    public OkHttpClient client() {
+        return client;
+    }
+    
+    /**
+     * Shuts down the dispatcher and evicts pooled connections
+     */
+    @Override
+    public void close() {
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+    
+    /**
+     * Builder for {@link DropboxHttpTransport}
+     */
+    public static class Builder {
+        private int maxIdleConnections = 32;
+        private Duration keepAlive = Duration.ofMinutes(5);
+        private int maxRequests = 256;
+        private int maxRequestsPerHost = 64;
+        private boolean preferHttp2 = true;
+        private Duration connectTimeout = Duration.ofSeconds(30);
+        private Duration readTimeout = Duration.ofSeconds(60);
+        private Duration writeTimeout = Duration.ofSeconds(30);
+        private Duration callTimeout = Duration.ZERO;
+        
+        private Builder() {}
+        
+        /**
+         * Maximum number of idle connections kept in the pool
+         */
+        public Builder maxIdleConnections(int maxIdleConnections) {
+            if (maxIdleConnections < 0) {
+                throw new IllegalArgumentException("Max idle connections cannot be negative");
+            }
+            this.maxIdleConnections = maxIdleConnections;
+            return this;
+        }
+        
+        /**
+         * How long an idle connection is kept before being evicted
+         */
+        public Builder keepAlive(Duration keepAlive) {
+            this.keepAlive = requirePositive(keepAlive, "Keep-alive");
+            return this;
+        }
+        
+        /**
+         * Maximum number of concurrent asynchronous requests across all hosts
+         */
+        public Builder maxRequests(int maxRequests) {
+            if (maxRequests < 1) {
+                throw new IllegalArgumentException("Max requests must be at least 1");
+            }
+            this.maxRequests = maxRequests;
+            return this;
+        }
+        
+        /**
+         * Maximum number of concurrent asynchronous requests per host
+         */
+        public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+            if (maxRequestsPerHost < 1) {
+                throw new IllegalArgumentException("Max requests per host must be at least 1");
+            }
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+        
+        /**
+         * Whether to negotiate HTTP/2 when the server supports it, multiplexing
+         * concurrent calls over a single connection
+         */
+        public Builder preferHttp2(boolean preferHttp2) {
+            this.preferHttp2 = preferHttp2;
+            return this;
+        }
+        
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = requireNonNegative(connectTimeout, "Connect timeout");
+            return this;
+        }
+        
+        public Builder readTimeout(Duration readTimeout) {
+            this.readTimeout = requireNonNegative(readTimeout, "Read timeout");
+            return this;
+        }
+        
+        public Builder writeTimeout(Duration writeTimeout) {
+            this.writeTimeout = requireNonNegative(writeTimeout, "Write timeout");
+            return this;
+        }
+        
+        /**
+         * Timeout for a complete call, or zero for no limit
+         */
+        public Builder callTimeout(Duration callTimeout) {
+            this.callTimeout = requireNonNegative(callTimeout, "Call timeout");
+            return this;
+        }
+        
+        public DropboxHttpTransport build() {
+            return new DropboxHttpTransport(this);
+        }
+        
+        private static Duration requirePositive(Duration value, String name) {
+            if (value == null || value.isZero() || value.isNegative()) {
+                throw new IllegalArgumentException(name + " must be positive");
+            }
+            return value;
+        }
+        
+        private static Duration requireNonNegative(Duration value, String name) {
+            if (value == null || value.isNegative()) {
+                throw new IllegalArgumentException(name + " cannot be negative");
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.cloudeagle.dropbox.http;
+
+import java.time.Duration;
+
+/**
+ * Policy for hedged reads: if a request has not completed after the observed
+ * latency percentile, a second identical request is sent and whichever
+ * completes first wins. Hedging is only applied to idempotent read calls.
+ */
+public class HedgingPolicy {
+    
+    private final double percentile;
+    private final Duration minDelay;
+    private final Duration maxDelay;
+    private final int minSamples;
+    private final LatencyTracker latencyTracker;
+    
+    /**
+     * Creates a policy hedging at the p95 latency, bounded to 50 ms - 5 s,
+     * once at least 20 samples have been observed
+     */
+    public HedgingPolicy() {
+        this(0.95, Duration.ofMillis(50), Duration.ofSeconds(5), 20, 256);
+    }
+    
+    /**
+     * @param percentile Latency percentile after which the hedge is sent (0 to 1)
+     * @param minDelay Lower bound on the hedge delay
+     * @param maxDelay Hedge delay used until enough samples exist, and its upper bound
+     * @param minSamples Number of samples needed before the percentile is trusted
+     * @param windowSize Number of recent latencies kept for the estimate
+     */
+    public HedgingPolicy(double percentile, Duration minDelay, Duration maxDelay, int minSamples, int windowSize) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1");
+        }
+        if (minDelay == null || maxDelay == null || minDelay.isNegative() || maxDelay.compareTo(minDelay) < 0) {
+            throw new IllegalArgumentException("Delays must satisfy 0 <= min <= max");
+        }
+        this.percentile = percentile;
+        this.minDelay = minDelay;
+        this.maxDelay = maxDelay;
+        this.minSamples = minSamples;
+        this.latencyTracker = new LatencyTracker(windowSize);
+    }
+    
+    /**
+     * Records the latency of a completed request, measured from its first attempt
+     * so that attempts overtaken by a hedge are not left out of the estimate
+     */
+    public void recordLatency(long latencyMillis) {
+        latencyTracker.record(latencyMillis);
+    }
+    
+    /**
+     * Gets the delay after which a hedge request should be sent
+     */
+    public Duration hedgeDelay() {
+        if (latencyTracker.size() < minSamples) {
+            return maxDelay;
+        }
+        long millis = latencyTracker.percentile(percentile);
+        millis = Math.max(minDelay.toMillis(), Math.min(maxDelay.toMillis(), millis));
+        return Duration.ofMillis(millis);
+    }
+}
@@ -0,0 +1,31 @@
+package com.cloudeagle.dropbox.http;
+
+import okhttp3.Request;
+
+import java.util.Set;
+
+/**
+ * Request tag telling the retry interceptor whether a request may be safely
+ * replayed. Dropbox RPC endpoints are all POST, so requests without this tag
+ * are treated as non-idempotent unless their HTTP method is.
+ * <pre>
+ * new Request.Builder().tag(Idempotency.class, Idempotency.IDEMPOTENT)
+ * </pre>
+ */
+public enum Idempotency {
+    IDEMPOTENT,
+    NON_IDEMPOTENT;
+    
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "PUT", "DELETE", "OPTIONS");
+    
+    /**
+     * Whether a request may be replayed, from its tag or else its HTTP method
+     */
+    public static boolean isIdempotent(Request request) {
+        Idempotency tag = request.tag(Idempotency.class);
+        if (tag != null) {
+            return tag == IDEMPOTENT;
+        }
+        return IDEMPOTENT_METHODS.contains(request.method());
+    }
+}
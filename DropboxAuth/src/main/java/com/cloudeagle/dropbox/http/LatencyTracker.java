@@ -0,0 +1,60 @@
+package com.cloudeagle.dropbox.http;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size sliding window of recent request latencies used to estimate
+ * percentiles. Recording is O(1); percentile queries sort a copy of the window.
+ */
+public class LatencyTracker {
+    
+    private final long[] samples;
+    private int next;
+    private int count;
+    
+    public LatencyTracker(int windowSize) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Window size must be at least 1");
+        }
+        this.samples = new long[windowSize];
+    }
+    
+    /**
+     * Records the latency of a completed request
+     */
+    public synchronized void record(long latencyMillis) {
+        samples[next] = latencyMillis;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+    
+    /**
+     * Gets the number of samples currently in the window
+     */
+    public synchronized int size() {
+        return count;
+    }
+    
+    /**
+     * Estimates a latency percentile over the window
+     * @param percentile Percentile between 0 and 1 (e.g. 0.95)
+     * @return Latency in milliseconds, or -1 if no samples have been recorded
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1");
+        }
+        long[] window;
+        synchronized (this) {
+            if (count == 0) {
+                return -1;
+            }
+            window = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(window);
+        int index = (int) Math.ceil(percentile * window.length) - 1;
+        return window[Math.max(0, Math.min(index, window.length - 1))];
+    }
+}
@@ -0,0 +1,56 @@
+package com.cloudeagle.dropbox.http;
+
+import okhttp3.Response;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parses the Retry-After header of throttled responses
+ */
+public final class RetryAfter {
+    
+    private RetryAfter() {}
+    
+    /**
+     * Gets the delay requested by a response
+     * @return Delay from the Retry-After header, or null if absent or malformed
+     */
+    public static Duration of(Response response) {
+        return parse(response.header("Retry-After"));
+    }
+    
+    /**
+     * Parses a Retry-After value given either as delta-seconds or as an HTTP date
+     * @return Parsed delay, or null if the value is absent or malformed
+     */
+    public static Duration parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        try {
+            long seconds = Long.parseLong(trimmed);
+            return seconds >= 0 ? Duration.ofSeconds(seconds) : null;
+        } catch (NumberFormatException e) {
+            // Fall through to HTTP date
+        }
+        try {
+            Instant date = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            Duration delay = Duration.between(Instant.now(), date);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Whether a response status signals throttling
+     */
+    public static boolean isThrottled(int code) {
+        return code == 429 || code == 503;
+    }
+}
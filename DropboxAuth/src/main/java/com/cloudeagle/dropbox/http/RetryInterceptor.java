@@ -0,0 +1,74 @@
+package com.cloudeagle.dropbox.http;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+
+/**
+ * Interceptor that retries idempotent requests according to a {@link RetryPolicy}.
+ * Network failures and retryable statuses are retried; requests that are not
+ * idempotent are passed through untouched.
+ * <p>
+ * Backoff sleeps on the thread running the chain, so this interceptor belongs
+ * on clients used for synchronous calls only. Enqueued calls should be retried
+ * by scheduling a new call after the delay instead.
+ */
+public class RetryInterceptor implements Interceptor {
+    private static final Logger logger = LoggerFactory.getLogger(RetryInterceptor.class);
+    
+    private final RetryPolicy policy;
+    
+    public RetryInterceptor(RetryPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Retry policy cannot be null");
+        }
+        this.policy = policy;
+    }
+    
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!Idempotency.isIdempotent(request)) {
+            return chain.proceed(request);
+        }
+        
+        for (int attempt = 1; ; attempt++) {
+            boolean lastAttempt = attempt >= policy.getMaxAttempts();
+            Duration retryAfter = null;
+            
+            try {
+                Response response = chain.proceed(request);
+                if (lastAttempt || !policy.isRetryableStatus(response.code())) {
+                    return response;
+                }
+                retryAfter = RetryAfter.of(response);
+                logger.debug("Retrying {} after status {} (attempt {} of {})",
+                        request.url().encodedPath(), response.code(), attempt, policy.getMaxAttempts());
+                response.close();
+            } catch (IOException e) {
+                if (lastAttempt || chain.call().isCanceled() || !RetryPolicy.isRetryableFailure(e)) {
+                    throw e;
+                }
+                logger.debug("Retrying {} after {} (attempt {} of {})",
+                        request.url().encodedPath(), e.toString(), attempt, policy.getMaxAttempts());
+            }
+            
+            sleep(policy.delayFor(attempt - 1, retryAfter));
+        }
+    }
+    
+    private static void sleep(Duration delay) throws InterruptedIOException {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry");
+        }
+    }
+}
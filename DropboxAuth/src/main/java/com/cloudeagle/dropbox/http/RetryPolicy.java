@@ -0,0 +1,165 @@
+package com.cloudeagle.dropbox.http;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry policy using exponential backoff with full jitter.
+ * The delay before retry {@code n} is drawn uniformly from
+ * {@code [0, min(maxDelay, baseDelay * 2^n))}, unless the server asked for a
+ * longer pause through Retry-After. Retry-After is honoured up to
+ * {@code maxRetryAfter}, so a far-off deadline cannot stall a caller indefinitely.
+ */
+public class RetryPolicy {
+    
+    private static final Set<Integer> DEFAULT_RETRYABLE_STATUSES = Set.of(429, 500, 502, 503, 504);
+    
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final Duration maxRetryAfter;
+    private final Set<Integer> retryableStatuses;
+    
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.baseDelay = builder.baseDelay;
+        this.maxDelay = builder.maxDelay;
+        this.maxRetryAfter = builder.maxRetryAfter;
+        this.retryableStatuses = Set.copyOf(builder.retryableStatuses);
+    }
+    
+    /**
+     * Creates a policy with 4 attempts, a 200 ms base delay, a 20 s delay cap
+     * and a 60 s Retry-After cap
+     */
+    public static RetryPolicy defaults() {
+        return builder().build();
+    }
+    
+    /**
+     * Creates a policy that never retries
+     */
+    public static RetryPolicy none() {
+        return builder().maxAttempts(1).build();
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    public int getMaxAttempts() { return maxAttempts; }
+    
+    public Duration getBaseDelay() { return baseDelay; }
+    
+    public Duration getMaxDelay() { return maxDelay; }
+    
+    public Duration getMaxRetryAfter() { return maxRetryAfter; }
+    
+    /**
+     * Whether a response status should be retried
+     */
+    public boolean isRetryableStatus(int code) {
+        return retryableStatuses.contains(code);
+    }
+    
+    /**
+     * Whether a network failure should be retried. Socket timeouts are retryable;
+     * other interruptions (call timeout, thread interrupt) mean the caller has given up.
+     */
+    public static boolean isRetryableFailure(IOException e) {
+        return !(e instanceof InterruptedIOException) || e instanceof SocketTimeoutException;
+    }
+    
+    /**
+     * Computes the delay before the given retry
+     * @param retry Zero-based retry number
+     * @param retryAfter Delay requested by the server, or null
+     * @return Delay to wait before sending the retry, at most the Retry-After cap
+     */
+    public Duration delayFor(int retry, Duration retryAfter) {
+        long capMillis = maxDelay.toMillis();
+        long ceiling = baseDelay.toMillis() << Math.min(retry, 30);
+        if (ceiling <= 0 || ceiling > capMillis) {
+            ceiling = capMillis;
+        }
+        long jittered = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        
+        if (retryAfter != null && retryAfter.toMillis() > jittered) {
+            return retryAfter.compareTo(maxRetryAfter) > 0 ? maxRetryAfter : retryAfter;
+        }
+        return Duration.ofMillis(jittered);
+    }
+    
+    /**
+     * Builder for {@link RetryPolicy}
+     */
+    public static class Builder {
+        private int maxAttempts = 4;
+        private Duration baseDelay = Duration.ofMillis(200);
+        private Duration maxDelay = Duration.ofSeconds(20);
+        private Duration maxRetryAfter = Duration.ofSeconds(60);
+        private Set<Integer> retryableStatuses = DEFAULT_RETRYABLE_STATUSES;
+        
+        private Builder() {}
+        
+        /**
+         * Total number of attempts including the first one
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("Max attempts must be at least 1");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+        
+        public Builder baseDelay(Duration baseDelay) {
+            if (baseDelay == null || baseDelay.isNegative() || baseDelay.isZero()) {
+                throw new IllegalArgumentException("Base delay must be positive");
+            }
+            this.baseDelay = baseDelay;
+            return this;
+        }
+        
+        public Builder maxDelay(Duration maxDelay) {
+            if (maxDelay == null || maxDelay.isNegative() || maxDelay.isZero()) {
+                throw new IllegalArgumentException("Max delay must be positive");
+            }
+            this.maxDelay = maxDelay;
+            return this;
+        }
+        
+        /**
+         * Longest Retry-After delay honoured; longer server requests are shortened to it
+         */
+        public Builder maxRetryAfter(Duration maxRetryAfter) {
+            if (maxRetryAfter == null || maxRetryAfter.isNegative()) {
+                throw new IllegalArgumentException("Max Retry-After cannot be negative");
+            }
+            this.maxRetryAfter = maxRetryAfter;
+            return this;
+        }
+        
+        /**
+         * HTTP statuses that trigger a retry
+         */
+        public Builder retryableStatuses(Set<Integer> retryableStatuses) {
+            if (retryableStatuses == null) {
+                throw new IllegalArgumentException("Retryable statuses cannot be null");
+            }
+            this.retryableStatuses = retryableStatuses;
+            return this;
+        }
+        
+        public RetryPolicy build() {
+            if (maxDelay.compareTo(baseDelay) < 0) {
+                throw new IllegalArgumentException("Max delay must not be less than base delay");
+            }
+            return new RetryPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.cloudeagle.dropbox.metrics;
+
+import java.io.IOException;
+
+/**
+ * Receives instrumentation events from {@code DropboxBusinessApiClient} and
+ * {@code DropboxAuthenticator}. Every method has an empty default, so
+ * implementations override only what they record.
+ * <p>
+ * Callbacks run synchronously on request and dispatcher threads and must be
+ * cheap and non-blocking. Endpoints are paths relative to the API base URL,
+ * such as {@code /team/members/list_v2}.
+ */
+public interface DropboxClientListener {
+    
+    /**
+     * Listener that records nothing
+     */
+    DropboxClientListener NOOP = new DropboxClientListener() {};
+    
+    /**
+     * Called once per HTTP attempt that received a response, including
+     * attempts that were retried and responses with error statuses
+     * @param endpoint API endpoint path
+     * @param statusCode HTTP status code
+     * @param latencyNanos Time from sending the request to receiving the response headers
+     * @param attempt Attempt number, starting at 1; above 1 the attempt is a retry
+     */
+    default void onResponse(String endpoint, int statusCode, long latencyNanos, int attempt) {}
+    
+    /**
+     * Called once per HTTP attempt that failed without a response
+     * @param endpoint API endpoint path
+     * @param error Network failure
+     * @param latencyNanos Time from sending the request to the failure
+     * @param attempt Attempt number, starting at 1; above 1 the attempt is a retry
+     */
+    default void onFailure(String endpoint, IOException error, long latencyNanos, int attempt) {}
+    
+    /**
+     * Called after a successful response body has been deserialized
+     * @param endpoint API endpoint path
+     * @param responseBytes Size of the response body as read from the wire
+     * @param decodeNanos Time spent reading and deserializing the body
+     */
+    default void onDecoded(String endpoint, long responseBytes, long decodeNanos) {}
+    
+    /**
+     * Called when a streamed or iterated listing has followed its cursor to the last page.
+     * Listings abandoned before the end are not reported.
+     * @param endpoint Endpoint of the first page
+     * @param pages Number of pages fetched
+     * @param items Number of items delivered
+     */
+    default void onPaginationComplete(String endpoint, int pages, long items) {}
+    
+    /**
+     * Called after every request to the OAuth2 token endpoint
+     * @param grantType {@code authorization_code} or {@code refresh_token}
+     * @param success Whether a token was obtained
+     * @param latencyNanos Time taken by the request, including retries
+     */
+    default void onTokenRequest(String grantType, boolean success, long latencyNanos) {}
+}
@@ -0,0 +1,139 @@
+package com.cloudeagle.dropbox.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DropboxClientListener} that records to a Micrometer {@link MeterRegistry}.
+ * Micrometer is an optional dependency; this class is only loaded when used.
+ * <p>
+ * Meters, all tagged with {@code endpoint} unless noted:
+ * <ul>
+ *   <li>{@code dropbox.client.requests} - timer per attempt, tagged with {@code status}
+ *       (the HTTP status, or {@code IO_ERROR}) and {@code retry}</li>
+ *   <li>{@code dropbox.client.retries} - counter of retried attempts</li>
+ *   <li>{@code dropbox.client.response.size} - response body bytes</li>
+ *   <li>{@code dropbox.client.decode} - timer for reading and deserializing the body</li>
+ *   <li>{@code dropbox.client.pagination.pages} and {@code dropbox.client.pagination.items} -
+ *       pages and items per completed listing</li>
+ *   <li>{@code dropbox.auth.token} - timer per token request, tagged with {@code grant_type}
+ *       and {@code outcome} instead of the endpoint</li>
+ * </ul>
+ * Every timer and distribution summary publishes a percentile histogram, so
+ * all of them can be aggregated across instances the same way.
+ */
+public class MicrometerClientListener implements DropboxClientListener {
+    
+    private final MeterRegistry registry;
+    
+    // Meters are built once per tag combination; callbacks run on hot request paths
+    private final ConcurrentHashMap<String, EndpointMeters> endpoints = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timer> tokenTimers = new ConcurrentHashMap<>();
+    
+    public MicrometerClientListener(MeterRegistry registry) {
+        if (registry == null) {
+            throw new IllegalArgumentException("Registry cannot be null");
+        }
+        this.registry = registry;
+    }
+    
+    @Override
+    public void onResponse(String endpoint, int statusCode, long latencyNanos, int attempt) {
+        recordAttempt(endpoint, String.valueOf(statusCode), latencyNanos, attempt);
+    }
+    
+    @Override
+    public void onFailure(String endpoint, IOException error, long latencyNanos, int attempt) {
+        recordAttempt(endpoint, "IO_ERROR", latencyNanos, attempt);
+    }
+    
+    @Override
+    public void onDecoded(String endpoint, long responseBytes, long decodeNanos) {
+        EndpointMeters meters = meters(endpoint);
+        meters.responseSize.record(responseBytes);
+        meters.decode.record(decodeNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    @Override
+    public void onPaginationComplete(String endpoint, int pages, long items) {
+        EndpointMeters meters = meters(endpoint);
+        meters.pages.record(pages);
+        meters.items.record(items);
+    }
+    
+    @Override
+    public void onTokenRequest(String grantType, boolean success, long latencyNanos) {
+        String outcome = success ? "success" : "failure";
+        tokenTimers.computeIfAbsent(grantType + '/' + outcome, key -> Timer.builder("dropbox.auth.token")
+                        .tag("grant_type", grantType)
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    private void recordAttempt(String endpoint, String status, long latencyNanos, int attempt) {
+        boolean retry = attempt > 1;
+        EndpointMeters meters = meters(endpoint);
+        meters.request(status, retry).record(latencyNanos, TimeUnit.NANOSECONDS);
+        if (retry) {
+            meters.retries.increment();
+        }
+    }
+    
+    private EndpointMeters meters(String endpoint) {
+        return endpoints.computeIfAbsent(endpoint, EndpointMeters::new);
+    }
+    
+    /**
+     * Meters tagged with one endpoint
+     */
+    private final class EndpointMeters {
+        private final String endpoint;
+        private final ConcurrentHashMap<String, Timer> requests = new ConcurrentHashMap<>();
+        private final Counter retries;
+        private final DistributionSummary responseSize;
+        private final Timer decode;
+        private final DistributionSummary pages;
+        private final DistributionSummary items;
+        
+        EndpointMeters(String endpoint) {
+            this.endpoint = endpoint;
+            this.retries = Counter.builder("dropbox.client.retries")
+                    .tag("endpoint", endpoint)
+                    .register(registry);
+            this.responseSize = DistributionSummary.builder("dropbox.client.response.size")
+                    .baseUnit("bytes")
+                    .tag("endpoint", endpoint)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.decode = Timer.builder("dropbox.client.decode")
+                    .tag("endpoint", endpoint)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.pages = DistributionSummary.builder("dropbox.client.pagination.pages")
+                    .tag("endpoint", endpoint)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.items = DistributionSummary.builder("dropbox.client.pagination.items")
+                    .tag("endpoint", endpoint)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+        
+        Timer request(String status, boolean retry) {
+            return requests.computeIfAbsent(status + '/' + retry, key -> Timer.builder("dropbox.client.requests")
+                    .tag("endpoint", endpoint)
+                    .tag("status", status)
+                    .tag("retry", String.valueOf(retry))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.cloudeagle.dropbox.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Error description attached to failed login and SSO events
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class FailureDetails {
+    @JsonProperty("user_friendly_message")
+    private String userFriendlyMessage;
+    
+    @JsonProperty("technical_error_message")
+    private String technicalErrorMessage;
+    
+    // Getters and Setters
+    public String getUserFriendlyMessage() { return userFriendlyMessage; }
+    public void setUserFriendlyMessage(String userFriendlyMessage) { this.userFriendlyMessage = userFriendlyMessage; }
+    
+    public String getTechnicalErrorMessage() { return technicalErrorMessage; }
+    public void setTechnicalErrorMessage(String technicalErrorMessage) { this.technicalErrorMessage = technicalErrorMessage; }
+}
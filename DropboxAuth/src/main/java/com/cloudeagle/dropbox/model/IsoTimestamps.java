@@ -0,0 +1,134 @@
+package com.cloudeagle.dropbox.model;
+
+/**
+ * Allocation-free parsing of the ISO-8601 timestamps returned by the Dropbox API,
+ * e.g. {@code 2024-03-01T12:30:45Z}. Fractional seconds (up to millisecond
+ * precision is kept) and numeric offsets such as {@code +05:30} are accepted.
+ */
+public final class IsoTimestamps {
+    
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long SECONDS_PER_DAY = 86_400L;
+    
+    private IsoTimestamps() {}
+    
+    /**
+     * Parses a timestamp to epoch milliseconds
+     * @param text Timestamp in {@code yyyy-MM-ddTHH:mm:ss[.fraction](Z|+/-HH:mm)} form
+     * @return milliseconds since the epoch
+     * @throws IllegalArgumentException if the text is not a valid timestamp
+     */
+    public static long parseEpochMillis(CharSequence text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Timestamp cannot be null");
+        }
+        int length = text.length();
+        if (length < 20
+                || text.charAt(4) != '-' || text.charAt(7) != '-'
+                || (text.charAt(10) != 'T' && text.charAt(10) != 't')
+                || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            throw invalid(text);
+        }
+        
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        int hour = digits(text, 11, 2);
+        int minute = digits(text, 14, 2);
+        int second = digits(text, 17, 2);
+        if (month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                || hour > 23 || minute > 59 || second > 59) {
+            throw invalid(text);
+        }
+        
+        int position = 19;
+        int millis = 0;
+        if (text.charAt(position) == '.') {
+            position++;
+            int start = position;
+            while (position < length && isDigit(text.charAt(position))) {
+                if (position - start < 3) {
+                    millis = millis * 10 + (text.charAt(position) - '0');
+                }
+                position++;
+            }
+            int fractionDigits = position - start;
+            if (fractionDigits == 0) {
+                throw invalid(text);
+            }
+            for (int i = fractionDigits; i < 3; i++) {
+                millis *= 10;
+            }
+        }
+        
+        int offsetSeconds;
+        if (position == length - 1 && (text.charAt(position) == 'Z' || text.charAt(position) == 'z')) {
+            offsetSeconds = 0;
+        } else if (position == length - 6 && text.charAt(position + 3) == ':'
+                && (text.charAt(position) == '+' || text.charAt(position) == '-')) {
+            int offsetHours = digits(text, position + 1, 2);
+            int offsetMinutes = digits(text, position + 4, 2);
+            if (offsetHours > 18 || offsetMinutes > 59) {
+                throw invalid(text);
+            }
+            offsetSeconds = offsetHours * 3600 + offsetMinutes * 60;
+            if (text.charAt(position) == '-') {
+                offsetSeconds = -offsetSeconds;
+            }
+        } else {
+            throw invalid(text);
+        }
+        
+        long epochSeconds = epochDay(year, month, day) * SECONDS_PER_DAY
+                + hour * 3600L + minute * 60L + second - offsetSeconds;
+        return epochSeconds * MILLIS_PER_SECOND + millis;
+    }
+    
+    /**
+     * Days since 1970-01-01 for a proleptic Gregorian date
+     */
+    private static long epochDay(int year, int month, int day) {
+        // Shift the year to start in March so the leap day is last
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+    
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+    
+    private static int digits(CharSequence text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                throw invalid(text);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+    
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+    
+    private static IllegalArgumentException invalid(CharSequence text) {
+        return new IllegalArgumentException("Invalid ISO-8601 timestamp: " + text);
+    }
+}
@@ -0,0 +1,29 @@
+package com.cloudeagle.dropbox.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Details of a "login_fail" event
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LoginFailDetails {
+    @JsonProperty("is_emm_managed")
+    private Boolean emmManaged;
+    
+    @JsonProperty("login_method")
+    private LoginMethod loginMethod;
+    
+    @JsonProperty("error_details")
+    private FailureDetails errorDetails;
+    
+    // Getters and Setters
+    public Boolean getEmmManaged() { return emmManaged; }
+    public void setEmmManaged(Boolean emmManaged) { this.emmManaged = emmManaged; }
+    
+    public LoginMethod getLoginMethod() { return loginMethod; }
+    public void setLoginMethod(LoginMethod loginMethod) { this.loginMethod = loginMethod; }
+    
+    public FailureDetails getErrorDetails() { return errorDetails; }
+    public void setErrorDetails(FailureDetails errorDetails) { this.errorDetails = errorDetails; }
+}
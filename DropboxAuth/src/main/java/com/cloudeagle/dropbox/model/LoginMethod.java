@@ -0,0 +1,17 @@
+package com.cloudeagle.dropbox.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Sign-in method of a login event (e.g., "password", "two_factor_authentication", "saml")
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LoginMethod {
+    @JsonProperty(".tag")
+    private String tag;
+    
+    // Getters and Setters
+    public String getTag() { return tag; }
+    public void setTag(String tag) { this.tag = tag; }
+}
@@ -0,0 +1,23 @@
+package com.cloudeagle.dropbox.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Details of a "login_success" event
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LoginSuccessDetails {
+    @JsonProperty("is_emm_managed")
+    private Boolean emmManaged;
+    
+    @JsonProperty("login_method")
+    private LoginMethod loginMethod;
+    
+    // Getters and Setters
+    public Boolean getEmmManaged() { return emmManaged; }
+    public void setEmmManaged(Boolean emmManaged) { this.emmManaged = emmManaged; }
+    
+    public LoginMethod getLoginMethod() { return loginMethod; }
+    public void setLoginMethod(LoginMethod loginMethod) { this.loginMethod = loginMethod; }
+}
@@ -0,0 +1,17 @@
+package com.cloudeagle.dropbox.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Details of a "logout" event
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LogoutDetails {
+    @JsonProperty("login_id")
+    private String loginId;
+    
+    // Getters and Setters
+    public String getLoginId() { return loginId; }
+    public void setLoginId(String loginId) { this.loginId = loginId; }
+}
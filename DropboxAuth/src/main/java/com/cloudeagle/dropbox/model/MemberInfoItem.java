@@ -0,0 +1,32 @@
+package com.cloudeagle.dropbox.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Result for one selector of a members info request: either the member's
+ * profile or the identifier that could not be found
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MemberInfoItem {
+    @JsonProperty(".tag")
+    private String tag;
+    
+    @JsonProperty("profile")
+    private TeamMemberProfile profile;
+    
+    @JsonProperty("id_not_found")
+    private String idNotFound;
+    
+    // Getters and Setters
+    public String getTag() { return tag; }
+    public void setTag(String tag) { this.tag = tag; }
+    
+    public TeamMemberProfile getProfile() { return profile; }
+    public void setProfile(TeamMemberProfile profile) { this.profile = profile; }
+    
+    public String getIdNotFound() { return idNotFound; }
+    public void setIdNotFound(String idNotFound) { this.idNotFound = idNotFound; }
+    
+    public boolean isNotFound() { return "id_not_found".equals(tag); }
+}
@@ -0,0 +1,24 @@
+package com.cloudeagle.dropbox.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * Request model for fetching details of specific team members
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MembersGetInfoRequest {
+    @JsonProperty("members")
+    private List<UserSelector> members;
+    
+    public MembersGetInfoRequest() {}
+    
+    public MembersGetInfoRequest(List<UserSelector> members) {
+        this.members = members;
+    }
+    
+    // Getters and Setters
+    public List<UserSelector> getMembers() { return members; }
+    public void setMembers(List<UserSelector> members) { this.members = members; }
+}
@@ -0,0 +1,19 @@
+package com.cloudeagle.dropbox.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * Response model for fetching details of specific team members.
+ * Items are returned in the same order as the request selectors.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MembersGetInfoResponse {
+    @JsonProperty("members_info")
+    private List<MemberInfoItem> membersInfo;
+    
+    // Getters and Setters
+    public List<MemberInfoItem> getMembersInfo() { return membersInfo; }
+    public void setMembersInfo(List<MemberInfoItem> membersInfo) { this.membersInfo = membersInfo; }
+}
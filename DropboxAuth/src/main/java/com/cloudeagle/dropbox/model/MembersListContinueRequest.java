@@ -0,0 +1,23 @@
+package com.cloudeagle.dropbox.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Request model for continuing a team members listing
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MembersListContinueRequest {
+    @JsonProperty("cursor")
+    private String cursor;
+    
+    public MembersListContinueRequest() {}
+    
+    public MembersListContinueRequest(String cursor) {
+        this.cursor = cursor;
+    }
+    
+    // Getters and Setters
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+}
@@ -0,0 +1,17 @@
+package com.cloudeagle.dropbox.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Details of an "sso_error" event
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SsoErrorDetails {
+    @JsonProperty("error_details")
+    private FailureDetails errorDetails;
+    
+    // Getters and Setters
+    public FailureDetails getErrorDetails() { return errorDetails; }
+    public void setErrorDetails(FailureDetails errorDetails) { this.errorDetails = errorDetails; }
+}
@@ -1,10 +1,20 @@
 package com.cloudeagle.dropbox.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 /**
- * Team event model for Dropbox Business API
+ * Team event model for Dropbox Business API.
+ * Event details vary by event type and are kept as buffered JSON tokens
+ * until first read, so pages whose details are never used skip building them.
+ * They are decoded by the codec that read the event, so the model does not
+ * depend on a particular mapper.
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class TeamEvent {
@@ -18,7 +28,13 @@ public class TeamEvent {
     private String eventType;
     
     @JsonProperty("details")
-    private Object details;
+    private TokenBuffer rawDetails;
+    
+    // Decoded from rawDetails on first call to getDetails(), or set directly
+    private volatile Object details;
+    
+    // Last view decoded by getDetails(Class)
+    private volatile TypedDetails typedDetails;
     
     @JsonProperty("actor")
     private Actor actor;
@@ -26,9 +42,36 @@ public class TeamEvent {
     @JsonProperty("origin")
     private Origin origin;
     
+    @JsonProperty("context")
+    private UserInfo context;
+    
+    // Parsed lazily from timestamp; Long.MIN_VALUE until first use
+    private volatile long timestampMillis = Long.MIN_VALUE;
+    
     // Getters and Setters
     public String getTimestamp() { return timestamp; }
-    public void setTimestamp(String timestamp) { this.timestamp = timestamp; }
+    public void setTimestamp(String timestamp) {
+        this.timestamp = timestamp;
+        this.timestampMillis = Long.MIN_VALUE;
+    }
+    
+    /**
+     * Gets the timestamp as epoch milliseconds, parsed once and cached
+     * @return epoch milliseconds, or {@link Long#MIN_VALUE} if the event has no valid timestamp
+     */
+    @JsonIgnore
+    public long getTimestampMillis() {
+        long millis = timestampMillis;
+        if (millis == Long.MIN_VALUE && timestamp != null) {
+            try {
+                millis = IsoTimestamps.parseEpochMillis(timestamp);
+            } catch (IllegalArgumentException e) {
+                return Long.MIN_VALUE;
+            }
+            timestampMillis = millis;
+        }
+        return millis;
+    }
     
     public String getEventCategory() { return eventCategory; }
     public void setEventCategory(String eventCategory) { this.eventCategory = eventCategory; }
@@ -36,8 +79,75 @@ public class TeamEvent {
     public String getEventType() { return eventType; }
     public void setEventType(String eventType) { this.eventType = eventType; }
     
-    public Object getDetails() { return details; }
-    public void setDetails(Object details) { this.details = details; }
+    /**
+     * Gets the event details as generic JSON values (maps, lists and scalars), decoded on first call
+     * @throws UncheckedIOException if the buffered details cannot be decoded
+     */
+    @JsonIgnore
+    public Object getDetails() {
+        Object decoded = details;
+        if (decoded == null && rawDetails != null) {
+            decoded = decode(Object.class);
+            details = decoded;
+        }
+        return decoded;
+    }
+    
+    /**
+     * Decodes the event details into a typed view, such as {@link LoginSuccessDetails}.
+     * The last view is cached, so repeated calls for the same type decode once.
+     * @param type Class to decode the details into
+     * @return the decoded details, or null if the event has none
+     * @throws UncheckedIOException if the details cannot be decoded into the type
+     * @throws IllegalArgumentException if the details were set directly and are not of the type
+     */
+    public <T> T getDetails(Class<T> type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Type cannot be null");
+        }
+        if (rawDetails == null) {
+            Object value = details;
+            if (value != null && !type.isInstance(value)) {
+                throw new IllegalArgumentException("Details are not a " + type.getSimpleName());
+            }
+            return type.cast(value);
+        }
+        
+        TypedDetails cached = typedDetails;
+        if (cached != null && cached.type == type) {
+            return type.cast(cached.value);
+        }
+        T decoded = decode(type);
+        typedDetails = new TypedDetails(type, decoded);
+        return decoded;
+    }
+    
+    /**
+     * Sets already decoded details. They are written as-is when the event is serialized.
+     */
+    @JsonIgnore
+    public void setDetails(Object details) {
+        this.rawDetails = null;
+        this.typedDetails = null;
+        this.details = details;
+    }
+    
+    @JsonProperty("details")
+    private Object getDetailsForJson() {
+        return rawDetails != null ? rawDetails : details;
+    }
+    
+    private <T> T decode(Class<T> type) {
+        // The buffer keeps the codec of the parser that read the event
+        try (JsonParser parser = rawDetails.asParser()) {
+            if (parser.getCodec() == null) {
+                throw new IllegalStateException("Event details were read without a codec");
+            }
+            return parser.readValueAs(type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode details of " + eventType + " event", e);
+        }
+    }
     
     public Actor getActor() { return actor; }
     public void setActor(Actor actor) { this.actor = actor; }
@@ -45,9 +155,25 @@ public class TeamEvent {
     public Origin getOrigin() { return origin; }
     public void setOrigin(Origin origin) { this.origin = origin; }
     
+    /**
+     * Team member the event applies to, when the event context is a team member
+     */
+    public UserInfo getContext() { return context; }
+    public void setContext(UserInfo context) { this.context = context; }
+    
     @Override
     public String toString() {
         return String.format("TeamEvent{timestamp='%s', category='%s', type='%s'}", 
                 timestamp, eventCategory, eventType);
     }
+    
+    private static final class TypedDetails {
+        private final Class<?> type;
+        private final Object value;
+        
+        TypedDetails(Class<?> type, Object value) {
+            this.type = type;
+            this.value = value;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.cloudeagle.dropbox.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Request model for continuing a team events listing
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TeamEventsContinueRequest {
+    @JsonProperty("cursor")
+    private String cursor;
+    
+    public TeamEventsContinueRequest() {}
+    
+    public TeamEventsContinueRequest(String cursor) {
+        this.cursor = cursor;
+    }
+    
+    // Getters and Setters
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+}
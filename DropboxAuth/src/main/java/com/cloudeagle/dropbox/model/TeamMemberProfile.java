@@ -1,5 +1,6 @@
 package com.cloudeagle.dropbox.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -35,6 +36,9 @@ public class TeamMemberProfile {
     @JsonProperty("joined_on")
     private String joinedOn;
     
+    // Parsed lazily from joinedOn; Long.MIN_VALUE until first use
+    private volatile long joinedOnMillis = Long.MIN_VALUE;
+    
     // Getters and Setters
     public String getTeamMemberId() { return teamMemberId; }
     public void setTeamMemberId(String teamMemberId) { this.teamMemberId = teamMemberId; }
@@ -61,7 +65,28 @@ public class TeamMemberProfile {
     public void setStatus(String status) { this.status = status; }
     
     public String getJoinedOn() { return joinedOn; }
-    public void setJoinedOn(String joinedOn) { this.joinedOn = joinedOn; }
+    public void setJoinedOn(String joinedOn) {
+        this.joinedOn = joinedOn;
+        this.joinedOnMillis = Long.MIN_VALUE;
+    }
+    
+    /**
+     * Gets the join date as epoch milliseconds, parsed once and cached
+     * @return epoch milliseconds, or {@link Long#MIN_VALUE} if the join date is missing or invalid
+     */
+    @JsonIgnore
+    public long getJoinedOnMillis() {
+        long millis = joinedOnMillis;
+        if (millis == Long.MIN_VALUE && joinedOn != null) {
+            try {
+                millis = IsoTimestamps.parseEpochMillis(joinedOn);
+            } catch (IllegalArgumentException e) {
+                return Long.MIN_VALUE;
+            }
+            joinedOnMillis = millis;
+        }
+        return millis;
+    }
     
     @Override
     public String toString() {
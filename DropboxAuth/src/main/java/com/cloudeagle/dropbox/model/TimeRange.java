@@ -1,12 +1,17 @@
 package com.cloudeagle.dropbox.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
 /**
  * Time range model for Dropbox Business API
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class TimeRange {
     @JsonProperty("start_time")
     private String startTime;
@@ -21,6 +26,19 @@ public class TimeRange {
         this.endTime = endTime;
     }
     
+    /**
+     * Creates a time range from instants, truncated to whole seconds as the API expects
+     * @param start Inclusive start, or null for an open start
+     * @param end Exclusive end, or null for an open end
+     */
+    public static TimeRange of(Instant start, Instant end) {
+        return new TimeRange(format(start), format(end));
+    }
+    
+    private static String format(Instant instant) {
+        return instant != null ? instant.truncatedTo(ChronoUnit.SECONDS).toString() : null;
+    }
+    
     // Getters and Setters
     public String getStartTime() { return startTime; }
     public void setStartTime(String startTime) { this.startTime = startTime; }
@@ -17,6 +17,9 @@ public class UserInfo {
     @JsonProperty("email")
     private String email;
     
+    @JsonProperty("account_id")
+    private String accountId;
+    
     // Getters and Setters
     public String getTeamMemberId() { return teamMemberId; }
     public void setTeamMemberId(String teamMemberId) { this.teamMemberId = teamMemberId; }
@@ -26,4 +29,7 @@ public class UserInfo {
     
     public String getEmail() { return email; }
     public void setEmail(String email) { this.email = email; }
+    
+    public String getAccountId() { return accountId; }
+    public void setAccountId(String accountId) { this.accountId = accountId; }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.cloudeagle.dropbox.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Selector identifying a team member by ID, external ID or email
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserSelector {
+    @JsonProperty(".tag")
+    private String tag;
+    
+    @JsonProperty("team_member_id")
+    private String teamMemberId;
+    
+    @JsonProperty("external_id")
+    private String externalId;
+    
+    @JsonProperty("email")
+    private String email;
+    
+    public static UserSelector teamMemberId(String teamMemberId) {
+        UserSelector selector = new UserSelector();
+        selector.setTag("team_member_id");
+        selector.setTeamMemberId(teamMemberId);
+        return selector;
+    }
+    
+    public static UserSelector externalId(String externalId) {
+        UserSelector selector = new UserSelector();
+        selector.setTag("external_id");
+        selector.setExternalId(externalId);
+        return selector;
+    }
+    
+    public static UserSelector email(String email) {
+        UserSelector selector = new UserSelector();
+        selector.setTag("email");
+        selector.setEmail(email);
+        return selector;
+    }
+    
+    // Getters and Setters
+    public String getTag() { return tag; }
+    public void setTag(String tag) { this.tag = tag; }
+    
+    public String getTeamMemberId() { return teamMemberId; }
+    public void setTeamMemberId(String teamMemberId) { this.teamMemberId = teamMemberId; }
+    
+    public String getExternalId() { return externalId; }
+    public void setExternalId(String externalId) { this.externalId = externalId; }
+    
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+}
@@ -0,0 +1,511 @@
+package com.cloudeagle.dropbox.store;
+
+import com.cloudeagle.dropbox.codec.DropboxCodecs;
+import com.cloudeagle.dropbox.model.TeamEvent;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only local store for team events.
+ * Events are serialized to JSON and appended to fixed-size, memory-mapped
+ * segment files as {@code [int length][int crc32c][long epochMillis][json]}
+ * records, the checksum covering the timestamp and JSON. Each segment keeps
+ * its time bounds and a sparse timestamp index in memory, rebuilt from the
+ * record headers when the store is opened.
+ * <p>
+ * Mapped pages reach the disk in no particular order, so after a crash a
+ * segment may hold a torn record, or later records without an earlier one.
+ * Recovery keeps the records up to the first one whose checksum fails and
+ * zeroes the rest of the segment before appending, so records left behind a
+ * torn one cannot reappear once shorter records are written over it.
+ * <p>
+ * {@link #scan} skips segments outside the requested range, seeks inside a
+ * segment using the sparse index, and steps over non-matching records by
+ * their header alone, so only events inside the range are deserialized.
+ * <p>
+ * Appends are serialized; scans may run concurrently with appends and see
+ * every record appended before the scan started. {@link #close()} waits for
+ * running scans and unmaps the segments.
+ */
+public class EventSegmentStore implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(EventSegmentStore.class);
+    
+    public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+    
+    private static final String SEGMENT_PREFIX = "events-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    private static final int CHECKSUM_OFFSET = Integer.BYTES;
+    private static final int TIMESTAMP_OFFSET = Integer.BYTES + Integer.BYTES;
+    // One index entry per this many bytes of records
+    private static final int INDEX_INTERVAL_BYTES = 4096;
+    private static final MethodHandle UNMAPPER = findUnmapper();
+    
+    private final Path directory;
+    private final int segmentBytes;
+    private final ObjectWriter eventWriter;
+    private final ObjectReader eventReader;
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    // Scans hold the read lock so that close() never unmaps a buffer being read
+    private final ReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+    
+    // Guarded by this, and by lifecycleLock for readers
+    private boolean closed;
+    
+    /**
+     * Opens or creates a store with the default segment size
+     * @param directory Directory holding the segment files
+     * @throws IOException if existing segments cannot be opened
+     */
+    public EventSegmentStore(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_BYTES);
+    }
+    
+    /**
+     * Opens or creates a store
+     * @param directory Directory holding the segment files
+     * @param segmentBytes Size of each segment file; a single event must fit in one segment
+     * @throws IOException if existing segments cannot be opened
+     */
+    public EventSegmentStore(Path directory, int segmentBytes) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory cannot be null");
+        }
+        if (segmentBytes < INDEX_INTERVAL_BYTES) {
+            throw new IllegalArgumentException("Segment size must be at least " + INDEX_INTERVAL_BYTES + " bytes");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        
+        this.eventWriter = DropboxCodecs.writer(TeamEvent.class);
+        this.eventReader = DropboxCodecs.reader(TeamEvent.class);
+        
+        Files.createDirectories(directory);
+        openSegments();
+    }
+    
+    /**
+     * Appends an event to the active segment, starting a new segment when it is full
+     * @param event Event with a timestamp
+     * @throws IOException if the event cannot be serialized or a segment cannot be created
+     */
+    public synchronized void append(TeamEvent event) throws IOException {
+        if (event == null) {
+            throw new IllegalArgumentException("Event cannot be null");
+        }
+        if (event.getTimestamp() == null) {
+            throw new IllegalArgumentException("Event timestamp cannot be null");
+        }
+        if (closed) {
+            throw new IllegalStateException("Store is closed");
+        }
+        
+        long timestamp = event.getTimestampMillis();
+        byte[] json = eventWriter.writeValueAsBytes(event);
+        int recordBytes = RECORD_HEADER_BYTES + json.length;
+        if (recordBytes > segmentBytes) {
+            throw new IllegalArgumentException("Event of " + json.length + " bytes does not fit in a segment");
+        }
+        
+        Segment active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (active == null || active.remaining() < recordBytes) {
+            if (active != null) {
+                active.buffer.force();
+            }
+            active = createSegment(active == null ? 0 : active.id + 1);
+        }
+        active.append(timestamp, json);
+    }
+    
+    /**
+     * Appends events in order
+     * @throws IOException if an event cannot be stored
+     */
+    public void appendAll(Iterable<? extends TeamEvent> events) throws IOException {
+        if (events == null) {
+            throw new IllegalArgumentException("Events cannot be null");
+        }
+        for (TeamEvent event : events) {
+            append(event);
+        }
+    }
+    
+    /**
+     * Delivers every stored event whose timestamp is in {@code [from, to)}, in append order
+     * @param from Inclusive lower bound
+     * @param to Exclusive upper bound
+     * @param consumer Callback receiving each matching event
+     * @return number of events delivered
+     * @throws IOException if a stored record cannot be deserialized
+     * @throws IllegalStateException if the store is closed
+     */
+    public long scan(Instant from, Instant to, Consumer<? super TeamEvent> consumer) throws IOException {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Scan bounds cannot be null");
+        }
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+        
+        long fromMillis = from.toEpochMilli();
+        long toMillis = to.toEpochMilli();
+        lifecycleLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Store is closed");
+            }
+            long delivered = 0;
+            for (Segment segment : segments) {
+                delivered += segment.scan(fromMillis, toMillis, consumer);
+            }
+            return delivered;
+        } finally {
+            lifecycleLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Gets the number of stored events
+     */
+    public long size() {
+        long count = 0;
+        for (Segment segment : segments) {
+            count += segment.snapshot.recordCount;
+        }
+        return count;
+    }
+    
+    /**
+     * Gets the number of segment files
+     */
+    public int segmentCount() {
+        return segments.size();
+    }
+    
+    /**
+     * Forces the active segment to the device
+     */
+    public synchronized void flush() {
+        if (!segments.isEmpty()) {
+            segments.get(segments.size() - 1).buffer.force();
+        }
+    }
+    
+    /**
+     * Flushes and unmaps every segment, after waiting for running scans
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        flush();
+        lifecycleLock.writeLock().lock();
+        try {
+            closed = true;
+            for (Segment segment : segments) {
+                unmap(segment.buffer);
+            }
+            segments.clear();
+        } finally {
+            lifecycleLock.writeLock().unlock();
+        }
+    }
+    
+    private void openSegments() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long id = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            Segment segment = new Segment(id, map(file, false));
+            segment.recover();
+            segments.add(segment);
+        }
+        logger.debug("Opened {} event segments with {} events in {}", segments.size(), size(), directory);
+    }
+    
+    private Segment createSegment(long id) throws IOException {
+        Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+        Segment segment = new Segment(id, map(file, true));
+        segments.add(segment);
+        logger.debug("Created event segment {}", file);
+        return segment;
+    }
+    
+    /**
+     * Releases a mapping now instead of when the buffer is garbage collected.
+     * Where the JDK does not allow it, the mapping is left to the collector.
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        if (UNMAPPER == null) {
+            return;
+        }
+        try {
+            UNMAPPER.invokeExact((ByteBuffer) buffer);
+        } catch (Throwable e) {
+            logger.debug("Failed to unmap event segment", e);
+        }
+    }
+    
+    private static MethodHandle findUnmapper() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            MethodHandle invokeCleaner = MethodHandles.lookup().findVirtual(unsafeClass, "invokeCleaner",
+                    MethodType.methodType(void.class, ByteBuffer.class));
+            return invokeCleaner.bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.debug("Segments will be unmapped by the garbage collector", e);
+            return null;
+        }
+    }
+    
+    private MappedByteBuffer map(Path file, boolean create) throws IOException {
+        StandardOpenOption[] options = create
+                ? new StandardOpenOption[]{StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+    }
+    
+    /**
+     * One mapped segment file with its time bounds and sparse index
+     */
+    private final class Segment {
+        private final long id;
+        private final MappedByteBuffer buffer;
+        private final CRC32C checksum = new CRC32C();
+        
+        // Written under the store lock; scans read only the published snapshot
+        private long[] indexTimestamps = new long[16];
+        private int[] indexOffsets = new int[16];
+        private int indexSize;
+        private long minTimestamp = Long.MAX_VALUE;
+        private long maxTimestamp = Long.MIN_VALUE;
+        private long lastTimestamp = Long.MIN_VALUE;
+        private boolean ordered = true;
+        private int nextIndexAt;
+        private long recordCount;
+        private int writePosition;
+        
+        private volatile SegmentSnapshot snapshot = SegmentSnapshot.EMPTY;
+        
+        Segment(long id, MappedByteBuffer buffer) {
+            this.id = id;
+            this.buffer = buffer;
+        }
+        
+        int remaining() {
+            return segmentBytes - writePosition;
+        }
+        
+        void append(long timestamp, byte[] json) {
+            int position = writePosition;
+            buffer.putLong(position + TIMESTAMP_OFFSET, timestamp);
+            buffer.put(position + RECORD_HEADER_BYTES, json);
+            buffer.putInt(position + CHECKSUM_OFFSET, checksum(buffer, position, json.length));
+            buffer.putInt(position, json.length);
+            
+            track(position, timestamp);
+            recordCount++;
+            writePosition = position + RECORD_HEADER_BYTES + json.length;
+            publish();
+        }
+        
+        void recover() {
+            int position = 0;
+            while (position + RECORD_HEADER_BYTES <= segmentBytes) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || length > segmentBytes - RECORD_HEADER_BYTES - position
+                        || buffer.getInt(position + CHECKSUM_OFFSET) != checksum(buffer, position, length)) {
+                    break;
+                }
+                track(position, buffer.getLong(position + TIMESTAMP_OFFSET));
+                recordCount++;
+                position += RECORD_HEADER_BYTES + length;
+            }
+            clearTail(position);
+            writePosition = position;
+            publish();
+        }
+        
+        /**
+         * Zeroes the segment from {@code from} to its end, writing and forcing only
+         * the bytes that are not already zero so a clean tail costs no disk writes
+         */
+        private void clearTail(int from) {
+            int dirtyFrom = segmentBytes;
+            int dirtyTo = from;
+            int position = from;
+            while (position < segmentBytes) {
+                if (segmentBytes - position >= Long.BYTES) {
+                    if (buffer.getLong(position) != 0) {
+                        buffer.putLong(position, 0);
+                        dirtyFrom = Math.min(dirtyFrom, position);
+                        dirtyTo = position + Long.BYTES;
+                    }
+                    position += Long.BYTES;
+                } else {
+                    if (buffer.get(position) != 0) {
+                        buffer.put(position, (byte) 0);
+                        dirtyFrom = Math.min(dirtyFrom, position);
+                        dirtyTo = position + 1;
+                    }
+                    position++;
+                }
+            }
+            if (dirtyFrom < dirtyTo) {
+                // Durable before any append lands in the cleared range
+                buffer.force(dirtyFrom, dirtyTo - dirtyFrom);
+                logger.debug("Cleared {} bytes after the last valid record of segment {}", dirtyTo - dirtyFrom, id);
+            }
+        }
+        
+        long scan(long fromMillis, long toMillis, Consumer<? super TeamEvent> consumer) throws IOException {
+            SegmentSnapshot view = snapshot;
+            int end = view.writePosition;
+            if (end == 0 || view.maxTimestamp < fromMillis || view.minTimestamp >= toMillis) {
+                return 0;
+            }
+            
+            ByteBuffer records = buffer.duplicate();
+            byte[] scratch = new byte[256];
+            int position = view.ordered ? view.seek(fromMillis) : 0;
+            long delivered = 0;
+            while (position < end) {
+                int length = records.getInt(position);
+                long timestamp = records.getLong(position + TIMESTAMP_OFFSET);
+                if (view.ordered && timestamp >= toMillis) {
+                    break;
+                }
+                if (timestamp >= fromMillis && timestamp < toMillis) {
+                    if (scratch.length < length) {
+                        scratch = new byte[Math.max(length, scratch.length * 2)];
+                    }
+                    records.get(position + RECORD_HEADER_BYTES, scratch, 0, length);
+                    consumer.accept(eventReader.readValue(scratch, 0, length));
+                    delivered++;
+                }
+                position += RECORD_HEADER_BYTES + length;
+            }
+            return delivered;
+        }
+        
+        private int checksum(ByteBuffer records, int position, int length) {
+            ByteBuffer covered = records.duplicate();
+            covered.limit(position + RECORD_HEADER_BYTES + length).position(position + TIMESTAMP_OFFSET);
+            checksum.reset();
+            checksum.update(covered);
+            return (int) checksum.getValue();
+        }
+        
+        private void track(int position, long timestamp) {
+            if (timestamp < lastTimestamp) {
+                ordered = false;
+            }
+            lastTimestamp = timestamp;
+            minTimestamp = Math.min(minTimestamp, timestamp);
+            maxTimestamp = Math.max(maxTimestamp, timestamp);
+            
+            if (position >= nextIndexAt) {
+                if (indexSize == indexOffsets.length) {
+                    // Published snapshots keep the old arrays, so grow into new ones
+                    indexTimestamps = Arrays.copyOf(indexTimestamps, indexSize * 2);
+                    indexOffsets = Arrays.copyOf(indexOffsets, indexSize * 2);
+                }
+                indexTimestamps[indexSize] = timestamp;
+                indexOffsets[indexSize] = position;
+                indexSize++;
+                nextIndexAt = position + INDEX_INTERVAL_BYTES;
+            }
+        }
+        
+        private void publish() {
+            snapshot = new SegmentSnapshot(indexTimestamps, indexOffsets, indexSize,
+                    minTimestamp, maxTimestamp, ordered, writePosition, recordCount);
+        }
+    }
+    
+    /**
+     * Immutable view of a segment's records and index at one point in time.
+     * Index entries below {@code indexSize} are never rewritten, so the arrays
+     * may be shared with the writer, which only appends past them.
+     */
+    private static final class SegmentSnapshot {
+        static final SegmentSnapshot EMPTY = new SegmentSnapshot(new long[0], new int[0], 0,
+                Long.MAX_VALUE, Long.MIN_VALUE, true, 0, 0);
+        
+        private final long[] indexTimestamps;
+        private final int[] indexOffsets;
+        private final int indexSize;
+        private final long minTimestamp;
+        private final long maxTimestamp;
+        private final boolean ordered;
+        private final int writePosition;
+        private final long recordCount;
+        
+        SegmentSnapshot(long[] indexTimestamps, int[] indexOffsets, int indexSize, long minTimestamp,
+                        long maxTimestamp, boolean ordered, int writePosition, long recordCount) {
+            this.indexTimestamps = indexTimestamps;
+            this.indexOffsets = indexOffsets;
+            this.indexSize = indexSize;
+            this.minTimestamp = minTimestamp;
+            this.maxTimestamp = maxTimestamp;
+            this.ordered = ordered;
+            this.writePosition = writePosition;
+            this.recordCount = recordCount;
+        }
+        
+        /**
+         * Finds the offset of the last indexed record strictly before {@code fromMillis},
+         * from which a forward scan reaches every matching record
+         */
+        int seek(long fromMillis) {
+            int low = 0;
+            int high = indexSize - 1;
+            int offset = 0;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (indexTimestamps[mid] < fromMillis) {
+                    offset = indexOffsets[mid];
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return offset;
+        }
+    }
+}
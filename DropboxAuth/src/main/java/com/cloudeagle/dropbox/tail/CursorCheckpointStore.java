@@ -0,0 +1,176 @@
+package com.cloudeagle.dropbox.tail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Durable store for a single pagination cursor.
+ * The file holds two fixed-size slots written alternately, each stamped with
+ * a sequence number and CRC. A torn write can only damage the slot being
+ * written, so {@link #load()} always recovers the newest intact cursor.
+ * Writes reach the OS on every {@link #save(String)}, but are only forced to
+ * the device every {@code syncEvery} saves and on {@link #flush()} or
+ * {@link #close()}; after a crash the tail may resume a few pages early and
+ * re-deliver them, but never skips events.
+ */
+public class CursorCheckpointStore implements AutoCloseable {
+    
+    private static final int SLOT_SIZE = 64 * 1024;
+    private static final int HEADER_SIZE = Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final int MAX_CURSOR_BYTES = SLOT_SIZE - HEADER_SIZE;
+    
+    private final FileChannel channel;
+    private final int syncEvery;
+    private final ByteBuffer slotBuffer = ByteBuffer.allocate(SLOT_SIZE);
+    
+    private long sequence;
+    private int unsynced;
+    
+    /**
+     * Opens or creates a checkpoint file
+     * @param path Location of the checkpoint file
+     * @param syncEvery Number of saves between forced writes to the device
+     * @throws IOException if the file cannot be opened
+     */
+    public CursorCheckpointStore(Path path, int syncEvery) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        if (syncEvery < 1) {
+            throw new IllegalArgumentException("Sync interval must be at least 1");
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.syncEvery = syncEvery;
+        
+        Slot latest = latestSlot();
+        this.sequence = latest != null ? latest.sequence : 0;
+    }
+    
+    /**
+     * Reads the most recently saved cursor
+     * @return the cursor, or null if none has been saved
+     * @throws IOException if the file cannot be read
+     */
+    public synchronized String load() throws IOException {
+        Slot latest = latestSlot();
+        return latest != null ? latest.cursor : null;
+    }
+    
+    /**
+     * Saves a cursor, forcing it to the device once every {@code syncEvery} saves
+     * @throws IOException if the write fails
+     */
+    public synchronized void save(String cursor) throws IOException {
+        if (cursor == null) {
+            throw new IllegalArgumentException("Cursor cannot be null");
+        }
+        byte[] bytes = cursor.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_CURSOR_BYTES) {
+            throw new IllegalArgumentException("Cursor exceeds " + MAX_CURSOR_BYTES + " bytes");
+        }
+        
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        
+        long next = sequence + 1;
+        slotBuffer.clear();
+        slotBuffer.putLong(next).putInt(bytes.length).putInt((int) crc.getValue()).put(bytes);
+        slotBuffer.flip();
+        
+        long position = (next % 2) * SLOT_SIZE;
+        while (slotBuffer.hasRemaining()) {
+            position += channel.write(slotBuffer, position);
+        }
+        sequence = next;
+        
+        if (++unsynced >= syncEvery) {
+            flush();
+        }
+    }
+    
+    /**
+     * Forces all saved cursors to the device
+     * @throws IOException if the sync fails
+     */
+    public synchronized void flush() throws IOException {
+        if (unsynced > 0) {
+            channel.force(false);
+            unsynced = 0;
+        }
+    }
+    
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+    
+    private Slot latestSlot() throws IOException {
+        Slot first = readSlot(0);
+        Slot second = readSlot(1);
+        if (second != null && (first == null || second.sequence > first.sequence)) {
+            return second;
+        }
+        return first;
+    }
+    
+    private Slot readSlot(int index) throws IOException {
+        long position = (long) index * SLOT_SIZE;
+        if (channel.size() < position + HEADER_SIZE) {
+            return null;
+        }
+        
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(header, position);
+        header.flip();
+        long slotSequence = header.getLong();
+        int length = header.getInt();
+        int expectedCrc = header.getInt();
+        if (slotSequence <= 0 || length < 0 || length > MAX_CURSOR_BYTES
+                || channel.size() < position + HEADER_SIZE + length) {
+            return null;
+        }
+        
+        ByteBuffer body = ByteBuffer.allocate(length);
+        readFully(body, position + HEADER_SIZE);
+        CRC32 crc = new CRC32();
+        crc.update(body.array());
+        if ((int) crc.getValue() != expectedCrc) {
+            return null;
+        }
+        return new Slot(slotSequence, new String(body.array(), StandardCharsets.UTF_8));
+    }
+    
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            position += read;
+        }
+    }
+    
+    private static final class Slot {
+        private final long sequence;
+        private final String cursor;
+        
+        Slot(long sequence, String cursor) {
+            this.sequence = sequence;
+            this.cursor = cursor;
+        }
+    }
+}
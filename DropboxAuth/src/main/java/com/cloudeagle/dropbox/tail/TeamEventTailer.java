@@ -0,0 +1,158 @@
+package com.cloudeagle.dropbox.tail;
+
+import com.cloudeagle.dropbox.client.DropboxBusinessApiClient;
+import com.cloudeagle.dropbox.model.TeamEvent;
+import com.cloudeagle.dropbox.model.TeamEventsResponse;
+import com.cloudeagle.dropbox.model.TimeRange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Follows the team events cursor and checkpoints it after every page, so a
+ * restarted process resumes where the previous one stopped instead of
+ * re-reading the whole time window.
+ * <p>
+ * Events are delivered before their page's cursor is saved, giving
+ * at-least-once delivery: after a crash the last few pages may be delivered
+ * again, but no event is skipped.
+ */
+public class TeamEventTailer {
+    private static final Logger logger = LoggerFactory.getLogger(TeamEventTailer.class);
+    
+    private final DropboxBusinessApiClient apiClient;
+    private final CursorCheckpointStore checkpoint;
+    private final String category;
+    private final int pageSize;
+    
+    private final Object lock = new Object();
+    // Guarded by lock; once set, no further polls are started
+    private boolean stopped;
+    
+    /**
+     * @param apiClient Client used to fetch events
+     * @param checkpoint Store holding the cursor between runs
+     * @param category Event category to follow (e.g., "logins"), or null for all categories
+     * @param pageSize Number of events to request per page
+     */
+    public TeamEventTailer(DropboxBusinessApiClient apiClient, CursorCheckpointStore checkpoint,
+                           String category, int pageSize) {
+        if (apiClient == null) {
+            throw new IllegalArgumentException("API client cannot be null");
+        }
+        if (checkpoint == null) {
+            throw new IllegalArgumentException("Checkpoint store cannot be null");
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than 0");
+        }
+        this.apiClient = apiClient;
+        this.checkpoint = checkpoint;
+        this.category = category;
+        this.pageSize = pageSize;
+    }
+    
+    /**
+     * Delivers every event available now and returns. Suitable for periodic
+     * polling: each call only fetches events added since the previous one.
+     * @param initialRange Range to start from when no checkpoint exists yet
+     * @param consumer Callback receiving each event in order
+     * @return number of events delivered
+     * @throws IOException if an API request or checkpoint write fails
+     */
+    public long poll(TimeRange initialRange, Consumer<? super TeamEvent> consumer) throws IOException {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+        
+        long delivered = 0;
+        String cursor = checkpoint.load();
+        TeamEventsResponse page;
+        do {
+            page = cursor == null
+                    ? apiClient.getTeamEvents(pageSize, category, initialRange)
+                    : apiClient.getTeamEventsContinue(cursor);
+            
+            if (page.getEvents() != null) {
+                for (TeamEvent event : page.getEvents()) {
+                    consumer.accept(event);
+                }
+                delivered += page.getEvents().size();
+            }
+            
+            if (page.getCursor() != null) {
+                cursor = page.getCursor();
+                checkpoint.save(cursor);
+            }
+        } while (page.isHasMore() && cursor != null);
+        
+        checkpoint.flush();
+        logger.debug("Tail poll delivered {} events", delivered);
+        return delivered;
+    }
+    
+    /**
+     * Tails events continuously until {@link #stop()} is called or the thread
+     * is interrupted, polling again after {@code pollInterval} whenever the
+     * cursor has caught up. Returns without polling if the tailer was already stopped.
+     * @param initialRange Range to start from when no checkpoint exists yet
+     * @param pollInterval Delay between polls once all available events are delivered
+     * @param consumer Callback receiving each event in order
+     * @throws IOException if an API request or checkpoint write fails
+     */
+    public void run(TimeRange initialRange, Duration pollInterval,
+                    Consumer<? super TeamEvent> consumer) throws IOException {
+        if (pollInterval == null || pollInterval.isNegative()) {
+            throw new IllegalArgumentException("Poll interval cannot be negative");
+        }
+        
+        try {
+            while (!isStopped()) {
+                poll(initialRange, consumer);
+                awaitNextPoll(pollInterval);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while tailing events");
+        } finally {
+            checkpoint.flush();
+        }
+    }
+    
+    /**
+     * Stops the tailer: a running {@link #run} loop ends after its current poll,
+     * or at once if it is waiting for the next one, and later calls to
+     * {@link #run} return immediately. Safe to call before {@link #run} starts.
+     */
+    public void stop() {
+        synchronized (lock) {
+            stopped = true;
+            lock.notifyAll();
+        }
+    }
+    
+    private boolean isStopped() {
+        synchronized (lock) {
+            return stopped;
+        }
+    }
+    
+    /**
+     * Waits for the poll interval, returning early if the tailer is stopped
+     */
+    private void awaitNextPoll(Duration pollInterval) throws InterruptedException {
+        long deadline = System.nanoTime() + pollInterval.toNanos();
+        synchronized (lock) {
+            long remaining = pollInterval.toNanos();
+            while (!stopped && remaining > 0) {
+                TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                remaining = deadline - System.nanoTime();
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.cloudeagle.dropbox.tenant;
+
+import com.cloudeagle.dropbox.auth.DropboxAuthenticator;
+import com.cloudeagle.dropbox.client.DropboxBusinessApiClient;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * One Dropbox team managed by a {@link DropboxTenantManager}: its authenticator,
+ * its API client, and its share of the manager's worker threads
+ */
+public final class DropboxTenant {
+    
+    /**
+     * Unit of work run against a tenant's client
+     */
+    @FunctionalInterface
+    public interface Task<T> {
+        T run(DropboxBusinessApiClient client) throws IOException;
+    }
+    
+    private final String id;
+    private final int weight;
+    private final DropboxAuthenticator authenticator;
+    private final DropboxBusinessApiClient client;
+    private final WeightedRoundRobinScheduler.TaskQueue queue;
+    private final Executor executor;
+    
+    DropboxTenant(String id, int weight, DropboxAuthenticator authenticator,
+                  DropboxBusinessApiClient client, WeightedRoundRobinScheduler.TaskQueue queue) {
+        this.id = id;
+        this.weight = weight;
+        this.authenticator = authenticator;
+        this.client = client;
+        this.queue = queue;
+        this.executor = queue::submit;
+    }
+    
+    public String getId() { return id; }
+    
+    /**
+     * Gets the number of tasks this tenant may start per scheduling turn
+     */
+    public int getWeight() { return weight; }
+    
+    /**
+     * Gets the tenant's authenticator, for the initial code exchange
+     */
+    public DropboxAuthenticator getAuthenticator() { return authenticator; }
+    
+    /**
+     * Gets the tenant's client. Calls made on it directly bypass fair scheduling:
+     * blocking calls run on the caller's thread and async calls on the shared
+     * transport's dispatcher. Use {@link #submit} for bulk work.
+     */
+    public DropboxBusinessApiClient getClient() { return client; }
+    
+    /**
+     * Gets an executor that runs tasks on the manager's workers in this tenant's
+     * turns, for example to drive a {@code TeamEventBackfill} without starving other tenants
+     */
+    public Executor executor() {
+        return executor;
+    }
+    
+    /**
+     * Queues a task to run on the manager's workers in this tenant's turns
+     * @return future completed with the task's result; cancelling it before the
+     *         task starts keeps the task from running
+     */
+    public <T> CompletableFuture<T> submit(Task<T> task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+        
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            queue.submit(new QueuedTask<>(future, task));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+    
+    /**
+     * Gets the number of this tenant's tasks waiting for a worker
+     */
+    public int getPendingTasks() {
+        return queue.pending();
+    }
+    
+    /**
+     * Removes the tenant's queue and cancels tasks that have not started
+     */
+    void close() {
+        for (Runnable pending : queue.remove()) {
+            if (pending instanceof QueuedTask) {
+                ((QueuedTask<?>) pending).future.cancel(false);
+            }
+        }
+        client.close();
+        authenticator.close();
+    }
+    
+    /**
+     * Task waiting in the tenant's queue, with the future its result goes to
+     */
+    private final class QueuedTask<T> implements Runnable {
+        private final CompletableFuture<T> future;
+        private final Task<T> task;
+        
+        QueuedTask(CompletableFuture<T> future, Task<T> task) {
+            this.future = future;
+            this.task = task;
+        }
+        
+        @Override
+        public void run() {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                future.complete(task.run(client));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("DropboxTenant{id='%s', weight=%d}", id, weight);
+    }
+}
@@ -0,0 +1,306 @@
+package com.cloudeagle.dropbox.tenant;
+
+import com.cloudeagle.dropbox.auth.DropboxAuthenticator;
+import com.cloudeagle.dropbox.auth.TokenStore;
+import com.cloudeagle.dropbox.client.DropboxBusinessApiClient;
+import com.cloudeagle.dropbox.http.AdaptiveConcurrencyLimiter;
+import com.cloudeagle.dropbox.http.DropboxHttpTransport;
+import com.cloudeagle.dropbox.metrics.DropboxClientListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Manages API clients for many Dropbox teams registered with one Dropbox app.
+ * All tenants share one HTTP transport and one fixed pool of worker threads,
+ * so adding a tenant costs a few objects rather than a connection pool and
+ * thread pool. Each tenant keeps its own authenticator and its own adaptive
+ * concurrency limiter, so one team's throttling does not slow the others.
+ * <p>
+ * Work submitted through {@link DropboxTenant#submit} or
+ * {@link DropboxTenant#executor()} is scheduled by weighted round-robin: each
+ * tenant with queued work starts up to {@code weight} tasks per turn, and no
+ * tenant runs more than {@code maxConcurrentPerTenant} tasks at once, so a
+ * large tenant's backfill cannot starve the others. Fairness covers submitted
+ * tasks only: calls made directly on a tenant's client, including its async
+ * methods, are not scheduled and are bounded only by the tenant's limiter.
+ */
+public class DropboxTenantManager implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(DropboxTenantManager.class);
+    
+    private final String clientId;
+    private final String clientSecret;
+    private final String redirectUri;
+    private final String baseUrl;
+    private final String tokenUrl;
+    private final DropboxHttpTransport transport;
+    private final boolean ownsTransport;
+    private final DropboxClientListener listener;
+    private final TokenStore tokenStore;
+    private final WeightedRoundRobinScheduler scheduler;
+    private final ConcurrentMap<String, DropboxTenant> tenants = new ConcurrentHashMap<>();
+    
+    private DropboxTenantManager(Builder builder) {
+        this.clientId = builder.clientId;
+        this.clientSecret = builder.clientSecret;
+        this.redirectUri = builder.redirectUri;
+        this.baseUrl = builder.baseUrl;
+        this.tokenUrl = builder.tokenUrl;
+        this.ownsTransport = builder.transport == null;
+        this.transport = ownsTransport ? DropboxHttpTransport.createDefault() : builder.transport;
+        this.listener = builder.listener;
+        this.tokenStore = builder.tokenStore;
+        
+        AtomicInteger threadCount = new AtomicInteger();
+        this.scheduler = new WeightedRoundRobinScheduler(builder.threads, builder.maxConcurrentPerTenant,
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dropbox-tenant-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+    
+    public static Builder builder(String clientId, String clientSecret, String redirectUri) {
+        return new Builder(clientId, clientSecret, redirectUri);
+    }
+    
+    /**
+     * Registers a tenant with weight 1
+     */
+    public DropboxTenant registerTenant(String tenantId) {
+        return registerTenant(tenantId, 1);
+    }
+    
+    /**
+     * Registers a tenant with a new authenticator for the manager's Dropbox app.
+     * With a token store, the tenant resumes with its stored tokens; otherwise,
+     * or if {@link DropboxAuthenticator#isAuthenticated()} is false, complete the
+     * OAuth flow through {@link DropboxTenant#getAuthenticator()}.
+     * @param weight Tasks the tenant may start per scheduling turn
+     * @throws IllegalStateException if the tenant is already registered
+     */
+    public DropboxTenant registerTenant(String tenantId, int weight) {
+        DropboxAuthenticator.Builder authenticator = DropboxAuthenticator.builder(clientId, clientSecret, redirectUri)
+                .tokenUrl(tokenUrl)
+                .transport(transport)
+                .listener(listener);
+        if (tokenStore != null) {
+            authenticator.tokenStore(tokenStore, tenantId);
+        }
+        return registerTenant(tenantId, weight, authenticator.build());
+    }
+    
+    /**
+     * Registers a tenant with an authenticator built by the caller, for example
+     * one already holding tokens. The authenticator is closed with the tenant.
+     * @param weight Tasks the tenant may start per scheduling turn
+     * @throws IllegalStateException if the tenant is already registered
+     */
+    public DropboxTenant registerTenant(String tenantId, int weight, DropboxAuthenticator authenticator) {
+        if (tenantId == null || tenantId.isEmpty()) {
+            throw new IllegalArgumentException("Tenant ID cannot be null or empty");
+        }
+        if (weight < 1) {
+            throw new IllegalArgumentException("Weight must be at least 1");
+        }
+        if (authenticator == null) {
+            throw new IllegalArgumentException("Authenticator cannot be null");
+        }
+        
+        DropboxBusinessApiClient client = DropboxBusinessApiClient.builder(authenticator)
+                .baseUrl(baseUrl)
+                .transport(transport)
+                .concurrencyLimiter(new AdaptiveConcurrencyLimiter())
+                .listener(listener)
+                .build();
+        DropboxTenant tenant = new DropboxTenant(tenantId, weight, authenticator, client,
+                scheduler.newQueue(tenantId, weight));
+        if (tenants.putIfAbsent(tenantId, tenant) != null) {
+            tenant.close();
+            throw new IllegalStateException("Tenant " + tenantId + " is already registered");
+        }
+        return tenant;
+    }
+    
+    /**
+     * Gets a registered tenant
+     * @return the tenant, or null if it is not registered
+     */
+    public DropboxTenant getTenant(String tenantId) {
+        return tenants.get(tenantId);
+    }
+    
+    /**
+     * Gets all registered tenants
+     */
+    public Collection<DropboxTenant> getTenants() {
+        return Collections.unmodifiableCollection(tenants.values());
+    }
+    
+    /**
+     * Removes a tenant, cancelling its queued tasks and closing its authenticator.
+     * Tasks already running are left to finish.
+     * @return true if the tenant was registered
+     */
+    public boolean removeTenant(String tenantId) {
+        DropboxTenant tenant = tenants.remove(tenantId);
+        if (tenant == null) {
+            return false;
+        }
+        tenant.close();
+        return true;
+    }
+    
+    /**
+     * Queues a task on a tenant's client
+     * @throws IllegalArgumentException if the tenant is not registered
+     */
+    public <T> CompletableFuture<T> submit(String tenantId, DropboxTenant.Task<T> task) {
+        DropboxTenant tenant = tenants.get(tenantId);
+        if (tenant == null) {
+            throw new IllegalArgumentException("Unknown tenant: " + tenantId);
+        }
+        return tenant.submit(task);
+    }
+    
+    /**
+     * Cancels queued tasks, interrupts running ones and closes every tenant.
+     * The transport is closed only if the manager created it.
+     */
+    @Override
+    public void close() {
+        List<DropboxTenant> removed = new ArrayList<>(tenants.values());
+        tenants.clear();
+        for (DropboxTenant tenant : removed) {
+            tenant.close();
+        }
+        scheduler.shutdownNow();
+        try {
+            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn("Tenant workers did not stop within 5 s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (ownsTransport) {
+            transport.close();
+        }
+    }
+    
+    /**
+     * Builder for {@link DropboxTenantManager}
+     */
+    public static class Builder {
+        private final String clientId;
+        private final String clientSecret;
+        private final String redirectUri;
+        private String baseUrl = DropboxBusinessApiClient.DEFAULT_BASE_URL;
+        private String tokenUrl = DropboxAuthenticator.DEFAULT_TOKEN_URL;
+        private DropboxHttpTransport transport;
+        private int threads = 32;
+        private int maxConcurrentPerTenant = 4;
+        private DropboxClientListener listener = DropboxClientListener.NOOP;
+        private TokenStore tokenStore;
+        
+        private Builder(String clientId, String clientSecret, String redirectUri) {
+            if (clientId == null || clientSecret == null || redirectUri == null) {
+                throw new IllegalArgumentException("Client ID, secret and redirect URI cannot be null");
+            }
+            this.clientId = clientId;
+            this.clientSecret = clientSecret;
+            this.redirectUri = redirectUri;
+        }
+        
+        /**
+         * API base URL for every tenant's client
+         */
+        public Builder baseUrl(String baseUrl) {
+            if (baseUrl == null || baseUrl.isEmpty()) {
+                throw new IllegalArgumentException("Base URL cannot be null or empty");
+            }
+            this.baseUrl = baseUrl;
+            return this;
+        }
+        
+        /**
+         * OAuth2 token endpoint for every tenant's authenticator
+         */
+        public Builder tokenUrl(String tokenUrl) {
+            if (tokenUrl == null || tokenUrl.isEmpty()) {
+                throw new IllegalArgumentException("Token URL cannot be null or empty");
+            }
+            this.tokenUrl = tokenUrl;
+            return this;
+        }
+        
+        /**
+         * Transport shared by all tenants. It is not closed by the manager.
+         * If unset, the manager creates and owns a default transport.
+         */
+        public Builder transport(DropboxHttpTransport transport) {
+            if (transport == null) {
+                throw new IllegalArgumentException("Transport cannot be null");
+            }
+            this.transport = transport;
+            return this;
+        }
+        
+        /**
+         * Number of worker threads shared by all tenants; defaults to 32
+         */
+        public Builder threads(int threads) {
+            if (threads < 1) {
+                throw new IllegalArgumentException("Threads must be at least 1");
+            }
+            this.threads = threads;
+            return this;
+        }
+        
+        /**
+         * Maximum number of tasks one tenant may run at once; defaults to 4
+         */
+        public Builder maxConcurrentPerTenant(int maxConcurrentPerTenant) {
+            if (maxConcurrentPerTenant < 1) {
+                throw new IllegalArgumentException("Max concurrent per tenant must be at least 1");
+            }
+            this.maxConcurrentPerTenant = maxConcurrentPerTenant;
+            return this;
+        }
+        
+        /**
+         * Listener shared by all tenants' clients and authenticators
+         */
+        public Builder listener(DropboxClientListener listener) {
+            if (listener == null) {
+                throw new IllegalArgumentException("Listener cannot be null");
+            }
+            this.listener = listener;
+            return this;
+        }
+        
+        /**
+         * Store for every tenant's tokens, keyed by tenant ID, so tenants
+         * resume after a restart without a code exchange or refresh
+         */
+        public Builder tokenStore(TokenStore tokenStore) {
+            if (tokenStore == null) {
+                throw new IllegalArgumentException("Token store cannot be null");
+            }
+            this.tokenStore = tokenStore;
+            return this;
+        }
+        
+        public DropboxTenantManager build() {
+            return new DropboxTenantManager(this);
+        }
+    }
+}
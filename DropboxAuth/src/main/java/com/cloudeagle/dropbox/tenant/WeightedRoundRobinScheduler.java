@@ -0,0 +1,201 @@
+package com.cloudeagle.dropbox.tenant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of worker threads shared by many queues, served by weighted round-robin.
+ * Queues with pending tasks take turns; on its turn a queue may start up to
+ * {@code weight} tasks before the next queue is served. A queue that already
+ * has {@code maxConcurrentPerQueue} tasks running sits out until one finishes,
+ * so a queue with long tasks cannot occupy every worker.
+ */
+final class WeightedRoundRobinScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(WeightedRoundRobinScheduler.class);
+    
+    private final int maxConcurrentPerQueue;
+    private final ExecutorService workers;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition ready = lock.newCondition();
+    // Guarded by lock: queues with pending tasks that may start one, in turn order
+    private final Deque<TaskQueue> turns = new ArrayDeque<>();
+    private boolean closed;
+    
+    WeightedRoundRobinScheduler(int threads, int maxConcurrentPerQueue, ThreadFactory threadFactory) {
+        this.maxConcurrentPerQueue = maxConcurrentPerQueue;
+        this.workers = Executors.newFixedThreadPool(threads, threadFactory);
+        for (int i = 0; i < threads; i++) {
+            workers.execute(this::work);
+        }
+    }
+    
+    /**
+     * Creates a queue taking turns with the others
+     * @param weight Tasks started per turn
+     */
+    TaskQueue newQueue(String name, int weight) {
+        return new TaskQueue(name, weight);
+    }
+    
+    /**
+     * Stops the workers and interrupts running tasks. Tasks still queued are
+     * never run; remove each queue first to collect them.
+     */
+    void shutdownNow() {
+        lock.lock();
+        try {
+            closed = true;
+            turns.clear();
+            ready.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        workers.shutdownNow();
+    }
+    
+    boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return workers.awaitTermination(timeout, unit);
+    }
+    
+    private void work() {
+        while (true) {
+            TaskQueue queue;
+            Runnable task;
+            lock.lock();
+            try {
+                while (turns.isEmpty() && !closed) {
+                    ready.awaitUninterruptibly();
+                }
+                if (closed) {
+                    return;
+                }
+                queue = turns.peekFirst();
+                task = queue.tasks.pollFirst();
+                queue.running++;
+                queue.credits--;
+                if (queue.tasks.isEmpty() || queue.running >= maxConcurrentPerQueue) {
+                    turns.pollFirst();
+                    queue.inTurns = false;
+                    queue.credits = queue.weight;
+                } else if (queue.credits == 0) {
+                    // Turn used up: go to the back of the line
+                    turns.pollFirst();
+                    turns.addLast(queue);
+                    queue.credits = queue.weight;
+                }
+                // Queues only signal when they join the line, so pass the wakeup on
+                if (!turns.isEmpty()) {
+                    ready.signal();
+                }
+            } finally {
+                lock.unlock();
+            }
+            
+            try {
+                task.run();
+            } catch (Throwable e) {
+                // The worker outlives any task; letting an Error escape would lose a thread for good
+                logger.warn("Task for {} failed", queue.name, e);
+            } finally {
+                lock.lock();
+                try {
+                    queue.running--;
+                    queue.enqueueIfReady();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+    
+    /**
+     * One party's tasks, run in submission order
+     */
+    final class TaskQueue {
+        private final String name;
+        private final int weight;
+        // Guarded by lock
+        private final Deque<Runnable> tasks = new ArrayDeque<>();
+        private int credits;
+        private int running;
+        private boolean inTurns;
+        private boolean removed;
+        
+        private TaskQueue(String name, int weight) {
+            this.name = name;
+            this.weight = weight;
+            this.credits = weight;
+        }
+        
+        /**
+         * Queues a task behind this queue's earlier tasks
+         * @throws RejectedExecutionException if the queue or scheduler is closed
+         */
+        void submit(Runnable task) {
+            lock.lock();
+            try {
+                if (closed || removed) {
+                    throw new RejectedExecutionException("Task queue for " + name + " is closed");
+                }
+                tasks.addLast(task);
+                enqueueIfReady();
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        /**
+         * Closes the queue
+         * @return tasks that had not started
+         */
+        List<Runnable> remove() {
+            lock.lock();
+            try {
+                removed = true;
+                if (inTurns) {
+                    turns.remove(this);
+                    inTurns = false;
+                }
+                List<Runnable> pending = new ArrayList<>(tasks);
+                tasks.clear();
+                return pending;
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        /**
+         * Gets the number of tasks waiting to start
+         */
+        int pending() {
+            lock.lock();
+            try {
+                return tasks.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        // Must hold lock
+        private void enqueueIfReady() {
+            if (!inTurns && !removed && !closed && !tasks.isEmpty() && running < maxConcurrentPerQueue) {
+                inTurns = true;
+                turns.addLast(this);
+                ready.signal();
+            }
+        }
+    }
+}
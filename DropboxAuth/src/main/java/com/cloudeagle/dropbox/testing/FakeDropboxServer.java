@@ -0,0 +1,621 @@
+package com.cloudeagle.dropbox.testing;
+
+import com.cloudeagle.dropbox.codec.DropboxCodecs;
+import com.cloudeagle.dropbox.model.IsoTimestamps;
+import com.cloudeagle.dropbox.model.MemberInfoItem;
+import com.cloudeagle.dropbox.model.MembersGetInfoResponse;
+import com.cloudeagle.dropbox.model.MembersListResponse;
+import com.cloudeagle.dropbox.model.TeamEvent;
+import com.cloudeagle.dropbox.model.TeamEventsResponse;
+import com.cloudeagle.dropbox.model.TeamInfo;
+import com.cloudeagle.dropbox.model.TeamMember;
+import com.cloudeagle.dropbox.model.TeamMemberProfile;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embeddable stand-in for the Dropbox Business API, for integration and load
+ * tests that must run offline.
+ * <p>
+ * Serves {@code team/get_info}, {@code team/members/list_v2} and its continue
+ * endpoint, {@code team/members/get_info_v2}, {@code team_log/get_events} and
+ * its continue endpoint, and {@code oauth2/token} over a generated, seeded
+ * team. Cursors encode a real position in the data set, so pagination and
+ * tailing behave like the real API; {@link #appendEvents(int)} adds new events
+ * for tailers to pick up. Latency, the share of requests rejected with 429 and
+ * access token lifetime are configurable.
+ * <p>
+ * Point a client at it with {@code DropboxBusinessApiClient.Builder#baseUrl(getBaseUrl())}
+ * and an authenticator with {@code DropboxAuthenticator.Builder#tokenUrl(getTokenUrl())}.
+ * Any authorization code is accepted.
+ */
+public class FakeDropboxServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(FakeDropboxServer.class);
+    
+    private static final String API_PREFIX = "/2";
+    private static final String TOKEN_PATH = "/oauth2/token";
+    private static final int MAX_LIMIT = 1000;
+    // Selectors accepted by one members/get_info_v2 call
+    private static final int MAX_MEMBERS_INFO = 100;
+    
+    private final FakeTeamData data;
+    private final Duration latency;
+    private final double rateLimitProbability;
+    private final Duration retryAfter;
+    private final Duration tokenLifetime;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    
+    // Access token -> expiry in System.nanoTime() terms
+    private final Map<String, Long> accessTokens = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> refreshTokens = new ConcurrentHashMap<>();
+    
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    
+    private FakeDropboxServer(Builder builder) throws IOException {
+        this.data = new FakeTeamData(builder.seed, builder.members, builder.events, builder.eventWindow);
+        this.latency = builder.latency;
+        this.rateLimitProbability = builder.rateLimitProbability;
+        this.retryAfter = builder.retryAfter;
+        this.tokenLifetime = builder.tokenLifetime;
+        
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(builder.threads, runnable -> {
+            Thread thread = new Thread(runnable, "fake-dropbox-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), builder.port), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+    }
+    
+    /**
+     * Starts a server on a free port with the default data set
+     */
+    public static FakeDropboxServer start() throws IOException {
+        return builder().start();
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Gets the API base URL to configure on the client
+     */
+    public String getBaseUrl() {
+        return getRootUrl() + API_PREFIX;
+    }
+    
+    /**
+     * Gets the OAuth2 token endpoint to configure on the authenticator
+     */
+    public String getTokenUrl() {
+        return getRootUrl() + TOKEN_PATH;
+    }
+    
+    /**
+     * Issues an access token directly, bypassing the OAuth2 flow
+     */
+    public String issueAccessToken() {
+        String token = "fake-at-" + UUID.randomUUID();
+        accessTokens.put(token, System.nanoTime() + tokenLifetime.toNanos());
+        return token;
+    }
+    
+    /**
+     * Appends sign-in and membership events stamped with the current time
+     */
+    public void appendEvents(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+        data.appendEvents(count);
+    }
+    
+    /**
+     * Gets the number of requests received, including throttled ones
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+    
+    /**
+     * Gets the number of requests rejected with 429
+     */
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+    
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+    
+    private String getRootUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.increment();
+            sleep(latency);
+            
+            String path = exchange.getRequestURI().getPath();
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "method_not_allowed");
+                return;
+            }
+            if (TOKEN_PATH.equals(path)) {
+                handleToken(exchange);
+                return;
+            }
+            if (!path.startsWith(API_PREFIX + "/")) {
+                sendError(exchange, 404, "not_found");
+                return;
+            }
+            if (rateLimitProbability > 0 && ThreadLocalRandom.current().nextDouble() < rateLimitProbability) {
+                throttled.increment();
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(Math.max(1, retryAfter.toSeconds())));
+                sendError(exchange, 429, "too_many_requests");
+                return;
+            }
+            String authError = checkAccessToken(exchange);
+            if (authError != null) {
+                sendError(exchange, 401, authError);
+                return;
+            }
+            
+            JsonNode body = readJson(exchange);
+            switch (path.substring(API_PREFIX.length())) {
+                case "/team/get_info":
+                    sendJson(exchange, teamInfo());
+                    break;
+                case "/team/members/list_v2":
+                    sendJson(exchange, membersPage(0, limit(body, 100), body.path("include_removed").asBoolean(false)));
+                    break;
+                case "/team/members/list/continue_v2":
+                    continueMembers(exchange, body);
+                    break;
+                case "/team/members/get_info_v2":
+                    if (body.path("members").size() > MAX_MEMBERS_INFO) {
+                        sendError(exchange, 400, "too_many_members");
+                    } else {
+                        sendJson(exchange, membersInfo(body));
+                    }
+                    break;
+                case "/team_log/get_events":
+                    startEvents(exchange, body);
+                    break;
+                case "/team_log/get_events/continue":
+                    continueEvents(exchange, body);
+                    break;
+                default:
+                    sendError(exchange, 404, "not_found");
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Fake Dropbox server failed to handle request", e);
+            throw e;
+        }
+    }
+    
+    private void handleToken(HttpExchange exchange) throws IOException {
+        Map<String, String> form = readForm(exchange);
+        String grantType = form.get("grant_type");
+        
+        ObjectNode response = JsonNodeFactory.instance.objectNode();
+        if ("authorization_code".equals(grantType) && form.get("code") != null) {
+            String refreshToken = "fake-rt-" + UUID.randomUUID();
+            refreshTokens.put(refreshToken, Boolean.TRUE);
+            response.put("refresh_token", refreshToken);
+        } else if ("refresh_token".equals(grantType) && refreshTokens.containsKey(form.get("refresh_token"))) {
+            // Refresh responses carry no new refresh token, as with the real endpoint
+        } else {
+            sendError(exchange, 400, "invalid_grant");
+            return;
+        }
+        response.put("access_token", issueAccessToken());
+        response.put("token_type", "bearer");
+        response.put("expires_in", tokenLifetime.toSeconds());
+        sendJson(exchange, response);
+    }
+    
+    private String checkAccessToken(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            return "missing_access_token";
+        }
+        Long expiry = accessTokens.get(header.substring("Bearer ".length()));
+        if (expiry == null) {
+            return "invalid_access_token";
+        }
+        if (System.nanoTime() - expiry >= 0) {
+            return "expired_access_token";
+        }
+        return null;
+    }
+    
+    private TeamInfo teamInfo() {
+        TeamInfo info = new TeamInfo();
+        info.setName("Fake Team");
+        info.setTeamId("dbtid:fake-team");
+        info.setNumLicensedUsers(data.members().size());
+        info.setNumProvisionedUsers(data.members().size());
+        return info;
+    }
+    
+    private void continueMembers(HttpExchange exchange, JsonNode body) throws IOException {
+        String[] cursor = decodeCursor(body, "m", 4);
+        if (cursor == null) {
+            sendError(exchange, 409, "invalid_cursor");
+            return;
+        }
+        sendJson(exchange, membersPage(Integer.parseInt(cursor[1]), Integer.parseInt(cursor[2]),
+                Boolean.parseBoolean(cursor[3])));
+    }
+    
+    private MembersListResponse membersPage(int from, int limit, boolean includeRemoved) {
+        List<TeamMember> all = data.members();
+        List<TeamMember> page = new ArrayList<>(Math.min(limit, all.size()));
+        int position = from;
+        while (position < all.size() && page.size() < limit) {
+            TeamMember member = all.get(position++);
+            if (includeRemoved || !"removed".equals(member.getProfile().getStatus())) {
+                page.add(member);
+            }
+        }
+        
+        MembersListResponse response = new MembersListResponse();
+        response.setMembers(page);
+        response.setHasMore(position < all.size());
+        response.setCursor(encodeCursor("m", position, limit, includeRemoved));
+        return response;
+    }
+    
+    private MembersGetInfoResponse membersInfo(JsonNode body) {
+        List<MemberInfoItem> items = new ArrayList<>();
+        for (JsonNode selector : body.path("members")) {
+            String tag = selector.path(".tag").asText();
+            String id = selector.path(tag).asText(null);
+            TeamMemberProfile profile = null;
+            if (id != null) {
+                switch (tag) {
+                    case "team_member_id":
+                        profile = data.findById(id);
+                        break;
+                    case "email":
+                        profile = data.findByEmail(id);
+                        break;
+                    case "external_id":
+                        profile = data.findByExternalId(id);
+                        break;
+                    default:
+                        break;
+                }
+            }
+            
+            MemberInfoItem item = new MemberInfoItem();
+            if (profile != null) {
+                item.setTag("member_info");
+                item.setProfile(profile);
+            } else {
+                item.setTag("id_not_found");
+                item.setIdNotFound(id);
+            }
+            items.add(item);
+        }
+        
+        MembersGetInfoResponse response = new MembersGetInfoResponse();
+        response.setMembersInfo(items);
+        return response;
+    }
+    
+    private void startEvents(HttpExchange exchange, JsonNode body) throws IOException {
+        String category = body.path("category").asText("");
+        JsonNode time = body.path("time");
+        long start;
+        long end;
+        try {
+            start = time.hasNonNull("start_time")
+                    ? IsoTimestamps.parseEpochMillis(time.get("start_time").asText()) : Long.MIN_VALUE;
+            end = time.hasNonNull("end_time")
+                    ? IsoTimestamps.parseEpochMillis(time.get("end_time").asText()) : Long.MAX_VALUE;
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, "invalid_time_range");
+            return;
+        }
+        
+        List<TeamEvent> events = data.events();
+        int from = 0;
+        int to = events.size();
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (events.get(mid).getTimestampMillis() < start) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        sendJson(exchange, eventsPage(from, limit(body, MAX_LIMIT), category, end));
+    }
+    
+    private void continueEvents(HttpExchange exchange, JsonNode body) throws IOException {
+        String[] cursor = decodeCursor(body, "e", 5);
+        if (cursor == null) {
+            sendError(exchange, 409, "invalid_cursor");
+            return;
+        }
+        sendJson(exchange, eventsPage(Integer.parseInt(cursor[1]), Integer.parseInt(cursor[2]),
+                cursor[4], Long.parseLong(cursor[3])));
+    }
+    
+    private TeamEventsResponse eventsPage(int from, int limit, String category, long end) {
+        List<TeamEvent> events = data.events();
+        List<TeamEvent> page = new ArrayList<>(Math.min(limit, 64));
+        int position = from;
+        while (position < events.size() && page.size() < limit) {
+            TeamEvent event = events.get(position);
+            if (event.getTimestampMillis() >= end) {
+                break;
+            }
+            position++;
+            if (category.isEmpty() || category.equals(event.getEventCategory())) {
+                page.add(event);
+            }
+        }
+        
+        TeamEventsResponse response = new TeamEventsResponse();
+        response.setEvents(page);
+        response.setHasMore(position < events.size() && events.get(position).getTimestampMillis() < end);
+        response.setCursor(encodeCursor("e", position, limit, end, category));
+        return response;
+    }
+    
+    private static int limit(JsonNode body, int defaultLimit) {
+        int limit = body.path("limit").asInt(defaultLimit);
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+    
+    private static String encodeCursor(String kind, Object... fields) {
+        StringBuilder cursor = new StringBuilder(kind);
+        for (Object field : fields) {
+            cursor.append('|').append(field);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(cursor.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static String[] decodeCursor(JsonNode body, String kind, int fieldCount) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(body.path("cursor").asText("")),
+                    StandardCharsets.UTF_8);
+            String[] fields = decoded.split("\\|", -1);
+            if (fields.length != fieldCount || !kind.equals(fields[0])) {
+                return null;
+            }
+            Long.parseLong(fields[1]);
+            Long.parseLong(fields[2]);
+            return fields;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private static JsonNode readJson(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            byte[] bytes = body.readAllBytes();
+            if (bytes.length == 0) {
+                return JsonNodeFactory.instance.objectNode();
+            }
+            JsonNode node = DropboxCodecs.mapper().readTree(bytes);
+            return node != null && node.isObject() ? node : JsonNodeFactory.instance.objectNode();
+        }
+    }
+    
+    private static Map<String, String> readForm(HttpExchange exchange) throws IOException {
+        Map<String, String> form = new HashMap<>();
+        try (InputStream body = exchange.getRequestBody()) {
+            String encoded = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+            for (String pair : encoded.split("&")) {
+                int separator = pair.indexOf('=');
+                if (separator > 0) {
+                    form.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                            URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return form;
+    }
+    
+    private static void sendJson(HttpExchange exchange, Object body) throws IOException {
+        byte[] bytes = DropboxCodecs.writer(body.getClass()).writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+    
+    private static void sendError(HttpExchange exchange, int status, String tag) throws IOException {
+        ObjectNode error = JsonNodeFactory.instance.objectNode();
+        error.put("error_summary", tag + "/");
+        error.putObject("error").put(".tag", tag);
+        byte[] bytes = DropboxCodecs.mapper().writeValueAsBytes(error);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+    
+    private static void sleep(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Builder for {@link FakeDropboxServer}
+     */
+    public static class Builder {
+        private int port;
+        private int threads = 16;
+        private long seed = 42;
+        private int members = 500;
+        private int events = 10_000;
+        private Duration eventWindow = Duration.ofDays(30);
+        private Duration latency = Duration.ZERO;
+        private double rateLimitProbability;
+        private Duration retryAfter = Duration.ofSeconds(1);
+        private Duration tokenLifetime = Duration.ofHours(4);
+        
+        private Builder() {}
+        
+        /**
+         * Port to listen on; 0 (the default) picks a free port
+         */
+        public Builder port(int port) {
+            if (port < 0 || port > 65535) {
+                throw new IllegalArgumentException("Port must be between 0 and 65535");
+            }
+            this.port = port;
+            return this;
+        }
+        
+        /**
+         * Number of threads serving requests concurrently
+         */
+        public Builder threads(int threads) {
+            if (threads < 1) {
+                throw new IllegalArgumentException("Threads must be at least 1");
+            }
+            this.threads = threads;
+            return this;
+        }
+        
+        /**
+         * Seed for the generated data set; the same seed yields the same members and events
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+        
+        /**
+         * Number of generated team members, about 5% of which are removed
+         */
+        public Builder members(int members) {
+            if (members < 0) {
+                throw new IllegalArgumentException("Members cannot be negative");
+            }
+            this.members = members;
+            return this;
+        }
+        
+        /**
+         * Number of generated audit log events, spread over the event window
+         */
+        public Builder events(int events) {
+            if (events < 0) {
+                throw new IllegalArgumentException("Events cannot be negative");
+            }
+            this.events = events;
+            return this;
+        }
+        
+        /**
+         * Period before server start that generated events are spread over
+         */
+        public Builder eventWindow(Duration eventWindow) {
+            if (eventWindow == null || eventWindow.isNegative()) {
+                throw new IllegalArgumentException("Event window cannot be negative");
+            }
+            this.eventWindow = eventWindow;
+            return this;
+        }
+        
+        /**
+         * Delay added before every response
+         */
+        public Builder latency(Duration latency) {
+            if (latency == null || latency.isNegative()) {
+                throw new IllegalArgumentException("Latency cannot be negative");
+            }
+            this.latency = latency;
+            return this;
+        }
+        
+        /**
+         * Share of API requests (0 to 1) rejected with 429 and a Retry-After header
+         */
+        public Builder rateLimit(double probability, Duration retryAfter) {
+            if (probability < 0 || probability > 1) {
+                throw new IllegalArgumentException("Probability must be between 0 and 1");
+            }
+            if (retryAfter == null || retryAfter.isNegative()) {
+                throw new IllegalArgumentException("Retry-After cannot be negative");
+            }
+            this.rateLimitProbability = probability;
+            this.retryAfter = retryAfter;
+            return this;
+        }
+        
+        /**
+         * Lifetime of issued access tokens; expired tokens are rejected with 401.
+         * {@code expires_in} is sent in whole seconds, so the lifetime must be at least one.
+         */
+        public Builder tokenLifetime(Duration tokenLifetime) {
+            if (tokenLifetime == null || tokenLifetime.compareTo(Duration.ofSeconds(1)) < 0) {
+                throw new IllegalArgumentException("Token lifetime must be at least one second");
+            }
+            this.tokenLifetime = tokenLifetime;
+            return this;
+        }
+        
+        /**
+         * Generates the data set and starts listening
+         * @throws IOException if the port cannot be bound
+         */
+        public FakeDropboxServer start() throws IOException {
+            FakeDropboxServer fake = new FakeDropboxServer(this);
+            fake.server.start();
+            logger.info("Fake Dropbox server listening on {}", fake.getRootUrl());
+            return fake;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.cloudeagle.dropbox.testing;
+
+import com.cloudeagle.dropbox.model.Actor;
+import com.cloudeagle.dropbox.model.GeoLocation;
+import com.cloudeagle.dropbox.model.HostInfo;
+import com.cloudeagle.dropbox.model.NameInfo;
+import com.cloudeagle.dropbox.model.Origin;
+import com.cloudeagle.dropbox.model.TeamEvent;
+import com.cloudeagle.dropbox.model.TeamMember;
+import com.cloudeagle.dropbox.model.TeamMemberProfile;
+import com.cloudeagle.dropbox.model.UserInfo;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Seeded, generated team directory and audit log served by {@link FakeDropboxServer}
+ */
+final class FakeTeamData {
+    
+    private static final String[][] LOCATIONS = {
+            {"San Francisco", "California", "United States"},
+            {"New York", "New York", "United States"},
+            {"London", "England", "United Kingdom"},
+            {"Berlin", "Berlin", "Germany"},
+            {"Bengaluru", "Karnataka", "India"},
+            {"Tokyo", "Tokyo", "Japan"},
+            {"Sao Paulo", "Sao Paulo", "Brazil"},
+            {"Sydney", "New South Wales", "Australia"}
+    };
+    private static final String[] LOGIN_TYPES = {"login_success", "login_success", "login_success", "login_fail", "logout"};
+    private static final String[] MEMBER_CHANGE_TYPES = {"member_change_name", "member_change_email", "member_change_status"};
+    
+    private final Random random;
+    private final List<TeamMember> members;
+    private final Map<String, TeamMemberProfile> profilesById = new HashMap<>();
+    private final Map<String, TeamMemberProfile> profilesByEmail = new HashMap<>();
+    private final Map<String, TeamMemberProfile> profilesByExternalId = new HashMap<>();
+    
+    // Sorted by timestamp; replaced, never mutated, when events are appended
+    private volatile List<TeamEvent> events;
+    
+    FakeTeamData(long seed, int memberCount, int eventCount, Duration eventWindow) {
+        this.random = new Random(seed);
+        this.members = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            TeamMember member = new TeamMember();
+            member.setProfile(profile(i, eventWindow));
+            members.add(member);
+            
+            TeamMemberProfile profile = member.getProfile();
+            profilesById.put(profile.getTeamMemberId(), profile);
+            profilesByEmail.put(profile.getEmail(), profile);
+            profilesByExternalId.put(profile.getExternalId(), profile);
+        }
+        
+        Instant end = Instant.now();
+        long windowMillis = Math.max(1, eventWindow.toMillis());
+        List<TeamEvent> generated = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            long offset = (long) (random.nextDouble() * windowMillis);
+            generated.add(event(end.minusMillis(offset)));
+        }
+        generated.sort(Comparator.comparingLong(TeamEvent::getTimestampMillis));
+        this.events = Collections.unmodifiableList(generated);
+    }
+    
+    List<TeamMember> members() {
+        return members;
+    }
+    
+    List<TeamEvent> events() {
+        return events;
+    }
+    
+    TeamMemberProfile findById(String teamMemberId) {
+        return profilesById.get(teamMemberId);
+    }
+    
+    TeamMemberProfile findByEmail(String email) {
+        return profilesByEmail.get(email);
+    }
+    
+    TeamMemberProfile findByExternalId(String externalId) {
+        return profilesByExternalId.get(externalId);
+    }
+    
+    /**
+     * Appends events stamped with the current time, as if they just happened
+     */
+    synchronized void appendEvents(int count) {
+        List<TeamEvent> updated = new ArrayList<>(events.size() + count);
+        updated.addAll(events);
+        Instant now = Instant.now();
+        for (int i = 0; i < count; i++) {
+            updated.add(event(now));
+        }
+        events = Collections.unmodifiableList(updated);
+    }
+    
+    private TeamMemberProfile profile(int index, Duration eventWindow) {
+        String id = String.format("%08d", index);
+        
+        NameInfo name = new NameInfo();
+        name.setGivenName("User");
+        name.setSurname(id);
+        name.setFamiliarName("User");
+        name.setDisplayName("User " + id);
+        name.setAbbreviatedName("U" + id.charAt(id.length() - 1));
+        
+        TeamMemberProfile profile = new TeamMemberProfile();
+        profile.setTeamMemberId("dbmid:fake" + id);
+        profile.setAccountId("dbid:fake" + id);
+        profile.setExternalId("ext-" + id);
+        profile.setEmail("user" + id + "@example.com");
+        profile.setEmailVerified(true);
+        profile.setName(name);
+        profile.setMembershipType("full");
+        profile.setStatus(random.nextInt(20) == 0 ? "removed" : "active");
+        profile.setJoinedOn(Instant.now().minus(eventWindow).minus(Duration.ofDays(random.nextInt(1000)))
+                .truncatedTo(ChronoUnit.SECONDS).toString());
+        return profile;
+    }
+    
+    private TeamEvent event(Instant timestamp) {
+        TeamMemberProfile profile = members.isEmpty()
+                ? null : members.get(random.nextInt(members.size())).getProfile();
+        UserInfo user = new UserInfo();
+        if (profile != null) {
+            user.setTeamMemberId(profile.getTeamMemberId());
+            user.setAccountId(profile.getAccountId());
+            user.setEmail(profile.getEmail());
+            user.setDisplayName(profile.getName().getDisplayName());
+        }
+        
+        TeamEvent event = new TeamEvent();
+        event.setTimestamp(timestamp.truncatedTo(ChronoUnit.SECONDS).toString());
+        Actor actor = new Actor();
+        actor.setUser(user);
+        event.setActor(actor);
+        
+        // One in ten events is a membership change, the rest are sign-ins
+        if (random.nextInt(10) == 0) {
+            event.setEventCategory("members");
+            event.setEventType(MEMBER_CHANGE_TYPES[random.nextInt(MEMBER_CHANGE_TYPES.length)]);
+            event.setContext(user);
+            return event;
+        }
+        
+        String[] place = LOCATIONS[random.nextInt(LOCATIONS.length)];
+        GeoLocation location = new GeoLocation();
+        location.setCity(place[0]);
+        location.setRegion(place[1]);
+        location.setCountry(place[2]);
+        HostInfo host = new HostInfo();
+        host.setHost("203.0.113." + random.nextInt(255));
+        Origin origin = new Origin();
+        origin.setGeoLocation(location);
+        origin.setHost(host);
+        
+        event.setEventCategory("logins");
+        event.setEventType(LOGIN_TYPES[random.nextInt(LOGIN_TYPES.length)]);
+        event.setOrigin(origin);
+        return event;
+    }
+}
@@ -0,0 +1,77 @@
+package com.cloudeagle.dropbox.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    void testEstimateWithinThreeStandardErrors() {
+        int precision = 12;
+        double standardError = 1.04 / Math.sqrt(1 << precision);
+
+        for (int cardinality : new int[] {100, 1_000, 10_000, 100_000, 1_000_000}) {
+            HyperLogLog sketch = new HyperLogLog(precision);
+            for (int i = 0; i < cardinality; i++) {
+                sketch.add("dbmid:" + i);
+            }
+
+            double relativeError = Math.abs(sketch.estimate() - cardinality) / (double) cardinality;
+            assertTrue(relativeError <= 3 * standardError,
+                    "Estimate for " + cardinality + " should be within 3 standard errors, was off by " + relativeError);
+        }
+    }
+
+    @Test
+    void testDuplicatesAreNotCounted() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 1_000; i++) {
+            sketch.add("dbmid:" + i);
+        }
+        long estimate = sketch.estimate();
+
+        for (int repeat = 0; repeat < 10; repeat++) {
+            for (int i = 0; i < 1_000; i++) {
+                sketch.add("dbmid:" + i);
+            }
+        }
+        sketch.add(null);
+
+        assertEquals(estimate, sketch.estimate(), "Repeated values should not change the estimate");
+    }
+
+    @Test
+    void testMergeEstimatesUnion() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        HyperLogLog union = new HyperLogLog();
+        for (int i = 0; i < 30_000; i++) {
+            first.add("dbmid:" + i);
+            union.add("dbmid:" + i);
+        }
+        for (int i = 20_000; i < 50_000; i++) {
+            second.add("dbmid:" + i);
+            union.add("dbmid:" + i);
+        }
+
+        first.merge(second);
+
+        assertEquals(union.estimate(), first.estimate(), "Merged sketch should match one built from the union");
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new HyperLogLog(10)),
+                "Sketches of different precision should not merge");
+    }
+
+    @Test
+    void testClearAndEmptySketch() {
+        HyperLogLog sketch = new HyperLogLog();
+        assertEquals(0, sketch.estimate(), "Empty sketch should estimate zero");
+
+        sketch.add("dbmid:1");
+        sketch.clear();
+
+        assertEquals(0, sketch.estimate(), "Cleared sketch should estimate zero");
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3), "Precision below 4 should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(19), "Precision above 18 should be rejected");
+    }
+}
@@ -0,0 +1,85 @@
+package com.cloudeagle.dropbox.analytics;
+
+import com.cloudeagle.dropbox.codec.DropboxCodecs;
+import com.cloudeagle.dropbox.model.TeamEvent;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignInAggregatorTest {
+
+    private static final LocalDate DAY = LocalDate.parse("2024-01-01");
+
+    @Test
+    void testDaySlotsAreRecycled() {
+        SignInAggregator aggregator = SignInAggregator.builder().retainedDays(3).build();
+
+        aggregator.accept(signIn("dbmid:1", 0, "FR"));
+        aggregator.accept(signIn("dbmid:2", 0, "FR"));
+        aggregator.accept(signIn("dbmid:1", 1, "FR"));
+        aggregator.accept(signIn("dbmid:3", 2, "FR"));
+        assertEquals(2, aggregator.getDistinctUsers(DAY), "Day within the window should be counted");
+
+        aggregator.accept(signIn("dbmid:4", 3, "FR"));
+
+        assertEquals(0, aggregator.getDistinctUsers(DAY), "Day that left the window should be dropped");
+        assertEquals(1, aggregator.getDistinctUsers(DAY.plusDays(3)), "Recycled slot should start empty");
+        assertEquals(Map.of(DAY.plusDays(1), 1L, DAY.plusDays(2), 1L, DAY.plusDays(3), 1L),
+                aggregator.getDailyDistinctUsers(), "Only retained days should be reported");
+
+        aggregator.accept(signIn("dbmid:5", 0, "FR"));
+        aggregator.accept(signIn("dbmid:6", 1, "FR"));
+
+        assertEquals(1, aggregator.getDistinctUsers(DAY.plusDays(3)), "Late event should not land in a recycled slot");
+        assertEquals(2, aggregator.getDistinctUsers(DAY.plusDays(1)), "Late event within the window should be counted");
+        assertEquals(6, aggregator.getDistinctUsers(), "Overall count should include every member");
+    }
+
+    @Test
+    void testCountsAndTopAccounts() {
+        SignInAggregator aggregator = SignInAggregator.builder().maxCountries(2).build();
+
+        for (int i = 0; i < 4; i++) {
+            aggregator.accept(signIn("dbmid:1", 0, "FR"));
+        }
+        aggregator.accept(signIn("dbmid:2", 0, "US"));
+        aggregator.accept(signIn("dbmid:2", 0, "DE"));
+        aggregator.accept(signIn("dbmid:2", 0, null));
+        aggregator.accept(parse("{\"event_category\": \"logins\", \"event_type\": \"login_fail\"}"));
+        aggregator.accept(parse("{\"event_category\": \"sharing\", \"event_type\": \"shared_link_create\"}"));
+
+        assertEquals(8, aggregator.getEventCount(), "Only sign-in events should be counted");
+        assertEquals(7, aggregator.getSuccessCount(), "Successes should be counted");
+        assertEquals(1, aggregator.getFailureCount(), "Failures should be counted");
+        assertEquals(List.of("FR", "US"), List.copyOf(aggregator.getCountryCounts().keySet()),
+                "Countries should be ordered by count");
+        assertEquals(1, aggregator.getOtherCountryCount(), "Countries past the limit should be counted as other");
+        assertEquals(2, aggregator.getUnknownCountryCount(), "Sign-ins without a country should be counted as unknown");
+        assertEquals("dbmid:1@example.com", aggregator.getTopAccounts(1).get(0).getValue(),
+                "Noisiest account should be first");
+    }
+
+    private static TeamEvent signIn(String memberId, int dayOffset, String country) {
+        String origin = country != null
+                ? ", \"origin\": {\"geo_location\": {\"country\": \"" + country + "\"}}"
+                : "";
+        return parse("{\"timestamp\": \"" + DAY.plusDays(dayOffset) + "T12:00:00Z\","
+                + " \"event_category\": \"logins\", \"event_type\": \"login_success\","
+                + " \"actor\": {\"user\": {\"team_member_id\": \"" + memberId + "\","
+                + " \"email\": \"" + memberId + "@example.com\"}}" + origin + "}");
+    }
+
+    private static TeamEvent parse(String json) {
+        try {
+            return DropboxCodecs.reader(TeamEvent.class).readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
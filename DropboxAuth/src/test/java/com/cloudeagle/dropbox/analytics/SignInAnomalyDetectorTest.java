@@ -0,0 +1,179 @@
+package com.cloudeagle.dropbox.analytics;
+
+import com.cloudeagle.dropbox.codec.DropboxCodecs;
+import com.cloudeagle.dropbox.model.TeamEvent;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignInAnomalyDetectorTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    private static final Map<String, GeoPoint> CITIES = Map.of(
+            "Paris", new GeoPoint(48.8566, 2.3522),
+            "Lyon", new GeoPoint(45.7640, 4.8357),
+            "New York", new GeoPoint(40.7128, -74.0060));
+
+    private final List<SignInAnomaly> anomalies = new ArrayList<>();
+
+    @Test
+    void testImpossibleTravelBySpeed() {
+        SignInAnomalyDetector detector = SignInAnomalyDetector.builder(anomalies::add)
+                .locationResolver(location -> CITIES.get(location.getCity()))
+                .build();
+
+        detector.accept(success("dbmid:1", 0, "Paris", "FR", "192.0.2.1"));
+        detector.accept(success("dbmid:1", 30, "Lyon", "FR", "192.0.2.2"));
+        detector.accept(success("dbmid:1", 90, "New York", "US", "198.51.100.1"));
+        detector.accept(success("dbmid:1", 90 + 12 * 60, "Paris", "FR", "192.0.2.1"));
+
+        assertEquals(List.of(SignInAnomaly.Type.NEW_COUNTRY, SignInAnomaly.Type.IMPOSSIBLE_TRAVEL), types(),
+                "Only the hop to New York within an hour should be too fast");
+        SignInAnomaly travel = anomalies.get(1);
+        assertEquals("dbmid:1", travel.getTeamMemberId(), "Anomaly should name the member");
+        assertEquals(START.plus(Duration.ofMinutes(90)), travel.getTimestamp(), "Anomaly should carry the later sign-in");
+        assertTrue(travel.getDescription().contains("km/h"), "Description should give the implied speed");
+        assertEquals(4, detector.getProcessedCount(), "Every sign-in should be processed");
+        assertEquals(2, detector.getAnomalyCount(), "Every reported anomaly should be counted");
+    }
+
+    @Test
+    void testCountryChangeWithoutCoordinates() {
+        SignInAnomalyDetector detector = SignInAnomalyDetector.builder(anomalies::add)
+                .locationResolver(location -> null)
+                .countryChangeWindow(Duration.ofHours(2))
+                .build();
+
+        detector.accept(success("dbmid:1", 0, "Paris", "FR", "192.0.2.1"));
+        detector.accept(success("dbmid:1", 60, "Berlin", "DE", "203.0.113.1"));
+        detector.accept(success("dbmid:1", 60 + 3 * 60, "Paris", "FR", "192.0.2.1"));
+        detector.accept(success("dbmid:1", 60 + 3 * 60 + 10, "Berlin", "DE", "192.0.2.1"));
+
+        assertEquals(List.of(SignInAnomaly.Type.NEW_COUNTRY, SignInAnomaly.Type.IMPOSSIBLE_TRAVEL), types(),
+                "Unresolved locations should fall back to the country change window");
+        assertTrue(anomalies.get(1).getDescription().contains("DE"), "Description should name the new country");
+    }
+
+    @Test
+    void testFirstSignInIsBaseline() {
+        SignInAnomalyDetector detector = SignInAnomalyDetector.builder(anomalies::add).build();
+
+        detector.accept(success("dbmid:1", 0, "Paris", "FR", "192.0.2.1"));
+        detector.accept(success("dbmid:2", 0, "New York", "US", "198.51.100.1"));
+        detector.accept(success("dbmid:1", 24 * 60, "Paris", "FR", "192.0.2.1"));
+
+        assertTrue(anomalies.isEmpty(), "First sign-ins and known countries should not be reported");
+
+        detector.accept(success("dbmid:1", 48 * 60, "New York", "US", "198.51.100.1"));
+
+        assertEquals(List.of(SignInAnomaly.Type.NEW_COUNTRY), types(), "Later sign-in from an unseen country should be new");
+        assertEquals(2, detector.getTrackedMemberCount(), "Each member should have its own state");
+    }
+
+    @Test
+    void testFailureBurstReportedOncePerWindow() {
+        SignInAnomalyDetector detector = SignInAnomalyDetector.builder(anomalies::add)
+                .failureBurst(3, Duration.ofMinutes(10))
+                .build();
+
+        for (int minute = 0; minute < 6; minute++) {
+            detector.accept(failure("dbmid:1", minute));
+        }
+        assertEquals(List.of(SignInAnomaly.Type.FAILURE_BURST), types(), "A burst should be reported once per window");
+        assertEquals(START.plus(Duration.ofMinutes(2)), anomalies.get(0).getTimestamp(),
+                "Burst should be reported when the threshold is reached");
+
+        detector.accept(failure("dbmid:1", 30));
+        detector.accept(failure("dbmid:1", 40));
+        detector.accept(failure("dbmid:1", 51));
+        assertEquals(1, anomalies.size(), "Failures spread wider than the window should not be a burst");
+
+        detector.accept(failure("dbmid:1", 52));
+        detector.accept(failure("dbmid:1", 53));
+        assertEquals(2, anomalies.size(), "A new burst after the window should be reported again");
+    }
+
+    @Test
+    void testFailureBurstWithThresholdOfOne() {
+        SignInAnomalyDetector detector = SignInAnomalyDetector.builder(anomalies::add)
+                .failureBurst(1, Duration.ofMinutes(10))
+                .build();
+
+        detector.accept(failure("dbmid:1", 0));
+        detector.accept(failure("dbmid:1", 5));
+        detector.accept(failure("dbmid:1", 11));
+        detector.accept(failure("dbmid:2", 11));
+
+        assertEquals(3, anomalies.size(), "Every failure outside the last window should be reported");
+        assertEquals(List.of(0L, 11L, 11L), anomalies.stream()
+                .map(anomaly -> Duration.between(START, anomaly.getTimestamp()).toMinutes())
+                .collect(Collectors.toList()), "Failures within a reported window should be suppressed");
+    }
+
+    @Test
+    void testIgnoresUnrelatedEvents() {
+        SignInAnomalyDetector detector = SignInAnomalyDetector.builder(anomalies::add)
+                .failureBurst(1, Duration.ofMinutes(10))
+                .build();
+
+        detector.accept(null);
+        detector.accept(event("sharing", "login_fail", "dbmid:1", 0, null));
+        detector.accept(event("logins", "login_fail", null, 0, null));
+        detector.accept(parse("{\"event_category\": \"logins\", \"event_type\": \"login_fail\","
+                + " \"actor\": {\"user\": {\"team_member_id\": \"dbmid:1\"}}}"));
+
+        assertTrue(anomalies.isEmpty(), "Events that are not member sign-ins should be ignored");
+        assertEquals(0, detector.getProcessedCount(), "Ignored events should not be counted");
+        assertThrows(IllegalArgumentException.class, () -> SignInAnomalyDetector.builder(null),
+                "Sink should be required");
+        assertThrows(IllegalArgumentException.class,
+                () -> SignInAnomalyDetector.builder(anomalies::add).failureBurst(0, Duration.ofMinutes(1)),
+                "Threshold below one should be rejected");
+    }
+
+    private List<SignInAnomaly.Type> types() {
+        return anomalies.stream().map(SignInAnomaly::getType).collect(Collectors.toList());
+    }
+
+    private static TeamEvent success(String memberId, long minutes, String city, String country, String host) {
+        String origin = String.format("{\"geo_location\": {\"city\": \"%s\", \"country\": \"%s\"},"
+                + " \"host\": {\"host\": \"%s\"}}", city, country, host);
+        return event("logins", "login_success", memberId, minutes, origin);
+    }
+
+    private static TeamEvent failure(String memberId, long minutes) {
+        return event("logins", "login_fail", memberId, minutes, null);
+    }
+
+    private static TeamEvent event(String category, String type, String memberId, long minutes, String origin) {
+        StringBuilder json = new StringBuilder()
+                .append("{\"timestamp\": \"").append(START.plus(Duration.ofMinutes(minutes))).append('"')
+                .append(", \"event_category\": \"").append(category).append('"')
+                .append(", \"event_type\": \"").append(type).append('"');
+        if (memberId != null) {
+            json.append(", \"actor\": {\"user\": {\"team_member_id\": \"").append(memberId).append("\"}}");
+        }
+        if (origin != null) {
+            json.append(", \"origin\": ").append(origin);
+        }
+        return parse(json.append('}').toString());
+    }
+
+    private static TeamEvent parse(String json) {
+        try {
+            return DropboxCodecs.reader(TeamEvent.class).readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
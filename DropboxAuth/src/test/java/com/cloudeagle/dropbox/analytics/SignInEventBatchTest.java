@@ -0,0 +1,152 @@
+package com.cloudeagle.dropbox.analytics;
+
+import com.cloudeagle.dropbox.codec.DropboxCodecs;
+import com.cloudeagle.dropbox.model.TeamEvent;
+import com.cloudeagle.dropbox.model.TeamEventsResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignInEventBatchTest {
+
+    private static final String PAGE_JSON = """
+        {
+            "events": [
+                {
+                    "timestamp": "2024-01-01T12:00:00.123456Z",
+                    "event_category": "logins",
+                    "event_type": "login_success",
+                    "details": {".tag": "login_success_details", "is_emm_managed": false},
+                    "actor": {"user": {
+                        "team_member_id": "dbmid:1",
+                        "email": "one@example.com",
+                        "display_name": "User One",
+                        "account_id": "dbid:1"
+                    }},
+                    "origin": {
+                        "geo_location": {"city": "Paris", "region": "Ile-de-France", "country": "FR"},
+                        "host": {"host": "192.0.2.1"}
+                    },
+                    "context": {"team_member_id": "dbmid:1"}
+                },
+                {
+                    "timestamp": "2024-01-01T12:05:00Z",
+                    "event_category": "logins",
+                    "event_type": "login_success",
+                    "actor": {"user": {"team_member_id": "dbmid:2", "email": "two@example.com"}},
+                    "origin": {"geo_location": {"country": "FR"}}
+                },
+                {
+                    "event_category": "logins",
+                    "event_type": "logout"
+                }
+            ],
+            "cursor": "c",
+            "has_more": true
+        }
+        """;
+
+    @Test
+    void testRoundTripKeepsEncodedFields() throws Exception {
+        SignInEventBatch batch = SignInEventBatch.from(page());
+
+        List<TeamEvent> events = batch.toResponse().getEvents();
+
+        assertEquals(3, events.size(), "Every event should round-trip");
+        TeamEvent first = events.get(0);
+        assertEquals("logins", first.getEventCategory(), "Category should survive");
+        assertEquals("login_success", first.getEventType(), "Type should survive");
+        assertEquals("dbmid:1", first.getActor().getUser().getTeamMemberId(), "Team member ID should survive");
+        assertEquals("one@example.com", first.getActor().getUser().getEmail(), "Email should survive");
+        assertEquals("Paris", first.getOrigin().getGeoLocation().getCity(), "City should survive");
+        assertEquals("Ile-de-France", first.getOrigin().getGeoLocation().getRegion(), "Region should survive");
+        assertEquals("FR", first.getOrigin().getGeoLocation().getCountry(), "Country should survive");
+        assertEquals("192.0.2.1", first.getOrigin().getHost().getHost(), "IP address should survive");
+
+        TeamEvent second = events.get(1);
+        assertEquals("FR", second.getOrigin().getGeoLocation().getCountry(), "Partial location should survive");
+        assertNull(second.getOrigin().getGeoLocation().getCity(), "Missing city should stay missing");
+        assertNull(second.getOrigin().getHost(), "Missing host should stay missing");
+    }
+
+    @Test
+    void testRoundTripDropsDocumentedFields() throws Exception {
+        SignInEventBatch batch = SignInEventBatch.from(page());
+
+        TeamEvent first = batch.toTeamEvent(0);
+        TeamEvent withoutActor = batch.toTeamEvent(2);
+
+        assertNull(first.getDetails(), "Details should be dropped");
+        assertNull(first.getActor().getUser().getDisplayName(), "Display name should be dropped");
+        assertNull(first.getActor().getUser().getAccountId(), "Account ID should be dropped");
+        assertNull(first.getContext(), "Context should be dropped");
+        assertEquals("2024-01-01T12:00:00.123Z", first.getTimestamp(), "Timestamp should be kept to the millisecond");
+
+        assertNull(withoutActor.getTimestamp(), "Missing timestamp should stay missing");
+        assertEquals(Long.MIN_VALUE, batch.getTimestamp(2), "Missing timestamp should be stored as MIN_VALUE");
+        assertNull(withoutActor.getActor(), "Missing actor should stay missing");
+        assertNull(withoutActor.getOrigin(), "Missing origin should stay missing");
+    }
+
+    @Test
+    void testRepeatedValuesShareCodes() throws Exception {
+        SignInEventBatch batch = SignInEventBatch.from(page());
+        StringDictionary dictionary = batch.getDictionary();
+
+        assertEquals(batch.getCategoryCode(0), batch.getCategoryCode(2), "Same category should share a code");
+        assertEquals(batch.getCountryCode(0), batch.getCountryCode(1), "Same country should share a code");
+        assertEquals(StringDictionary.NULL_CODE, batch.getUserCode(2), "Missing user should use the null code");
+        assertEquals("login_success", dictionary.decode(batch.getTypeCode(1)), "Codes should decode to their value");
+        assertEquals(dictionary.codeOf("FR"), batch.getCountryCode(0), "codeOf should find encoded values");
+        assertEquals(StringDictionary.NULL_CODE, dictionary.codeOf("DE"), "codeOf should not assign codes");
+        // logins, login_success, logout, two users, two emails, FR, region, city, IP
+        assertEquals(11, dictionary.size(), "Each distinct value should be held once");
+    }
+
+    @Test
+    void testSharedDictionaryKeepsCodesComparable() throws Exception {
+        StringDictionary dictionary = new StringDictionary();
+        SignInEventBatch first = new SignInEventBatch(0, dictionary);
+        SignInEventBatch second = new SignInEventBatch(0, dictionary);
+
+        first.addAll(page().getEvents());
+        second.addAll(page().getEvents().subList(1, 3));
+
+        assertEquals(first.getUserCode(1), second.getUserCode(0), "Batches on one dictionary should agree on codes");
+        assertEquals(11, dictionary.size(), "Second batch should not add known values");
+    }
+
+    @Test
+    void testBatchGrowsAndTrims() throws Exception {
+        TeamEvent event = page().getEvents().get(0);
+        SignInEventBatch batch = new SignInEventBatch(0);
+
+        for (int i = 0; i < 100; i++) {
+            batch.add(event);
+        }
+        batch.trimToSize();
+
+        assertEquals(100, batch.size(), "Batch should grow past its initial capacity");
+        assertEquals("dbmid:1", batch.toTeamEvent(99).getActor().getUser().getTeamMemberId(),
+                "Rows should survive growing and trimming");
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.toTeamEvent(100), "Rows past the end should be rejected");
+    }
+
+    @Test
+    void testDictionaryRejectsUnknownCodes() {
+        StringDictionary dictionary = new StringDictionary();
+
+        assertEquals(0, dictionary.encode("a"), "Codes should start at 0");
+        assertEquals(1, dictionary.encode("b"), "Codes should follow first-seen order");
+        assertEquals(0, dictionary.encode("a"), "Known values should keep their code");
+        assertEquals(StringDictionary.NULL_CODE, dictionary.encode(null), "Null should use the null code");
+        assertNull(dictionary.decode(StringDictionary.NULL_CODE), "Null code should decode to null");
+        assertThrows(IllegalArgumentException.class, () -> dictionary.decode(2), "Unknown codes should be rejected");
+    }
+
+    private static TeamEventsResponse page() throws Exception {
+        return DropboxCodecs.reader(TeamEventsResponse.class).readValue(PAGE_JSON);
+    }
+}
@@ -0,0 +1,84 @@
+package com.cloudeagle.dropbox.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingTopKTest {
+
+    @Test
+    void testFrequentValuesAreGuaranteed() {
+        int capacity = 20;
+        SpaceSavingTopK sketch = new SpaceSavingTopK(capacity);
+        Map<String, Long> exact = skewedStream(sketch, 100_000, 42);
+
+        Set<String> monitored = sketch.top(capacity).stream()
+                .map(SpaceSavingTopK.Entry::getValue)
+                .collect(Collectors.toSet());
+        long threshold = sketch.getTotal() / capacity;
+        List<String> frequent = exact.entrySet().stream()
+                .filter(entry -> entry.getValue() > threshold)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+
+        assertFalse(frequent.isEmpty(), "Stream should have values above total / capacity");
+        for (String value : frequent) {
+            assertTrue(monitored.contains(value), value + " occurs more than total / capacity and should be monitored");
+        }
+    }
+
+    @Test
+    void testCountsBoundTrueCount() {
+        SpaceSavingTopK sketch = new SpaceSavingTopK(50);
+        Map<String, Long> exact = skewedStream(sketch, 50_000, 7);
+
+        for (SpaceSavingTopK.Entry entry : sketch.top(50)) {
+            long trueCount = exact.getOrDefault(entry.getValue(), 0L);
+            assertTrue(entry.getCount() >= trueCount, entry + " should never undercount " + trueCount);
+            assertTrue(entry.getCount() - entry.getError() <= trueCount, entry + " should bound " + trueCount + " from below");
+        }
+    }
+
+    @Test
+    void testExactWhileUnderCapacity() {
+        SpaceSavingTopK sketch = new SpaceSavingTopK(10);
+        for (int i = 0; i < 5; i++) {
+            for (int repeat = 0; repeat <= i; repeat++) {
+                sketch.add("user" + i + "@example.com");
+            }
+        }
+        sketch.add(null);
+
+        List<SpaceSavingTopK.Entry> top = sketch.top(3);
+
+        assertEquals(List.of("user4@example.com", "user3@example.com", "user2@example.com"),
+                top.stream().map(SpaceSavingTopK.Entry::getValue).collect(Collectors.toList()),
+                "Top values should come highest first");
+        assertEquals(5, top.get(0).getCount(), "Counts should be exact before any eviction");
+        assertEquals(0, top.get(0).getError(), "Error should be zero before any eviction");
+        assertEquals(15, sketch.getTotal(), "Null should not be counted");
+        assertThrows(IllegalArgumentException.class, () -> new SpaceSavingTopK(0), "Capacity below 1 should be rejected");
+    }
+
+    /**
+     * Feeds a Zipf-like stream over 1000 values into the sketch and returns the exact counts
+     */
+    private static Map<String, Long> skewedStream(SpaceSavingTopK sketch, int length, long seed) {
+        Random random = new Random(seed);
+        Map<String, Long> exact = new HashMap<>();
+        for (int i = 0; i < length; i++) {
+            int rank = (int) Math.floor(Math.pow(1000, random.nextDouble()));
+            String value = "user" + rank + "@example.com";
+            sketch.add(value);
+            exact.merge(value, 1L, Long::sum);
+        }
+        return exact;
+    }
+}
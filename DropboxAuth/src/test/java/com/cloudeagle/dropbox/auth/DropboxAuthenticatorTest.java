@@ -0,0 +1,452 @@
+package com.cloudeagle.dropbox.auth;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.cloudeagle.dropbox.http.RetryPolicy;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class DropboxAuthenticatorTest {
+
+    private MockWebServer mockWebServer;
+    private DropboxAuthenticator authenticator;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        authenticator = new DropboxAuthenticator(
+            "test_client_id",
+            "test_client_secret",
+            "http://localhost:8080/callback"
+        );
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void testGetAuthorizationUrl() {
+        String authUrl = authenticator.getAuthorizationUrl();
+
+        assertNotNull(authUrl, "Authorization URL should not be null");
+        assertTrue(authUrl.contains("client_id=test_client_id"), "Should contain client ID");
+        assertTrue(authUrl.contains("response_type=code"), "Should contain response type");
+        assertTrue(authUrl.contains("redirect_uri=http://localhost:8080/callback"), "Should contain redirect URI");
+        assertTrue(authUrl.contains("scope="), "Should contain scope parameter");
+        assertTrue(authUrl.contains("token_access_type=offline"), "Should contain offline access type");
+    }
+
+    @Test
+    void testConstructorWithNullClientId() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new DropboxAuthenticator(null, "secret", "http://localhost:8080/callback");
+        }, "Should throw exception for null client ID");
+    }
+
+    @Test
+    void testConstructorWithEmptyClientId() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new DropboxAuthenticator("", "secret", "http://localhost:8080/callback");
+        }, "Should throw exception for empty client ID");
+    }
+
+    @Test
+    void testConstructorWithNullClientSecret() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new DropboxAuthenticator("client_id", null, "http://localhost:8080/callback");
+        }, "Should throw exception for null client secret");
+    }
+
+    @Test
+    void testConstructorWithEmptyClientSecret() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new DropboxAuthenticator("client_id", "", "http://localhost:8080/callback");
+        }, "Should throw exception for empty client secret");
+    }
+
+    @Test
+    void testConstructorWithNullRedirectUri() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new DropboxAuthenticator("client_id", "secret", null);
+        }, "Should throw exception for null redirect URI");
+    }
+
+    @Test
+    void testConstructorWithEmptyRedirectUri() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new DropboxAuthenticator("client_id", "secret", "");
+        }, "Should throw exception for empty redirect URI");
+    }
+
+    @Test
+    void testExchangeCodeForTokenWithNullCode() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            authenticator.exchangeCodeForToken(null);
+        }, "Should throw exception for null authorization code");
+    }
+
+    @Test
+    void testExchangeCodeForTokenWithEmptyCode() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            authenticator.exchangeCodeForToken("");
+        }, "Should throw exception for empty authorization code");
+    }
+
+    @Test
+    void testGetValidAccessTokenWithoutAuthentication() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+            authenticator.getValidAccessToken();
+        }, "Should throw exception when not authenticated");
+        
+        assertTrue(exception.getMessage().contains("authenticated") || 
+                  exception.getMessage().contains("access token"), 
+                  "Exception message should mention authentication or access token");
+    }
+
+    @Test
+    void testExchangeCodeForTokenSuccessful() throws Exception {
+        // Mock successful token response
+        String tokenResponse = """
+            {
+                "access_token": "test_access_token",
+                "refresh_token": "test_refresh_token",
+                "expires_in": 14400,
+                "token_type": "Bearer",
+                "scope": "team_info.read members.read events.read"
+            }
+            """;
+
+        mockWebServer.enqueue(new MockResponse()
+            .setBody(tokenResponse)
+            .addHeader("Content-Type", "application/json"));
+
+        DropboxAuthenticator testAuthenticator = mockServerAuthenticator();
+        try {
+            testAuthenticator.exchangeCodeForToken("test_auth_code");
+
+            assertTrue(testAuthenticator.isAuthenticated(), "Should be authenticated after the exchange");
+            assertEquals("test_access_token", testAuthenticator.getValidAccessToken(), "Should use the issued token");
+
+            RecordedRequest request = mockWebServer.takeRequest();
+            assertEquals("/oauth2/token", request.getPath(), "Should post to the configured token URL");
+            String form = request.getBody().readUtf8();
+            assertTrue(form.contains("grant_type=authorization_code"), "Should send the authorization code grant");
+            assertTrue(form.contains("code=test_auth_code"), "Should send the authorization code");
+        } finally {
+            testAuthenticator.close();
+        }
+    }
+
+    @Test
+    void testExchangeCodeForTokenWithServerError() throws IOException {
+        // Mock server error response
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(500)
+            .setBody("Internal Server Error"));
+
+        DropboxAuthenticator testAuthenticator = mockServerAuthenticator();
+        try {
+            IOException exception = assertThrows(IOException.class, () -> {
+                testAuthenticator.exchangeCodeForToken("test_auth_code");
+            }, "Should throw exception for server error");
+            assertTrue(exception.getMessage().contains("Internal Server Error"), "Should include the error body");
+            assertFalse(testAuthenticator.isAuthenticated(), "Failed exchange should not authenticate");
+        } finally {
+            testAuthenticator.close();
+        }
+    }
+
+    @Test
+    void testExchangeCodeForTokenWithInvalidResponse() throws IOException {
+        // Mock invalid JSON response
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("invalid json")
+            .addHeader("Content-Type", "application/json"));
+
+        DropboxAuthenticator testAuthenticator = mockServerAuthenticator();
+        try {
+            assertThrows(IOException.class, () -> {
+                testAuthenticator.exchangeCodeForToken("test_auth_code");
+            }, "Should throw exception for invalid JSON");
+            assertFalse(testAuthenticator.isAuthenticated(), "Failed exchange should not authenticate");
+        } finally {
+            testAuthenticator.close();
+        }
+    }
+
+    @Test
+    void testShortLivedTokenIsNotExpiredOnArrival() throws IOException {
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("{\"access_token\": \"short_token\", \"refresh_token\": \"rt\", \"expires_in\": 60}")
+            .addHeader("Content-Type", "application/json"));
+
+        DropboxAuthenticator testAuthenticator = mockServerAuthenticator();
+        try {
+            testAuthenticator.exchangeCodeForToken("test_auth_code");
+
+            assertEquals("short_token", testAuthenticator.getValidAccessToken(),
+                "Token shorter-lived than the expiry buffer should still be usable");
+            assertEquals(1, mockWebServer.getRequestCount(), "Should not refresh a freshly issued token");
+        } finally {
+            testAuthenticator.close();
+        }
+    }
+
+    @Test
+    void testExchangeCodeForTokenIsNotRetried() throws IOException {
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(503)
+            .setBody("Service Unavailable"));
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("{\"access_token\": \"test_access_token\", \"expires_in\": 14400}")
+            .addHeader("Content-Type", "application/json"));
+
+        DropboxAuthenticator testAuthenticator = DropboxAuthenticator.builder(
+                "test_client_id", "test_client_secret", "http://localhost:8080/callback")
+            .tokenUrl(mockWebServer.url("/oauth2/token").toString())
+            .retryPolicy(RetryPolicy.builder().baseDelay(Duration.ofMillis(1)).maxDelay(Duration.ofMillis(5)).build())
+            .build();
+        try {
+            // Authorization codes are single-use, so a replay could never succeed
+            assertThrows(IOException.class, () -> {
+                testAuthenticator.exchangeCodeForToken("test_auth_code");
+            }, "Code exchange failure should surface without a retry");
+            assertEquals(1, mockWebServer.getRequestCount(), "Code exchange should be sent once");
+        } finally {
+            testAuthenticator.close();
+        }
+    }
+
+    @Test
+    void testConcurrentCallersShareOneRefresh() throws Exception {
+        mockWebServer.enqueue(refreshResponse("refreshed_token", 14400).setBodyDelay(200, TimeUnit.MILLISECONDS));
+        // A second refresh would take this response instead of hanging the test
+        mockWebServer.enqueue(refreshResponse("second_token", 14400));
+
+        InMemoryTokenStore store = new InMemoryTokenStore();
+        store.save("team", new StoredToken("expired_token", "test_refresh_token", Instant.now().minusSeconds(60)));
+        DropboxAuthenticator testAuthenticator = storeBackedAuthenticator(store).build();
+
+        int callers = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<String>> tokens = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                tokens.add(executor.submit(() -> {
+                    start.await();
+                    return testAuthenticator.getValidAccessToken();
+                }));
+            }
+            start.countDown();
+
+            for (Future<String> token : tokens) {
+                assertEquals("refreshed_token", token.get(5, TimeUnit.SECONDS), "Every caller should get the refreshed token");
+            }
+            assertEquals(1, mockWebServer.getRequestCount(), "Concurrent callers should share one refresh");
+            assertTrue(mockWebServer.takeRequest().getBody().readUtf8().contains("grant_type=refresh_token"),
+                "Should send a refresh token grant");
+        } finally {
+            executor.shutdownNow();
+            testAuthenticator.close();
+        }
+    }
+
+    @Test
+    void testProactiveRefreshRunsInBackground() throws Exception {
+        mockWebServer.enqueue(refreshResponse("background_token", 14400));
+
+        // Expires within the lead time, so the background refresh is due at half the remaining lifetime
+        InMemoryTokenStore store = new InMemoryTokenStore();
+        store.save("team", new StoredToken("current_token", "test_refresh_token", Instant.now().plusSeconds(4)));
+        DropboxAuthenticator testAuthenticator = storeBackedAuthenticator(store)
+            .proactiveRefresh(Duration.ofMinutes(10))
+            .build();
+        try {
+            assertNotNull(mockWebServer.takeRequest(5, TimeUnit.SECONDS), "Background refresh should hit the token endpoint");
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!"background_token".equals(store.load("team").getAccessToken()) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals("background_token", testAuthenticator.getValidAccessToken(), "Callers should see the refreshed token");
+            assertEquals(1, mockWebServer.getRequestCount(), "Callers should not wait on a second refresh");
+        } finally {
+            testAuthenticator.close();
+        }
+    }
+
+    @Test
+    void testLeadTimeLongerThanLifetimeDoesNotLoop() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            mockWebServer.enqueue(refreshResponse("short_token_" + i, 8));
+        }
+
+        InMemoryTokenStore store = new InMemoryTokenStore();
+        store.save("team", new StoredToken("current_token", "test_refresh_token", Instant.now().plusSeconds(1)));
+        DropboxAuthenticator testAuthenticator = storeBackedAuthenticator(store)
+            .proactiveRefresh(Duration.ofHours(1))
+            .build();
+        try {
+            assertNotNull(mockWebServer.takeRequest(5, TimeUnit.SECONDS), "Expiring token should be refreshed in the background");
+            Thread.sleep(1000);
+
+            assertEquals(1, mockWebServer.getRequestCount(),
+                "A lead time beyond the token lifetime should not refresh again right away");
+        } finally {
+            testAuthenticator.close();
+        }
+    }
+
+    @Test
+    void testRefreshWithoutExpiresInStillExpires() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("{\"access_token\": \"refreshed_token\", \"token_type\": \"bearer\"}")
+            .addHeader("Content-Type", "application/json"));
+
+        InMemoryTokenStore store = new InMemoryTokenStore();
+        store.save("team", new StoredToken("expired_token", "test_refresh_token", Instant.now().minusSeconds(60)));
+        DropboxAuthenticator testAuthenticator = storeBackedAuthenticator(store).build();
+        try {
+            assertEquals("refreshed_token", testAuthenticator.getValidAccessToken(), "Expired token should be refreshed");
+
+            Instant expiry = store.load("team").getExpiry();
+            assertNotNull(expiry, "Refreshed token without expires_in should still get an expiry");
+            assertTrue(expiry.isAfter(Instant.now()), "Assumed expiry should be in the future");
+            assertTrue(expiry.isBefore(Instant.now().plus(Duration.ofHours(4))),
+                "Assumed lifetime should not exceed the real token lifetime");
+        } finally {
+            testAuthenticator.close();
+        }
+    }
+
+    @Test
+    void testStoredTokenIsLoadedAtBuild() throws Exception {
+        InMemoryTokenStore store = new InMemoryTokenStore();
+        store.save("team", new StoredToken("stored_token", "test_refresh_token", Instant.now().plusSeconds(3600)));
+
+        DropboxAuthenticator testAuthenticator = storeBackedAuthenticator(store).build();
+        try {
+            assertTrue(testAuthenticator.isAuthenticated(), "Stored token should authenticate without a code exchange");
+            assertEquals("stored_token", testAuthenticator.getValidAccessToken(), "Should use the stored token");
+            assertEquals(0, mockWebServer.getRequestCount(), "Unexpired stored token should not be refreshed");
+        } finally {
+            testAuthenticator.close();
+        }
+    }
+
+    @Test
+    void testTokensAreWrittenBack() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("{\"access_token\": \"exchanged_token\", \"refresh_token\": \"test_refresh_token\", \"expires_in\": 60}")
+            .addHeader("Content-Type", "application/json"));
+        mockWebServer.enqueue(refreshResponse("refreshed_token", 14400));
+
+        InMemoryTokenStore store = new InMemoryTokenStore();
+        DropboxAuthenticator testAuthenticator = storeBackedAuthenticator(store).build();
+        try {
+            assertFalse(testAuthenticator.isAuthenticated(), "Empty store should leave the authenticator unauthenticated");
+
+            testAuthenticator.exchangeCodeForToken("test_auth_code");
+            assertEquals("exchanged_token", store.load("team").getAccessToken(), "Code exchange should be written back");
+
+            testAuthenticator.refreshAccessToken();
+            StoredToken refreshed = store.load("team");
+            assertEquals("refreshed_token", refreshed.getAccessToken(), "Refresh should be written back");
+            assertEquals("test_refresh_token", refreshed.getRefreshToken(),
+                "Refresh token should be kept when the response has none");
+            assertTrue(refreshed.getExpiry().isAfter(Instant.now().plus(Duration.ofHours(3))),
+                "Stored expiry should follow the refreshed token");
+        } finally {
+            testAuthenticator.close();
+        }
+    }
+
+    @Test
+    void testFailingStoreDoesNotFailAuthenticator() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("{\"access_token\": \"exchanged_token\", \"expires_in\": 14400}")
+            .addHeader("Content-Type", "application/json"));
+
+        TokenStore failing = new InMemoryTokenStore() {
+            @Override
+            public StoredToken load(String key) {
+                throw new IllegalStateException("store unavailable");
+            }
+
+            @Override
+            public void save(String key, StoredToken token) {
+                throw new IllegalStateException("store unavailable");
+            }
+        };
+        DropboxAuthenticator testAuthenticator = storeBackedAuthenticator(failing).build();
+        try {
+            assertFalse(testAuthenticator.isAuthenticated(), "Unreadable store should leave the authenticator unauthenticated");
+
+            testAuthenticator.exchangeCodeForToken("test_auth_code");
+
+            assertEquals("exchanged_token", testAuthenticator.getValidAccessToken(),
+                "Tokens should be usable even when they cannot be stored");
+        } finally {
+            testAuthenticator.close();
+        }
+    }
+
+    private DropboxAuthenticator mockServerAuthenticator() {
+        return DropboxAuthenticator.builder("test_client_id", "test_client_secret", "http://localhost:8080/callback")
+            .tokenUrl(mockWebServer.url("/oauth2/token").toString())
+            .build();
+    }
+
+    private DropboxAuthenticator.Builder storeBackedAuthenticator(TokenStore store) {
+        return DropboxAuthenticator.builder("test_client_id", "test_client_secret", "http://localhost:8080/callback")
+            .tokenUrl(mockWebServer.url("/oauth2/token").toString())
+            .tokenStore(store, "team");
+    }
+
+    private static MockResponse refreshResponse(String accessToken, long expiresIn) {
+        return new MockResponse()
+            .setBody("{\"access_token\": \"" + accessToken + "\", \"expires_in\": " + expiresIn + "}")
+            .addHeader("Content-Type", "application/json");
+    }
+
+    private static class InMemoryTokenStore implements TokenStore {
+        private final Map<String, StoredToken> tokens = new ConcurrentHashMap<>();
+
+        @Override
+        public StoredToken load(String key) {
+            return tokens.get(key);
+        }
+
+        @Override
+        public void save(String key, StoredToken token) {
+            tokens.put(key, token);
+        }
+
+        @Override
+        public void delete(String key) {
+            tokens.remove(key);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.cloudeagle.dropbox.auth;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class EncryptedFileTokenStoreTest {
+
+    private static final Instant EXPIRY = Instant.parse("2024-01-01T04:00:00.123Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRoundTrip() throws IOException {
+        EncryptedFileTokenStore store = new EncryptedFileTokenStore(directory, EncryptedFileTokenStore.generateKey());
+
+        store.save("team", new StoredToken("access", "refresh", EXPIRY));
+        store.save("short_lived", new StoredToken("access_only", null, null));
+        StoredToken loaded = store.load("team");
+        StoredToken shortLived = store.load("short_lived");
+
+        assertEquals("access", loaded.getAccessToken(), "Access token should round-trip");
+        assertEquals("refresh", loaded.getRefreshToken(), "Refresh token should round-trip");
+        assertEquals(EXPIRY, loaded.getExpiry(), "Expiry should round-trip to the millisecond");
+        assertNull(shortLived.getRefreshToken(), "Missing refresh token should stay missing");
+        assertNull(shortLived.getExpiry(), "Missing expiry should stay missing");
+        assertNull(store.load("unknown"), "Unknown key should load as null");
+
+        store.delete("team");
+        assertNull(store.load("team"), "Deleted key should load as null");
+        store.delete("team");
+    }
+
+    @Test
+    void testTokensAreNotStoredInPlaintext() throws IOException {
+        EncryptedFileTokenStore store = new EncryptedFileTokenStore(directory, EncryptedFileTokenStore.generateKey());
+
+        store.save("team", new StoredToken("secret_access_token", "secret_refresh_token", EXPIRY));
+        store.save("team", new StoredToken("secret_access_token", "secret_refresh_token", EXPIRY));
+
+        List<Path> files = files();
+        assertEquals(1, files.size(), "Saving again should replace the file, not add one");
+        assertFalse(files.get(0).getFileName().toString().contains("team"), "Key should not appear in the file name");
+        String contents = new String(Files.readAllBytes(files.get(0)), StandardCharsets.ISO_8859_1);
+        assertFalse(contents.contains("secret_access_token"), "Access token should be encrypted");
+        assertFalse(contents.contains("secret_refresh_token"), "Refresh token should be encrypted");
+    }
+
+    @Test
+    void testFileIsBoundToItsKey() throws IOException {
+        EncryptedFileTokenStore store = new EncryptedFileTokenStore(directory, EncryptedFileTokenStore.generateKey());
+        store.save("team_a", new StoredToken("token_a", "refresh_a", EXPIRY));
+        Path fileA = files().get(0);
+        store.save("team_b", new StoredToken("token_b", "refresh_b", EXPIRY));
+        Path fileB = files().stream().filter(file -> !file.equals(fileA)).findFirst().orElseThrow();
+
+        Files.copy(fileA, fileB, StandardCopyOption.REPLACE_EXISTING);
+
+        assertThrows(IOException.class, () -> store.load("team_b"), "File copied to another key's name should not decrypt");
+        assertEquals("token_a", store.load("team_a").getAccessToken(), "Original file should still load");
+    }
+
+    @Test
+    void testWrongKeyOrCorruptFileIsRejected() throws IOException {
+        new EncryptedFileTokenStore(directory, EncryptedFileTokenStore.generateKey())
+                .save("team", new StoredToken("access", "refresh", EXPIRY));
+        EncryptedFileTokenStore otherKey = new EncryptedFileTokenStore(directory, EncryptedFileTokenStore.generateKey());
+
+        assertThrows(IOException.class, () -> otherKey.load("team"), "File should not decrypt under another key");
+
+        Path file = files().get(0);
+        byte[] contents = Files.readAllBytes(file);
+        contents[contents.length - 1] ^= 1;
+        Files.write(file, contents);
+        assertThrows(IOException.class, () -> otherKey.load("team"), "Tampered file should be rejected");
+
+        Files.write(file, new byte[] {9, 9, 9});
+        assertThrows(IOException.class, () -> otherKey.load("team"), "Unknown format should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> new EncryptedFileTokenStore(directory, new byte[10]),
+                "Key of the wrong length should be rejected");
+    }
+
+    @Test
+    void testFilesAreOwnerOnly() throws IOException {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"), "Needs a POSIX file system");
+        EncryptedFileTokenStore store = new EncryptedFileTokenStore(directory, EncryptedFileTokenStore.generateKey());
+
+        store.save("team", new StoredToken("access", "refresh", EXPIRY));
+
+        assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(files().get(0)),
+                "Token file should be readable only by the owner");
+    }
+
+    private List<Path> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+}
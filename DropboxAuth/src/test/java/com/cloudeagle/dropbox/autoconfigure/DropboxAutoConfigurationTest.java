@@ -0,0 +1,121 @@
+package com.cloudeagle.dropbox.autoconfigure;
+
+import com.cloudeagle.dropbox.auth.DropboxAuthenticator;
+import com.cloudeagle.dropbox.auth.EncryptedFileTokenStore;
+import com.cloudeagle.dropbox.auth.StoredToken;
+import com.cloudeagle.dropbox.auth.TokenStore;
+import com.cloudeagle.dropbox.cache.TtlCache;
+import com.cloudeagle.dropbox.client.DropboxBusinessApiClient;
+import com.cloudeagle.dropbox.http.DropboxHttpTransport;
+import com.cloudeagle.dropbox.metrics.DropboxClientListener;
+import com.cloudeagle.dropbox.metrics.MicrometerClientListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DropboxAutoConfigurationTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DropboxAutoConfiguration.class));
+
+    private final ApplicationContextRunner withCredentials = runner.withPropertyValues(
+            "dropbox.client.id=test_client_id",
+            "dropbox.client.secret=test_client_secret",
+            "dropbox.redirect.uri=http://localhost:8080/callback");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testClientNeedsCredentials() {
+        runner.run(context -> {
+            assertNull(context.getStartupFailure(), "Context should start without credentials");
+            assertEquals(1, context.getBeansOfType(DropboxHttpTransport.class).size(), "Transport should always be created");
+            assertTrue(context.getBeansOfType(DropboxAuthenticator.class).isEmpty(),
+                    "Authenticator should wait for credentials");
+            assertTrue(context.getBeansOfType(DropboxBusinessApiClient.class).isEmpty(),
+                    "Client should wait for an authenticator");
+            assertTrue(context.getBeansOfType(TokenStore.class).isEmpty(), "Token store should be opt-in");
+            assertFalse(context.containsBean("dropboxTeamInfoCache"), "Team info cache should be opt-in");
+        });
+
+        runner.withPropertyValues("dropbox.client.id=test_client_id").run(context ->
+                assertTrue(context.getBeansOfType(DropboxAuthenticator.class).isEmpty(),
+                        "Authenticator should need the secret as well as the ID"));
+    }
+
+    @Test
+    void testCredentialsCreateClient() {
+        withCredentials.withPropertyValues("dropbox.team-info-cache.ttl=10m").run(context -> {
+            assertNull(context.getStartupFailure(), "Context should start with credentials");
+            DropboxAuthenticator authenticator = context.getBean(DropboxAuthenticator.class);
+            assertTrue(authenticator.getAuthorizationUrl().contains("client_id=test_client_id"),
+                    "Authenticator should use the configured app key");
+            assertEquals(1, context.getBeansOfType(DropboxBusinessApiClient.class).size(), "Client should be created");
+            assertInstanceOf(TtlCache.class, context.getBean("dropboxTeamInfoCache"), "TTL should enable the cache");
+        });
+    }
+
+    @Test
+    void testApplicationBeansTakePrecedence() {
+        DropboxHttpTransport transport = DropboxHttpTransport.builder().build();
+        DropboxAuthenticator authenticator = new DropboxAuthenticator(
+                "own_client_id", "own_client_secret", "http://localhost:8080/callback");
+        try {
+            runner.withBean(DropboxHttpTransport.class, () -> transport)
+                    .withBean(DropboxAuthenticator.class, () -> authenticator)
+                    .run(context -> {
+                        assertSame(transport, context.getBean(DropboxHttpTransport.class),
+                                "Application transport should replace the default");
+                        assertSame(authenticator, context.getBean(DropboxAuthenticator.class),
+                                "Application authenticator should be used without credentials");
+                        assertEquals(1, context.getBeansOfType(DropboxBusinessApiClient.class).size(),
+                                "Client should be built on the application's authenticator");
+                    });
+        } finally {
+            authenticator.close();
+            transport.close();
+        }
+    }
+
+    @Test
+    void testTokenStoreIsLoadedAtStartup() throws Exception {
+        byte[] key = EncryptedFileTokenStore.generateKey();
+        new EncryptedFileTokenStore(directory, key).save("team",
+                new StoredToken("stored_token", "refresh_token", Instant.now().plusSeconds(3600)));
+
+        withCredentials.withPropertyValues(
+                        "dropbox.token-store.directory=" + directory,
+                        "dropbox.token-store.key=" + Base64.getEncoder().encodeToString(key),
+                        "dropbox.token-store.name=team")
+                .run(context -> {
+                    assertInstanceOf(EncryptedFileTokenStore.class, context.getBean(TokenStore.class),
+                            "Directory should enable the encrypted store");
+                    assertEquals("stored_token", context.getBean(DropboxAuthenticator.class).getValidAccessToken(),
+                            "Authenticator should resume with the stored token");
+                });
+
+        runner.withPropertyValues("dropbox.token-store.directory=" + directory).run(context ->
+                assertNotNull(context.getStartupFailure(), "Store without a key should fail startup"));
+    }
+
+    @Test
+    void testMeterRegistryEnablesMetrics() {
+        withCredentials.run(context ->
+                assertTrue(context.getBeansOfType(DropboxClientListener.class).isEmpty(),
+                        "Metrics should need a meter registry"));
+
+        withCredentials.withBean(MeterRegistry.class, SimpleMeterRegistry::new).run(context ->
+                assertInstanceOf(MicrometerClientListener.class, context.getBean(DropboxClientListener.class),
+                        "Meter registry should enable the Micrometer listener"));
+    }
+}
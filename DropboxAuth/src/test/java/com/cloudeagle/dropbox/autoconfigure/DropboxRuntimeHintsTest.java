@@ -0,0 +1,45 @@
+package com.cloudeagle.dropbox.autoconfigure;
+
+import com.cloudeagle.dropbox.model.LoginSuccessDetails;
+import com.cloudeagle.dropbox.model.TeamEvent;
+import com.cloudeagle.dropbox.model.TeamEventsResponse;
+import com.cloudeagle.dropbox.model.TeamMember;
+import com.cloudeagle.dropbox.model.UserInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DropboxRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void setUp() {
+        new DropboxRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void testModelsAreRegistered() {
+        for (Class<?> type : new Class<?>[] {TeamEvent.class, TeamEventsResponse.class, TeamMember.class,
+                UserInfo.class, LoginSuccessDetails.class}) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type).test(hints), type + " should be registered");
+        }
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(UserInfo.class, "getEmail").invoke().test(hints),
+                "Getters should be invocable");
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(TeamEvent.class, "getDetailsForJson").invoke().test(hints),
+                "Private @JsonProperty getters should be invocable");
+    }
+
+    @Test
+    void testPrivateTokenPayloadsAreRegistered() {
+        for (String typeName : new String[] {"com.cloudeagle.dropbox.auth.DropboxAuthenticator$TokenResponse",
+                "com.cloudeagle.dropbox.auth.EncryptedFileTokenStore$TokenFile"}) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(typeName)).test(hints),
+                    typeName + " should be registered");
+        }
+    }
+}
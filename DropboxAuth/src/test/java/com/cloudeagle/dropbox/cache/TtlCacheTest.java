@@ -0,0 +1,76 @@
+package com.cloudeagle.dropbox.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TtlCacheTest {
+
+    @Test
+    void testCancellingOneWaiterDoesNotCancelOthers() throws Exception {
+        TtlCache<String, String> cache = new TtlCache<>(Duration.ofMinutes(1), Duration.ZERO);
+        CompletableFuture<String> source = new CompletableFuture<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<String> first = cache.getAsync("team", () -> {
+            loads.incrementAndGet();
+            return source;
+        });
+        CompletableFuture<String> second = cache.getAsync("team", () -> {
+            loads.incrementAndGet();
+            return source;
+        });
+
+        assertTrue(first.cancel(true), "First waiter should be cancellable");
+        CompletableFuture<String> third = cache.getAsync("team", CompletableFuture::new);
+        assertFalse(third.isCancelled(), "New callers should not receive a cancelled future");
+
+        source.complete("value");
+
+        assertThrows(CancellationException.class, first::join, "Cancelled waiter should see the cancellation");
+        assertEquals("value", second.get(), "Second waiter should still get the value");
+        assertEquals("value", third.get(), "Later waiter should still get the value");
+        assertEquals(1, loads.get(), "Concurrent callers should share one load");
+        assertEquals("value", cache.getAsync("team", CompletableFuture::new).get(), "Load should fill the cache");
+    }
+
+    @Test
+    void testFailedLoadIsNotCached() {
+        TtlCache<String, String> cache = new TtlCache<>(Duration.ofMinutes(1), Duration.ZERO);
+
+        assertThrows(IOException.class, () -> cache.get("team", () -> {
+            throw new IOException("boom");
+        }), "Load failure should propagate");
+
+        assertDoesNotThrow(() -> assertEquals("value", cache.get("team", () -> "value")),
+                "Failed load should not be cached");
+        assertEquals(1, cache.stats().getLoadFailures(), "Failure should be counted");
+    }
+
+    @Test
+    void testLoaderErrorDoesNotWedgeKey() throws Exception {
+        TtlCache<String, String> cache = new TtlCache<>(Duration.ofMinutes(1), Duration.ZERO);
+
+        assertThrows(StackOverflowError.class, () -> cache.get("team", () -> {
+            throw new StackOverflowError();
+        }), "Loader error should reach the caller as is");
+        CompletableFuture<String> async = cache.getAsync("members", () -> {
+            throw new OutOfMemoryError();
+        });
+        CompletableFuture<String> missing = cache.getAsync("policies", () -> null);
+
+        assertTrue(async.isCompletedExceptionally(), "Async loader error should fail the future");
+        assertTrue(missing.isCompletedExceptionally(), "Loader without a future should fail the future");
+        assertEquals("value", cache.get("team", () -> "value"), "Key should load again after an error");
+        assertEquals("value", cache.getAsync("members", () -> CompletableFuture.completedFuture("value"))
+                .get(5, TimeUnit.SECONDS), "Key should load again after an async error");
+        assertEquals(3, cache.stats().getLoadFailures(), "Each failure should be counted");
+    }
+}
@@ -0,0 +1,563 @@
+package com.cloudeagle.dropbox.client;
+
+import com.cloudeagle.dropbox.auth.DropboxAuthenticator;
+import com.cloudeagle.dropbox.http.DropboxHttpTransport;
+import com.cloudeagle.dropbox.http.HedgingPolicy;
+import com.cloudeagle.dropbox.http.RetryPolicy;
+import com.cloudeagle.dropbox.model.*;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class DropboxBusinessApiClientTest {
+
+    private static final String TEAM_INFO_JSON = """
+        {"name": "Test Corporation", "team_id": "dbtid:test123", "num_licensed_users": 50}
+        """;
+
+    private static final RetryPolicy FAST_RETRIES = RetryPolicy.builder()
+            .maxAttempts(3)
+            .baseDelay(Duration.ofMillis(1))
+            .maxDelay(Duration.ofMillis(5))
+            .build();
+
+    private MockWebServer mockWebServer;
+
+    @Mock
+    private DropboxAuthenticator mockAuthenticator;
+
+    private DropboxBusinessApiClient apiClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        apiClient = new DropboxBusinessApiClient(mockAuthenticator);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (mockWebServer != null) {
+            mockWebServer.shutdown();
+        }
+        if (apiClient != null) {
+            apiClient.close();
+        }
+    }
+
+    @Test
+    void testConstructorWithNullAuthenticator() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new DropboxBusinessApiClient(null);
+        }, "Should throw exception for null authenticator");
+    }
+
+    @Test
+    void testGetTeamMembersWithInvalidLimit() throws IOException {
+        when(mockAuthenticator.getValidAccessToken()).thenReturn("test_token");
+        
+        // Test negative limit
+        assertThrows(IllegalArgumentException.class, () -> {
+            apiClient.getTeamMembers(-1, false);
+        }, "Should throw exception for negative limit");
+        
+        // Test zero limit
+        assertThrows(IllegalArgumentException.class, () -> {
+            apiClient.getTeamMembers(0, false);
+        }, "Should throw exception for zero limit");
+        
+        // Test limit too high
+        assertThrows(IllegalArgumentException.class, () -> {
+            apiClient.getTeamMembers(1001, false);
+        }, "Should throw exception for limit > 1000");
+    }
+
+    @Test
+    void testStreamTeamMembersWithInvalidPageSize() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            apiClient.streamTeamMembers(0, false);
+        }, "Should throw exception for zero page size");
+        
+        assertThrows(IllegalArgumentException.class, () -> {
+            apiClient.streamTeamMembers(1001, false);
+        }, "Should throw exception for page size > 1000");
+    }
+
+    @Test
+    void testGetTeamMembersContinueWithEmptyCursor() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            apiClient.getTeamMembersContinue("");
+        }, "Should throw exception for empty cursor");
+    }
+
+    @Test
+    void testGetTeamEventsWithInvalidLimit() throws IOException {
+        when(mockAuthenticator.getValidAccessToken()).thenReturn("test_token");
+        TimeRange timeRange = new TimeRange("2024-01-01T00:00:00Z", "2024-01-02T00:00:00Z");
+        
+        assertThrows(IllegalArgumentException.class, () -> {
+            apiClient.getTeamEvents(0, "logins", timeRange);
+        }, "Should throw exception for zero limit");
+    }
+
+    @Test
+    void testAsyncCallRetriesRetryableStatus() throws Exception {
+        when(mockAuthenticator.getValidAccessToken()).thenReturn("test_token");
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(429).addHeader("Retry-After", "0"));
+        mockWebServer.enqueue(new MockResponse().setBody(TEAM_INFO_JSON));
+
+        DropboxBusinessApiClient client = DropboxBusinessApiClient.builder(mockAuthenticator)
+                .baseUrl(mockWebServer.url("/2").toString())
+                .retryPolicy(FAST_RETRIES)
+                .build();
+        try {
+            TeamInfo teamInfo = client.getTeamInfoAsync().get(5, TimeUnit.SECONDS);
+
+            assertEquals("Test Corporation", teamInfo.getName(), "Retried call should return the final response");
+            assertEquals(3, mockWebServer.getRequestCount(), "Should send one request per attempt");
+            assertEquals(0, client.getConcurrencyLimiter().getInFlight(), "Every attempt should release its slot");
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    void testAsyncCallStopsAfterMaxAttempts() throws Exception {
+        when(mockAuthenticator.getValidAccessToken()).thenReturn("test_token");
+        for (int i = 0; i < 4; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(500).setBody("Internal Server Error"));
+        }
+
+        DropboxBusinessApiClient client = DropboxBusinessApiClient.builder(mockAuthenticator)
+                .baseUrl(mockWebServer.url("/2").toString())
+                .retryPolicy(FAST_RETRIES)
+                .build();
+        try {
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> client.getTeamInfoAsync().get(5, TimeUnit.SECONDS), "Exhausted retries should fail");
+
+            assertInstanceOf(IOException.class, exception.getCause(), "Failure should be an IOException");
+            assertTrue(exception.getCause().getMessage().contains("500"), "Failure should report the last status");
+            assertEquals(3, mockWebServer.getRequestCount(), "Should stop at the maximum number of attempts");
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    void testHedgedReadCancelsLosingAttempt() throws Exception {
+        when(mockAuthenticator.getValidAccessToken()).thenReturn("test_token");
+        mockWebServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        mockWebServer.enqueue(new MockResponse().setBody(TEAM_INFO_JSON));
+
+        DropboxHttpTransport transport = DropboxHttpTransport.createDefault();
+        HedgingPolicy hedgingPolicy = new HedgingPolicy(0.95, Duration.ofMillis(10), Duration.ofMillis(100), 1, 64);
+        DropboxBusinessApiClient client = DropboxBusinessApiClient.builder(mockAuthenticator)
+                .baseUrl(mockWebServer.url("/2").toString())
+                .transport(transport)
+                .hedging(hedgingPolicy)
+                .build();
+        try {
+            long start = System.nanoTime();
+            TeamInfo teamInfo = client.getTeamInfo();
+
+            assertEquals("Test Corporation", teamInfo.getName(), "Hedge should return the fast response");
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "Hedge should not wait for the stalled attempt");
+            assertEquals(2, mockWebServer.getRequestCount(), "Should send the original and one hedge");
+            assertEquals(Duration.ofMillis(100), hedgingPolicy.hedgeDelay(),
+                    "Latency should be counted from the overtaken first attempt, not the hedge");
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (transport.client().dispatcher().runningCallsCount() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, transport.client().dispatcher().runningCallsCount(), "Losing attempt should be cancelled");
+            assertEquals(0, client.getConcurrencyLimiter().getInFlight(), "Losing attempt should release its slot");
+        } finally {
+            client.close();
+            transport.close();
+        }
+    }
+
+    @Test
+    void testGetTeamInfoSuccess() throws Exception {
+        // Mock successful team info response
+        String teamInfoResponse = """
+            {
+                "name": "Test Corporation",
+                "team_id": "dbtid:test123",
+                "num_licensed_users": 50,
+                "num_provisioned_users": 45,
+                "policies": {
+                    "sharing": {
+                        "shared_folder_member_policy": "team",
+                        "shared_folder_join_policy": "from_anyone",
+                        "shared_link_create_policy": "team_only"
+                    },
+                    "emm_state": "disabled",
+                    "office_addin": "disabled"
+                }
+            }
+            """;
+
+        mockWebServer.enqueue(new MockResponse()
+            .setBody(teamInfoResponse)
+            .addHeader("Content-Type", "application/json"));
+
+        when(mockAuthenticator.getValidAccessToken()).thenReturn("test_access_token");
+
+        DropboxBusinessApiClient testClient = mockServerClient();
+        try {
+            TeamInfo teamInfo = testClient.getTeamInfo();
+            assertEquals("Test Corporation", teamInfo.getName(), "Should parse team name");
+            assertEquals("dbtid:test123", teamInfo.getTeamId(), "Should parse team ID");
+            assertEquals(50, teamInfo.getNumLicensedUsers().intValue(), "Should parse licensed users");
+            assertEquals(45, teamInfo.getNumProvisionedUsers().intValue(), "Should parse provisioned users");
+
+            RecordedRequest request = mockWebServer.takeRequest();
+            assertEquals("/2/team/get_info", request.getPath(), "Should post to the configured base URL");
+            assertEquals("Bearer test_access_token", request.getHeader("Authorization"), "Should send the access token");
+        } finally {
+            testClient.close();
+        }
+    }
+
+    @Test
+    void testGetTeamMembersSuccess() throws IOException {
+        String membersResponse = """
+            {
+                "members": [
+                    {
+                        "profile": {
+                            "team_member_id": "dbmid:member1",
+                            "email": "user1@test.com",
+                            "email_verified": true,
+                            "status": "active",
+                            "name": {
+                                "given_name": "John",
+                                "surname": "Doe",
+                                "display_name": "John Doe"
+                            },
+                            "membership_type": "full",
+                            "joined_on": "2024-01-01T00:00:00Z"
+                        }
+                    }
+                ],
+                "has_more": false,
+                "cursor": "test_cursor"
+            }
+            """;
+
+        mockWebServer.enqueue(new MockResponse()
+            .setBody(membersResponse)
+            .addHeader("Content-Type", "application/json"));
+
+        when(mockAuthenticator.getValidAccessToken()).thenReturn("test_access_token");
+
+        DropboxBusinessApiClient testClient = mockServerClient();
+        try {
+            MembersListResponse response = testClient.getTeamMembers(100, false);
+            assertNotNull(response, "Response should not be null");
+            assertNotNull(response.getMembers(), "Members should not be null");
+            assertEquals(1, response.getMembers().size(), "Should have one member");
+            assertFalse(response.isHasMore(), "Should not have more pages");
+            assertEquals("test_cursor", response.getCursor(), "Should parse cursor");
+
+            TeamMember member = response.getMembers().get(0);
+            TeamMemberProfile profile = member.getProfile();
+            assertNotNull(profile, "Profile should not be null");
+            assertEquals("dbmid:member1", profile.getTeamMemberId(), "Should parse member ID");
+            assertEquals("user1@test.com", profile.getEmail(), "Should parse email");
+            assertEquals("active", profile.getStatus(), "Should parse status");
+            assertEquals("John Doe", profile.getName().getDisplayName(), "Should parse display name");
+        } finally {
+            testClient.close();
+        }
+    }
+
+    @Test
+    void testGetSignInEventsSuccess() throws IOException {
+        String eventsResponse = """
+            {
+                "events": [
+                    {
+                        "timestamp": "2024-01-01T12:00:00Z",
+                        "event_category": "logins",
+                        "event_type": "sign_in_as_admin",
+                        "actor": {
+                            "user": {
+                                "team_member_id": "dbmid:user1",
+                                "display_name": "John Doe",
+                                "email": "john@test.com"
+                            }
+                        },
+                        "origin": {
+                            "geo_location": {
+                                "city": "San Francisco",
+                                "region": "California",
+                                "country": "US"
+                            },
+                            "host": {
+                                "host": "192.168.1.1"
+                            }
+                        }
+                    }
+                ],
+                "has_more": false,
+                "cursor": "events_cursor"
+            }
+            """;
+
+        mockWebServer.enqueue(new MockResponse()
+            .setBody(eventsResponse)
+            .addHeader("Content-Type", "application/json"));
+
+        when(mockAuthenticator.getValidAccessToken()).thenReturn("test_access_token");
+
+        DropboxBusinessApiClient testClient = mockServerClient();
+        try {
+            String startTime = LocalDateTime.now().minusDays(1).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "Z";
+            String endTime = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "Z";
+            TimeRange timeRange = new TimeRange(startTime, endTime);
+
+            TeamEventsResponse response = testClient.getSignInEvents(50, timeRange);
+            assertNotNull(response, "Response should not be null");
+            assertNotNull(response.getEvents(), "Events should not be null");
+            assertEquals(1, response.getEvents().size(), "Should have one event");
+            assertFalse(response.isHasMore(), "Should not have more pages");
+            assertEquals("events_cursor", response.getCursor(), "Should parse cursor");
+
+            TeamEvent event = response.getEvents().get(0);
+            assertEquals("2024-01-01T12:00:00Z", event.getTimestamp(), "Should parse timestamp");
+            assertEquals("logins", event.getEventCategory(), "Should parse category");
+            assertEquals("sign_in_as_admin", event.getEventType(), "Should parse event type");
+
+            Actor actor = event.getActor();
+            assertNotNull(actor, "Actor should not be null");
+            UserInfo user = actor.getUser();
+            assertNotNull(user, "User should not be null");
+            assertEquals("John Doe", user.getDisplayName(), "Should parse display name");
+            assertEquals("john@test.com", user.getEmail(), "Should parse email");
+
+            Origin origin = event.getOrigin();
+            assertNotNull(origin, "Origin should not be null");
+            GeoLocation geoLocation = origin.getGeoLocation();
+            assertNotNull(geoLocation, "Geo location should not be null");
+            assertEquals("San Francisco", geoLocation.getCity(), "Should parse city");
+            assertEquals("California", geoLocation.getRegion(), "Should parse region");
+            assertEquals("US", geoLocation.getCountry(), "Should parse country");
+        } finally {
+            testClient.close();
+        }
+    }
+
+    @Test
+    void testGetTeamInfoUnauthorized() throws IOException {
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(401)
+            .setBody("Unauthorized"));
+
+        when(mockAuthenticator.getValidAccessToken()).thenReturn("invalid_token");
+
+        DropboxBusinessApiClient testClient = mockServerClient();
+        try {
+            IOException exception = assertThrows(IOException.class, () -> {
+                testClient.getTeamInfo();
+            }, "Should throw exception for unauthorized request");
+            assertTrue(exception.getMessage().contains("401"), "Should include the status");
+        } finally {
+            testClient.close();
+        }
+    }
+
+    @Test
+    void testGetTeamInfoServerError() throws IOException {
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(500)
+            .setBody("Internal Server Error"));
+
+        when(mockAuthenticator.getValidAccessToken()).thenReturn("valid_token");
+
+        DropboxBusinessApiClient testClient = mockServerClient();
+        try {
+            IOException exception = assertThrows(IOException.class, () -> {
+                testClient.getTeamInfo();
+            }, "Should throw exception for server error");
+            assertTrue(exception.getMessage().contains("500"), "Should include the status");
+        } finally {
+            testClient.close();
+        }
+    }
+
+    @Test
+    void testGetTeamInfoInvalidJson() throws IOException {
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("invalid json response")
+            .addHeader("Content-Type", "application/json"));
+
+        when(mockAuthenticator.getValidAccessToken()).thenReturn("valid_token");
+
+        DropboxBusinessApiClient testClient = mockServerClient();
+        try {
+            assertThrows(IOException.class, () -> {
+                testClient.getTeamInfo();
+            }, "Should throw exception for invalid JSON");
+        } finally {
+            testClient.close();
+        }
+    }
+
+    @Test
+    void testGetTeamInfoEmptyResponse() throws IOException {
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("")
+            .addHeader("Content-Type", "application/json"));
+
+        when(mockAuthenticator.getValidAccessToken()).thenReturn("valid_token");
+
+        DropboxBusinessApiClient testClient = mockServerClient();
+        try {
+            assertThrows(IOException.class, () -> {
+                testClient.getTeamInfo();
+            }, "Should throw exception for empty response");
+        } finally {
+            testClient.close();
+        }
+    }
+
+    @Test
+    void testStreamingMembersFollowCursor() throws Exception {
+        mockWebServer.enqueue(jsonResponse("""
+            {"members": [{"profile": {"team_member_id": "dbmid:1"}}, {"profile": {"team_member_id": "dbmid:2"}}],
+             "cursor": "members_cursor", "has_more": true}
+            """));
+        mockWebServer.enqueue(jsonResponse("""
+            {"has_more": false, "cursor": "members_end", "members": [{"profile": {"team_member_id": "dbmid:3"}}]}
+            """));
+        when(mockAuthenticator.getValidAccessToken()).thenReturn("test_access_token");
+
+        DropboxBusinessApiClient testClient = mockServerClient();
+        try {
+            List<String> ids = new ArrayList<>();
+            PageCursor first = testClient.getTeamMembers(2, true, member -> ids.add(member.getProfile().getTeamMemberId()));
+            assertEquals(List.of("dbmid:1", "dbmid:2"), ids, "First page should be streamed in order");
+            assertTrue(first.isHasMore(), "First page should report more");
+
+            PageCursor last = testClient.getTeamMembersContinue(first.getCursor(),
+                    member -> ids.add(member.getProfile().getTeamMemberId()));
+            assertEquals(List.of("dbmid:1", "dbmid:2", "dbmid:3"), ids, "Continued page should be streamed in order");
+            assertFalse(last.isHasMore(), "Cursor before the array should still be read");
+            assertEquals("members_end", last.getCursor(), "Last cursor should be returned");
+
+            RecordedRequest list = mockWebServer.takeRequest();
+            assertEquals("/2/team/members/list_v2", list.getPath(), "First page should use the list endpoint");
+            String listBody = list.getBody().readUtf8();
+            assertTrue(listBody.contains("\"limit\":2") && listBody.contains("\"include_removed\":true"),
+                    "Listing should send the limit and removed flag");
+            RecordedRequest next = mockWebServer.takeRequest();
+            assertEquals("/2/team/members/list/continue_v2", next.getPath(), "Next page should use the continue endpoint");
+            assertTrue(next.getBody().readUtf8().contains("members_cursor"), "Continue should send the cursor");
+        } finally {
+            testClient.close();
+        }
+    }
+
+    @Test
+    void testStreamingEventsFollowCursor() throws Exception {
+        mockWebServer.enqueue(jsonResponse("""
+            {"events": [{"event_category": "logins", "event_type": "login_success"}],
+             "cursor": "events_cursor", "has_more": true}
+            """));
+        mockWebServer.enqueue(jsonResponse("""
+            {"events": [{"event_category": "logins", "event_type": "logout"},
+                        {"event_category": "logins", "event_type": "login_fail"}],
+             "cursor": "events_end", "has_more": false}
+            """));
+        when(mockAuthenticator.getValidAccessToken()).thenReturn("test_access_token");
+
+        DropboxBusinessApiClient testClient = mockServerClient();
+        try {
+            List<String> types = new ArrayList<>();
+            PageCursor first = testClient.getTeamEvents(1, "logins", null, event -> types.add(event.getEventType()));
+            PageCursor last = testClient.getTeamEventsContinue(first.getCursor(), event -> types.add(event.getEventType()));
+
+            assertEquals(List.of("login_success", "logout", "login_fail"), types, "Events should be streamed in order");
+            assertTrue(first.isHasMore(), "First page should report more");
+            assertFalse(last.isHasMore(), "Last page should report no more");
+            assertEquals("/2/team_log/get_events", mockWebServer.takeRequest().getPath(),
+                    "First page should use the events endpoint");
+            RecordedRequest next = mockWebServer.takeRequest();
+            assertEquals("/2/team_log/get_events/continue", next.getPath(), "Next page should use the continue endpoint");
+            assertTrue(next.getBody().readUtf8().contains("events_cursor"), "Continue should send the cursor");
+            assertThrows(IllegalArgumentException.class, () -> testClient.getTeamEventsContinue("", event -> {}),
+                    "Empty cursor should be rejected");
+            assertThrows(IllegalArgumentException.class, () -> testClient.getTeamEventsContinue("c", null),
+                    "Null consumer should be rejected");
+        } finally {
+            testClient.close();
+        }
+    }
+
+    @Test
+    void testStreamingErrorStatus() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(409).setBody("{\"error_summary\": \"reset/\"}"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(429).addHeader("Retry-After", "1"));
+        when(mockAuthenticator.getValidAccessToken()).thenReturn("test_access_token");
+
+        DropboxBusinessApiClient testClient = mockServerClient();
+        try {
+            List<TeamEvent> events = new ArrayList<>();
+            IOException conflict = assertThrows(IOException.class,
+                    () -> testClient.getTeamEventsContinue("expired_cursor", events::add), "Error status should fail the call");
+            assertTrue(conflict.getMessage().contains("409") && conflict.getMessage().contains("reset/"),
+                    "Error should include the status and body");
+
+            DropboxRateLimitException throttled = assertThrows(DropboxRateLimitException.class,
+                    () -> testClient.getTeamMembers(10, false, member -> fail("No member should be delivered")),
+                    "429 should surface as a rate limit");
+            assertEquals(Duration.ofSeconds(1), throttled.getRetryAfter(), "Retry-After should be carried");
+            assertTrue(events.isEmpty(), "Failed calls should deliver nothing");
+        } finally {
+            testClient.close();
+        }
+    }
+
+    private static MockResponse jsonResponse(String body) {
+        return new MockResponse()
+            .setBody(body)
+            .addHeader("Content-Type", "application/json");
+    }
+
+    /**
+     * Client pointed at the mock server, without retries so each test's single
+     * queued response is the only one the client sees
+     */
+    private DropboxBusinessApiClient mockServerClient() {
+        return DropboxBusinessApiClient.builder(mockAuthenticator)
+                .baseUrl(mockWebServer.url("/2").toString())
+                .retryPolicy(RetryPolicy.none())
+                .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,202 @@
+package com.cloudeagle.dropbox.client;
+
+import com.cloudeagle.dropbox.auth.DropboxAuthenticator;
+import com.cloudeagle.dropbox.http.RetryPolicy;
+import com.cloudeagle.dropbox.model.MembersGetInfoResponse;
+import com.cloudeagle.dropbox.model.TeamMemberProfile;
+import com.cloudeagle.dropbox.model.UserSelector;
+import com.cloudeagle.dropbox.testing.FakeDropboxServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemberInfoBatcherTest {
+
+    private FakeDropboxServer server;
+    private DropboxAuthenticator authenticator;
+    private DropboxBusinessApiClient client;
+    private List<String> memberIds;
+
+    // Selector lists sent by the batcher under test, one per batch call
+    private final List<List<UserSelector>> batches = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = FakeDropboxServer.builder().members(300).events(0).start();
+        authenticator = DropboxAuthenticator.builder("fake_client_id", "fake_client_secret", "http://localhost/callback")
+                .tokenUrl(server.getTokenUrl())
+                .build();
+        authenticator.exchangeCodeForToken("any_code");
+        client = DropboxBusinessApiClient.builder(authenticator)
+                .baseUrl(server.getBaseUrl())
+                .retryPolicy(RetryPolicy.none())
+                .concurrencyLimiter(null)
+                .memberInfoBatchWindow(Duration.ofMillis(200))
+                .build();
+        memberIds = client.streamTeamMembers(1000, false)
+                .map(member -> member.getProfile().getTeamMemberId())
+                .collect(Collectors.toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        authenticator.close();
+        server.close();
+    }
+
+    @Test
+    void testLookupsWithinWindowShareOneCall() throws Exception {
+        long before = server.getRequestCount();
+
+        List<CompletableFuture<TeamMemberProfile>> lookups = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            lookups.add(client.getMemberInfoAsync(memberIds.get(i)));
+        }
+        CompletableFuture.allOf(lookups.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, server.getRequestCount() - before, "Lookups in one window should be sent as one call");
+        for (int i = 0; i < 10; i++) {
+            assertEquals(memberIds.get(i), lookups.get(i).join().getTeamMemberId(), "Each caller should get its own member");
+        }
+    }
+
+    @Test
+    void testDuplicateIdsAreSentOnce() throws Exception {
+        MemberInfoBatcher batcher = recordingBatcher(Duration.ofMillis(100));
+
+        List<CompletableFuture<TeamMemberProfile>> lookups = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            lookups.add(batcher.load(memberIds.get(0)));
+            lookups.add(batcher.load(memberIds.get(1)));
+        }
+        CompletableFuture.allOf(lookups.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, batches.size(), "Duplicates should not open another batch");
+        assertEquals(2, batches.get(0).size(), "Each ID should be selected once per batch");
+        for (int i = 0; i < lookups.size(); i++) {
+            assertEquals(memberIds.get(i % 2), lookups.get(i).join().getTeamMemberId(),
+                    "Duplicate lookups should share the result");
+        }
+        assertNotSame(lookups.get(0), lookups.get(2), "Duplicate lookups should get their own futures");
+    }
+
+    @Test
+    void testBatchesAreCappedAtMaxSize() throws Exception {
+        MemberInfoBatcher batcher = recordingBatcher(Duration.ofMillis(100));
+
+        List<CompletableFuture<TeamMemberProfile>> lookups = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            lookups.add(batcher.load(memberIds.get(i)));
+        }
+        CompletableFuture.allOf(lookups.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+
+        List<Integer> sizes = batches.stream().map(List::size).sorted().collect(Collectors.toList());
+        assertEquals(List.of(50, MemberInfoBatcher.MAX_BATCH_SIZE, MemberInfoBatcher.MAX_BATCH_SIZE), sizes,
+                "Full batches should be sent at the cap and the rest when the window ends");
+        for (int i = 0; i < 250; i++) {
+            assertEquals(memberIds.get(i), lookups.get(i).join().getTeamMemberId(), "Every lookup should resolve");
+        }
+
+        List<UserSelector> oversized = memberIds.subList(0, MemberInfoBatcher.MAX_BATCH_SIZE + 1).stream()
+                .map(UserSelector::teamMemberId)
+                .collect(Collectors.toList());
+        assertThrows(IOException.class, () -> client.getMembersInfo(oversized),
+                "Server should reject more selectors than one call accepts");
+    }
+
+    @Test
+    void testResultsAreMappedByPosition() throws Exception {
+        MemberInfoBatcher batcher = recordingBatcher(Duration.ofMillis(100));
+
+        CompletableFuture<TeamMemberProfile> first = batcher.load(memberIds.get(0));
+        CompletableFuture<TeamMemberProfile> missing = batcher.load("dbmid:missing");
+        CompletableFuture<TeamMemberProfile> second = batcher.load(memberIds.get(1));
+        CompletableFuture<TeamMemberProfile> alsoMissing = batcher.load("dbmid:also-missing");
+        CompletableFuture.allOf(first, missing, second, alsoMissing).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, batches.size(), "Lookups should share one batch");
+        assertEquals(memberIds.get(0), first.join().getTeamMemberId(), "First item should map to the first ID");
+        assertNull(missing.join(), "id_not_found should resolve to null");
+        assertEquals(memberIds.get(1), second.join().getTeamMemberId(), "Items after a miss should keep their position");
+        assertNull(alsoMissing.join(), "Every unknown ID should resolve to null");
+    }
+
+    @Test
+    void testFailedCallFailsEveryLookup() {
+        MemberInfoBatcher batcher = new MemberInfoBatcher(
+                selectors -> CompletableFuture.failedFuture(new IOException("boom")), Duration.ofMillis(10));
+
+        CompletableFuture<TeamMemberProfile> first = batcher.load(memberIds.get(0));
+        CompletableFuture<TeamMemberProfile> second = batcher.load(memberIds.get(1));
+
+        assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS), "Lookup should fail with the batch");
+        assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS), "Every lookup should fail with the batch");
+    }
+
+    @Test
+    void testNullResponseFailsEveryLookup() {
+        assertBatchFails(null);
+    }
+
+    @Test
+    void testMissingMembersInfoFailsEveryLookup() {
+        assertBatchFails(new MembersGetInfoResponse());
+    }
+
+    @Test
+    void testNullItemFailsOnlyItsLookup() throws Exception {
+        MembersGetInfoResponse response = new MembersGetInfoResponse();
+        response.setMembersInfo(Collections.singletonList(null));
+        MemberInfoBatcher batcher = new MemberInfoBatcher(
+                selectors -> CompletableFuture.completedFuture(response), Duration.ofMillis(10));
+
+        CompletableFuture<TeamMemberProfile> lookup = batcher.load(memberIds.get(0));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> lookup.get(5, TimeUnit.SECONDS),
+                "A null item should fail its lookup instead of leaving it pending");
+        assertInstanceOf(IOException.class, e.getCause(), "Missing item should surface as IOException");
+    }
+
+    private void assertBatchFails(MembersGetInfoResponse response) {
+        MemberInfoBatcher batcher = new MemberInfoBatcher(
+                selectors -> CompletableFuture.completedFuture(response), Duration.ofMillis(10));
+
+        CompletableFuture<TeamMemberProfile> first = batcher.load(memberIds.get(0));
+        CompletableFuture<TeamMemberProfile> second = batcher.load(memberIds.get(1));
+
+        assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS),
+                "Lookup should fail instead of hanging");
+        assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS),
+                "Every lookup in the batch should fail instead of hanging");
+    }
+
+    private MemberInfoBatcher recordingBatcher(Duration window) {
+        return new MemberInfoBatcher(selectors -> {
+            batches.add(List.copyOf(selectors));
+            return CompletableFuture.supplyAsync(() -> fetch(selectors));
+        }, window);
+    }
+
+    private MembersGetInfoResponse fetch(List<UserSelector> selectors) {
+        try {
+            return client.getMembersInfo(selectors);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
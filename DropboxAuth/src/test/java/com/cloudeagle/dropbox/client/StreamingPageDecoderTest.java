@@ -0,0 +1,99 @@
+package com.cloudeagle.dropbox.client;
+
+import com.cloudeagle.dropbox.codec.DropboxCodecs;
+import com.cloudeagle.dropbox.model.TeamMember;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingPageDecoderTest {
+
+    private static final String TWO_MEMBERS = """
+        [
+            {"profile": {"team_member_id": "dbmid:1", "email": "one@example.com"}},
+            {"profile": {"team_member_id": "dbmid:2", "email": "two@example.com"}}
+        ]
+        """;
+
+    @Test
+    void testCursorAfterArray() throws IOException {
+        List<TeamMember> members = new ArrayList<>();
+
+        PageCursor page = decode("{\"members\": " + TWO_MEMBERS + ", \"cursor\": \"c1\", \"has_more\": true}", members);
+
+        assertEquals(2, members.size(), "Every element should be delivered");
+        assertEquals("dbmid:1", members.get(0).getProfile().getTeamMemberId(), "Elements should arrive in order");
+        assertEquals("dbmid:2", members.get(1).getProfile().getTeamMemberId(), "Elements should arrive in order");
+        assertEquals("c1", page.getCursor(), "Cursor after the array should be read");
+        assertTrue(page.isHasMore(), "has_more after the array should be read");
+    }
+
+    @Test
+    void testCursorBeforeArray() throws IOException {
+        List<TeamMember> members = new ArrayList<>();
+
+        PageCursor page = decode("{\"has_more\": true, \"cursor\": \"c2\", \"members\": " + TWO_MEMBERS + "}", members);
+
+        assertEquals(2, members.size(), "Elements after the cursor should be delivered");
+        assertEquals("c2", page.getCursor(), "Cursor before the array should be read");
+        assertTrue(page.isHasMore(), "has_more before the array should be read");
+    }
+
+    @Test
+    void testUnknownFieldsAreSkipped() throws IOException {
+        List<TeamMember> members = new ArrayList<>();
+
+        PageCursor page = decode("""
+            {
+                "extra": {"cursor": "nested", "has_more": true, "members": [1, 2]},
+                "other": [{"cursor": "in-array"}],
+                "members": [{"profile": {"team_member_id": "dbmid:1", "unknown_field": {"a": [1]}}}],
+                "count": 1,
+                "cursor": "top"
+            }
+            """, members);
+
+        assertEquals(1, members.size(), "Only the top-level array should be decoded");
+        assertEquals("top", page.getCursor(), "Nested cursor fields should be ignored");
+        assertFalse(page.isHasMore(), "Nested has_more should be ignored");
+    }
+
+    @Test
+    void testEmptyPage() throws IOException {
+        List<TeamMember> members = new ArrayList<>();
+
+        PageCursor empty = decode("{\"members\": [], \"cursor\": \"c3\", \"has_more\": false}", members);
+        PageCursor missing = decode("{\"cursor\": null, \"has_more\": false}", members);
+
+        assertTrue(members.isEmpty(), "Empty pages should deliver nothing");
+        assertEquals("c3", empty.getCursor(), "Empty page should still carry its cursor");
+        assertNull(missing.getCursor(), "Null cursor should decode as null");
+        assertFalse(missing.isHasMore(), "Missing array should end pagination");
+    }
+
+    @Test
+    void testMalformedJsonIsRejected() {
+        List<TeamMember> members = new ArrayList<>();
+
+        assertThrows(IOException.class, () -> decode("[]", members), "Non-object response should be rejected");
+        assertThrows(IOException.class, () -> decode("", members), "Empty response should be rejected");
+        assertThrows(IOException.class, () -> decode("{\"members\": [{\"profile\": {}}", members),
+                "Response truncated inside the array should be rejected");
+        assertThrows(IOException.class, () -> decode("{\"members\": [], \"cursor\": \"c\"", members),
+                "Response truncated after the array should be rejected");
+        assertThrows(IOException.class, () -> decode("{\"members\": [42]}", members),
+                "Element of the wrong shape should be rejected");
+    }
+
+    private static PageCursor decode(String json, List<TeamMember> members) throws IOException {
+        try (JsonParser parser = DropboxCodecs.mapper().createParser(json)) {
+            return StreamingPageDecoder.decode(parser, "members", DropboxCodecs.reader(TeamMember.class),
+                    (TeamMember member) -> members.add(member));
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.cloudeagle.dropbox.client;
+
+import com.cloudeagle.dropbox.auth.DropboxAuthenticator;
+import com.cloudeagle.dropbox.http.RetryPolicy;
+import com.cloudeagle.dropbox.model.TeamEvent;
+import com.cloudeagle.dropbox.model.TimeRange;
+import com.cloudeagle.dropbox.testing.FakeDropboxServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TeamEventBackfillTest {
+
+    private FakeDropboxServer server;
+    private DropboxAuthenticator authenticator;
+    private DropboxBusinessApiClient client;
+    private ExecutorService executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (client != null) {
+            client.close();
+        }
+        if (authenticator != null) {
+            authenticator.close();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void testSplitsRangeIntoContiguousWindows() {
+        TimeRange timeRange = new TimeRange("2024-01-01T00:00:00Z", "2024-01-31T00:00:00Z");
+
+        List<TimeRange> windows = TeamEventBackfill.split(timeRange, 3);
+
+        assertEquals(3, windows.size(), "Should split into three windows");
+        assertEquals("2024-01-01T00:00:00Z", windows.get(0).getStartTime(), "First window should start at range start");
+        assertEquals(windows.get(0).getEndTime(), windows.get(1).getStartTime(), "Windows should be contiguous");
+        assertEquals(windows.get(1).getEndTime(), windows.get(2).getStartTime(), "Windows should be contiguous");
+        assertEquals("2024-01-31T00:00:00Z", windows.get(2).getEndTime(), "Last window should end at range end");
+    }
+
+    @Test
+    void testSplitNeverProducesEmptyWindows() {
+        TimeRange timeRange = new TimeRange("2024-01-01T00:00:00Z", "2024-01-01T00:00:03Z");
+
+        List<TimeRange> windows = TeamEventBackfill.split(timeRange, 10);
+
+        assertEquals(3, windows.size(), "Windows should be at least one second long");
+    }
+
+    @Test
+    void testBackfillMergesWindowsInTimestampOrder() throws IOException {
+        server = FakeDropboxServer.builder().members(20).events(2000).eventWindow(Duration.ofDays(10)).start();
+        connect();
+        executor = Executors.newFixedThreadPool(3);
+        TimeRange range = lastDays(10);
+
+        List<TeamEvent> expected = client.streamTeamEvents(100, null, range).collect(Collectors.toList());
+        List<TeamEvent> events;
+        try (Stream<TeamEvent> stream = new TeamEventBackfill(client, executor, 3).backfill(null, range, 7, 25)) {
+            events = stream.collect(Collectors.toList());
+        }
+
+        assertFalse(expected.isEmpty(), "Range should contain events");
+        assertEquals(expected.size(), events.size(), "Backfill should return every event exactly once");
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i - 1).getTimestampMillis() <= events.get(i).getTimestampMillis(),
+                    "Events should be merged in timestamp order across windows and pages");
+        }
+    }
+
+    @Test
+    void testClosingStreamInterruptsInFlightFetches() throws Exception {
+        server = FakeDropboxServer.builder()
+                .members(5)
+                .events(500)
+                .eventWindow(Duration.ofDays(10))
+                .latency(Duration.ofSeconds(1))
+                .start();
+        connect();
+        executor = Executors.newFixedThreadPool(2);
+
+        Stream<TeamEvent> stream = new TeamEventBackfill(client, executor, 2).backfill(null, lastDays(10), 4, 10);
+        assertTrue(stream.iterator().hasNext(), "First window should deliver events");
+        stream.close();
+
+        // Both fetch threads were on a one-second request; they are free only if it was interrupted
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> { }, executor);
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> { }, executor);
+        CompletableFuture.allOf(first, second).get(500, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void testErrorInFetchReachesConsumer() {
+        DropboxBusinessApiClient failingClient = mock(DropboxBusinessApiClient.class);
+        when(failingClient.getTeamEventsAsync(anyInt(), any(), any())).thenThrow(new OutOfMemoryError("decode"));
+        executor = Executors.newFixedThreadPool(2);
+        TeamEventBackfill backfill = new TeamEventBackfill(failingClient, executor, 2);
+
+        try (Stream<TeamEvent> events = backfill.backfill("logins", lastDays(4), 4, 100)) {
+            OutOfMemoryError error = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> assertThrows(OutOfMemoryError.class, () -> events.forEach(event -> {}),
+                            "Error in a window fetch should surface to the consumer"),
+                    "Consumer should not wait forever for a failed window");
+            assertEquals("decode", error.getMessage(), "The fetch's own error should be rethrown");
+        }
+    }
+
+    private void connect() throws IOException {
+        authenticator = DropboxAuthenticator.builder("fake_client_id", "fake_client_secret", "http://localhost/callback")
+                .tokenUrl(server.getTokenUrl())
+                .build();
+        authenticator.exchangeCodeForToken("any_code");
+        client = DropboxBusinessApiClient.builder(authenticator)
+                .baseUrl(server.getBaseUrl())
+                .retryPolicy(RetryPolicy.none())
+                .concurrencyLimiter(null)
+                .build();
+    }
+
+    private static TimeRange lastDays(int days) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        return TimeRange.of(now.minus(Duration.ofDays(days)), now.plusSeconds(1));
+    }
+}
@@ -0,0 +1,295 @@
+package com.cloudeagle.dropbox.directory;
+
+import com.cloudeagle.dropbox.auth.DropboxAuthenticator;
+import com.cloudeagle.dropbox.client.DropboxBusinessApiClient;
+import com.cloudeagle.dropbox.codec.DropboxCodecs;
+import com.cloudeagle.dropbox.http.RetryPolicy;
+import com.cloudeagle.dropbox.model.MemberInfoItem;
+import com.cloudeagle.dropbox.model.MembersGetInfoResponse;
+import com.cloudeagle.dropbox.model.MembersListResponse;
+import com.cloudeagle.dropbox.model.TeamEvent;
+import com.cloudeagle.dropbox.model.TeamEventsResponse;
+import com.cloudeagle.dropbox.model.TeamMember;
+import com.cloudeagle.dropbox.model.TeamMemberProfile;
+import com.cloudeagle.dropbox.model.UserInfo;
+import com.fasterxml.jackson.databind.JsonNode;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MemberDirectoryTest {
+
+    private MockWebServer mockWebServer;
+    private FakeDirectoryApi api;
+    private DropboxBusinessApiClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        api = new FakeDirectoryApi();
+        api.put(profile("dbmid:1", "Alice@Example.com", "dbid:1", "ext-1", "active"));
+        api.put(profile("dbmid:2", "bob@example.com", "dbid:2", null, "active"));
+        api.put(profile("dbmid:3", "carol@example.com", "dbid:3", "ext-3", "removed"));
+
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(api);
+        mockWebServer.start();
+
+        DropboxAuthenticator authenticator = mock(DropboxAuthenticator.class);
+        when(authenticator.getValidAccessToken()).thenReturn("test_token");
+        client = DropboxBusinessApiClient.builder(authenticator)
+                .baseUrl(mockWebServer.url("/2").toString())
+                .retryPolicy(RetryPolicy.none())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void testLoadIndexesEveryKey() throws IOException {
+        MemberDirectory directory = new MemberDirectory(client, true);
+
+        directory.load();
+
+        assertEquals(3, directory.size(), "Every listed member should be loaded");
+        assertEquals("dbmid:1", directory.findByTeamMemberId("dbmid:1").getTeamMemberId(), "Should find by team member ID");
+        assertEquals("dbmid:1", directory.findByEmail("Alice@Example.com").getTeamMemberId(), "Should find by email");
+        assertEquals("dbmid:1", directory.findByAccountId("dbid:1").getTeamMemberId(), "Should find by account ID");
+        assertEquals("dbmid:1", directory.findByExternalId("ext-1").getTeamMemberId(), "Should find by external ID");
+        assertEquals("dbmid:3", directory.findByEmail("carol@example.com").getTeamMemberId(),
+                "Removed members should be kept when included");
+        assertNull(directory.findByExternalId("ext-2"), "Unknown keys should not be found");
+        assertNull(directory.findByEmail(null), "Null keys should not be found");
+    }
+
+    @Test
+    void testEmailLookupIgnoresCase() throws IOException {
+        MemberDirectory directory = new MemberDirectory(client, false);
+        directory.load();
+
+        assertEquals("dbmid:1", directory.findByEmail("alice@example.com").getTeamMemberId(), "Lower case should match");
+        assertEquals("dbmid:1", directory.findByEmail("ALICE@EXAMPLE.COM").getTeamMemberId(), "Upper case should match");
+        assertEquals("dbmid:2", directory.findByEmail("Bob@Example.COM").getTeamMemberId(), "Mixed case should match");
+    }
+
+    @Test
+    void testRemovedMembersAreExcluded() throws IOException {
+        MemberDirectory directory = new MemberDirectory(client, false);
+        directory.load();
+        assertEquals(2, directory.size(), "Removed members should not be listed");
+        assertNull(directory.findByTeamMemberId("dbmid:3"), "Removed member should not be found");
+
+        api.put(profile("dbmid:2", "bob@example.com", "dbid:2", null, "removed"));
+        api.change("dbmid:2");
+
+        assertEquals(1, directory.sync(), "The removed member should be re-fetched");
+        assertNull(directory.findByTeamMemberId("dbmid:2"), "Member removed since the load should be dropped");
+        assertNull(directory.findByEmail("bob@example.com"), "Removed member's email should be dropped");
+        assertEquals(1, directory.size(), "Only active members should remain");
+    }
+
+    @Test
+    void testSyncAppliesChanges() throws IOException {
+        MemberDirectory directory = new MemberDirectory(client, true);
+        directory.load();
+
+        api.put(profile("dbmid:1", "alice.new@example.com", "dbid:1", "ext-1b", "active"));
+        api.put(profile("dbmid:4", "dave@example.com", "dbid:4", null, "invited"));
+        api.change("dbmid:1");
+        api.change("dbmid:4");
+        api.change("dbmid:1");
+
+        assertEquals(2, directory.sync(), "Each changed member should be re-fetched once");
+        assertEquals("dbmid:1", directory.findByEmail("alice.new@example.com").getTeamMemberId(),
+                "New email should be indexed");
+        assertNull(directory.findByEmail("alice@example.com"), "Old email should be dropped");
+        assertNull(directory.findByExternalId("ext-1"), "Old external ID should be dropped");
+        assertEquals("dbmid:1", directory.findByAccountId("dbid:1").getTeamMemberId(), "Unchanged key should still match");
+        assertEquals("invited", directory.findByTeamMemberId("dbmid:4").getStatus(), "New member should be added");
+        assertEquals(0, directory.sync(), "A sync without changes should fetch nothing");
+    }
+
+    @Test
+    void testSyncRemovesMembersNotFound() throws IOException {
+        MemberDirectory directory = new MemberDirectory(client, true);
+        directory.load();
+
+        api.members.remove("dbmid:2");
+        api.change("dbmid:2");
+
+        assertEquals(1, directory.sync(), "The deleted member should be re-fetched");
+        assertNull(directory.findByTeamMemberId("dbmid:2"), "Member not found should be dropped");
+        assertNull(directory.findByAccountId("dbid:2"), "Member not found should leave no secondary keys");
+        assertEquals(2, directory.size(), "Other members should remain");
+    }
+
+    @Test
+    void testFailedSyncDoesNotAdvanceCursor() throws IOException {
+        MemberDirectory directory = new MemberDirectory(client, true);
+        directory.load();
+        api.put(profile("dbmid:2", "robert@example.com", "dbid:2", null, "active"));
+        api.change("dbmid:2");
+
+        api.failMemberInfo.set(true);
+        assertThrows(IOException.class, directory::sync, "Failed re-fetch should fail the sync");
+        assertEquals("bob@example.com", directory.findByTeamMemberId("dbmid:2").getEmail(),
+                "Failed sync should leave the directory unchanged");
+
+        api.failMemberInfo.set(false);
+        assertEquals(1, directory.sync(), "Retried sync should see the change again");
+        assertEquals("dbmid:2", directory.findByEmail("robert@example.com").getTeamMemberId(),
+                "Retried sync should apply the change");
+        List<String> cursors = api.continueCursors;
+        assertEquals(cursors.get(cursors.size() - 2), cursors.get(cursors.size() - 1),
+                "Retried sync should resume from the cursor before the failure");
+    }
+
+    @Test
+    void testSyncStopsWithoutCursor() throws IOException {
+        MemberDirectory directory = new MemberDirectory(client, true);
+        directory.load();
+        api.hasMoreWithoutCursor.set(true);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), directory::sync,
+                "has_more without a cursor should end the sync");
+        assertEquals(1, api.continueCursors.size(), "Sync should not repeat the request");
+        assertThrows(IllegalStateException.class, () -> new MemberDirectory(client, true).sync(),
+                "Sync before load should be rejected");
+    }
+
+    private static TeamMemberProfile profile(String id, String email, String accountId, String externalId,
+                                             String status) {
+        TeamMemberProfile profile = new TeamMemberProfile();
+        profile.setTeamMemberId(id);
+        profile.setEmail(email);
+        profile.setAccountId(accountId);
+        profile.setExternalId(externalId);
+        profile.setStatus(status);
+        return profile;
+    }
+
+    /**
+     * Serves the member list, member info and a "members" change log from mutable state.
+     * Event cursors are positions in the change log.
+     */
+    private static class FakeDirectoryApi extends Dispatcher {
+        private final Map<String, TeamMemberProfile> members = new ConcurrentHashMap<>();
+        private final List<String> changes = new CopyOnWriteArrayList<>();
+        private final List<String> continueCursors = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean failMemberInfo = new AtomicBoolean();
+        private final AtomicBoolean hasMoreWithoutCursor = new AtomicBoolean();
+
+        void put(TeamMemberProfile profile) {
+            members.put(profile.getTeamMemberId(), profile);
+        }
+
+        void change(String teamMemberId) {
+            changes.add(teamMemberId);
+        }
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            try {
+                JsonNode body = DropboxCodecs.mapper().readTree(request.getBody().readUtf8());
+                switch (request.getPath()) {
+                    case "/2/team/members/list_v2":
+                        return json(membersList(body.path("include_removed").asBoolean()));
+                    case "/2/team/members/get_info_v2":
+                        return failMemberInfo.get() ? new MockResponse().setResponseCode(500) : json(membersInfo(body));
+                    case "/2/team_log/get_events":
+                        return json(events(changes.size()));
+                    case "/2/team_log/get_events/continue":
+                        String cursor = body.path("cursor").asText();
+                        continueCursors.add(cursor);
+                        return json(events(Integer.parseInt(cursor)));
+                    default:
+                        return new MockResponse().setResponseCode(404);
+                }
+            } catch (IOException e) {
+                return new MockResponse().setResponseCode(400);
+            }
+        }
+
+        private MembersListResponse membersList(boolean includeRemoved) {
+            List<TeamMember> listed = new ArrayList<>();
+            for (TeamMemberProfile profile : members.values()) {
+                if (includeRemoved || !"removed".equals(profile.getStatus())) {
+                    TeamMember member = new TeamMember();
+                    member.setProfile(profile);
+                    listed.add(member);
+                }
+            }
+            MembersListResponse response = new MembersListResponse();
+            response.setMembers(listed);
+            response.setCursor("members");
+            return response;
+        }
+
+        private MembersGetInfoResponse membersInfo(JsonNode body) {
+            List<MemberInfoItem> items = new ArrayList<>();
+            for (JsonNode selector : body.path("members")) {
+                String id = selector.path("team_member_id").asText();
+                MemberInfoItem item = new MemberInfoItem();
+                TeamMemberProfile profile = members.get(id);
+                if (profile != null) {
+                    item.setTag("member_info");
+                    item.setProfile(profile);
+                } else {
+                    item.setTag("id_not_found");
+                    item.setIdNotFound(id);
+                }
+                items.add(item);
+            }
+            MembersGetInfoResponse response = new MembersGetInfoResponse();
+            response.setMembersInfo(items);
+            return response;
+        }
+
+        private TeamEventsResponse events(int from) {
+            List<TeamEvent> events = changes.subList(from, changes.size()).stream().map(id -> {
+                UserInfo context = new UserInfo();
+                context.setTeamMemberId(id);
+                TeamEvent event = new TeamEvent();
+                event.setEventCategory("members");
+                event.setEventType("member_change_email");
+                event.setContext(context);
+                return event;
+            }).collect(Collectors.toList());
+            TeamEventsResponse response = new TeamEventsResponse();
+            response.setEvents(events);
+            if (hasMoreWithoutCursor.get()) {
+                response.setHasMore(true);
+            } else {
+                response.setCursor(Integer.toString(changes.size()));
+            }
+            return response;
+        }
+
+        private static MockResponse json(Object body) throws IOException {
+            return new MockResponse()
+                    .setBody(DropboxCodecs.mapper().writeValueAsString(body))
+                    .addHeader("Content-Type", "application/json");
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.cloudeagle.dropbox.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void testSuccessesGrowLimitByOnePerWindow() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0.5);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire().onSuccess();
+        }
+
+        assertEquals(10, limiter.getLimit(), "A window of successes should add just under one slot");
+        limiter.acquire().onSuccess();
+        assertEquals(11, limiter.getLimit(), "One more success should complete the additive step");
+    }
+
+    @Test
+    void testBurstOfThrottlesShrinksLimitOnce() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 1, 100, 0.5);
+        List<AdaptiveConcurrencyLimiter.Permit> burst = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            burst.add(limiter.acquire());
+        }
+
+        burst.forEach(permit -> permit.onThrottled(null));
+
+        assertEquals(10, limiter.getLimit(), "Throttles from one window should shrink the limit once");
+        assertEquals(0, limiter.getInFlight(), "Every permit should be released");
+
+        limiter.acquire().onThrottled(null);
+        assertEquals(5, limiter.getLimit(), "A request sent after the decrease should shrink it again");
+    }
+
+    @Test
+    void testLimitStaysWithinBounds() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(3, 2, 4, 0.5);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.acquire().onSuccess();
+        }
+        assertEquals(4, limiter.getLimit(), "Limit should not grow above the maximum");
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire().onThrottled(null);
+        }
+        assertEquals(2, limiter.getLimit(), "Limit should not shrink below the minimum");
+    }
+
+    @Test
+    void testPermitReleasesOnlyOnce() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(5, 1, 10, 0.5);
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+
+        permit.onThrottled(null);
+        permit.onSuccess();
+        permit.onIgnored();
+
+        assertTrue(permit.isReleased(), "Permit should be released");
+        assertEquals(0, limiter.getInFlight(), "Repeated completion should not release twice");
+        assertEquals(2, limiter.getLimit(), "Only the first completion should adjust the limit");
+    }
+
+    @Test
+    void testAcquireAsyncWaitsWithoutBlocking() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 0.5);
+        AdaptiveConcurrencyLimiter.Permit held = limiter.acquire();
+
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> first = limiter.acquireAsync();
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> second = limiter.acquireAsync();
+        assertFalse(first.isDone(), "Waiter should not be granted while the limit is reached");
+        assertEquals(2, limiter.getWaiting(), "Both callers should be queued");
+
+        assertTrue(first.cancel(false), "Queued waiter should be cancellable");
+        assertEquals(1, limiter.getWaiting(), "Cancelled waiter should leave the queue");
+
+        held.onSuccess();
+        assertTrue(second.isDone(), "Releasing a slot should grant the next waiter");
+        assertEquals(1, limiter.getInFlight(), "Cancelled waiter should not hold a slot");
+        second.join().onSuccess();
+        assertEquals(0, limiter.getInFlight(), "Granted permit should release its slot");
+    }
+
+    @Test
+    void testRetryAfterPausesNewRequests() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, 0.5);
+
+        long start = System.nanoTime();
+        limiter.acquire().onThrottled(Duration.ofMillis(200));
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> waiter = limiter.acquireAsync();
+
+        assertFalse(waiter.isDone(), "Requests should wait out the Retry-After pause");
+        waiter.get(5, TimeUnit.SECONDS).onSuccess();
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200),
+                "Waiter should be granted only after the pause");
+    }
+
+    @Test
+    void testHugeRetryAfterIsCapped() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, 0.5, Duration.ofMillis(200));
+
+        limiter.acquire().onThrottled(Duration.ofDays(1));
+        assertTrue(limiter.getRemainingPause().compareTo(Duration.ofMillis(200)) <= 0,
+                "Pause should be capped at the maximum");
+        limiter.acquire().onThrottled(Duration.ofSeconds(Long.MAX_VALUE));
+
+        assertEquals(0, limiter.getInFlight(), "Throttled permits should be released however long the Retry-After");
+        limiter.acquireAsync().get(5, TimeUnit.SECONDS).onSuccess();
+        assertEquals(0, limiter.getInFlight(), "Requests should resume once the capped pause ends");
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveConcurrencyLimiter(4, 1, 10, 0.5, Duration.ofSeconds(-1)),
+                "Negative max pause should be rejected");
+    }
+}
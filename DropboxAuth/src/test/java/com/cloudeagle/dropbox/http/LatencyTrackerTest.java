@@ -0,0 +1,78 @@
+package com.cloudeagle.dropbox.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyTrackerTest {
+
+    @Test
+    void testEmptyTrackerHasNoPercentile() {
+        LatencyTracker tracker = new LatencyTracker(8);
+
+        assertEquals(0, tracker.size(), "New tracker should have no samples");
+        assertEquals(-1, tracker.percentile(0.95), "Percentile of an empty window should be -1");
+    }
+
+    @Test
+    void testPercentilesUseNearestRank() {
+        LatencyTracker tracker = new LatencyTracker(100);
+        for (int i = 100; i >= 1; i--) {
+            tracker.record(i);
+        }
+
+        assertEquals(100, tracker.size(), "Every sample should be kept");
+        assertEquals(1, tracker.percentile(0), "p0 should be the minimum");
+        assertEquals(50, tracker.percentile(0.5), "p50 should be the 50th value");
+        assertEquals(95, tracker.percentile(0.95), "p95 should be the 95th value");
+        assertEquals(100, tracker.percentile(1), "p100 should be the maximum");
+    }
+
+    @Test
+    void testOldSamplesLeaveTheWindow() {
+        LatencyTracker tracker = new LatencyTracker(4);
+        for (int i = 0; i < 4; i++) {
+            tracker.record(1000);
+        }
+        for (int i = 0; i < 4; i++) {
+            tracker.record(10);
+        }
+
+        assertEquals(4, tracker.size(), "Size should be capped at the window");
+        assertEquals(10, tracker.percentile(1), "Overwritten samples should not affect the percentile");
+    }
+
+    @Test
+    void testInvalidArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new LatencyTracker(0), "Empty window should be rejected");
+
+        LatencyTracker tracker = new LatencyTracker(4);
+        assertThrows(IllegalArgumentException.class, () -> tracker.percentile(-0.1), "Negative percentile should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> tracker.percentile(1.1), "Percentile over 1 should be rejected");
+    }
+
+    @Test
+    void testHedgeDelayFollowsRecordedLatency() {
+        HedgingPolicy policy = new HedgingPolicy(0.95, Duration.ofMillis(50), Duration.ofSeconds(5), 20, 100);
+
+        for (int i = 0; i < 19; i++) {
+            policy.recordLatency(200);
+        }
+        assertEquals(Duration.ofSeconds(5), policy.hedgeDelay(), "Too few samples should use the max delay");
+
+        policy.recordLatency(200);
+        assertEquals(Duration.ofMillis(200), policy.hedgeDelay(), "Delay should follow the percentile once trusted");
+
+        for (int i = 0; i < 100; i++) {
+            policy.recordLatency(1);
+        }
+        assertEquals(Duration.ofMillis(50), policy.hedgeDelay(), "Delay should not go under the minimum");
+
+        for (int i = 0; i < 100; i++) {
+            policy.recordLatency(60_000);
+        }
+        assertEquals(Duration.ofSeconds(5), policy.hedgeDelay(), "Delay should not go over the maximum");
+    }
+}
@@ -0,0 +1,100 @@
+package com.cloudeagle.dropbox.http;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryInterceptorTest {
+
+    private MockWebServer mockWebServer;
+    private OkHttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        RetryPolicy policy = RetryPolicy.builder()
+                .maxAttempts(3)
+                .baseDelay(Duration.ofMillis(1))
+                .maxDelay(Duration.ofMillis(5))
+                .build();
+        client = new OkHttpClient.Builder()
+                .addInterceptor(new RetryInterceptor(policy))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void testRetriesRetryableStatusUntilSuccess() throws IOException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(429).addHeader("Retry-After", "0"));
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+
+        try (Response response = client.newCall(post(Idempotency.IDEMPOTENT)).execute()) {
+            assertEquals(200, response.code(), "Third attempt should succeed");
+        }
+        assertEquals(3, mockWebServer.getRequestCount(), "Should send one request per attempt");
+    }
+
+    @Test
+    void testStopsAfterMaxAttempts() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        }
+
+        try (Response response = client.newCall(post(Idempotency.IDEMPOTENT)).execute()) {
+            assertEquals(500, response.code(), "Last failed response should be returned");
+        }
+        assertEquals(3, mockWebServer.getRequestCount(), "Should stop at the maximum number of attempts");
+    }
+
+    @Test
+    void testNonIdempotentRequestIsNotRetried() throws IOException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+
+        try (Response response = client.newCall(post(Idempotency.NON_IDEMPOTENT)).execute()) {
+            assertEquals(503, response.code(), "Non-idempotent request should see the first response");
+        }
+        assertEquals(1, mockWebServer.getRequestCount(), "Non-idempotent request should be sent once");
+    }
+
+    @Test
+    void testUntaggedPostIsNotRetried() throws IOException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+
+        Request request = new Request.Builder()
+                .url(mockWebServer.url("/rpc"))
+                .post(RequestBody.create("{}", MediaType.get("application/json")))
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            assertEquals(503, response.code(), "Untagged POST should not be retried");
+        }
+        assertEquals(1, mockWebServer.getRequestCount(), "Untagged POST should be sent once");
+    }
+
+    private Request post(Idempotency idempotency) {
+        return new Request.Builder()
+                .url(mockWebServer.url("/rpc"))
+                .tag(Idempotency.class, idempotency)
+                .post(RequestBody.create("{}", MediaType.get("application/json")))
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.cloudeagle.dropbox.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryPolicyTest {
+
+    @Test
+    void testDelayStaysUnderBackoffCeiling() {
+        RetryPolicy policy = RetryPolicy.builder()
+                .baseDelay(Duration.ofMillis(100))
+                .maxDelay(Duration.ofMillis(500))
+                .build();
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(policy.delayFor(0, null).toMillis() <= 100, "First retry should wait at most the base delay");
+            assertTrue(policy.delayFor(10, null).toMillis() <= 500, "Later retries should wait at most the max delay");
+        }
+    }
+
+    @Test
+    void testRetryAfterIsHonouredUpToCap() {
+        RetryPolicy policy = RetryPolicy.builder()
+                .baseDelay(Duration.ofMillis(10))
+                .maxDelay(Duration.ofMillis(10))
+                .maxRetryAfter(Duration.ofSeconds(30))
+                .build();
+
+        assertEquals(Duration.ofSeconds(5), policy.delayFor(0, Duration.ofSeconds(5)),
+                "Retry-After under the cap should be honoured");
+        assertEquals(Duration.ofSeconds(30), policy.delayFor(0, Duration.ofDays(1)),
+                "Retry-After over the cap should be shortened to it");
+    }
+
+    @Test
+    void testRetryableFailures() {
+        assertTrue(RetryPolicy.isRetryableFailure(new IOException("reset")), "Network failures should be retried");
+        assertTrue(RetryPolicy.isRetryableFailure(new SocketTimeoutException()), "Socket timeouts should be retried");
+        assertFalse(RetryPolicy.isRetryableFailure(new InterruptedIOException()), "Interruptions should not be retried");
+    }
+}
@@ -0,0 +1,124 @@
+package com.cloudeagle.dropbox.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicrometerClientListenerTest {
+
+    private static final String ENDPOINT = "/team/members/list_v2";
+
+    private SimpleMeterRegistry registry;
+    private MicrometerClientListener listener;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        listener = new MicrometerClientListener(registry);
+    }
+
+    @Test
+    void testAttemptsAreTaggedByStatusAndRetry() {
+        listener.onResponse(ENDPOINT, 200, TimeUnit.MILLISECONDS.toNanos(10), 1);
+        listener.onResponse(ENDPOINT, 200, TimeUnit.MILLISECONDS.toNanos(20), 1);
+        listener.onResponse(ENDPOINT, 429, TimeUnit.MILLISECONDS.toNanos(5), 1);
+        listener.onFailure(ENDPOINT, new IOException("reset"), TimeUnit.MILLISECONDS.toNanos(5), 2);
+
+        assertEquals(2, requests("200", "false").count(), "Successful first attempts should share a timer");
+        assertEquals(30, requests("200", "false").totalTime(TimeUnit.MILLISECONDS), 0.001, "Latency should be recorded");
+        assertEquals(1, requests("429", "false").count(), "Each status should get its own timer");
+        assertEquals(1, requests("IO_ERROR", "true").count(), "Network failures should be tagged IO_ERROR");
+        assertEquals(1, registry.get("dropbox.client.retries").tag("endpoint", ENDPOINT).counter().count(), 0.001,
+                "Only retried attempts should be counted as retries");
+    }
+
+    @Test
+    void testRepeatedCallsReuseMeters() {
+        for (int i = 0; i < 1000; i++) {
+            listener.onResponse(ENDPOINT, 200, 1_000, 1);
+            listener.onDecoded(ENDPOINT, 512, 1_000);
+        }
+        int meterCount = registry.getMeters().size();
+        listener.onResponse(ENDPOINT, 200, 1_000, 1);
+        listener.onDecoded(ENDPOINT, 512, 1_000);
+
+        assertEquals(meterCount, registry.getMeters().size(), "Known tag combinations should not add meters");
+        assertEquals(1001, requests("200", "false").count(), "Every call should reach the same timer");
+        assertEquals(1001, summary("dropbox.client.response.size").count(), "Every call should reach the same summary");
+    }
+
+    @Test
+    void testDecodeAndPaginationMeters() {
+        listener.onDecoded(ENDPOINT, 2048, TimeUnit.MILLISECONDS.toNanos(3));
+        listener.onPaginationComplete(ENDPOINT, 4, 350);
+
+        assertEquals(2048, summary("dropbox.client.response.size").totalAmount(), 0.001, "Response size should be recorded");
+        assertEquals("bytes", summary("dropbox.client.response.size").getId().getBaseUnit(), "Size should be in bytes");
+        assertEquals(3, registry.get("dropbox.client.decode").tag("endpoint", ENDPOINT).timer()
+                .totalTime(TimeUnit.MILLISECONDS), 0.001, "Decode time should be recorded");
+        assertEquals(4, summary("dropbox.client.pagination.pages").totalAmount(), 0.001, "Pages should be recorded");
+        assertEquals(350, summary("dropbox.client.pagination.items").totalAmount(), 0.001, "Items should be recorded");
+    }
+
+    @Test
+    void testEveryDistributionPublishesHistogram() {
+        // SimpleMeterRegistry keeps no buckets, so check the configuration each meter asked for
+        Map<String, Boolean> histograms = new HashMap<>();
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                histograms.put(id.getName(), config.isPercentileHistogram());
+                return config;
+            }
+        });
+
+        listener.onResponse(ENDPOINT, 200, 1_000, 1);
+        listener.onDecoded(ENDPOINT, 512, 1_000);
+        listener.onPaginationComplete(ENDPOINT, 1, 10);
+        listener.onTokenRequest("refresh_token", true, 1_000);
+
+        assertEquals(Map.of(
+                "dropbox.client.requests", true,
+                "dropbox.client.response.size", true,
+                "dropbox.client.decode", true,
+                "dropbox.client.pagination.pages", true,
+                "dropbox.client.pagination.items", true,
+                "dropbox.auth.token", true), histograms, "Every timer and summary should publish a histogram");
+    }
+
+    @Test
+    void testTokenRequestsAreTaggedByGrantAndOutcome() {
+        listener.onTokenRequest("refresh_token", true, 1_000);
+        listener.onTokenRequest("refresh_token", true, 1_000);
+        listener.onTokenRequest("authorization_code", false, 1_000);
+
+        assertEquals(2, registry.get("dropbox.auth.token").tag("grant_type", "refresh_token")
+                .tag("outcome", "success").timer().count(), "Refreshes should share a timer");
+        assertEquals(1, registry.get("dropbox.auth.token").tag("grant_type", "authorization_code")
+                .tag("outcome", "failure").timer().count(), "Failures should be tagged separately");
+    }
+
+    private Timer requests(String status, String retry) {
+        return registry.get("dropbox.client.requests")
+                .tag("endpoint", ENDPOINT)
+                .tag("status", status)
+                .tag("retry", retry)
+                .timer();
+    }
+
+    private DistributionSummary summary(String name) {
+        return registry.get(name).tag("endpoint", ENDPOINT).summary();
+    }
+}
@@ -13,6 +13,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 class ApiModelsTest {
     
@@ -181,6 +185,157 @@ class ApiModelsTest {
         assertTrue(json.contains("2024-01-02T00:00:00Z"), "Should contain end time");
     }
     
+    @Test
+    void testTimeRangeFromInstants() throws Exception {
+        TimeRange timeRange = TimeRange.of(Instant.parse("2024-01-01T00:00:00.750Z"), null);
+        
+        assertEquals("2024-01-01T00:00:00Z", timeRange.getStartTime(), "Start time should be truncated to seconds");
+        assertNull(timeRange.getEndTime(), "End time should be open");
+    }
+    
+    @Test
+    void testTimestampMillis() throws Exception {
+        TeamEvent event = objectMapper.readValue("{\"timestamp\": \"2024-01-15T10:30:00Z\"}", TeamEvent.class);
+        
+        assertEquals(1705314600000L, event.getTimestampMillis(), "Timestamp should be parsed to epoch millis");
+        assertFalse(objectMapper.writeValueAsString(event).contains("timestamp_millis"), "Parsed timestamp should not be serialized");
+        assertFalse(objectMapper.writeValueAsString(event).contains("timestampMillis"), "Parsed timestamp should not be serialized");
+        
+        event.setTimestamp("2024-01-15T10:30:00.5+01:00");
+        assertEquals(1705311000500L, event.getTimestampMillis(), "Cached value should be reset on update");
+        assertEquals(1705311000500L, IsoTimestamps.parseEpochMillis("2024-01-15T09:30:00.500Z"));
+    }
+    
+    @Test
+    void testTimestampFractionDigits() {
+        String[] timestamps = {
+                "2024-01-15T10:30:00.1Z",
+                "2024-01-15T10:30:00.12Z",
+                "2024-01-15T10:30:00.123Z",
+                "2024-01-15T10:30:00.1234Z",
+                "2024-01-15T10:30:00.12345Z",
+                "2024-01-15T10:30:00.123456Z",
+                "2024-01-15T10:30:00.1234567Z",
+                "2024-01-15T10:30:00.12345678Z",
+                "2024-01-15T10:30:00.999999999Z",
+                "2024-01-15T10:30:00.000000001Z"
+        };
+        for (String timestamp : timestamps) {
+            assertEquals(expectedMillis(timestamp), IsoTimestamps.parseEpochMillis(timestamp),
+                    "Fraction should be truncated to millis for " + timestamp);
+        }
+    }
+    
+    @Test
+    void testTimestampOffsets() {
+        String[] timestamps = {
+                "2024-01-15T10:30:00+00:00",
+                "2024-01-15T10:30:00-00:00",
+                "2024-01-15T10:30:00+05:30",
+                "2024-01-15T10:30:00-09:45",
+                "2024-01-15T10:30:00.250+14:00",
+                "2024-01-15T10:30:00-12:00",
+                "2024-01-15T10:30:00+18:00",
+                "2024-01-15T10:30:00-18:00"
+        };
+        for (String timestamp : timestamps) {
+            assertEquals(expectedMillis(timestamp), IsoTimestamps.parseEpochMillis(timestamp),
+                    "Offset should be applied for " + timestamp);
+        }
+    }
+    
+    @Test
+    void testTimestampCalendarBoundaries() {
+        String[] timestamps = {
+                "2024-02-29T12:00:00Z",
+                "2000-02-29T00:00:00Z",
+                "2023-02-28T23:59:59Z",
+                "2023-03-01T00:00:00Z",
+                "2100-03-01T00:00:00Z",
+                "1999-12-31T23:59:59.999Z",
+                "2000-01-01T00:00:00Z",
+                "1970-01-01T00:00:00Z",
+                "1969-12-31T23:59:59.500Z",
+                "1600-02-29T00:00:00Z",
+                "2023-12-31T23:30:00-01:00",
+                "2024-01-01T00:30:00+01:00",
+                "2024-12-31T23:59:59Z",
+                "9999-12-31T23:59:59Z"
+        };
+        for (String timestamp : timestamps) {
+            assertEquals(expectedMillis(timestamp), IsoTimestamps.parseEpochMillis(timestamp),
+                    "Date should be converted correctly for " + timestamp);
+        }
+    }
+    
+    @Test
+    void testMalformedTimestamps() {
+        String[] timestamps = {
+                "",
+                "2024-01-15",
+                "2024-01-15T10:30:00",
+                "2024-01-15 10:30:00Z",
+                "2024/01/15T10:30:00Z",
+                "2024-1-15T10:30:00Z",
+                "2024-00-15T10:30:00Z",
+                "2024-13-15T10:30:00Z",
+                "2024-01-00T10:30:00Z",
+                "2024-04-31T10:30:00Z",
+                "2023-02-29T10:30:00Z",
+                "1900-02-29T10:30:00Z",
+                "2024-01-15T24:00:00Z",
+                "2024-01-15T10:60:00Z",
+                "2024-01-15T10:30:60Z",
+                "2024-01-15T10:30:00.12aZ",
+                "2024-01-15T10:30:00+0100",
+                "2024-01-15T10:30:00+19:00",
+                "2024-01-15T10:30:00+01:60",
+                "2024-01-15T10:30:00Zjunk",
+                "2024-01-15T10:30:00ZZ",
+                "+2024-01-15T10:30:00Z"
+        };
+        for (String timestamp : timestamps) {
+            assertThrows(DateTimeParseException.class, () -> OffsetDateTime.parse(timestamp),
+                    "Reference parser should reject " + timestamp);
+            assertThrows(IllegalArgumentException.class, () -> IsoTimestamps.parseEpochMillis(timestamp),
+                    "Parser should reject " + timestamp);
+            
+            TeamEvent event = new TeamEvent();
+            event.setTimestamp(timestamp);
+            assertEquals(Long.MIN_VALUE, event.getTimestampMillis(), "Malformed timestamp should map to the sentinel: " + timestamp);
+            
+            TeamMemberProfile profile = new TeamMemberProfile();
+            profile.setJoinedOn(timestamp);
+            assertEquals(Long.MIN_VALUE, profile.getJoinedOnMillis(), "Malformed join date should map to the sentinel: " + timestamp);
+        }
+        // java.time tolerates a bare decimal point and an hour-only offset; the API sends neither
+        assertThrows(IllegalArgumentException.class, () -> IsoTimestamps.parseEpochMillis("2024-01-15T10:30:00.Z"),
+                "Fraction without digits should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> IsoTimestamps.parseEpochMillis("2024-01-15T10:30:00+01"),
+                "Offset without minutes should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> IsoTimestamps.parseEpochMillis(null), "Null should be rejected");
+    }
+    
+    @Test
+    void testJoinedOnMillis() throws Exception {
+        TeamMemberProfile profile = objectMapper.readValue(
+                "{\"team_member_id\": \"dbmid:1\", \"joined_on\": \"2015-05-12T15:50:38Z\"}", TeamMemberProfile.class);
+        
+        assertEquals(Instant.parse("2015-05-12T15:50:38Z").toEpochMilli(), profile.getJoinedOnMillis(), "Join date should be parsed to epoch millis");
+        assertFalse(objectMapper.writeValueAsString(profile).contains("joined_on_millis"), "Parsed join date should not be serialized");
+        assertFalse(objectMapper.writeValueAsString(profile).contains("joinedOnMillis"), "Parsed join date should not be serialized");
+        
+        profile.setJoinedOn("2016-02-29T23:00:00.75-02:00");
+        assertEquals(expectedMillis("2016-02-29T23:00:00.75-02:00"), profile.getJoinedOnMillis(), "Cached value should be reset on update");
+        
+        profile.setJoinedOn(null);
+        assertEquals(Long.MIN_VALUE, profile.getJoinedOnMillis(), "Missing join date should map to the sentinel");
+    }
+    
+    private static long expectedMillis(String timestamp) {
+        return OffsetDateTime.parse(timestamp).toInstant().toEpochMilli();
+    }
+    
     @Test
     void testTeamEventsRequestSerialization() throws Exception {
         TimeRange timeRange = new TimeRange("2024-01-01T00:00:00Z", "2024-01-02T00:00:00Z");
@@ -272,6 +427,90 @@ class ApiModelsTest {
         assertEquals("192.168.1.100", host.getHost(), "Host IP should match");
     }
     
+    @Test
+    void testLoginDetailsTypedView() throws Exception {
+        String json = """
+            {
+                "timestamp": "2024-01-01T12:00:00Z",
+                "event_category": "logins",
+                "event_type": "login_fail",
+                "details": {
+                    ".tag": "login_fail_details",
+                    "is_emm_managed": false,
+                    "login_method": {".tag": "password"},
+                    "error_details": {
+                        "user_friendly_message": "Incorrect password",
+                        "technical_error_message": "invalid_credentials"
+                    }
+                }
+            }
+            """;
+        
+        TeamEvent event = objectMapper.readValue(json, TeamEvent.class);
+        
+        LoginFailDetails details = event.getDetails(LoginFailDetails.class);
+        assertNotNull(details, "Typed details should not be null");
+        assertEquals("password", details.getLoginMethod().getTag(), "Login method should match");
+        assertEquals("Incorrect password", details.getErrorDetails().getUserFriendlyMessage(), "Error message should match");
+        assertFalse(details.getEmmManaged(), "EMM flag should match");
+        
+        String serialized = objectMapper.writeValueAsString(event);
+        assertTrue(serialized.contains("invalid_credentials"), "Buffered details should be written back");
+
+        assertSame(details, event.getDetails(LoginFailDetails.class), "Repeated typed reads should reuse the decoded view");
+        assertNotNull(event.getDetails(), "Generic view should still decode");
+        assertSame(details, event.getDetails(LoginFailDetails.class), "Generic reads should not evict the typed view");
+    }
+
+    @Test
+    void testDirectlySetDetailsAreSerialized() throws Exception {
+        TeamEvent event = new TeamEvent();
+        event.setEventType("login_success");
+        event.setDetails(Map.of("is_emm_managed", true));
+
+        String serialized = objectMapper.writeValueAsString(event);
+        TeamEvent copy = objectMapper.readValue(serialized, TeamEvent.class);
+
+        assertEquals(Map.of("is_emm_managed", true), copy.getDetails(), "Set details should round-trip");
+        assertThrows(IllegalArgumentException.class, () -> event.getDetails(LoginFailDetails.class),
+                "Directly set details should not be converted to another type");
+    }
+    
+    @Test
+    void testMembersGetInfoResponseDeserialization() throws Exception {
+        String json = """
+            {
+                "members_info": [
+                    {
+                        ".tag": "member_info",
+                        "profile": {
+                            "team_member_id": "dbmid:member1",
+                            "email": "test@example.com",
+                            "status": "active"
+                        }
+                    },
+                    {
+                        ".tag": "id_not_found",
+                        "id_not_found": "dbmid:missing"
+                    }
+                ]
+            }
+            """;
+        
+        MembersGetInfoResponse response = objectMapper.readValue(json, MembersGetInfoResponse.class);
+        
+        assertNotNull(response.getMembersInfo(), "Members info should not be null");
+        assertEquals(2, response.getMembersInfo().size(), "Should have one item per selector");
+        
+        MemberInfoItem found = response.getMembersInfo().get(0);
+        assertFalse(found.isNotFound(), "First member should be found");
+        assertEquals("dbmid:member1", found.getProfile().getTeamMemberId(), "Team member ID should match");
+        
+        MemberInfoItem missing = response.getMembersInfo().get(1);
+        assertTrue(missing.isNotFound(), "Second member should not be found");
+        assertEquals("dbmid:missing", missing.getIdNotFound(), "Missing ID should match");
+    }
+    
     @Test
     void testTeamInfoWithNullValues() throws Exception {
         String json = """
@@ -0,0 +1,211 @@
+package com.cloudeagle.dropbox.store;
+
+import com.cloudeagle.dropbox.model.TeamEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventSegmentStoreTest {
+
+    private static final Instant BASE = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testScanSeeksToRange() throws IOException {
+        try (EventSegmentStore store = new EventSegmentStore(directory, 1024 * 1024)) {
+            for (int i = 0; i < 2000; i++) {
+                store.append(event(i));
+            }
+
+            List<TeamEvent> events = new ArrayList<>();
+            long delivered = store.scan(BASE.plusSeconds(500), BASE.plusSeconds(700), events::add);
+
+            assertEquals(200, delivered, "Should deliver every event in the range");
+            assertEquals(200, events.size(), "Consumer should receive every delivered event");
+            assertEquals(BASE.plusSeconds(500).toString(), events.get(0).getTimestamp(), "Range start should be inclusive");
+            assertEquals(BASE.plusSeconds(699).toString(), events.get(199).getTimestamp(), "Range end should be exclusive");
+        }
+    }
+
+    @Test
+    void testUnorderedAppendsAreStillFound() throws IOException {
+        try (EventSegmentStore store = new EventSegmentStore(directory, 1024 * 1024)) {
+            for (int i = 0; i < 100; i++) {
+                store.append(event(100 - i));
+            }
+
+            long delivered = store.scan(BASE.plusSeconds(10), BASE.plusSeconds(20), event -> { });
+
+            assertEquals(10, delivered, "Out-of-order segments should be scanned in full");
+        }
+    }
+
+    @Test
+    void testAppendsRollOverToNewSegments() throws IOException {
+        try (EventSegmentStore store = new EventSegmentStore(directory, 4096)) {
+            for (int i = 0; i < 200; i++) {
+                store.append(event(i));
+            }
+
+            assertTrue(store.segmentCount() > 1, "Small segments should fill and roll over");
+            assertEquals(200, store.size(), "Every event should be stored");
+
+            List<TeamEvent> events = new ArrayList<>();
+            store.scan(BASE, BASE.plusSeconds(200), events::add);
+            assertEquals(200, events.size(), "Scan should cross segment boundaries");
+            for (int i = 0; i < events.size(); i++) {
+                assertEquals(BASE.plusSeconds(i).toString(), events.get(i).getTimestamp(), "Events should keep append order");
+            }
+        }
+    }
+
+    @Test
+    void testReopenRecoversEvents() throws IOException {
+        try (EventSegmentStore store = new EventSegmentStore(directory, 4096)) {
+            for (int i = 0; i < 100; i++) {
+                store.append(event(i));
+            }
+        }
+
+        try (EventSegmentStore store = new EventSegmentStore(directory, 4096)) {
+            assertEquals(100, store.size(), "Reopened store should recover every event");
+            store.append(event(100));
+
+            List<TeamEvent> events = new ArrayList<>();
+            store.scan(BASE.plusSeconds(95), BASE.plusSeconds(200), events::add);
+            assertEquals(6, events.size(), "Recovered and new events should both be scanned");
+            assertEquals(BASE.plusSeconds(100).toString(), events.get(5).getTimestamp(), "New event should follow recovered ones");
+        }
+    }
+
+    @Test
+    void testCorruptRecordEndsRecovery() throws IOException {
+        try (EventSegmentStore store = new EventSegmentStore(directory, 1024 * 1024)) {
+            for (int i = 0; i < 10; i++) {
+                store.append(event(i));
+            }
+        }
+
+        // Flip one JSON byte of the fifth record, as a torn write would leave it
+        Path segment = onlySegment();
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int position = 0;
+        for (int i = 0; i < 4; i++) {
+            position += 16 + bytes.getInt(position);
+        }
+        bytes.put(position + 20, (byte) (bytes.get(position + 20) ^ 0x5A));
+        Files.write(segment, bytes.array());
+
+        try (EventSegmentStore store = new EventSegmentStore(directory, 1024 * 1024)) {
+            assertEquals(4, store.size(), "Recovery should stop at the corrupt record");
+
+            store.append(event(42));
+            List<TeamEvent> events = new ArrayList<>();
+            store.scan(BASE, BASE.plusSeconds(100), events::add);
+            assertEquals(5, events.size(), "New appends should replace the discarded records");
+            assertEquals(BASE.plusSeconds(42).toString(), events.get(4).getTimestamp(), "New event should follow the recovered ones");
+        }
+    }
+
+    @Test
+    void testRecordsAfterCorruptOneDoNotReappear() throws IOException {
+        try (EventSegmentStore store = new EventSegmentStore(directory, 1024 * 1024)) {
+            for (int i = 0; i < 10; i++) {
+                store.append(event(i));
+            }
+        }
+
+        Path segment = onlySegment();
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int position = 0;
+        for (int i = 0; i < 4; i++) {
+            position += 16 + bytes.getInt(position);
+        }
+        bytes.put(position + 20, (byte) (bytes.get(position + 20) ^ 0x5A));
+        Files.write(segment, bytes.array());
+
+        // The replacement has the same size, so it ends exactly where the stale sixth record starts
+        try (EventSegmentStore store = new EventSegmentStore(directory, 1024 * 1024)) {
+            store.append(event(5));
+        }
+
+        try (EventSegmentStore store = new EventSegmentStore(directory, 1024 * 1024)) {
+            assertEquals(5, store.size(), "Records after the corrupt one should not be recovered");
+        }
+        byte[] after = Files.readAllBytes(segment);
+        int end = position + 16 + ByteBuffer.wrap(after).getInt(position);
+        for (int i = end; i < after.length; i++) {
+            assertEquals(0, after[i], "Segment should be zeroed after the last record, offset " + i);
+        }
+    }
+
+    @Test
+    void testScanAfterCloseFails() throws IOException {
+        EventSegmentStore store = new EventSegmentStore(directory, 4096);
+        store.append(event(1));
+        store.close();
+
+        assertThrows(IllegalStateException.class, () -> store.scan(BASE, BASE.plusSeconds(10), event -> { }),
+                "Closed store should not be scanned");
+        assertThrows(IllegalStateException.class, () -> store.append(event(2)), "Closed store should not accept appends");
+    }
+
+    @Test
+    void testScansRunConcurrentlyWithAppends() throws Exception {
+        try (EventSegmentStore store = new EventSegmentStore(directory, 64 * 1024)) {
+            AtomicBoolean done = new AtomicBoolean();
+            CompletableFuture<Void> reader = CompletableFuture.runAsync(() -> {
+                long previous = 0;
+                try {
+                    while (!done.get()) {
+                        long count = store.scan(BASE, BASE.plusSeconds(100_000), event -> { });
+                        assertTrue(count >= previous, "Scans should never lose appended events");
+                        previous = count;
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            for (int i = 0; i < 5000; i++) {
+                store.append(event(i));
+            }
+            done.set(true);
+            reader.get(30, TimeUnit.SECONDS);
+
+            assertEquals(5000, store.scan(BASE, BASE.plusSeconds(100_000), event -> { }), "Final scan should see every event");
+        }
+    }
+
+    private Path onlySegment() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.seg")) {
+            stream.forEach(files::add);
+        }
+        assertEquals(1, files.size(), "Test data should fit in one segment");
+        return files.get(0);
+    }
+
+    private static TeamEvent event(int second) {
+        TeamEvent event = new TeamEvent();
+        event.setTimestamp(BASE.plusSeconds(second).toString());
+        event.setEventCategory("logins");
+        event.setEventType("login_success");
+        return event;
+    }
+}
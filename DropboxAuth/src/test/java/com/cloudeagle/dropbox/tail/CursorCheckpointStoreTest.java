@@ -0,0 +1,102 @@
+package com.cloudeagle.dropbox.tail;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorCheckpointStoreTest {
+
+    // Layout of CursorCheckpointStore: two 64 KiB slots, each with a 16 byte header
+    private static final int SLOT_SIZE = 64 * 1024;
+    private static final int HEADER_SIZE = 16;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testEmptyStoreHasNoCursor() throws IOException {
+        try (CursorCheckpointStore store = new CursorCheckpointStore(directory.resolve("cursor"), 1)) {
+            assertNull(store.load(), "New store should have no cursor");
+        }
+    }
+
+    @Test
+    void testLatestCursorSurvivesReopen() throws IOException {
+        Path path = directory.resolve("cursor");
+        try (CursorCheckpointStore store = new CursorCheckpointStore(path, 10)) {
+            store.save("first");
+            store.save("second");
+            store.save("third");
+            assertEquals("third", store.load(), "Load should return the latest save");
+        }
+
+        try (CursorCheckpointStore store = new CursorCheckpointStore(path, 10)) {
+            assertEquals("third", store.load(), "Latest cursor should survive reopen");
+            store.save("fourth");
+        }
+
+        try (CursorCheckpointStore store = new CursorCheckpointStore(path, 10)) {
+            assertEquals("fourth", store.load(), "Sequence should continue after reopen");
+        }
+    }
+
+    @Test
+    void testCorruptSlotFallsBackToOtherSlot() throws IOException {
+        Path path = directory.resolve("cursor");
+        try (CursorCheckpointStore store = new CursorCheckpointStore(path, 1)) {
+            store.save("older");
+            // Second save lands in slot 0
+            store.save("newer");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {'X'}), HEADER_SIZE);
+        }
+
+        try (CursorCheckpointStore store = new CursorCheckpointStore(path, 1)) {
+            assertEquals("older", store.load(), "Corrupt newest slot should fall back to the other slot");
+            store.save("replacement");
+        }
+
+        try (CursorCheckpointStore store = new CursorCheckpointStore(path, 1)) {
+            assertEquals("replacement", store.load(), "Save after recovery should win over the older slot");
+        }
+    }
+
+    @Test
+    void testTornSlotFallsBackToOtherSlot() throws IOException {
+        Path path = directory.resolve("cursor");
+        try (CursorCheckpointStore store = new CursorCheckpointStore(path, 1)) {
+            store.save("a");
+            store.save("b");
+            // Third save lands in slot 1, at the end of the file
+            store.save("c-with-a-longer-body");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(SLOT_SIZE + HEADER_SIZE + 4);
+        }
+
+        try (CursorCheckpointStore store = new CursorCheckpointStore(path, 1)) {
+            assertEquals("b", store.load(), "Torn newest slot should fall back to the other slot");
+        }
+    }
+
+    @Test
+    void testRejectsOversizedCursor() throws IOException {
+        try (CursorCheckpointStore store = new CursorCheckpointStore(directory.resolve("cursor"), 1)) {
+            String oversized = "x".repeat(SLOT_SIZE);
+
+            assertThrows(IllegalArgumentException.class, () -> store.save(oversized),
+                    "Cursor larger than a slot should be rejected");
+            assertNull(store.load(), "Rejected cursor should not be saved");
+        }
+    }
+}
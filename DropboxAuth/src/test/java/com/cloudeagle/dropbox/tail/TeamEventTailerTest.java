@@ -0,0 +1,156 @@
+package com.cloudeagle.dropbox.tail;
+
+import com.cloudeagle.dropbox.auth.DropboxAuthenticator;
+import com.cloudeagle.dropbox.client.DropboxBusinessApiClient;
+import com.cloudeagle.dropbox.http.RetryPolicy;
+import com.cloudeagle.dropbox.model.TeamEvent;
+import com.cloudeagle.dropbox.model.TimeRange;
+import com.cloudeagle.dropbox.testing.FakeDropboxServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeamEventTailerTest {
+
+    private static final TimeRange EVERYTHING = new TimeRange(Instant.EPOCH.toString(), null);
+
+    @TempDir
+    Path directory;
+
+    private FakeDropboxServer server;
+    private DropboxAuthenticator authenticator;
+    private DropboxBusinessApiClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = FakeDropboxServer.builder().members(10).events(120).eventWindow(Duration.ofDays(1)).start();
+        authenticator = DropboxAuthenticator.builder("fake_client_id", "fake_client_secret", "http://localhost/callback")
+                .tokenUrl(server.getTokenUrl())
+                .build();
+        authenticator.exchangeCodeForToken("any_code");
+        client = DropboxBusinessApiClient.builder(authenticator)
+                .baseUrl(server.getBaseUrl())
+                .retryPolicy(RetryPolicy.none())
+                .concurrencyLimiter(null)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        authenticator.close();
+        server.close();
+    }
+
+    @Test
+    void testPollDeliversOnlyNewEvents() throws IOException {
+        try (CursorCheckpointStore checkpoint = new CursorCheckpointStore(directory.resolve("cursor"), 1)) {
+            TeamEventTailer tailer = new TeamEventTailer(client, checkpoint, null, 25);
+
+            assertEquals(120, tailer.poll(EVERYTHING, event -> { }), "First poll should deliver the whole range");
+            assertEquals(0, tailer.poll(EVERYTHING, event -> { }), "Caught-up poll should deliver nothing");
+
+            server.appendEvents(7);
+            assertEquals(7, tailer.poll(EVERYTHING, event -> { }), "Next poll should deliver only appended events");
+        }
+    }
+
+    @Test
+    void testTailerResumesFromSavedCursor() throws IOException {
+        Path path = directory.resolve("cursor");
+        List<TeamEvent> firstRun = new ArrayList<>();
+        try (CursorCheckpointStore checkpoint = new CursorCheckpointStore(path, 100)) {
+            new TeamEventTailer(client, checkpoint, null, 25).poll(EVERYTHING, firstRun::add);
+        }
+
+        server.appendEvents(5);
+        long requestsBefore = server.getRequestCount();
+        List<TeamEvent> secondRun = new ArrayList<>();
+        try (CursorCheckpointStore checkpoint = new CursorCheckpointStore(path, 100)) {
+            new TeamEventTailer(client, checkpoint, null, 25).poll(EVERYTHING, secondRun::add);
+        }
+
+        assertEquals(120, firstRun.size(), "First run should read the existing events");
+        assertEquals(5, secondRun.size(), "Restarted tailer should resume after the saved cursor");
+        assertEquals(1, server.getRequestCount() - requestsBefore, "Resume should not re-read earlier pages");
+        long lastSeen = firstRun.get(firstRun.size() - 1).getTimestampMillis();
+        for (TeamEvent event : secondRun) {
+            assertTrue(event.getTimestampMillis() >= lastSeen, "Resumed events should not repeat earlier ones");
+        }
+    }
+
+    @Test
+    void testRunStopsAfterStop() throws Exception {
+        try (CursorCheckpointStore checkpoint = new CursorCheckpointStore(directory.resolve("cursor"), 1)) {
+            TeamEventTailer tailer = new TeamEventTailer(client, checkpoint, null, 50);
+            List<TeamEvent> events = new ArrayList<>();
+
+            CompletableFuture<Void> running = CompletableFuture.runAsync(() -> {
+                try {
+                    tailer.run(EVERYTHING, Duration.ofMillis(10), event -> {
+                        events.add(event);
+                        tailer.stop();
+                    });
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            running.get(5, TimeUnit.SECONDS);
+            assertEquals(120, events.size(), "Current poll should finish before the loop stops");
+            assertNotNull(checkpoint.load(), "Cursor should be checkpointed");
+        }
+    }
+
+    @Test
+    void testStopBeforeRunIsNotLost() throws Exception {
+        try (CursorCheckpointStore checkpoint = new CursorCheckpointStore(directory.resolve("cursor"), 1)) {
+            TeamEventTailer tailer = new TeamEventTailer(client, checkpoint, null, 50);
+            List<TeamEvent> events = new ArrayList<>();
+
+            tailer.stop();
+            assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> tailer.run(EVERYTHING, Duration.ofMillis(10), events::add),
+                    "Run should return at once when already stopped");
+
+            assertTrue(events.isEmpty(), "A stopped tailer should not poll");
+            assertNull(checkpoint.load(), "A stopped tailer should not save a cursor");
+        }
+    }
+
+    @Test
+    void testStopWakesPollIntervalWait() throws Exception {
+        try (CursorCheckpointStore checkpoint = new CursorCheckpointStore(directory.resolve("cursor"), 1)) {
+            TeamEventTailer tailer = new TeamEventTailer(client, checkpoint, null, 50);
+            CountDownLatch polled = new CountDownLatch(120);
+
+            CompletableFuture<Void> running = CompletableFuture.runAsync(() -> {
+                try {
+                    tailer.run(EVERYTHING, Duration.ofHours(1), event -> polled.countDown());
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            assertTrue(polled.await(5, TimeUnit.SECONDS), "First poll should deliver every event");
+            long start = System.nanoTime();
+            tailer.stop();
+
+            running.get(5, TimeUnit.SECONDS);
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "Stop should not wait out the poll interval");
+        }
+    }
+}
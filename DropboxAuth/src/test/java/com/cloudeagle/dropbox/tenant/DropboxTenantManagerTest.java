@@ -0,0 +1,152 @@
+package com.cloudeagle.dropbox.tenant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DropboxTenantManagerTest {
+
+    private DropboxTenantManager manager;
+
+    @AfterEach
+    void tearDown() {
+        if (manager != null) {
+            manager.close();
+        }
+    }
+
+    @Test
+    void testTenantsTakeWeightedTurns() throws Exception {
+        manager = manager(1, 4);
+        DropboxTenant gate = manager.registerTenant("gate");
+        DropboxTenant heavy = manager.registerTenant("heavy", 2);
+        DropboxTenant light = manager.registerTenant("light", 1);
+
+        // Hold the only worker until both tenants have queued all their work
+        CountDownLatch release = new CountDownLatch(1);
+        gate.submit(client -> await(release));
+        List<String> order = new CopyOnWriteArrayList<>();
+        List<CompletableFuture<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            tasks.add(heavy.submit(client -> order.add("heavy")));
+        }
+        for (int i = 0; i < 3; i++) {
+            tasks.add(light.submit(client -> order.add("light")));
+        }
+        release.countDown();
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("heavy", "heavy", "light", "heavy", "heavy", "light", "heavy", "heavy", "light"), order,
+                "Each turn should start as many tasks as the tenant's weight");
+    }
+
+    @Test
+    void testTenantCannotExceedConcurrencyCap() throws Exception {
+        manager = manager(8, 2);
+        DropboxTenant busy = manager.registerTenant("busy");
+        DropboxTenant other = manager.registerTenant("other");
+
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<CompletableFuture<Boolean>> busyTasks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            busyTasks.add(busy.submit(client -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                started.countDown();
+                try {
+                    return await(release);
+                } finally {
+                    running.decrementAndGet();
+                }
+            }));
+        }
+
+        assertTrue(started.await(5, TimeUnit.SECONDS), "Busy tenant should start tasks up to its cap");
+        assertEquals("done", other.submit(client -> "done").get(5, TimeUnit.SECONDS),
+                "Another tenant should run while the busy one is capped");
+        assertEquals(8, busy.getPendingTasks(), "Tasks above the cap should stay queued");
+
+        release.countDown();
+        CompletableFuture.allOf(busyTasks.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+        assertEquals(2, maxRunning.get(), "Tenant should never run more than its cap at once");
+    }
+
+    @Test
+    void testRemoveTenantCancelsQueuedTasks() throws Exception {
+        manager = manager(1, 1);
+        DropboxTenant tenant = manager.registerTenant("leaving");
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = tenant.submit(client -> {
+            started.countDown();
+            return await(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS), "First task should start");
+        List<CompletableFuture<String>> queued = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            queued.add(tenant.submit(client -> "ran"));
+        }
+
+        assertTrue(manager.removeTenant("leaving"), "Registered tenant should be removed");
+        release.countDown();
+
+        for (CompletableFuture<String> future : queued) {
+            assertTrue(future.isCancelled(), "Queued tasks should be cancelled");
+        }
+        assertTrue(running.get(5, TimeUnit.SECONDS), "Running task should be left to finish");
+        assertNull(manager.getTenant("leaving"), "Removed tenant should be unknown");
+        ExecutionException rejected = assertThrows(ExecutionException.class,
+                () -> tenant.submit(client -> "late").get(5, TimeUnit.SECONDS), "Removed tenant should reject work");
+        assertInstanceOf(RejectedExecutionException.class, rejected.getCause(), "Rejection should say why");
+    }
+
+    @Test
+    void testWorkerSurvivesFailingTask() throws Exception {
+        manager = manager(1, 1);
+        DropboxTenant tenant = manager.registerTenant("tenant");
+
+        CompletableFuture<String> failed = tenant.submit(client -> {
+            throw new AssertionError("boom");
+        });
+        ExecutionException error = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS),
+                "Error should fail the task's future");
+        assertInstanceOf(AssertionError.class, error.getCause(), "Future should carry the error");
+
+        tenant.executor().execute(() -> {
+            throw new StackOverflowError();
+        });
+        assertEquals("alive", tenant.submit(client -> "alive").get(5, TimeUnit.SECONDS),
+                "The only worker should keep running after tasks throw errors");
+    }
+
+    private static boolean await(CountDownLatch latch) throws InterruptedIOException {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the test");
+        }
+    }
+
+    private static DropboxTenantManager manager(int threads, int maxConcurrentPerTenant) {
+        return DropboxTenantManager.builder("client_id", "client_secret", "http://localhost/callback")
+                .threads(threads)
+                .maxConcurrentPerTenant(maxConcurrentPerTenant)
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.cloudeagle.dropbox.testing;
+
+import com.cloudeagle.dropbox.auth.DropboxAuthenticator;
+import com.cloudeagle.dropbox.client.DropboxBusinessApiClient;
+import com.cloudeagle.dropbox.client.DropboxRateLimitException;
+import com.cloudeagle.dropbox.http.RetryPolicy;
+import com.cloudeagle.dropbox.model.MembersListResponse;
+import com.cloudeagle.dropbox.model.TeamEvent;
+import com.cloudeagle.dropbox.model.TeamMember;
+import com.cloudeagle.dropbox.model.TimeRange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FakeDropboxServerTest {
+
+    private FakeDropboxServer server;
+    private DropboxAuthenticator authenticator;
+    private DropboxBusinessApiClient client;
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+        if (authenticator != null) {
+            authenticator.close();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void testMemberPaginationFollowsCursors() throws IOException {
+        server = FakeDropboxServer.builder().members(250).events(0).start();
+        connect(RetryPolicy.none());
+
+        MembersListResponse first = client.getTeamMembers(100, true);
+        assertEquals(100, first.getMembers().size(), "First page should be full");
+        assertTrue(first.isHasMore(), "First page should report more members");
+
+        List<TeamMember> all = client.streamTeamMembers(100, true).collect(Collectors.toList());
+        Set<String> ids = all.stream().map(member -> member.getProfile().getTeamMemberId()).collect(Collectors.toSet());
+
+        assertEquals(250, all.size(), "Stream should follow cursors to the last page");
+        assertEquals(250, ids.size(), "Pages should not overlap");
+        assertEquals(first.getMembers().get(0).getProfile().getTeamMemberId(),
+                all.get(0).getProfile().getTeamMemberId(), "Stream should start at the first member");
+    }
+
+    @Test
+    void testEventPaginationStaysWithinTimeRange() throws IOException {
+        server = FakeDropboxServer.builder().members(20).events(1000).eventWindow(Duration.ofDays(10)).start();
+        connect(RetryPolicy.none());
+
+        Instant now = Instant.now();
+        TimeRange range = new TimeRange(now.minus(Duration.ofDays(5)).toString(), now.toString());
+        List<TeamEvent> events = client.streamTeamEvents(50, null, range).collect(Collectors.toList());
+
+        assertFalse(events.isEmpty(), "Half the window should contain events");
+        assertTrue(events.size() < 1000, "Events outside the range should be excluded");
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i - 1).getTimestampMillis() <= events.get(i).getTimestampMillis(),
+                    "Events should arrive in timestamp order across pages");
+        }
+        assertTrue(events.get(0).getTimestampMillis() >= now.minus(Duration.ofDays(5)).toEpochMilli(),
+                "First event should not precede the range");
+    }
+
+    @Test
+    void testThrottledRequestsAreRetried() throws IOException {
+        server = FakeDropboxServer.builder()
+                .members(300)
+                .events(0)
+                .rateLimit(0.5, Duration.ofSeconds(1))
+                .start();
+        connect(RetryPolicy.builder()
+                .maxAttempts(20)
+                .baseDelay(Duration.ofMillis(1))
+                .maxDelay(Duration.ofMillis(5))
+                .maxRetryAfter(Duration.ofMillis(5))
+                .build());
+
+        long members = client.streamTeamMembers(10, true).count();
+
+        assertEquals(300, members, "Retries should recover every throttled page");
+        assertTrue(server.getThrottledCount() > 0, "Server should have throttled some requests");
+    }
+
+    @Test
+    void testThrottledRequestSurfacesRetryAfter() throws IOException {
+        server = FakeDropboxServer.builder()
+                .members(10)
+                .events(0)
+                .rateLimit(1.0, Duration.ofSeconds(2))
+                .start();
+        connect(RetryPolicy.none());
+
+        DropboxRateLimitException exception = assertThrows(DropboxRateLimitException.class,
+                () -> client.getTeamInfo(), "Throttled request should fail with a rate limit exception");
+
+        assertEquals(Duration.ofSeconds(2), exception.getRetryAfter(), "Should carry the server's Retry-After");
+    }
+
+    @Test
+    void testExpiredTokenIsRefreshed() throws Exception {
+        server = FakeDropboxServer.builder().members(10).events(0).tokenLifetime(Duration.ofSeconds(1)).start();
+        connect(RetryPolicy.none());
+
+        String firstToken = authenticator.getValidAccessToken();
+        assertEquals("Fake Team", client.getTeamInfo().getName(), "Fresh token should be accepted");
+
+        Thread.sleep(1200);
+
+        assertEquals("Fake Team", client.getTeamInfo().getName(), "Expired token should be refreshed transparently");
+        assertNotEquals(firstToken, authenticator.getValidAccessToken(), "Refresh should issue a new token");
+    }
+
+    @Test
+    void testRejectsSubSecondTokenLifetime() {
+        assertThrows(IllegalArgumentException.class,
+                () -> FakeDropboxServer.builder().tokenLifetime(Duration.ofMillis(500)),
+                "Lifetime below the one-second expires_in resolution should be rejected");
+    }
+
+    private void connect(RetryPolicy retryPolicy) throws IOException {
+        authenticator = DropboxAuthenticator.builder("fake_client_id", "fake_client_secret", "http://localhost/callback")
+                .tokenUrl(server.getTokenUrl())
+                .build();
+        authenticator.exchangeCodeForToken("any_code");
+        client = DropboxBusinessApiClient.builder(authenticator)
+                .baseUrl(server.getBaseUrl())
+                .retryPolicy(retryPolicy)
+                .concurrencyLimiter(null)
+                .build();
+    }
+}